@@ -0,0 +1,74 @@
+package com.example.testapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * API endpoints driven by the load test, with the request each one sends.
+ */
+public enum Endpoint {
+
+    COTIZACION("cotizacion", "/api/v1/cotizacion", null),
+
+    DIFERENCIAS("diferencias", "/api/v1/diferencias",
+            "{\"rates\":{\"crypto\":{\"value_avg\":940.0,\"value_sell\":945.0,\"value_buy\":935.0},"
+                    + "\"mep\":{\"value_avg\":1250.0,\"value_sell\":1260.0,\"value_buy\":1240.0}}}"),
+
+    PEDIDO("pedido", "/api/v1/pedido", null);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String key;
+    private final String path;
+    private final String jsonBody;
+
+    Endpoint(String key, String path, String jsonBody) {
+        this.key = key;
+        this.path = path;
+        this.jsonBody = jsonBody;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Builds the request for this endpoint. Requests are immutable and reused by every worker.
+     *
+     * @param baseUrl the base URL of the API under test
+     * @param gzip whether to advertise gzip support
+     * @return the request to send
+     */
+    public HttpRequest buildRequest(URI baseUrl, boolean gzip) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        if (jsonBody == null) {
+            builder.GET();
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Resolves an endpoint from its key.
+     *
+     * @param key the endpoint key, e.g. "cotizacion"
+     * @return the matching endpoint
+     * @throws IllegalArgumentException if no endpoint matches
+     */
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+}
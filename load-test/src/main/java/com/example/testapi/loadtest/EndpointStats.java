@@ -0,0 +1,80 @@
+package com.example.testapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency and throughput statistics for a single endpoint.
+ * Latencies are recorded in microseconds into an HdrHistogram recorder, so percentiles
+ * stay exact to three significant digits regardless of how many requests are sent.
+ */
+public class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    /**
+     * Records a completed exchange.
+     *
+     * @param latencyNanos the latency measured from the intended send time
+     * @param status the HTTP status code
+     * @param bodyBytes the number of body bytes received (as sent on the wire)
+     */
+    public void record(long latencyNanos, int status, long bodyBytes) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        bytes.add(bodyBytes);
+        if (status >= 200 && status < 400) {
+            successes.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Records a request that failed without an HTTP response (connection error, timeout).
+     *
+     * @param latencyNanos the time spent before the failure
+     */
+    public void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+        errors.increment();
+    }
+
+    /**
+     * Discards everything recorded so far. Used to drop the warm-up period.
+     */
+    public void reset() {
+        recorder.getIntervalHistogram();
+        successes.reset();
+        errors.reset();
+        bytes.reset();
+    }
+
+    /**
+     * Returns the latencies recorded since the last reset or snapshot, in microseconds.
+     *
+     * @return the latency histogram
+     */
+    public Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+}
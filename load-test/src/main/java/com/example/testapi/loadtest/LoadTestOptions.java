@@ -0,0 +1,136 @@
+package com.example.testapi.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command line options for the load test.
+ *
+ * <pre>
+ * --base-url=http://localhost:8080   API under test
+ * --duration=60s                     measured run time
+ * --warmup=10s                       run time discarded before measuring
+ * --concurrency=32                   number of concurrent workers
+ * --rate=0                           total requests/s (0 = closed loop, as fast as possible)
+ * --mix=cotizacion:6,diferencias:3,pedido:1   relative endpoint weights
+ * --gzip                             send Accept-Encoding: gzip
+ * --http2                            prefer HTTP/2 (h2c upgrade on plain HTTP)
+ * </pre>
+ */
+public final class LoadTestOptions {
+
+    private URI baseUrl = URI.create("http://localhost:8080");
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int concurrency = 32;
+    private double rate;
+    private Map<Endpoint, Integer> mix = defaultMix();
+    private boolean gzip;
+    private boolean http2;
+
+    private LoadTestOptions() {
+    }
+
+    /**
+     * Parses command line arguments, falling back to defaults for missing options.
+     *
+     * @param args the command line arguments
+     * @return the parsed options
+     * @throws IllegalArgumentException if an option is unknown or malformed
+     */
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            String value = option.length > 1 ? option[1] : "";
+            switch (option[0]) {
+                case "base-url" -> options.baseUrl = URI.create(value.endsWith("/") ? value : value + "/");
+                case "duration" -> options.duration = parseDuration(value);
+                case "warmup" -> options.warmup = parseDuration(value);
+                case "concurrency" -> options.concurrency = positive(Integer.parseInt(value), arg);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "gzip" -> options.gzip = true;
+                case "http2" -> options.http2 = true;
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> defaultMix() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        mix.put(Endpoint.COTIZACION, 6);
+        mix.put(Endpoint.DIFERENCIAS, 3);
+        mix.put(Endpoint.PEDIDO, 1);
+        return mix;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":", 2);
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            mix.put(Endpoint.fromKey(parts[0].trim()), positive(weight, entry));
+        }
+        return mix;
+    }
+
+    /**
+     * Parses durations such as "500ms", "30s" or "2m".
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Invalid duration: " + value);
+    }
+
+    private static int positive(int value, String source) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Value must be positive: " + source);
+        }
+        return value;
+    }
+
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Map<Endpoint, Integer> getMix() {
+        return Collections.unmodifiableMap(mix);
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+}
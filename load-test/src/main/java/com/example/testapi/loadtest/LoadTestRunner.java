@@ -0,0 +1,150 @@
+package com.example.testapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for /api/v1/cotizacion, /api/v1/diferencias and /api/v1/pedido.
+ *
+ * In closed-loop mode every worker sends its next request as soon as the previous one
+ * completes. With {@code --rate} the workers follow a fixed schedule and latency is measured
+ * from the intended send time, so a stalled server is not hidden by coordinated omission.
+ *
+ * Usage: {@code mvn -q compile exec:java -Dexec.args="--base-url=http://localhost:8080 --duration=60s"}
+ */
+public class LoadTestRunner {
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, HttpRequest> requests = new EnumMap<>(Endpoint.class);
+    private final Endpoint[] weightedEndpoints;
+
+    public LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(options.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Math.max(2, options.getConcurrency() / 4), LoadTestRunner::daemonThread))
+                .build();
+        this.weightedEndpoints = options.getMix().entrySet().stream()
+                .flatMap(entry -> java.util.Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Endpoint[]::new);
+        for (Endpoint endpoint : options.getMix().keySet()) {
+            stats.put(endpoint, new EndpointStats());
+            requests.put(endpoint, endpoint.buildRequest(options.getBaseUrl(), options.isGzip()));
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        new LoadTestRunner(options).run(System.out);
+    }
+
+    /**
+     * Runs the warm-up and measurement phases and prints the report.
+     *
+     * @param out the stream the report is written to
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void run(PrintStream out) throws InterruptedException {
+        out.printf(Locale.ROOT, "Load test against %s: %d workers, %s, warm-up %ds, measure %ds%n",
+                options.getBaseUrl(), options.getConcurrency(),
+                options.getRate() > 0 ? String.format(Locale.ROOT, "%.0f req/s", options.getRate()) : "closed loop",
+                options.getWarmup().toSeconds(), options.getDuration().toSeconds());
+
+        long start = System.nanoTime();
+        long measureStart = start + options.getWarmup().toNanos();
+        long end = measureStart + options.getDuration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.getConcurrency(), LoadTestRunner::daemonThread);
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            int workerIndex = i;
+            workers.submit(() -> runWorker(workerIndex, start, end));
+        }
+
+        LockSupport.parkNanos(Math.max(0, measureStart - System.nanoTime()));
+        stats.values().forEach(EndpointStats::reset);
+        long measuredFrom = System.nanoTime();
+
+        workers.shutdown();
+        workers.awaitTermination(options.getDuration().toSeconds() + 60, TimeUnit.SECONDS);
+        report(out, System.nanoTime() - measuredFrom);
+    }
+
+    private void runWorker(int workerIndex, long start, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long interval = options.getRate() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) * options.getConcurrency() / options.getRate())
+                : 0;
+        long intended = start + (interval > 0 ? interval * workerIndex / options.getConcurrency() : 0);
+
+        while (true) {
+            long now = System.nanoTime();
+            if (interval > 0) {
+                if (intended - now > 0) {
+                    LockSupport.parkNanos(intended - now);
+                }
+            } else {
+                intended = now;
+            }
+            if (intended - end >= 0) {
+                return;
+            }
+
+            Endpoint endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+            EndpointStats endpointStats = stats.get(endpoint);
+            try {
+                HttpResponse<byte[]> response = client.send(requests.get(endpoint), HttpResponse.BodyHandlers.ofByteArray());
+                endpointStats.record(System.nanoTime() - intended, response.statusCode(), response.body().length);
+            } catch (IOException e) {
+                endpointStats.recordFailure(System.nanoTime() - intended);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            intended += interval;
+        }
+    }
+
+    private void report(PrintStream out, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf(Locale.ROOT, "%n%-12s %10s %8s %10s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "bytes/req", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long totalRequests = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram histogram = endpointStats.snapshot();
+            long requestsDone = endpointStats.getSuccesses() + endpointStats.getErrors();
+            totalRequests += requestsDone;
+            out.printf(Locale.ROOT, "%-12s %10d %8d %10.1f %10d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().getKey(), requestsDone, endpointStats.getErrors(), requestsDone / seconds,
+                    requestsDone == 0 ? 0 : endpointStats.getBytes() / requestsDone,
+                    millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+        }
+        out.printf(Locale.ROOT, "%-12s %10d %8s %10.1f%n", "total", totalRequests, "", totalRequests / seconds);
+    }
+
+    private static Thread daemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "load-test");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
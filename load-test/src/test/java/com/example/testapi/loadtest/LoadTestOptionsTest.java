@@ -0,0 +1,73 @@
+package com.example.testapi.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadTestOptions.
+ * This class verifies command line parsing and defaults of the load-test harness.
+ */
+@DisplayName("LoadTestOptions Tests")
+class LoadTestOptionsTest {
+
+    @Test
+    @DisplayName("Should use defaults when no arguments are given")
+    void parse_WithNoArguments_ShouldUseDefaults() {
+        // When
+        LoadTestOptions options = LoadTestOptions.parse();
+
+        // Then
+        assertEquals(URI.create("http://localhost:8080"), options.getBaseUrl());
+        assertEquals(32, options.getConcurrency());
+        assertEquals(0.0, options.getRate(), "Default mode should be closed loop");
+        assertEquals(3, options.getMix().size(), "All endpoints should be driven by default");
+        assertFalse(options.isGzip());
+    }
+
+    @Test
+    @DisplayName("Should parse all supported options")
+    void parse_WithAllOptions_ShouldApplyThem() {
+        // When
+        LoadTestOptions options = LoadTestOptions.parse("--base-url=http://api:9000", "--duration=2m",
+                "--warmup=500ms", "--concurrency=8", "--rate=250", "--mix=diferencias:2,pedido", "--gzip", "--http2");
+
+        // Then
+        assertEquals(URI.create("http://api:9000/"), options.getBaseUrl());
+        assertEquals(Duration.ofMinutes(2), options.getDuration());
+        assertEquals(Duration.ofMillis(500), options.getWarmup());
+        assertEquals(8, options.getConcurrency());
+        assertEquals(250.0, options.getRate());
+        assertEquals(2, options.getMix().get(Endpoint.DIFERENCIAS));
+        assertEquals(1, options.getMix().get(Endpoint.PEDIDO));
+        assertFalse(options.getMix().containsKey(Endpoint.COTIZACION));
+        assertTrue(options.isGzip());
+        assertTrue(options.isHttp2());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options and endpoints")
+    void parse_WithInvalidInput_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--threads=4"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--mix=dolar:1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--concurrency=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--duration=10"));
+    }
+
+    @Test
+    @DisplayName("Should build a JSON POST request for diferencias")
+    void buildRequest_ForDiferencias_ShouldPostJson() {
+        // When
+        var request = Endpoint.DIFERENCIAS.buildRequest(URI.create("http://localhost:8080/"), true);
+
+        // Then
+        assertEquals("POST", request.method());
+        assertEquals(URI.create("http://localhost:8080/api/v1/diferencias"), request.uri());
+        assertEquals("application/json", request.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("gzip", request.headers().firstValue("Accept-Encoding").orElse(null));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.testapi.benchmark;
+
+import com.example.testapi.decimal.FixedPointArithmetic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one MEP minus crypto difference with binary floating point, with the exact
+ * fixed-point fast path, and with BigDecimal (the fallback of the exact mode).
+ * Operands rotate through a table of rates with two to four decimals so that branch
+ * prediction and constant folding do not flatter any variant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiferenciasArithmeticBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final double[] mep = new double[SIZE];
+    private final double[] crypto = new double[SIZE];
+    private final FixedPointArithmetic exact = new FixedPointArithmetic(8);
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            long unit = i % 2 == 0 ? 100 : 10_000;
+            mep[i] = random.nextLong(1_000 * unit, 2_000 * unit) / (double) unit;
+            crypto[i] = random.nextLong(800 * unit, 1_000 * unit) / (double) unit;
+        }
+    }
+
+    @Benchmark
+    public double doubleSubtraction() {
+        int i = next();
+        return mep[i] - crypto[i];
+    }
+
+    @Benchmark
+    public double fixedPointSubtraction() {
+        int i = next();
+        return exact.subtract(mep[i], crypto[i]);
+    }
+
+    @Benchmark
+    public double bigDecimalSubtraction() {
+        int i = next();
+        return BigDecimal.valueOf(mep[i]).subtract(BigDecimal.valueOf(crypto[i])).doubleValue();
+    }
+
+    private int next() {
+        index = (index + 1) & (SIZE - 1);
+        return index;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.testapi.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.testapi.cache.DiferenciasMemoCache;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.service.DiferenciasService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a default-formula diferencias calculation in DiferenciasService without memo cache
+ * and with it, for a request stream where the given fraction of requests repeats rates
+ * already seen. The service loggers are raised to WARN so that console output is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiferenciasMemoCacheBenchmark {
+
+    private static final int SIZE = 4096;
+
+    @Param({"0.0", "0.9"})
+    private double repeatRatio;
+
+    private final DiferenciasRequest[] requests = new DiferenciasRequest[SIZE];
+    private DiferenciasService uncached;
+    private DiferenciasService cached;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.example.testapi")).setLevel(Level.WARN);
+        uncached = new DiferenciasService();
+        cached = new DiferenciasService(DiferenciasService.Options.builder()
+                .memoCache(new DiferenciasMemoCache(SIZE))
+                .build());
+        SplittableRandom random = new SplittableRandom(42);
+        int distinct = Math.max(1, (int) (SIZE * (1 - repeatRatio)));
+        double[] spreads = random.doubles(distinct, 100, 400).toArray();
+        for (int i = 0; i < SIZE; i++) {
+            double crypto = 900 + (i % distinct) * 0.01;
+            double mep = crypto + spreads[i % distinct];
+            requests[i] = DiferenciasRequest.builder()
+                    .addCrypto(crypto, crypto + 5, crypto - 5)
+                    .addMep(mep, mep + 5, mep - 5)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public DiferenciasResponse withoutCache() {
+        return uncached.calcularDiferencias(next());
+    }
+
+    @Benchmark
+    public DiferenciasResponse withCache() {
+        return cached.calcularDiferencias(next());
+    }
+
+    private DiferenciasRequest next() {
+        index = (index + 1) & (SIZE - 1);
+        return requests[index];
+    }
+}
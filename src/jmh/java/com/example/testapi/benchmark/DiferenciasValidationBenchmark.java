@@ -0,0 +1,129 @@
+package com.example.testapi.benchmark;
+
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.validation.DiferenciasRequestValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating one diferencias request: the manual checks DiferenciasService used to
+ * run ("before"), the validator compiled from the model constraints ("after"), and Hibernate
+ * Validator on the same constraints for reference.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiferenciasValidationBenchmark {
+
+    /**
+     * "valid" passes every check; "invalid" has two null and one non-positive value.
+     */
+    @Param({"valid", "invalid"})
+    public String request;
+
+    private DiferenciasRequest payload;
+    private DiferenciasRequestValidator compiled;
+    private ValidatorFactory factory;
+    private Validator beanValidator;
+
+    @Setup
+    public void setUp() {
+        payload = "valid".equals(request)
+                ? DiferenciasRequest.builder().addCrypto(940.0, 945.0, 935.0).addMep(1250.0, 1260.0, 1240.0).build()
+                : DiferenciasRequest.builder().addCrypto(940.0, null, 935.0).addMep(-1.0, 1260.0, null).build();
+        compiled = DiferenciasRequestValidator.compile();
+        factory = Validation.buildDefaultValidatorFactory();
+        beanValidator = factory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Object manualChecks() {
+        try {
+            validateRequest(payload);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public List<String> compiledValidator() {
+        return compiled.validate(payload);
+    }
+
+    @Benchmark
+    public Object hibernateValidator() {
+        int violations = 0;
+        for (DiferenciasRequest.ExchangeRateData data : payload.getRates().values()) {
+            violations += beanValidator.validate(data).size();
+        }
+        return violations;
+    }
+
+    /**
+     * The checks previously in DiferenciasService.validateRequest, kept as the baseline.
+     */
+    private static void validateRequest(DiferenciasRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        Map<DiferenciasRequest.ExchangeRateType, DiferenciasRequest.ExchangeRateData> rates = request.getRates();
+        if (rates == null) {
+            throw new IllegalArgumentException("Rates map cannot be null");
+        }
+        if (!rates.containsKey(DiferenciasRequest.ExchangeRateType.CRYPTO)) {
+            throw new IllegalArgumentException("Crypto data is required");
+        }
+        if (!rates.containsKey(DiferenciasRequest.ExchangeRateType.MEP)) {
+            throw new IllegalArgumentException("MEP data is required");
+        }
+        validateExchangeRateData(rates.get(DiferenciasRequest.ExchangeRateType.CRYPTO), "crypto");
+        validateExchangeRateData(rates.get(DiferenciasRequest.ExchangeRateType.MEP), "MEP");
+    }
+
+    private static void validateExchangeRateData(DiferenciasRequest.ExchangeRateData data, String dataType) {
+        if (data.getValueAvg() == null) {
+            throw new IllegalArgumentException(String.format("%s value_avg cannot be null", dataType));
+        }
+        if (data.getValueSell() == null) {
+            throw new IllegalArgumentException(String.format("%s value_sell cannot be null", dataType));
+        }
+        if (data.getValueBuy() == null) {
+            throw new IllegalArgumentException(String.format("%s value_buy cannot be null", dataType));
+        }
+        if (data.getValueAvg() <= 0) {
+            throw new IllegalArgumentException(String.format("%s value_avg must be positive", dataType));
+        }
+        if (data.getValueSell() <= 0) {
+            throw new IllegalArgumentException(String.format("%s value_sell must be positive", dataType));
+        }
+        if (data.getValueBuy() <= 0) {
+            throw new IllegalArgumentException(String.format("%s value_buy must be positive", dataType));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.testapi.benchmark;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.DiferenciasRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of the diferencias request and the cotizacion response in JSON
+ * and in the binary formats offered by content negotiation. The payload size of each
+ * format is printed once per fork from the setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private DiferenciasRequest request;
+    private CotizacionResponse cotizacion;
+    private byte[] requestBytes;
+    private byte[] cotizacionBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            case "cbor" -> new ObjectMapper(CBORFactory.builder().enable(CBORGenerator.Feature.WRITE_MINIMAL_DOUBLES).build());
+            default -> new ObjectMapper();
+        };
+        request = DiferenciasRequest.builder()
+                .addCrypto(940.12, 945.5, 935.25)
+                .addMep(1250.37, 1260.0, 1240.75)
+                .build();
+        cotizacion = new CotizacionResponse();
+        cotizacion.setOficial(data(1025.5, 1005.5, 1045.5));
+        cotizacion.setBlue(data(1277.0, 1262.0, 1292.0));
+        cotizacion.setOficialEuro(data(1104.37, 1083.82, 1124.92));
+        cotizacion.setBlueEuro(data(1375.29, 1359.13, 1391.44));
+        cotizacion.setLastUpdate("2024-01-01T12:00:00.000000-03:00");
+        requestBytes = mapper.writeValueAsBytes(request);
+        cotizacionBytes = mapper.writeValueAsBytes(cotizacion);
+        System.out.printf("%n%s payload bytes - diferencias request: %d, cotizacion: %d%n",
+                format, requestBytes.length, cotizacionBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeDiferenciasRequest() throws IOException {
+        return mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public DiferenciasRequest decodeDiferenciasRequest() throws IOException {
+        return mapper.readValue(requestBytes, DiferenciasRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeCotizacion() throws IOException {
+        return mapper.writeValueAsBytes(cotizacion);
+    }
+
+    @Benchmark
+    public CotizacionResponse decodeCotizacion() throws IOException {
+        return mapper.readValue(cotizacionBytes, CotizacionResponse.class);
+    }
+
+    private static CotizacionResponse.CotizacionData data(double avg, double buy, double sell) {
+        CotizacionResponse.CotizacionData data = new CotizacionResponse.CotizacionData();
+        data.setValueAvg(avg);
+        data.setValueBuy(buy);
+        data.setValueSell(sell);
+        return data;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.testapi.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limiter using additive-increase/multiplicative-decrease (AIMD).
+ *
+ * The limiter keeps two exponentially weighted moving averages of request latency: a short
+ * one reacting within a few requests and a long one acting as the healthy baseline. Once per
+ * window of {@code limit} completed requests (roughly one round trip of the whole in-flight
+ * set) the limit is adjusted: multiplied by {@code backoffRatio} when the short average
+ * exceeds {@code latencyTolerance} times the baseline, increased by one otherwise. Requests
+ * arriving while {@code limit} requests are in flight are shed instead of queueing behind a
+ * saturated server. All state is updated with atomic operations.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 0.2;
+    private static final double LONG_ALPHA = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger samplesInWindow = new AtomicInteger();
+    private final AtomicLong shortAverage = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+    private final AtomicLong longAverage = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+
+    /**
+     * Creates an adaptive concurrency limiter.
+     *
+     * @param initialLimit the starting concurrency limit
+     * @param minLimit the lowest concurrency limit
+     * @param maxLimit the highest concurrency limit
+     * @param latencyTolerance how many times the baseline latency is tolerated before backing off
+     * @param backoffRatio the factor applied to the limit when latency is too high
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double latencyTolerance, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || latencyTolerance < 1 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limiter settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+    }
+
+    /**
+     * Tries to admit one request.
+     *
+     * @return true if the request may proceed and {@link #release(long)} must be called, false if it is shed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adapts the limit to its latency.
+     *
+     * @param latencyNanos the time the request took
+     */
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        double shortTerm = update(shortAverage, latencyNanos, SHORT_ALPHA);
+        double longTerm = update(longAverage, latencyNanos, LONG_ALPHA);
+
+        int current = limit.get();
+        if (samplesInWindow.incrementAndGet() < current) {
+            return;
+        }
+        samplesInWindow.set(0);
+        int next = shortTerm > longTerm * latencyTolerance
+                ? Math.max(minLimit, (int) (current * backoffRatio))
+                : Math.min(maxLimit, current + 1);
+        limit.compareAndSet(current, next);
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * Returns the number of requests currently in flight.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private static double update(AtomicLong average, long sample, double alpha) {
+        long updated = average.updateAndGet(bits -> {
+            double value = Double.longBitsToDouble(bits);
+            return Double.doubleToLongBits(Double.isNaN(value) ? sample : value + alpha * (sample - value));
+        });
+        return Double.longBitsToDouble(updated);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.testapi.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Load shedder based on CoDel (controlled delay) queue management.
+ *
+ * The shedder watches the minimum queue delay over each interval. A queue whose minimum
+ * delay stays above the target for a whole interval is a standing queue, not a burst, and
+ * the server is considered overloaded until an interval passes with the minimum below the
+ * target again. While overloaded, requests that waited longer than the target (scaled by
+ * their priority) are rejected; otherwise only requests that waited longer than a whole
+ * interval (also scaled) are rejected. Rejecting early keeps latency bounded for the
+ * requests that are served instead of letting the queue grow for everyone.
+ */
+public class CoDelLoadShedder {
+
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong intervalStart;
+    private final AtomicLong minDelayInInterval = new AtomicLong(Long.MAX_VALUE);
+    private volatile boolean overloaded;
+
+    /**
+     * Creates a load shedder using the system clock.
+     *
+     * @param target the acceptable standing queue delay
+     * @param interval the window over which the minimum queue delay is evaluated
+     */
+    public CoDelLoadShedder(Duration target, Duration interval) {
+        this(target, interval, System::nanoTime);
+    }
+
+    /**
+     * Creates a load shedder.
+     *
+     * @param target the acceptable standing queue delay
+     * @param interval the window over which the minimum queue delay is evaluated
+     * @param nanoClock the monotonic clock, in nanoseconds
+     */
+    public CoDelLoadShedder(Duration target, Duration interval, LongSupplier nanoClock) {
+        if (target.isNegative() || target.isZero() || interval.compareTo(target) < 0) {
+            throw new IllegalArgumentException("Target must be positive and not longer than the interval");
+        }
+        this.targetNanos = target.toNanos();
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.intervalStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Records the queue delay of a request and decides whether it must be rejected.
+     *
+     * @param queueDelayNanos the time the request waited before being processed
+     * @param priority the priority class of the request
+     * @return true if the request should be shed
+     */
+    public boolean shouldShed(long queueDelayNanos, RequestPriority priority) {
+        long now = nanoClock.getAsLong();
+        long start = intervalStart.get();
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            long min = minDelayInInterval.getAndSet(Long.MAX_VALUE);
+            overloaded = min != Long.MAX_VALUE && min > targetNanos;
+        }
+        minDelayInInterval.accumulateAndGet(queueDelayNanos, Math::min);
+
+        long allowed = (overloaded ? targetNanos : intervalNanos) * priority.getDelayMultiplier();
+        return queueDelayNanos > allowed;
+    }
+
+    /**
+     * Returns whether a standing queue was detected in the last interval.
+     *
+     * @return true if overloaded
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+}
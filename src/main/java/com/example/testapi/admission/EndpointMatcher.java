@@ -0,0 +1,59 @@
+package com.example.testapi.admission;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves a request path to the value configured for its longest matching path prefix.
+ *
+ * @param <T> the per-endpoint value type
+ */
+public class EndpointMatcher<T> {
+
+    private final List<Map.Entry<String, T>> entries;
+    private final T defaultValue;
+
+    /**
+     * Creates a matcher.
+     *
+     * @param prefixes the path prefixes to match
+     * @param factory creates the value for each prefix
+     * @param defaultValue the value used when no prefix matches
+     */
+    public EndpointMatcher(Iterable<String> prefixes, Function<String, T> factory, T defaultValue) {
+        List<Map.Entry<String, T>> list = new ArrayList<>();
+        prefixes.forEach(prefix -> list.add(Map.entry(prefix, factory.apply(prefix))));
+        list.sort(Comparator.comparingInt((Map.Entry<String, T> entry) -> entry.getKey().length()).reversed());
+        this.entries = List.copyOf(list);
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Returns the value for the longest prefix matching the path. A prefix matches the path
+     * itself and any sub-path, but not siblings sharing the same characters.
+     *
+     * @param path the request path
+     * @return the matching value or the default value
+     */
+    public T match(String path) {
+        for (Map.Entry<String, T> entry : entries) {
+            String prefix = entry.getKey();
+            if (path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return entry.getValue();
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Returns the configured path prefixes, longest first.
+     *
+     * @return the prefixes
+     */
+    public List<String> getPrefixes() {
+        return entries.stream().map(Map.Entry::getKey).toList();
+    }
+}
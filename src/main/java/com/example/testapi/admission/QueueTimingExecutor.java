@@ -0,0 +1,86 @@
+package com.example.testapi.admission;
+
+import org.apache.tomcat.util.threads.TaskQueue;
+import org.apache.tomcat.util.threads.TaskThreadFactory;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tomcat request executor that measures how long each task waited in the queue.
+ *
+ * Tomcat hands every socket (and every HTTP/2 stream) to its executor once data is
+ * available; when all worker threads are busy the task waits in the queue and this wait is
+ * invisible to the application, since the request is only parsed once a worker picks it up.
+ * This executor timestamps tasks on submission and exposes the wait of the task currently
+ * running on a worker thread through {@link #takeQueueDelayNanos()}.
+ *
+ * It is built the same way as Tomcat's internal executor, so pool growth and queueing
+ * behave exactly as with the default connector settings.
+ */
+public class QueueTimingExecutor extends ThreadPoolExecutor {
+
+    private static final ThreadLocal<long[]> QUEUE_DELAY = ThreadLocal.withInitial(() -> new long[]{-1});
+
+    /**
+     * Creates a queue timing executor.
+     *
+     * @param namePrefix the worker thread name prefix
+     * @param minSpareThreads the number of threads kept alive
+     * @param maxThreads the maximum number of worker threads
+     * @param maxQueueCapacity the maximum number of queued tasks
+     */
+    public QueueTimingExecutor(String namePrefix, int minSpareThreads, int maxThreads, int maxQueueCapacity) {
+        this(new TaskQueue(maxQueueCapacity), namePrefix, minSpareThreads, maxThreads);
+    }
+
+    private QueueTimingExecutor(TaskQueue queue, String namePrefix, int minSpareThreads, int maxThreads) {
+        super(minSpareThreads, maxThreads, 60, TimeUnit.SECONDS, queue,
+                new TaskThreadFactory(namePrefix, true, Thread.NORM_PRIORITY));
+        queue.setParent(this);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new TimedTask(command, System.nanoTime()));
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        if (runnable instanceof TimedTask task) {
+            QUEUE_DELAY.get()[0] = System.nanoTime() - task.submittedNanos;
+        }
+        super.beforeExecute(thread, runnable);
+    }
+
+    /**
+     * Returns and clears the queue delay of the task running on the current thread.
+     * Clearing ensures that further requests served by the same task (keep-alive
+     * pipelining) are not charged for a wait they did not incur.
+     *
+     * @return the queue delay in nanoseconds, or -1 if none was recorded
+     */
+    public static long takeQueueDelayNanos() {
+        long[] delay = QUEUE_DELAY.get();
+        long value = delay[0];
+        delay[0] = -1;
+        return value;
+    }
+
+    /**
+     * Returns how long the task at the head of the queue has been waiting for a worker.
+     *
+     * @return the wait in nanoseconds, or 0 if no task is queued
+     */
+    public long getOldestQueuedNanos() {
+        Runnable head = getQueue().peek();
+        return head instanceof TimedTask task ? Math.max(0, System.nanoTime() - task.submittedNanos) : 0;
+    }
+
+    private record TimedTask(Runnable delegate, long submittedNanos) implements Runnable {
+        @Override
+        public void run() {
+            delegate.run();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.testapi.admission;
+
+/**
+ * Priority classes used when shedding load.
+ * Each class tolerates a multiple of the target queue delay, so that under overload
+ * low-priority requests are rejected first and high-priority requests last.
+ */
+public enum RequestPriority {
+
+    /**
+     * Cheap, latency-sensitive reads such as the quotation.
+     */
+    HIGH(4),
+
+    /**
+     * Regular requests.
+     */
+    MEDIUM(2),
+
+    /**
+     * Expensive requests that are the first to be shed.
+     */
+    LOW(1);
+
+    private final int delayMultiplier;
+
+    RequestPriority(int delayMultiplier) {
+        this.delayMultiplier = delayMultiplier;
+    }
+
+    /**
+     * Returns how many times the target delay this priority tolerates.
+     *
+     * @return the delay multiplier
+     */
+    public int getDelayMultiplier() {
+        return delayMultiplier;
+    }
+}
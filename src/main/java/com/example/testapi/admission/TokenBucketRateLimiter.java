@@ -0,0 +1,126 @@
+package com.example.testapi.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket rate limiter keyed by an arbitrary client key.
+ *
+ * Each bucket is stored as a single {@link AtomicLong} holding its theoretical arrival time
+ * (the generic cell rate algorithm formulation of a token bucket): a request is admitted when
+ * pushing that time one emission interval forward keeps it within {@code burst} intervals of
+ * now. Admission is therefore a single compare-and-set, with no locks and no separate token
+ * and timestamp fields that could get out of sync.
+ *
+ * Buckets that have refilled completely carry no state and are evicted once the number of
+ * tracked keys reaches {@code maxKeys}, at most once per second so that a flood of new keys
+ * does not scan every bucket on each request. While the limit is still reached, new keys
+ * share a single overflow bucket, so the number of tracked keys never grows past it and
+ * clients inventing keys cannot obtain a fresh burst each.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong overflowBucket = new AtomicLong(Long.MIN_VALUE);
+
+    private final AtomicLong nextEviction;
+
+    /**
+     * Creates a rate limiter using the system clock.
+     *
+     * @param requestsPerSecond the sustained rate allowed per key
+     * @param burst the number of requests a key may send at once after being idle
+     * @param maxKeys the maximum number of tracked keys
+     */
+    public TokenBucketRateLimiter(double requestsPerSecond, int burst, int maxKeys) {
+        this(requestsPerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param requestsPerSecond the sustained rate allowed per key
+     * @param burst the number of requests a key may send at once after being idle
+     * @param maxKeys the maximum number of tracked keys
+     * @param nanoClock the monotonic clock, in nanoseconds
+     */
+    public TokenBucketRateLimiter(double requestsPerSecond, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        this.nextEviction = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Tries to take one token from the bucket of the given key.
+     *
+     * @param key the client key
+     * @return 0 if the request is admitted, otherwise the number of nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = bucketOf(key);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long arrival = bucket.get();
+            long next = (arrival == Long.MIN_VALUE || arrival - now < 0 ? now : arrival) + emissionIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys currently tracked.
+     *
+     * @return the number of buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Returns the bucket of a key, creating it while there is room and the overflow bucket
+     * otherwise.
+     */
+    private AtomicLong bucketOf(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            evictIdleBuckets();
+            if (buckets.size() >= maxKeys) {
+                return overflowBucket;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    private void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        long due = nextEviction.get();
+        if (now - due < 0 || !nextEviction.compareAndSet(due, now + EVICTION_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() == Long.MIN_VALUE || bucket.get() - now <= 0);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.ReglaAlerta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Evaluates alert rules as new data points arrive.
+ *
+ * The engine keeps the latest value of every {@link AlertField}. An update only
+ * evaluates the rules whose metric depends on the updated source, and each evaluation
+ * is constant work, so the cost of a data point grows with the number of affected rules
+ * and never with the amount of history. Fired alerts are handed to the sink and kept in
+ * a bounded list of recent alerts.
+ */
+public class AlertEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertEngine.class);
+
+    /**
+     * Maximum number of registered rules; every data point evaluates the rules depending on
+     * it, so the rule set must not grow without bound.
+     */
+    public static final int MAX_RULES = 100;
+
+    private final AlertSink sink;
+    private final int historySize;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, CompiledRule> rules = new ConcurrentHashMap<>();
+    private final Map<AlertField.Source, List<CompiledRule>> rulesBySource = new EnumMap<>(AlertField.Source.class);
+    private final Object quoteLock = new Object();
+    // Both arrays are replaced, never modified, so readers need no lock
+    private volatile double[] quoteValues = new double[AlertField.values().length];
+    private volatile double[] spreadValues = {Double.NaN, Double.NaN, Double.NaN};
+    private final Deque<Alerta> recent = new ArrayDeque<>();
+
+    /**
+     * Constructor for AlertEngine using the system clock.
+     *
+     * @param sink where fired alerts are delivered
+     * @param historySize how many recent alerts are kept
+     */
+    public AlertEngine(AlertSink sink, int historySize) {
+        this(sink, historySize, System::nanoTime);
+    }
+
+    /**
+     * Constructor for AlertEngine.
+     *
+     * @param sink where fired alerts are delivered
+     * @param historySize how many recent alerts are kept
+     * @param nanoClock the monotonic clock, in nanoseconds
+     */
+    public AlertEngine(AlertSink sink, int historySize, LongSupplier nanoClock) {
+        this.sink = sink;
+        this.historySize = historySize;
+        this.nanoClock = nanoClock;
+        for (AlertField.Source source : AlertField.Source.values()) {
+            rulesBySource.put(source, new CopyOnWriteArrayList<>());
+        }
+        Arrays.fill(quoteValues, Double.NaN);
+    }
+
+    /**
+     * Validates and registers a rule, assigning it a new id.
+     *
+     * @param definition the rule definition
+     * @return the registered rule, including its id
+     * @throws IllegalArgumentException if the definition is invalid or the rule limit is reached
+     */
+    public synchronized ReglaAlerta register(ReglaAlerta definition) {
+        if (definition == null) {
+            throw new IllegalArgumentException("Rule cannot be null");
+        }
+        if (rules.size() >= MAX_RULES) {
+            throw new IllegalArgumentException("No more than " + MAX_RULES + " alert rules can be registered");
+        }
+        ReglaAlerta registered = new ReglaAlerta(UUID.randomUUID().toString(), definition.getNombre(),
+                definition.getMetrica(), definition.getTipo() == null ? CompiledRule.UMBRAL : definition.getTipo(),
+                definition.getOperador(), definition.getUmbral(), definition.getVentana(), definition.getCooldown());
+        CompiledRule rule = CompiledRule.compile(registered);
+        rules.put(registered.getId(), rule);
+        for (AlertField.Source source : rule.getMetric().sources()) {
+            rulesBySource.get(source).add(rule);
+        }
+        return registered;
+    }
+
+    /**
+     * Removes a rule.
+     *
+     * @param id the rule id
+     * @return true if the rule existed
+     */
+    public boolean remove(String id) {
+        CompiledRule rule = rules.remove(id);
+        if (rule == null) {
+            return false;
+        }
+        rulesBySource.values().forEach(list -> list.remove(rule));
+        return true;
+    }
+
+    /**
+     * Returns the registered rules.
+     *
+     * @return the rule definitions
+     */
+    public List<ReglaAlerta> getRules() {
+        return rules.values().stream().map(CompiledRule::getDefinition).toList();
+    }
+
+    /**
+     * Returns the most recent alerts, newest first.
+     *
+     * @return the recent alerts
+     */
+    public List<Alerta> getRecentAlerts() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    /**
+     * Records newly computed differences and evaluates the rules depending on them.
+     * Called on every request thread, so it takes no lock and does nothing while no rule
+     * depends on the differences.
+     *
+     * @param diferenciaAvg the difference of the average values
+     * @param diferenciaSell the difference of the sell values
+     * @param diferenciaBuy the difference of the buy values
+     */
+    public void onSpread(double diferenciaAvg, double diferenciaSell, double diferenciaBuy) {
+        List<CompiledRule> candidates = rulesBySource.get(AlertField.Source.SPREAD);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        double[] spread = {diferenciaAvg, diferenciaSell, diferenciaBuy};
+        spreadValues = spread;
+        evaluate(candidates, withSpread(quoteValues.clone(), spread));
+    }
+
+    /**
+     * Records a newly retrieved quotation and evaluates the rules depending on it.
+     *
+     * @param cotizacion the quotation
+     */
+    public void onQuote(CotizacionResponse cotizacion) {
+        double[] quote;
+        synchronized (quoteLock) {
+            quote = quoteValues.clone();
+            AlertField.extract(cotizacion, quote);
+            quoteValues = quote;
+        }
+        List<CompiledRule> candidates = rulesBySource.get(AlertField.Source.QUOTE);
+        if (!candidates.isEmpty()) {
+            evaluate(candidates, withSpread(quote.clone(), spreadValues));
+        }
+    }
+
+    private static double[] withSpread(double[] snapshot, double[] spread) {
+        snapshot[AlertField.DIFERENCIA_AVG.ordinal()] = spread[0];
+        snapshot[AlertField.DIFERENCIA_SELL.ordinal()] = spread[1];
+        snapshot[AlertField.DIFERENCIA_BUY.ordinal()] = spread[2];
+        return snapshot;
+    }
+
+    private void evaluate(Collection<CompiledRule> candidates, double[] snapshot) {
+        long now = nanoClock.getAsLong();
+        for (CompiledRule rule : candidates) {
+            Alerta alerta = rule.evaluate(snapshot, now);
+            if (alerta != null) {
+                fire(alerta);
+            }
+        }
+    }
+
+    private void fire(Alerta alerta) {
+        synchronized (recent) {
+            recent.addFirst(alerta);
+            while (recent.size() > historySize) {
+                recent.removeLast();
+            }
+        }
+        try {
+            sink.send(alerta);
+        } catch (RuntimeException e) {
+            logger.error("Alert sink failed for rule '{}'", alerta.getReglaId(), e);
+        }
+    }
+}
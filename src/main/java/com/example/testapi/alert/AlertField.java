@@ -0,0 +1,97 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.CotizacionResponse;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Data points alert rules can refer to: the computed differences and every live
+ * quotation field. Names match the JSON property names of the respective responses.
+ */
+public enum AlertField {
+
+    DIFERENCIA_AVG("diferencia_avg", Source.SPREAD),
+    DIFERENCIA_SELL("diferencia_sell", Source.SPREAD),
+    DIFERENCIA_BUY("diferencia_buy", Source.SPREAD),
+    OFICIAL_AVG("oficial.value_avg", Source.QUOTE),
+    OFICIAL_SELL("oficial.value_sell", Source.QUOTE),
+    OFICIAL_BUY("oficial.value_buy", Source.QUOTE),
+    BLUE_AVG("blue.value_avg", Source.QUOTE),
+    BLUE_SELL("blue.value_sell", Source.QUOTE),
+    BLUE_BUY("blue.value_buy", Source.QUOTE),
+    OFICIAL_EURO_AVG("oficial_euro.value_avg", Source.QUOTE),
+    OFICIAL_EURO_SELL("oficial_euro.value_sell", Source.QUOTE),
+    OFICIAL_EURO_BUY("oficial_euro.value_buy", Source.QUOTE),
+    BLUE_EURO_AVG("blue_euro.value_avg", Source.QUOTE),
+    BLUE_EURO_SELL("blue_euro.value_sell", Source.QUOTE),
+    BLUE_EURO_BUY("blue_euro.value_buy", Source.QUOTE);
+
+    /**
+     * Where the values of a field come from.
+     */
+    public enum Source {
+        SPREAD, QUOTE
+    }
+
+    private static final Map<String, AlertField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(AlertField::getName, Function.identity()));
+
+    private final String name;
+    private final Source source;
+
+    AlertField(String name, Source source) {
+        this.name = name;
+        this.source = source;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Resolves a field by its name.
+     *
+     * @param name the field name, e.g. {@code blue.value_avg}
+     * @return the field
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static AlertField fromName(String name) {
+        AlertField field = BY_NAME.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown alert field: " + name);
+        }
+        return field;
+    }
+
+    /**
+     * Extracts the quote fields of a quotation into a value array indexed by ordinal.
+     * Missing values are stored as NaN.
+     *
+     * @param cotizacion the quotation
+     * @param values the array to update
+     */
+    static void extract(CotizacionResponse cotizacion, double[] values) {
+        put(values, OFICIAL_AVG, cotizacion.getOficial());
+        put(values, BLUE_AVG, cotizacion.getBlue());
+        put(values, OFICIAL_EURO_AVG, cotizacion.getOficialEuro());
+        put(values, BLUE_EURO_AVG, cotizacion.getBlueEuro());
+    }
+
+    private static void put(double[] values, AlertField avg, CotizacionResponse.CotizacionData data) {
+        int index = avg.ordinal();
+        values[index] = data == null ? Double.NaN : orNaN(data.getValueAvg());
+        values[index + 1] = data == null ? Double.NaN : orNaN(data.getValueSell());
+        values[index + 2] = data == null ? Double.NaN : orNaN(data.getValueBuy());
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.Alerta;
+
+/**
+ * Destination for fired alerts.
+ */
+public interface AlertSink {
+
+    /**
+     * Delivers an alert. Implementations must not block the caller for the duration
+     * of a remote delivery and must not throw on delivery failures.
+     *
+     * @param alerta the alert
+     */
+    void send(Alerta alerta);
+}
@@ -0,0 +1,165 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.ReglaAlerta;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.DoublePredicate;
+
+/**
+ * An alert rule ready for incremental evaluation.
+ *
+ * Each evaluation does a constant amount of work: threshold rules compare the current
+ * metric value, change rules compare it with the value recorded one window ago in a
+ * fixed ring of {@value #CHANGE_SLOTS} time slots. Alerts are edge-triggered (a rule that
+ * stays in alarm does not fire again) and rate-limited by the rule's cooldown.
+ */
+final class CompiledRule {
+
+    static final String UMBRAL = "umbral";
+    static final String VARIACION = "variacion";
+
+    private static final int CHANGE_SLOTS = 10;
+    private static final Duration DEFAULT_COOLDOWN = Duration.ofMinutes(5);
+
+    private final ReglaAlerta definition;
+    private final MetricExpression metric;
+    private final DoublePredicate condition;
+    private final boolean change;
+    private final long cooldownNanos;
+    private final long slotNanos;
+
+    private final long[] slotIds;
+    private final double[] slotValues;
+    private boolean firing;
+    private long lastAlertNanos = Long.MIN_VALUE;
+
+    private CompiledRule(ReglaAlerta definition, MetricExpression metric, DoublePredicate condition,
+                         boolean change, Duration window, Duration cooldown) {
+        this.definition = definition;
+        this.metric = metric;
+        this.condition = condition;
+        this.change = change;
+        this.cooldownNanos = cooldown.toNanos();
+        this.slotNanos = change ? Math.max(1, window.toNanos() / CHANGE_SLOTS) : 0;
+        this.slotIds = change ? new long[CHANGE_SLOTS] : null;
+        this.slotValues = change ? new double[CHANGE_SLOTS] : null;
+        if (change) {
+            Arrays.fill(slotIds, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Validates and compiles a rule definition.
+     *
+     * @param definition the rule definition, with its id already assigned
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    static CompiledRule compile(ReglaAlerta definition) {
+        if (definition == null) {
+            throw new IllegalArgumentException("Rule cannot be null");
+        }
+        MetricExpression metric = MetricExpression.parse(definition.getMetrica());
+        String tipo = definition.getTipo() == null ? UMBRAL : definition.getTipo();
+        if (!UMBRAL.equals(tipo) && !VARIACION.equals(tipo)) {
+            throw new IllegalArgumentException("Rule type must be 'umbral' or 'variacion'");
+        }
+        if (definition.getUmbral() == null || !Double.isFinite(definition.getUmbral())) {
+            throw new IllegalArgumentException("Threshold is required");
+        }
+        DoublePredicate condition = condition(definition.getOperador(), definition.getUmbral());
+
+        boolean change = VARIACION.equals(tipo);
+        Duration window = change ? duration(definition.getVentana(), "Window") : Duration.ZERO;
+        if (change && window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        Duration cooldown = definition.getCooldown() == null ? DEFAULT_COOLDOWN : duration(definition.getCooldown(), "Cooldown");
+        return new CompiledRule(definition, metric, condition, change, window, cooldown);
+    }
+
+    /**
+     * Evaluates the rule against the latest field values.
+     *
+     * @param values the latest value of every field, indexed by ordinal
+     * @param nowNanos the monotonic time of the data point
+     * @return the alert to deliver, or null
+     */
+    synchronized Alerta evaluate(double[] values, long nowNanos) {
+        double current = metric.evaluate(values);
+        if (Double.isNaN(current)) {
+            return null;
+        }
+        double observed = change ? percentChange(current, nowNanos) : current;
+        boolean alarm = !Double.isNaN(observed) && condition.test(observed);
+        boolean risingEdge = alarm && !firing;
+        firing = alarm;
+        if (!risingEdge || (lastAlertNanos != Long.MIN_VALUE && nowNanos - lastAlertNanos < cooldownNanos)) {
+            return null;
+        }
+        lastAlertNanos = nowNanos;
+        return new Alerta(definition.getId(), definition.getNombre(), metric.toString(),
+                change ? VARIACION : UMBRAL, observed, definition.getUmbral(), Instant.now().toString());
+    }
+
+    ReglaAlerta getDefinition() {
+        return definition;
+    }
+
+    MetricExpression getMetric() {
+        return metric;
+    }
+
+    /**
+     * Records the value in its time slot and returns the change against the oldest
+     * slot still within the window, or NaN if there is no earlier value.
+     */
+    private double percentChange(double current, long nowNanos) {
+        long slot = Math.floorDiv(nowNanos, slotNanos);
+        int index = (int) Math.floorMod(slot, (long) CHANGE_SLOTS);
+        if (slotIds[index] != slot) {
+            slotIds[index] = slot;
+            slotValues[index] = current;
+        }
+        for (int back = CHANGE_SLOTS - 1; back > 0; back--) {
+            int candidate = (int) Math.floorMod(slot - back, (long) CHANGE_SLOTS);
+            if (slotIds[candidate] == slot - back) {
+                double reference = slotValues[candidate];
+                return reference == 0 ? Double.NaN : (current - reference) / Math.abs(reference) * 100;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static DoublePredicate condition(String operador, double umbral) {
+        if (operador == null) {
+            throw new IllegalArgumentException("Operator is required");
+        }
+        return switch (operador) {
+            case ">" -> value -> value > umbral;
+            case ">=" -> value -> value >= umbral;
+            case "<" -> value -> value < umbral;
+            case "<=" -> value -> value <= umbral;
+            default -> throw new IllegalArgumentException("Operator must be one of >, >=, <, <=");
+        };
+    }
+
+    private static Duration duration(String text, String name) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        try {
+            Duration duration = DurationStyle.detectAndParse(text);
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException(name + " cannot be negative");
+            }
+            return duration;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be a duration such as '5m': " + text);
+        }
+    }
+}
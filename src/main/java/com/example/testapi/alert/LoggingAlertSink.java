@@ -0,0 +1,19 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.Alerta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Alert sink writing alerts to the application log, used when no webhook is configured.
+ */
+public class LoggingAlertSink implements AlertSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingAlertSink.class);
+
+    @Override
+    public void send(Alerta alerta) {
+        logger.warn("Alert '{}' fired: {} = {} (threshold {})",
+                alerta.getNombre(), alerta.getMetrica(), alerta.getValor(), alerta.getUmbral());
+    }
+}
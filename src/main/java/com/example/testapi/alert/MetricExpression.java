@@ -0,0 +1,72 @@
+package com.example.testapi.alert;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A metric an alert rule observes: a single field, or the difference of two fields
+ * (for instance {@code blue.value_avg - oficial.value_avg}).
+ */
+public final class MetricExpression {
+
+    private final String text;
+    private final AlertField left;
+    private final AlertField right;
+
+    private MetricExpression(String text, AlertField left, AlertField right) {
+        this.text = text;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Parses a metric expression.
+     *
+     * @param text the expression, {@code field} or {@code field - field}
+     * @return the parsed expression
+     * @throws IllegalArgumentException if the expression is malformed or refers to unknown fields
+     */
+    public static MetricExpression parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Metric is required");
+        }
+        String[] operands = text.split("-", -1);
+        if (operands.length == 1) {
+            return new MetricExpression(text.trim(), AlertField.fromName(operands[0].trim()), null);
+        }
+        if (operands.length == 2) {
+            return new MetricExpression(text.trim(), AlertField.fromName(operands[0].trim()),
+                    AlertField.fromName(operands[1].trim()));
+        }
+        throw new IllegalArgumentException("Metric must be a field or the difference of two fields: " + text);
+    }
+
+    /**
+     * Evaluates the metric over the latest values.
+     *
+     * @param values the latest value of every field, indexed by ordinal
+     * @return the metric value, NaN if any operand has no value yet
+     */
+    double evaluate(double[] values) {
+        double value = values[left.ordinal()];
+        return right == null ? value : value - values[right.ordinal()];
+    }
+
+    /**
+     * Returns the sources whose updates can change this metric.
+     *
+     * @return the sources
+     */
+    Set<AlertField.Source> sources() {
+        Set<AlertField.Source> sources = EnumSet.of(left.getSource());
+        if (right != null) {
+            sources.add(right.getSource());
+        }
+        return sources;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
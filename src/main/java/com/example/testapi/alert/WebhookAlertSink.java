@@ -0,0 +1,49 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.Alerta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Alert sink posting every alert as JSON to a webhook.
+ * Deliveries are asynchronous; failures and timeouts are logged and the alert is dropped.
+ */
+public class WebhookAlertSink implements AlertSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookAlertSink.class);
+
+    private final WebClient webClient;
+    private final String url;
+    private final Duration timeout;
+
+    /**
+     * Constructor for WebhookAlertSink.
+     *
+     * @param webClientBuilder the WebClient.Builder instance for making HTTP requests
+     * @param url the webhook URL
+     * @param timeout the maximum time a delivery may take
+     */
+    public WebhookAlertSink(WebClient.Builder webClientBuilder, String url, Duration timeout) {
+        this.webClient = webClientBuilder.build();
+        this.url = url;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void send(Alerta alerta) {
+        webClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(alerta)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(timeout)
+                .subscribe(
+                        response -> logger.debug("Alert '{}' delivered to webhook", alerta.getReglaId()),
+                        e -> logger.error("Failed to deliver alert '{}' to webhook: {}", alerta.getReglaId(), e.toString()));
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.testapi.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size memo of default-formula outcomes, keyed by the six rate values of a request.
+ *
+ * The table is an array of slots with open addressing: a key hashes to an aligned window of
+ * {@value #PROBE_WINDOW} consecutive slots and may live in any of them, so a probe touches at
+ * most two cache lines of references. Lookups compare the raw bits of the six doubles in
+ * place, so no key object is allocated. When the window of a new key is full, the clock of
+ * that window sweeps it: each slot has a reference bit set on every hit, the hand clears set
+ * bits as it passes and evicts the first slot whose bit was already clear.
+ *
+ * Entries are immutable apart from their reference bit, so readers never see a half-written
+ * entry; concurrent insertions into the same window may overwrite each other, which only
+ * costs a later miss. Outcomes are the three differences and, when they were rejected, the
+ * message of the negative differences error.
+ */
+public class DiferenciasMemoCache implements MeterBinder {
+
+    static final int PROBE_WINDOW = 8;
+
+    private final Entry[] slots;
+    private final byte[] hands;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates the cache.
+     *
+     * @param capacity the number of entries, rounded up to a power of two of at least the probe window
+     */
+    public DiferenciasMemoCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        int size = Math.max(PROBE_WINDOW, Integer.highestOneBit(Math.min(capacity, 1 << 30) - 1) << 1);
+        this.slots = new Entry[size];
+        this.hands = new byte[size / PROBE_WINDOW];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Looks up the outcome of the given rates and records a hit or a miss.
+     *
+     * @return the cached outcome, or null on a miss
+     */
+    public Outcome get(double cryptoAvg, double cryptoSell, double cryptoBuy,
+                       double mepAvg, double mepSell, double mepBuy) {
+        long k0 = Double.doubleToLongBits(cryptoAvg);
+        long k1 = Double.doubleToLongBits(cryptoSell);
+        long k2 = Double.doubleToLongBits(cryptoBuy);
+        long k3 = Double.doubleToLongBits(mepAvg);
+        long k4 = Double.doubleToLongBits(mepSell);
+        long k5 = Double.doubleToLongBits(mepBuy);
+        int start = windowStart(k0, k1, k2, k3, k4, k5);
+        for (int i = 0; i < PROBE_WINDOW; i++) {
+            Entry entry = slots[start + i];
+            if (entry != null && entry.matches(k0, k1, k2, k3, k4, k5)) {
+                entry.referenced = true;
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the differences computed for the given rates.
+     */
+    public void putResult(double cryptoAvg, double cryptoSell, double cryptoBuy,
+                          double mepAvg, double mepSell, double mepBuy,
+                          double diferenciaAvg, double diferenciaSell, double diferenciaBuy) {
+        put(new Entry(cryptoAvg, cryptoSell, cryptoBuy, mepAvg, mepSell, mepBuy,
+                diferenciaAvg, diferenciaSell, diferenciaBuy, null));
+    }
+
+    /**
+     * Caches the negative differences error raised for the given rates, together with the
+     * differences that caused it so that a replay can still report them to observers.
+     */
+    public void putError(double cryptoAvg, double cryptoSell, double cryptoBuy,
+                         double mepAvg, double mepSell, double mepBuy,
+                         double diferenciaAvg, double diferenciaSell, double diferenciaBuy, String errorMessage) {
+        put(new Entry(cryptoAvg, cryptoSell, cryptoBuy, mepAvg, mepSell, mepBuy,
+                diferenciaAvg, diferenciaSell, diferenciaBuy, errorMessage));
+    }
+
+    private void put(Entry entry) {
+        int start = windowStart(entry.k0, entry.k1, entry.k2, entry.k3, entry.k4, entry.k5);
+        for (int i = 0; i < PROBE_WINDOW; i++) {
+            int index = start + i;
+            Entry current = slots[index];
+            if (current == null || current.matches(entry.k0, entry.k1, entry.k2, entry.k3, entry.k4, entry.k5)) {
+                slots[index] = entry;
+                return;
+            }
+        }
+        // Window full: one turn of the hand clears every bit, so a victim is found within two
+        int window = start / PROBE_WINDOW;
+        int hand = hands[window];
+        for (int i = 0; i < 2 * PROBE_WINDOW; i++) {
+            int index = start + (hand + i) % PROBE_WINDOW;
+            Entry current = slots[index];
+            if (current == null || !current.referenced) {
+                slots[index] = entry;
+                hands[window] = (byte) ((hand + i + 1) % PROBE_WINDOW);
+                evictions.increment();
+                return;
+            }
+            current.referenced = false;
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups not found in the cache.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new ones.
+     *
+     * @return the eviction count
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 before the first lookup
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Returns the number of cached outcomes, counted by scanning the table.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        int size = 0;
+        for (Entry entry : slots) {
+            if (entry != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of slots of the table.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("diferencias.cache.requests", hits, LongAdder::sum)
+                .description("Diferencias memo cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("diferencias.cache.requests", misses, LongAdder::sum)
+                .description("Diferencias memo cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("diferencias.cache.evictions", evictions, LongAdder::sum)
+                .description("Diferencias memo cache entries evicted by the clock")
+                .register(registry);
+        Gauge.builder("diferencias.cache.hit.ratio", this, DiferenciasMemoCache::getHitRate)
+                .description("Fraction of diferencias lookups answered from the memo cache")
+                .register(registry);
+        Gauge.builder("diferencias.cache.size", this, DiferenciasMemoCache::size)
+                .description("Outcomes held by the diferencias memo cache")
+                .register(registry);
+    }
+
+    private int windowStart(long k0, long k1, long k2, long k3, long k4, long k5) {
+        return hash(k0, k1, k2, k3, k4, k5) & mask & -PROBE_WINDOW;
+    }
+
+    private static int hash(long k0, long k1, long k2, long k3, long k4, long k5) {
+        long h = k0 * 0x9E3779B97F4A7C15L;
+        h = (h ^ k1) * 0x9E3779B97F4A7C15L;
+        h = (h ^ k2) * 0x9E3779B97F4A7C15L;
+        h = (h ^ k3) * 0x9E3779B97F4A7C15L;
+        h = (h ^ k4) * 0x9E3779B97F4A7C15L;
+        h = (h ^ k5) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * A cached outcome: the three differences and, if they were rejected, the negative differences error.
+     */
+    public interface Outcome {
+
+        /**
+         * Returns the message of the negative differences error.
+         *
+         * @return the error message, or null if the differences were computed
+         */
+        String getErrorMessage();
+
+        double getDiferenciaAvg();
+
+        double getDiferenciaSell();
+
+        double getDiferenciaBuy();
+    }
+
+    private static final class Entry implements Outcome {
+
+        final long k0;
+        final long k1;
+        final long k2;
+        final long k3;
+        final long k4;
+        final long k5;
+        final double diferenciaAvg;
+        final double diferenciaSell;
+        final double diferenciaBuy;
+        final String errorMessage;
+        // Racy by design, like the hands: a lost update only changes which entry the clock evicts
+        boolean referenced;
+
+        Entry(double cryptoAvg, double cryptoSell, double cryptoBuy, double mepAvg, double mepSell, double mepBuy,
+              double diferenciaAvg, double diferenciaSell, double diferenciaBuy, String errorMessage) {
+            this.k0 = Double.doubleToLongBits(cryptoAvg);
+            this.k1 = Double.doubleToLongBits(cryptoSell);
+            this.k2 = Double.doubleToLongBits(cryptoBuy);
+            this.k3 = Double.doubleToLongBits(mepAvg);
+            this.k4 = Double.doubleToLongBits(mepSell);
+            this.k5 = Double.doubleToLongBits(mepBuy);
+            this.diferenciaAvg = diferenciaAvg;
+            this.diferenciaSell = diferenciaSell;
+            this.diferenciaBuy = diferenciaBuy;
+            this.errorMessage = errorMessage;
+        }
+
+        boolean matches(long k0, long k1, long k2, long k3, long k4, long k5) {
+            return this.k0 == k0 && this.k1 == k1 && this.k2 == k2
+                    && this.k3 == k3 && this.k4 == k4 && this.k5 == k5;
+        }
+
+        @Override
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        @Override
+        public double getDiferenciaAvg() {
+            return diferenciaAvg;
+        }
+
+        @Override
+        public double getDiferenciaSell() {
+            return diferenciaSell;
+        }
+
+        @Override
+        public double getDiferenciaBuy() {
+            return diferenciaBuy;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.testapi.cache;
+
+import com.example.testapi.snapshot.QuotationSnapshot;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process stand-in for a shared quotation cache, with the same expiry, lock and change
+ * semantics as the Redis one. Instances of the application sharing this object behave like
+ * a fleet sharing a Redis server, which is how tests and single-node setups use it.
+ * Changes are delivered to listeners synchronously on the publishing thread.
+ */
+public class LocalSharedQuotationCache implements SharedQuotationCache {
+
+    private final long ttlMillis;
+    private final long lockLeaseMillis;
+    private final LongSupplier clock;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    private QuotationSnapshot entry;
+    private long entryExpiresAt;
+    private Thread lockOwner;
+    private long lockExpiresAt;
+
+    /**
+     * Creates a cache using the system clock.
+     *
+     * @param ttl how long a cached quotation is served
+     * @param lockLease how long the refresh lock is held at most
+     */
+    public LocalSharedQuotationCache(Duration ttl, Duration lockLease) {
+        this(ttl, lockLease, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param ttl how long a cached quotation is served
+     * @param lockLease how long the refresh lock is held at most
+     * @param clock the wall clock in epoch milliseconds
+     */
+    public LocalSharedQuotationCache(Duration ttl, Duration lockLease, LongSupplier clock) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Shared cache TTL must be positive");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.lockLeaseMillis = lockLease.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Optional<QuotationSnapshot> get() {
+        return Optional.ofNullable(current());
+    }
+
+    @Override
+    public void put(QuotationSnapshot snapshot) {
+        String lastUpdate = snapshot.getCotizacion().getLastUpdate();
+        boolean changed;
+        synchronized (this) {
+            QuotationSnapshot previous = current();
+            changed = previous == null || !Objects.equals(previous.getCotizacion().getLastUpdate(), lastUpdate);
+            entry = snapshot;
+            entryExpiresAt = clock.getAsLong() + ttlMillis;
+        }
+        if (changed) {
+            listeners.forEach(listener -> listener.accept(lastUpdate));
+        }
+    }
+
+    @Override
+    public synchronized boolean tryLockRefresh() {
+        long now = clock.getAsLong();
+        if (lockOwner != null && now < lockExpiresAt) {
+            return false;
+        }
+        lockOwner = Thread.currentThread();
+        lockExpiresAt = now + lockLeaseMillis;
+        return true;
+    }
+
+    @Override
+    public synchronized void unlockRefresh() {
+        if (lockOwner == Thread.currentThread()) {
+            lockOwner = null;
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private QuotationSnapshot current() {
+        return entry != null && clock.getAsLong() < entryExpiresAt ? entry : null;
+    }
+}
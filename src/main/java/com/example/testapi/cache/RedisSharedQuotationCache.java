@@ -0,0 +1,268 @@
+package com.example.testapi.cache;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Shared quotation cache on a Redis-compatible server.
+ *
+ * The quotation is stored as JSON with its retrieval time under {@code <prefix>latest},
+ * expiring after the TTL. A put replaces the value and its expiry in one script returning
+ * the previous value, so an entry never outlives its TTL even if the instance dies mid-put,
+ * and publishes the new last_update on {@code <prefix>changes} when it differs. The refresh
+ * lock is a {@code SET NX PX} on {@code <prefix>refresh} holding a token of this instance,
+ * released by a script that only deletes its own token.
+ *
+ * Change messages are received through a listener container started with the application
+ * context. A container cannot start while the server is unreachable, so a failed start is
+ * retried in the background every recovery interval; once started, the container recovers
+ * lost subscriptions itself. Changes published while this instance is not subscribed are
+ * missed, which leaves its local entry in place until the local TTL expires.
+ */
+public class RedisSharedQuotationCache implements SharedQuotationCache, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSharedQuotationCache.class);
+
+    private static final RedisScript<String> REPLACE = new DefaultRedisScript<>(
+            "local previous = redis.call('get', KEYS[1]) redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) return previous",
+            String.class);
+
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Supplier<RedisMessageListenerContainer> containerFactory;
+    private final ObjectMapper objectMapper;
+    private final String entryKey;
+    private final String lockKey;
+    private final ChannelTopic changes;
+    private final Duration ttl;
+    private final Duration lockLease;
+    private final Duration recoveryInterval;
+    private final String lockToken = UUID.randomUUID().toString();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shared-cache-subscriber");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ScheduledFuture<?> subscriber;
+    private volatile RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * Creates the cache.
+     *
+     * @param redisTemplate the template of the shared server
+     * @param objectMapper the mapper used to write and read the quotation
+     * @param keyPrefix the prefix of the keys and channel used by the cache
+     * @param ttl how long a cached quotation is served
+     * @param lockLease how long the refresh lock is held at most
+     * @param recoveryInterval the time between two attempts to subscribe to change messages
+     */
+    public RedisSharedQuotationCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String keyPrefix,
+                                     Duration ttl, Duration lockLease, Duration recoveryInterval) {
+        this(redisTemplate, () -> {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+            container.setRecoveryInterval(recoveryInterval.toMillis());
+            container.afterPropertiesSet();
+            return container;
+        }, objectMapper, keyPrefix, ttl, lockLease, recoveryInterval);
+    }
+
+    /**
+     * Creates the cache with the given source of listener containers.
+     *
+     * @param redisTemplate the template of the shared server
+     * @param containerFactory creates a listener container for each subscription attempt
+     * @param objectMapper the mapper used to write and read the quotation
+     * @param keyPrefix the prefix of the keys and channel used by the cache
+     * @param ttl how long a cached quotation is served
+     * @param lockLease how long the refresh lock is held at most
+     * @param recoveryInterval the time between two attempts to subscribe to change messages
+     */
+    RedisSharedQuotationCache(StringRedisTemplate redisTemplate, Supplier<RedisMessageListenerContainer> containerFactory,
+                              ObjectMapper objectMapper, String keyPrefix, Duration ttl, Duration lockLease,
+                              Duration recoveryInterval) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Shared cache TTL must be positive");
+        }
+        this.redisTemplate = redisTemplate;
+        this.containerFactory = containerFactory;
+        this.recoveryInterval = recoveryInterval;
+        this.objectMapper = objectMapper;
+        this.entryKey = keyPrefix + "latest";
+        this.lockKey = keyPrefix + "refresh";
+        this.changes = new ChannelTopic(keyPrefix + "changes");
+        this.ttl = ttl;
+        this.lockLease = lockLease;
+    }
+
+    @Override
+    public Optional<QuotationSnapshot> get() {
+        try {
+            return Optional.ofNullable(decode(redisTemplate.opsForValue().get(entryKey)));
+        } catch (DataAccessException e) {
+            logger.warn("Shared quotation cache cannot be read: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(QuotationSnapshot snapshot) {
+        String value;
+        try {
+            value = objectMapper.writeValueAsString(
+                    new Entry(snapshot.getFetchedAt().toEpochMilli(), snapshot.getCotizacion()));
+        } catch (IOException e) {
+            logger.warn("Quotation cannot be encoded for the shared cache: {}", e.getMessage());
+            return;
+        }
+        String lastUpdate = snapshot.getCotizacion().getLastUpdate();
+        try {
+            QuotationSnapshot previous = decode(
+                    redisTemplate.execute(REPLACE, List.of(entryKey), value, Long.toString(ttl.toMillis())));
+            if (previous == null || !Objects.equals(previous.getCotizacion().getLastUpdate(), lastUpdate)) {
+                redisTemplate.convertAndSend(changes.getTopic(), lastUpdate);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Shared quotation cache cannot be written: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean tryLockRefresh() {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, lockToken, lockLease));
+        } catch (DataAccessException e) {
+            logger.warn("Shared quotation cache refresh lock cannot be acquired: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void unlockRefresh() {
+        try {
+            redisTemplate.execute(UNLOCK, List.of(lockKey), lockToken);
+        } catch (DataAccessException e) {
+            logger.warn("Shared quotation cache refresh lock cannot be released: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void start() {
+        subscriber = scheduler.scheduleWithFixedDelay(this::trySubscribe, 0, recoveryInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a listener container for the change channel, unless one is already running.
+     */
+    private void trySubscribe() {
+        if (listenerContainer != null) {
+            subscriber.cancel(false);
+            return;
+        }
+        RedisMessageListenerContainer container = containerFactory.get();
+        container.addMessageListener((message, pattern) -> {
+            String lastUpdate = new String(message.getBody(), StandardCharsets.UTF_8);
+            listeners.forEach(listener -> listener.accept(lastUpdate));
+        }, changes);
+        try {
+            container.start();
+            listenerContainer = container;
+            logger.info("Subscribed to shared quotation cache changes on {}", changes.getTopic());
+        } catch (RuntimeException e) {
+            logger.warn("Shared quotation cache changes cannot be subscribed, retrying in {} ms: {}",
+                    recoveryInterval.toMillis(), e.getMessage());
+            destroy(container);
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> running = subscriber;
+        if (running == null) {
+            return;
+        }
+        running.cancel(false);
+        scheduler.shutdown();
+        RedisMessageListenerContainer container = listenerContainer;
+        if (container != null) {
+            destroy(container);
+            listenerContainer = null;
+        }
+        subscriber = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscriber != null;
+    }
+
+    /**
+     * Returns whether change messages are being received.
+     *
+     * @return whether the change channel is subscribed
+     */
+    public boolean isSubscribed() {
+        return listenerContainer != null;
+    }
+
+    private static void destroy(RedisMessageListenerContainer container) {
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            logger.debug("Shared quotation cache listener container cannot be destroyed: {}", e.getMessage());
+        }
+    }
+
+    private QuotationSnapshot decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            Entry entry = objectMapper.readValue(value, Entry.class);
+            return new QuotationSnapshot(entry.cotizacion(), Instant.ofEpochMilli(entry.fetchedAt()));
+        } catch (IOException e) {
+            logger.warn("Shared quotation cache entry cannot be decoded: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private record Entry(long fetchedAt, CotizacionResponse cotizacion) {
+    }
+}
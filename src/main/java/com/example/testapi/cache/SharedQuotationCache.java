@@ -0,0 +1,54 @@
+package com.example.testapi.cache;
+
+import com.example.testapi.snapshot.QuotationSnapshot;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Second-level quotation cache shared by every instance of the application.
+ *
+ * Besides the entry itself, the cache provides a refresh lock, so that a single instance
+ * calls the upstream when the entry is missing, and a change channel: every put that
+ * replaces a missing entry or one with a different last_update is published to all
+ * instances, which drop their first-level copy and wake up requests waiting for the
+ * refresh. Implementations never propagate failures of the shared server; they behave as
+ * an empty cache whose lock is always granted, so requests fall back to the upstream.
+ */
+public interface SharedQuotationCache {
+
+    /**
+     * Reads the cached quotation.
+     *
+     * @return the quotation, or empty if none is cached, it expired or the cache is unreachable
+     */
+    Optional<QuotationSnapshot> get();
+
+    /**
+     * Caches a quotation retrieved from the upstream and publishes its last_update if it
+     * changed.
+     *
+     * @param snapshot the live quotation
+     */
+    void put(QuotationSnapshot snapshot);
+
+    /**
+     * Acquires the refresh lock, held until released or for the lock lease at most.
+     *
+     * @return whether this instance should refresh the quotation
+     */
+    boolean tryLockRefresh();
+
+    /**
+     * Releases the refresh lock if this instance holds it.
+     */
+    void unlockRefresh();
+
+    /**
+     * Registers a listener receiving the last_update of every published change, including
+     * those published by this instance.
+     *
+     * @param listener the change listener
+     */
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,116 @@
+package com.example.testapi.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.CRC32;
+
+/**
+ * Leader elector backed by a PostgreSQL session-level advisory lock.
+ *
+ * The leader holds the lock on a connection taken out of the pool for as long as it leads;
+ * the database releases the lock as soon as that session ends, so a crashed leader is
+ * replaced on the next poll of another instance with no lease to wait out and no reliance
+ * on clocks. Renewal only checks that the connection is still valid. Instances that fail to
+ * acquire the lock return their connection to the pool right away.
+ */
+public class AdvisoryLockLeaderElector implements LeaderElector {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdvisoryLockLeaderElector.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource dataSource;
+    private final long lockKey;
+
+    private Connection connection;
+    private volatile boolean leader;
+
+    /**
+     * Creates the elector.
+     *
+     * @param dataSource the PostgreSQL data source
+     * @param name the name of the election, hashed into the advisory lock key
+     */
+    public AdvisoryLockLeaderElector(DataSource dataSource, String name) {
+        this.dataSource = dataSource;
+        this.lockKey = lockKey(name);
+    }
+
+    @Override
+    public synchronized boolean tryAcquire() {
+        if (leader) {
+            if (isValid(connection)) {
+                return true;
+            }
+            logger.warn("Connection holding the advisory lock {} was lost", lockKey);
+            closeConnection();
+        }
+        try {
+            connection = dataSource.getConnection();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, lockKey);
+                try (ResultSet result = statement.executeQuery()) {
+                    leader = result.next() && result.getBoolean(1);
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Advisory lock {} cannot be acquired: {}", lockKey, e.getMessage());
+        }
+        if (!leader) {
+            closeConnection();
+        }
+        return leader;
+    }
+
+    @Override
+    public boolean isLeader() {
+        return leader;
+    }
+
+    @Override
+    public synchronized void release() {
+        if (leader && connection != null) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                statement.setLong(1, lockKey);
+                statement.execute();
+            } catch (SQLException e) {
+                logger.warn("Advisory lock {} cannot be released: {}", lockKey, e.getMessage());
+            }
+        }
+        closeConnection();
+    }
+
+    private void closeConnection() {
+        leader = false;
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Closing the advisory lock connection failed: {}", e.getMessage());
+        }
+        connection = null;
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection != null && connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    static long lockKey(String name) {
+        CRC32 crc = new CRC32();
+        crc.update(name.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.testapi.cluster;
+
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.example.testapi.snapshot.QuotationSnapshotStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polls the quotation once per interval for the whole cluster.
+ *
+ * On every poll the instance tries to acquire or renew leadership. The leader retrieves the
+ * quotation from the upstream and writes it to the shared store; the followers read the
+ * shared store and adopt the quotation, which their local cache then serves without calling
+ * the upstream. Upstream traffic is thus one call per interval regardless of the number of
+ * instances. Failed polls are logged and counted, and the next poll runs as scheduled.
+ */
+public class ClusterQuotationPoller implements SmartLifecycle, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterQuotationPoller.class);
+
+    private final CotizacionService cotizacionService;
+    private final LeaderElector leaderElector;
+    private final QuotationSnapshotStore sharedStore;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-quotation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder leaderPolls = new LongAdder();
+    private final LongAdder followerPolls = new LongAdder();
+    private final LongAdder failedPolls = new LongAdder();
+
+    private volatile ScheduledFuture<?> poller;
+    private boolean leading;
+
+    /**
+     * Creates the poller.
+     *
+     * @param cotizacionService the quotation service of this instance
+     * @param leaderElector the elector deciding which instance calls the upstream
+     * @param sharedStore the store shared by the instances of the cluster
+     * @param interval the time between two polls
+     */
+    public ClusterQuotationPoller(CotizacionService cotizacionService, LeaderElector leaderElector,
+                                  QuotationSnapshotStore sharedStore, Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Cluster poll interval must be positive");
+        }
+        this.cotizacionService = cotizacionService;
+        this.leaderElector = leaderElector;
+        this.sharedStore = sharedStore;
+        this.interval = interval;
+    }
+
+    @Override
+    public void start() {
+        poller = scheduler.scheduleWithFixedDelay(this::poll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Cluster quotation poller started with a {} ms interval", interval.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> running = poller;
+        if (running == null) {
+            return;
+        }
+        running.cancel(false);
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(interval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        leaderElector.release();
+        poller = null;
+        logger.info("Cluster quotation poller stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return poller != null;
+    }
+
+    /**
+     * Runs one poll: retrieves and shares the quotation when leading, adopts the shared one
+     * otherwise.
+     */
+    void poll() {
+        try {
+            boolean leader = leaderElector.tryAcquire();
+            if (leader != leading) {
+                logger.info(leader ? "Became the cluster quotation poller" : "No longer the cluster quotation poller");
+                leading = leader;
+            }
+            if (leader) {
+                QuotationSnapshot fresh = cotizacionService.actualizarCotizacion();
+                if (fresh != null && fresh.getCotizacion() != null) {
+                    sharedStore.save(fresh);
+                }
+                leaderPolls.increment();
+            } else {
+                sharedStore.load().ifPresent(cotizacionService::adoptSnapshot);
+                followerPolls.increment();
+            }
+        } catch (RuntimeException e) {
+            failedPolls.increment();
+            logger.warn("Cluster quotation poll failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isLeader() {
+        return leaderElector.isLeader();
+    }
+
+    public long getLeaderPollCount() {
+        return leaderPolls.sum();
+    }
+
+    public long getFollowerPollCount() {
+        return followerPolls.sum();
+    }
+
+    public long getFailedPollCount() {
+        return failedPolls.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cotizacion.cluster.leader", this, poller -> poller.isLeader() ? 1 : 0)
+                .description("Whether this instance retrieves the quotation for the cluster")
+                .register(registry);
+        FunctionCounter.builder("cotizacion.cluster.polls", leaderPolls, LongAdder::sum)
+                .description("Cluster quotation polls")
+                .tag("role", "leader")
+                .register(registry);
+        FunctionCounter.builder("cotizacion.cluster.polls", followerPolls, LongAdder::sum)
+                .description("Cluster quotation polls")
+                .tag("role", "follower")
+                .register(registry);
+        FunctionCounter.builder("cotizacion.cluster.polls.failed", failedPolls, LongAdder::sum)
+                .description("Cluster quotation polls that failed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.testapi.cluster;
+
+/**
+ * Elects a single leader among the instances of a cluster.
+ *
+ * Leadership is held for a limited time and must be renewed by calling
+ * {@link #tryAcquire()} periodically; an instance that stops renewing, crashes or loses its
+ * database connection is replaced by another one. Failures to reach the coordination store
+ * are reported as not being the leader, so an instance never acts as leader by mistake.
+ */
+public interface LeaderElector {
+
+    /**
+     * Acquires leadership, or renews it if already held.
+     *
+     * @return whether this instance is the leader
+     */
+    boolean tryAcquire();
+
+    /**
+     * Returns whether this instance held leadership at the last acquisition and still holds it.
+     *
+     * @return whether this instance is the leader
+     */
+    boolean isLeader();
+
+    /**
+     * Gives up leadership, letting another instance take over without waiting for it to expire.
+     */
+    void release();
+}
@@ -0,0 +1,128 @@
+package com.example.testapi.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Leader elector backed by a lease row in a shared table, for databases without advisory
+ * locks such as the H2 database used in tests.
+ *
+ * The leader owns the row of the election until its lease expires and extends the lease on
+ * every renewal; any instance may take the row over once the lease has expired. The row is
+ * changed with a single conditional UPDATE, or INSERTed the first time, so two instances
+ * never both succeed. Expiry compares wall clock times written by different instances: the
+ * lease duration must exceed the clock skew between them plus the renewal interval.
+ */
+public class LeaseTableLeaderElector implements LeaderElector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseTableLeaderElector.class);
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS cluster_leader_lease ("
+            + "lease_name VARCHAR(64) PRIMARY KEY, owner_id VARCHAR(128) NOT NULL, expires_at BIGINT NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String name;
+    private final String ownerId;
+    private final long leaseMillis;
+    private final LongSupplier clock;
+
+    private volatile boolean tableCreated;
+    private volatile long leaseExpiresAt;
+
+    /**
+     * Creates an elector using the system clock.
+     *
+     * @param jdbcTemplate the template of the shared database
+     * @param name the name of the election, the key of its lease row
+     * @param ownerId the identifier of this instance, unique in the cluster
+     * @param leaseDuration how long leadership lasts without renewal
+     */
+    public LeaseTableLeaderElector(JdbcTemplate jdbcTemplate, String name, String ownerId, Duration leaseDuration) {
+        this(jdbcTemplate, name, ownerId, leaseDuration, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates an elector.
+     *
+     * @param jdbcTemplate the template of the shared database
+     * @param name the name of the election, the key of its lease row
+     * @param ownerId the identifier of this instance, unique in the cluster
+     * @param leaseDuration how long leadership lasts without renewal
+     * @param clock the wall clock in epoch milliseconds
+     */
+    public LeaseTableLeaderElector(JdbcTemplate jdbcTemplate, String name, String ownerId, Duration leaseDuration,
+                                   LongSupplier clock) {
+        if (leaseDuration.isZero() || leaseDuration.isNegative()) {
+            throw new IllegalArgumentException("Lease duration must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.name = name;
+        this.ownerId = ownerId;
+        this.leaseMillis = leaseDuration.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized boolean tryAcquire() {
+        long now = clock.getAsLong();
+        long expiresAt = now + leaseMillis;
+        try {
+            createTable();
+            int updated = jdbcTemplate.update("UPDATE cluster_leader_lease SET owner_id = ?, expires_at = ? "
+                    + "WHERE lease_name = ? AND (owner_id = ? OR expires_at < ?)", ownerId, expiresAt, name, ownerId, now);
+            if (updated == 0) {
+                updated = insert(expiresAt);
+            }
+            leaseExpiresAt = updated > 0 ? expiresAt : 0;
+        } catch (DataAccessException e) {
+            logger.warn("Lease {} cannot be acquired: {}", name, e.getMessage());
+            leaseExpiresAt = 0;
+        }
+        return isLeader();
+    }
+
+    private int insert(long expiresAt) {
+        try {
+            return jdbcTemplate.update("INSERT INTO cluster_leader_lease (lease_name, owner_id, expires_at) VALUES (?, ?, ?)",
+                    name, ownerId, expiresAt);
+        } catch (DuplicateKeyException e) {
+            // The row exists and its lease is held by another instance
+            return 0;
+        }
+    }
+
+    /**
+     * Returns whether the last acquisition succeeded and its lease has not expired since,
+     * which happens when renewals are delayed, for instance by a long pause.
+     */
+    @Override
+    public boolean isLeader() {
+        return clock.getAsLong() < leaseExpiresAt;
+    }
+
+    @Override
+    public synchronized void release() {
+        if (leaseExpiresAt == 0) {
+            return;
+        }
+        leaseExpiresAt = 0;
+        try {
+            jdbcTemplate.update("DELETE FROM cluster_leader_lease WHERE lease_name = ? AND owner_id = ?", name, ownerId);
+        } catch (DataAccessException e) {
+            logger.warn("Lease {} cannot be released: {}", name, e.getMessage());
+        }
+    }
+
+    private void createTable() {
+        if (!tableCreated) {
+            jdbcTemplate.execute(CREATE_TABLE);
+            tableCreated = true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.testapi.config;
+
+import com.example.testapi.admission.AdaptiveConcurrencyLimiter;
+import com.example.testapi.admission.CoDelLoadShedder;
+import com.example.testapi.admission.EndpointMatcher;
+import com.example.testapi.admission.RequestPriority;
+import com.example.testapi.admission.TokenBucketRateLimiter;
+import com.example.testapi.filter.ConcurrencyLimitFilter;
+import com.example.testapi.filter.LoadSheddingFilter;
+import com.example.testapi.filter.RateLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration class for admission control on the /api/v1 endpoints.
+ * Registers the queue-delay load shedding filter first, then the per-client rate limit
+ * filter, so that rejected requests never take a concurrency slot, and finally the adaptive
+ * concurrency limit filter.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    private static final String API_URL_PATTERN = "/api/v1/*";
+
+    /**
+     * Registers the per-client rate limit filter.
+     *
+     * @param properties the admission control properties
+     * @param objectMapper the mapper used to serialize error bodies
+     * @param meterRegistry the registry for the rejection counters
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "admission.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(AdmissionProperties properties, ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        AdmissionProperties.RateLimit rateLimit = properties.getRateLimit();
+        EndpointMatcher<TokenBucketRateLimiter> limiters = new EndpointMatcher<>(
+                rateLimit.getEndpoints().keySet(),
+                path -> rateLimiter(rateLimit.getEndpoints().get(path), rateLimit.getMaxClients()),
+                rateLimiter(rateLimit.getDefaultLimit(), rateLimit.getMaxClients()));
+
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(limiters, rateLimit.getClientHeader(),
+                        rateLimit.getApiKeys(), objectMapper, meterRegistry));
+        registration.addUrlPatterns(API_URL_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Registers the adaptive concurrency limit filter, with one limiter per configured endpoint.
+     *
+     * @param properties the admission control properties
+     * @param objectMapper the mapper used to serialize error bodies
+     * @param meterRegistry the registry for the shed counters
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "admission.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdmissionProperties properties,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        EndpointMatcher<AdaptiveConcurrencyLimiter> limiters = new EndpointMatcher<>(
+                properties.getRateLimit().getEndpoints().keySet(),
+                path -> concurrencyLimiter(concurrency),
+                concurrencyLimiter(concurrency));
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiters, objectMapper, meterRegistry));
+        registration.addUrlPatterns(API_URL_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    /**
+     * Registers the CoDel load shedding filter.
+     *
+     * @param properties the admission control properties
+     * @param objectMapper the mapper used to serialize error bodies
+     * @param meterRegistry the registry for shedding metrics
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "admission.shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(AdmissionProperties properties,
+                                                                         ObjectMapper objectMapper,
+                                                                         MeterRegistry meterRegistry) {
+        AdmissionProperties.Shedding shedding = properties.getShedding();
+        EndpointMatcher<RequestPriority> priorities = new EndpointMatcher<>(
+                shedding.getPriorities().keySet(), shedding.getPriorities()::get, shedding.getDefaultPriority());
+        CoDelLoadShedder shedder = new CoDelLoadShedder(shedding.getTarget(), shedding.getInterval());
+
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(shedder, priorities, objectMapper, meterRegistry));
+        registration.addUrlPatterns(API_URL_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    /**
+     * Installs the Tomcat executor that measures the queue delay used for load shedding.
+     *
+     * @param serverProperties the server properties providing the thread pool size
+     * @param maxQueueCapacity the maximum number of requests waiting for a thread
+     * @return the protocol handler customizer
+     */
+    @Bean
+    @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+    @ConditionalOnProperty(prefix = "admission.shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public QueueTimingTomcatCustomizer queueTimingTomcatCustomizer(ServerProperties serverProperties,
+            @Value("${server.tomcat.threads.max-queue-capacity:2147483647}") int maxQueueCapacity) {
+        return new QueueTimingTomcatCustomizer(serverProperties, maxQueueCapacity);
+    }
+
+    private static TokenBucketRateLimiter rateLimiter(AdmissionProperties.Limit limit, int maxClients) {
+        return new TokenBucketRateLimiter(limit.getRequestsPerSecond(), limit.getBurst(), maxClients);
+    }
+
+    private static AdaptiveConcurrencyLimiter concurrencyLimiter(AdmissionProperties.Concurrency concurrency) {
+        return new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+                concurrency.getMaxLimit(), concurrency.getLatencyTolerance(), concurrency.getBackoffRatio());
+    }
+}
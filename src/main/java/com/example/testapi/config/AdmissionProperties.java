@@ -0,0 +1,119 @@
+package com.example.testapi.config;
+
+import com.example.testapi.admission.RequestPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration properties for admission control on the /api/v1 endpoints.
+ *
+ * <pre>
+ * admission.rate-limit.default-limit.requests-per-second=20
+ * admission.rate-limit.endpoints.[/api/v1/diferencias].requests-per-second=50
+ * admission.concurrency.max-limit=400
+ * admission.shedding.priorities.[/api/v1/pedido]=low
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private Concurrency concurrency = new Concurrency();
+
+    private Shedding shedding = new Shedding();
+
+    /**
+     * Per-client token bucket settings.
+     */
+    @Data
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /**
+         * Header identifying the client; the remote address is used when it is absent.
+         */
+        private String clientHeader = "X-API-Key";
+
+        /**
+         * API keys identifying a client; other header values are ignored and the remote
+         * address is used instead.
+         */
+        private Set<String> apiKeys = new LinkedHashSet<>();
+
+        /**
+         * Limit applied to endpoints without a specific entry.
+         */
+        private Limit defaultLimit = new Limit(20, 40);
+
+        /**
+         * Limits by path prefix; the longest matching prefix wins.
+         */
+        private Map<String, Limit> endpoints = new LinkedHashMap<>();
+
+        /**
+         * Maximum number of tracked clients per endpoint; beyond it new clients share one bucket.
+         */
+        private int maxClients = 100_000;
+    }
+
+    /**
+     * A sustained rate and the burst allowed on top of it.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private double requestsPerSecond;
+        private int burst;
+    }
+
+    /**
+     * Adaptive concurrency limiter settings.
+     */
+    @Data
+    public static class Concurrency {
+        private boolean enabled = true;
+        private int initialLimit = 100;
+        private int minLimit = 10;
+        private int maxLimit = 400;
+        private double latencyTolerance = 2.0;
+        private double backoffRatio = 0.9;
+    }
+
+    /**
+     * Queue-delay (CoDel) load shedding settings.
+     */
+    @Data
+    public static class Shedding {
+
+        private boolean enabled = true;
+
+        /**
+         * Acceptable standing queue delay.
+         */
+        private Duration target = Duration.ofMillis(5);
+
+        /**
+         * Window over which the minimum queue delay is evaluated.
+         */
+        private Duration interval = Duration.ofMillis(100);
+
+        /**
+         * Priority class by path prefix; the longest matching prefix wins.
+         */
+        private Map<String, RequestPriority> priorities = new LinkedHashMap<>();
+
+        private RequestPriority defaultPriority = RequestPriority.MEDIUM;
+    }
+}
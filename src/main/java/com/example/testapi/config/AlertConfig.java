@@ -0,0 +1,51 @@
+package com.example.testapi.config;
+
+import com.example.testapi.alert.AlertEngine;
+import com.example.testapi.alert.AlertSink;
+import com.example.testapi.alert.LoggingAlertSink;
+import com.example.testapi.alert.WebhookAlertSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for alert evaluation and delivery.
+ * Alerts are posted to {@code alerts.webhook.url} when set and logged otherwise.
+ */
+@Configuration
+public class AlertConfig {
+
+    /**
+     * Creates the sink fired alerts are delivered to.
+     *
+     * @param webClientBuilder the WebClient.Builder instance for webhook calls
+     * @param webhookUrl the webhook URL, empty to log alerts instead
+     * @param timeout the maximum time a webhook delivery may take
+     * @return AlertSink instance
+     */
+    @Bean
+    public AlertSink alertSink(WebClient.Builder webClientBuilder,
+                               @Value("${alerts.webhook.url:}") String webhookUrl,
+                               @Value("${alerts.webhook.timeout:2s}") Duration timeout) {
+        if (webhookUrl.isBlank()) {
+            return new LoggingAlertSink();
+        }
+        return new WebhookAlertSink(webClientBuilder, webhookUrl, timeout);
+    }
+
+    /**
+     * Creates the engine evaluating alert rules.
+     *
+     * @param alertSink where fired alerts are delivered
+     * @param historySize how many recent alerts are kept for the API
+     * @return AlertEngine instance
+     */
+    @Bean
+    public AlertEngine alertEngine(AlertSink alertSink,
+                                   @Value("${alerts.history-size:100}") int historySize) {
+        return new AlertEngine(alertSink, historySize);
+    }
+}
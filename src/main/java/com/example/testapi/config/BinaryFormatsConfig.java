@@ -0,0 +1,50 @@
+package com.example.testapi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration class for the binary representations of the API models.
+ * Clients that send or accept {@code application/x-jackson-smile} or {@code application/cbor}
+ * get the same payloads as with JSON, encoded in a compact binary form that is cheaper to
+ * parse and write; clients that do not ask for them keep getting JSON.
+ *
+ * The mappers are built from Spring Boot's Jackson2ObjectMapperBuilder, so the models are
+ * serialized with the same modules and {@code spring.jackson.*} settings as JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Creates the Smile message converter. Registering it as a bean replaces the default
+     * converter Spring MVC would create with a plain ObjectMapper.
+     *
+     * @param builder Spring Boot's ObjectMapper builder
+     * @return the Smile converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Creates the CBOR message converter. Doubles that are exactly representable as floats,
+     * such as {@code 100.5}, are written in 5 bytes instead of 9; without this CBOR payloads
+     * of quotations are no smaller than JSON.
+     *
+     * @param builder Spring Boot's ObjectMapper builder
+     * @return the CBOR converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_MINIMAL_DOUBLES)
+                .build()).build());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.testapi.config;
+
+import com.example.testapi.cluster.AdvisoryLockLeaderElector;
+import com.example.testapi.cluster.ClusterQuotationPoller;
+import com.example.testapi.cluster.LeaderElector;
+import com.example.testapi.cluster.LeaseTableLeaderElector;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.JdbcQuotationSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuration class for cluster mode, in which a single elected instance polls the
+ * upstream for all of them. Requires the application data source, shared by the cluster.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cotizacion.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    private static final String ELECTION_NAME = "cotizacion-poller";
+
+    /**
+     * Creates the leader elector. With {@code auto}, PostgreSQL URLs use an advisory lock and
+     * other databases a lease table; the choice depends on the URL only, so every instance of
+     * a cluster makes the same one even if the database is unreachable at startup.
+     *
+     * @param dataSource the shared data source
+     * @param election the election mechanism: auto, advisory-lock or lease
+     * @param url the data source URL
+     * @param leaseDuration how long a lease lasts without renewal
+     * @param nodeId the identifier of this instance, generated when blank
+     * @return LeaderElector instance
+     */
+    @Bean
+    public LeaderElector cotizacionLeaderElector(DataSource dataSource,
+                                                 @Value("${cotizacion.cluster.election:auto}") String election,
+                                                 @Value("${spring.datasource.url:}") String url,
+                                                 @Value("${cotizacion.cluster.lease-duration:15s}") Duration leaseDuration,
+                                                 @Value("${cotizacion.cluster.node-id:}") String nodeId) {
+        boolean advisoryLock = switch (election) {
+            case "auto" -> url.startsWith("jdbc:postgresql:");
+            case "advisory-lock" -> true;
+            case "lease" -> false;
+            default -> throw new IllegalArgumentException("Unknown cluster election: " + election);
+        };
+        if (advisoryLock) {
+            return new AdvisoryLockLeaderElector(dataSource, ELECTION_NAME);
+        }
+        String ownerId = nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+        return new LeaseTableLeaderElector(new JdbcTemplate(dataSource), ELECTION_NAME, ownerId, leaseDuration);
+    }
+
+    /**
+     * Creates the cluster poller, started and stopped with the application context. The
+     * shared store is not a bean so that it does not replace the local snapshot store.
+     *
+     * @param cotizacionService the quotation service
+     * @param leaderElector the leader elector
+     * @param dataSource the shared data source
+     * @param objectMapper the mapper used to write and read the shared quotation
+     * @param interval the time between two polls
+     * @return ClusterQuotationPoller instance
+     */
+    @Bean
+    public ClusterQuotationPoller clusterQuotationPoller(CotizacionService cotizacionService,
+                                                         LeaderElector leaderElector,
+                                                         DataSource dataSource,
+                                                         ObjectMapper objectMapper,
+                                                         @Value("${cotizacion.cluster.poll-interval:5s}") Duration interval) {
+        return new ClusterQuotationPoller(cotizacionService, leaderElector,
+                new JdbcQuotationSnapshotStore(new JdbcTemplate(dataSource), objectMapper), interval);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.testapi.config;
+
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the multi-source quotation aggregator.
+ * Every provider must expose a Bluelytics-compatible {@code latest} payload.
+ *
+ * <pre>
+ * cotizacion.aggregator.providers[0].name=bluelytics
+ * cotizacion.aggregator.providers[0].url=https://api.bluelytics.com.ar/v2/latest
+ * cotizacion.aggregator.deadline=800ms
+ * cotizacion.aggregator.quorum=1
+ * </pre>
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "cotizacion.aggregator")
+public class CotizacionAggregatorProperties {
+
+    /**
+     * The quotation providers queried in parallel.
+     */
+    private List<Provider> providers = new ArrayList<>();
+
+    /**
+     * Maximum time to wait for the quorum, regardless of how many providers are configured.
+     */
+    private Duration deadline = Duration.ofMillis(800);
+
+    /**
+     * Number of successful provider responses needed before answering.
+     */
+    private int quorum = 1;
+
+    /**
+     * Checks that no two providers share a name, since results are keyed by provider name.
+     *
+     * @return true if every provider name is unique
+     */
+    @AssertTrue(message = "Quotation provider names must be unique")
+    public boolean isProviderNamesUnique() {
+        return providers.stream().map(Provider::getName).distinct().count() == providers.size();
+    }
+
+    /**
+     * A single quotation provider.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Provider {
+        private String name;
+        private String url;
+    }
+}
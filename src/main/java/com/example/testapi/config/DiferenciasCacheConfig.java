@@ -0,0 +1,27 @@
+package com.example.testapi.config;
+
+import com.example.testapi.cache.DiferenciasMemoCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the memo cache of the diferencias endpoint, disabled by default.
+ * The cache binds its hit, miss and eviction meters to the application meter registry.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "diferencias.cache", name = "enabled", havingValue = "true")
+public class DiferenciasCacheConfig {
+
+    /**
+     * Creates the memo cache of default-formula outcomes.
+     *
+     * @param capacity the number of cached outcomes
+     * @return DiferenciasMemoCache instance
+     */
+    @Bean
+    public DiferenciasMemoCache diferenciasMemoCache(@Value("${diferencias.cache.capacity:4096}") int capacity) {
+        return new DiferenciasMemoCache(capacity);
+    }
+}
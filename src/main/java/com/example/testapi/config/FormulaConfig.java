@@ -0,0 +1,60 @@
+package com.example.testapi.config;
+
+import com.example.testapi.cache.DiferenciasMemoCache;
+import com.example.testapi.formula.FormulaRegistry;
+import com.example.testapi.service.DiferenciasService;
+import com.example.testapi.stats.SpreadObserver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the spread formulas of the diferencias endpoint.
+ * Formulas configured in properties are compiled at startup, so an invalid formula
+ * fails the application start instead of a request. The settings of the service computing
+ * the spreads are created here as well.
+ */
+@Configuration
+@EnableConfigurationProperties(FormulaProperties.class)
+public class FormulaConfig {
+
+    /**
+     * Creates the formula registry with the built-in and configured formulas.
+     *
+     * @param properties the configured formulas
+     * @return FormulaRegistry instance
+     */
+    @Bean
+    public FormulaRegistry formulaRegistry(FormulaProperties properties) {
+        FormulaRegistry registry = new FormulaRegistry();
+        properties.getFormulas().forEach(registry::register);
+        return registry;
+    }
+
+    /**
+     * Creates the settings of the diferencias service. The memo cache is used when enabled.
+     *
+     * @param spreadObservers the observers notified of every computed difference
+     * @param formulaRegistry the formulas that can be selected per request
+     * @param memoCache the cache of default-formula outcomes, if any
+     * @param exact whether the default differences are computed with exact decimal arithmetic
+     * @param exactScale the decimal places of the rates handled by the fixed-point fast path
+     * @return DiferenciasService.Options instance
+     */
+    @Bean
+    public DiferenciasService.Options diferenciasServiceOptions(
+            ObjectProvider<SpreadObserver> spreadObservers,
+            FormulaRegistry formulaRegistry,
+            ObjectProvider<DiferenciasMemoCache> memoCache,
+            @Value("${diferencias.exact.enabled:false}") boolean exact,
+            @Value("${diferencias.exact.scale:8}") int exactScale) {
+        return DiferenciasService.Options.builder()
+                .spreadObservers(spreadObservers.orderedStream().toList())
+                .formulaRegistry(formulaRegistry)
+                .exactArithmetic(exact, exactScale)
+                .memoCache(memoCache.getIfAvailable())
+                .build();
+    }
+}
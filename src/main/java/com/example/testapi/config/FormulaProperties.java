@@ -0,0 +1,24 @@
+package com.example.testapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for custom spread formulas, compiled at startup.
+ *
+ * <pre>
+ * diferencias.formulas.brecha-venta=mep.sell / crypto.buy - 1
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "diferencias")
+public class FormulaProperties {
+
+    /**
+     * Custom formulas by name, in addition to the built-in ones.
+     */
+    private Map<String, String> formulas = new LinkedHashMap<>();
+}
@@ -0,0 +1,68 @@
+package com.example.testapi.config;
+
+import com.example.testapi.grpc.CotizacionGrpcService;
+import com.example.testapi.grpc.GrpcServer;
+import com.example.testapi.grpc.QuotationBroadcaster;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.service.DiferenciasService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the gRPC server used by internal callers.
+ * The server listens on {@code grpc.server.port} and can be turned off with
+ * {@code grpc.server.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcConfig {
+
+    /**
+     * Creates the poller feeding WatchQuotation streams.
+     *
+     * @param cotizacionService the quotation service
+     * @param interval the time between two polls while streams are open
+     * @return QuotationBroadcaster instance
+     */
+    @Bean
+    public QuotationBroadcaster quotationBroadcaster(CotizacionService cotizacionService,
+                                                     @Value("${grpc.watch.interval:5s}") Duration interval) {
+        return new QuotationBroadcaster(cotizacionService, interval);
+    }
+
+    /**
+     * Creates the gRPC service backed by the existing services.
+     *
+     * @param cotizacionService the quotation service
+     * @param diferenciasService the spread computation service
+     * @param quotationBroadcaster the poller feeding WatchQuotation streams
+     * @return CotizacionGrpcService instance
+     */
+    @Bean
+    public CotizacionGrpcService cotizacionGrpcService(CotizacionService cotizacionService,
+                                                       DiferenciasService diferenciasService,
+                                                       QuotationBroadcaster quotationBroadcaster) {
+        return new CotizacionGrpcService(cotizacionService, diferenciasService, quotationBroadcaster);
+    }
+
+    /**
+     * Creates the gRPC server, started and stopped with the application context.
+     *
+     * @param port the port to listen on, 0 for a random port
+     * @param shutdownGrace how long in-flight calls may run once shutdown starts
+     * @param cotizacionGrpcService the gRPC service
+     * @param quotationBroadcaster the poller whose streams are completed on shutdown
+     * @return GrpcServer instance
+     */
+    @Bean
+    public GrpcServer grpcServer(@Value("${grpc.server.port:9090}") int port,
+                                 @Value("${grpc.server.shutdown-grace:5s}") Duration shutdownGrace,
+                                 CotizacionGrpcService cotizacionGrpcService,
+                                 QuotationBroadcaster quotationBroadcaster) {
+        return new GrpcServer(port, shutdownGrace, cotizacionGrpcService, quotationBroadcaster);
+    }
+}
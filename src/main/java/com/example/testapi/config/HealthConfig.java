@@ -0,0 +1,86 @@
+package com.example.testapi.config;
+
+import com.example.testapi.health.DataSourcePoolHealthIndicator;
+import com.example.testapi.health.QuotationFreshnessHealthIndicator;
+import com.example.testapi.health.RequestQueueHealthIndicator;
+import com.example.testapi.health.UpstreamPoolHealthIndicator;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.upstream.ConnectionPoolMonitor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class for the health indicators behind the readiness probe. Each indicator
+ * is named after its bean without the {@code HealthIndicator} suffix, and the readiness
+ * group in the application properties lists them.
+ */
+@Configuration
+public class HealthConfig {
+
+    /**
+     * Creates the indicator of the age of the latest good quotation.
+     *
+     * @param cotizacionService the service holding the latest quotation
+     * @param maxAge the age beyond which the quotation is reported down
+     * @param refreshAfter the age beyond which a health check refreshes the quotation
+     * @return QuotationFreshnessHealthIndicator instance
+     */
+    @Bean
+    public QuotationFreshnessHealthIndicator cotizacionFreshnessHealthIndicator(
+            CotizacionService cotizacionService,
+            @Value("${health.cotizacion.max-age:5m}") Duration maxAge,
+            @Value("${health.cotizacion.refresh-after:1m}") Duration refreshAfter) {
+        return new QuotationFreshnessHealthIndicator(cotizacionService, maxAge, refreshAfter);
+    }
+
+    /**
+     * Creates the indicator of the WebClient connection pool saturation.
+     *
+     * @param monitor the monitor of the connection pools
+     * @param maxSaturation the fraction of connections in use beyond which a pool is saturated
+     * @return UpstreamPoolHealthIndicator instance
+     */
+    @Bean
+    public UpstreamPoolHealthIndicator upstreamPoolHealthIndicator(
+            ConnectionPoolMonitor monitor,
+            @Value("${health.upstream-pool.max-saturation:0.9}") double maxSaturation) {
+        return new UpstreamPoolHealthIndicator(monitor, maxSaturation);
+    }
+
+    /**
+     * Creates the indicator of the wait for a Tomcat worker thread. The executor is only
+     * measured when queue-delay load shedding installs it.
+     *
+     * @param customizer the customizer installing the measured executor, if any
+     * @param maxWait the longest acceptable wait for a worker thread
+     * @return RequestQueueHealthIndicator instance
+     */
+    @Bean
+    public RequestQueueHealthIndicator requestQueueHealthIndicator(
+            ObjectProvider<QueueTimingTomcatCustomizer> customizer,
+            @Value("${health.request-queue.max-wait:500ms}") Duration maxWait) {
+        return new RequestQueueHealthIndicator(() -> {
+            QueueTimingTomcatCustomizer current = customizer.getIfAvailable();
+            return current != null ? current.getExecutor() : null;
+        }, maxWait);
+    }
+
+    /**
+     * Creates the indicator of the database connection pool usage.
+     *
+     * @param dataSource provides the application DataSource, if any
+     * @param maxUsage the fraction of the maximum pool size beyond which the pool is exhausted
+     * @return DataSourcePoolHealthIndicator instance
+     */
+    @Bean
+    public DataSourcePoolHealthIndicator dbPoolHealthIndicator(
+            ObjectProvider<DataSource> dataSource,
+            @Value("${health.db-pool.max-usage:1.0}") double maxUsage) {
+        return new DataSourcePoolHealthIndicator(dataSource, maxUsage);
+    }
+}
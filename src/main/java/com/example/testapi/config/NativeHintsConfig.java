@@ -0,0 +1,69 @@
+package com.example.testapi.config;
+
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.CotizacionAgregadaResponse;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.model.ErrorResponse;
+import com.example.testapi.model.EstadisticasResponse;
+import com.example.testapi.model.FormulaDiferencia;
+import com.example.testapi.model.PedidoResponse;
+import com.example.testapi.model.ReglaAlerta;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Configuration class contributing GraalVM native-image hints.
+ * Spring AOT infers binding hints for concrete controller return types, but not for
+ * {@code ResponseEntity<?>} bodies nor for types decoded by WebClient, so the models
+ * exchanged over the wire are registered here explicitly.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.ModelRuntimeHints.class)
+public class NativeHintsConfig {
+
+    /**
+     * Registers Jackson binding hints for the API models.
+     */
+    static class ModelRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final Class<?>[] BINDING_TYPES = {
+                Alerta.class,
+                CotizacionResponse.class,
+                CotizacionResponse.CotizacionData.class,
+                CotizacionAgregadaResponse.class,
+                DiferenciasRequest.class,
+                DiferenciasRequest.ExchangeRateData.class,
+                DiferenciasResponse.class,
+                EstadisticasResponse.class,
+                EstadisticasResponse.Estadistica.class,
+                ErrorResponse.class,
+                FormulaDiferencia.class,
+                PedidoResponse.class,
+                ReglaAlerta.class
+        };
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(), BINDING_TYPES);
+
+            // Map keys are read through @JsonProperty on the enum constants, which Jackson
+            // resolves reflectively from the constant fields
+            hints.reflection().registerType(DiferenciasRequest.ExchangeRateType.class,
+                    MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // The shared cache entry is a private record written to and read from Redis as JSON
+            hints.reflection().registerType(TypeReference.of("com.example.testapi.cache.RedisSharedQuotationCache$Entry"),
+                    MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+    }
+}
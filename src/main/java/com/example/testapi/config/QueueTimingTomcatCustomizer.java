@@ -0,0 +1,56 @@
+package com.example.testapi.config;
+
+import com.example.testapi.admission.QueueTimingExecutor;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+/**
+ * Replaces the Tomcat connector executor with a {@link QueueTimingExecutor}, sized from the
+ * {@code server.tomcat.threads.*} properties. Spring Boot 3.2 does not bind
+ * {@code server.tomcat.threads.max-queue-capacity} yet, so the capacity is passed in
+ * separately. Tomcat does not shut down executors it did not create, so this customizer
+ * shuts it down when the application context closes.
+ */
+public class QueueTimingTomcatCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, DisposableBean {
+
+    private final ServerProperties.Tomcat.Threads threads;
+
+    private final int maxQueueCapacity;
+
+    private volatile QueueTimingExecutor executor;
+
+    /**
+     * Constructor for QueueTimingTomcatCustomizer.
+     *
+     * @param serverProperties the server properties providing the thread pool size
+     * @param maxQueueCapacity the maximum number of requests waiting for a thread
+     */
+    public QueueTimingTomcatCustomizer(ServerProperties serverProperties, int maxQueueCapacity) {
+        this.threads = serverProperties.getTomcat().getThreads();
+        this.maxQueueCapacity = maxQueueCapacity;
+    }
+
+    @Override
+    public void customize(ProtocolHandler protocolHandler) {
+        executor = new QueueTimingExecutor("http-exec-", threads.getMinSpare(), threads.getMax(), maxQueueCapacity);
+        protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Returns the executor installed on the connector.
+     *
+     * @return the executor, or null before the connector has been customized
+     */
+    public QueueTimingExecutor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.testapi.config;
+
+import com.example.testapi.cache.LocalSharedQuotationCache;
+import com.example.testapi.cache.RedisSharedQuotationCache;
+import com.example.testapi.cache.SharedQuotationCache;
+import com.example.testapi.service.CotizacionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the second-level quotation cache shared by the instances.
+ * {@code cotizacion.shared-cache.type} selects a Redis-compatible server ({@code redis}),
+ * an in-process stand-in ({@code local}) or no shared cache ({@code none}, the default).
+ */
+@Configuration
+public class SharedCacheConfig {
+
+    /**
+     * Creates the in-process shared cache.
+     *
+     * @param ttl how long a cached quotation is served
+     * @param lockLease how long the refresh lock is held at most
+     * @return SharedQuotationCache instance
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cotizacion.shared-cache", name = "type", havingValue = "local")
+    public SharedQuotationCache localSharedQuotationCache(
+            @Value("${cotizacion.shared-cache.ttl:30s}") Duration ttl,
+            @Value("${cotizacion.shared-cache.lock-lease:5s}") Duration lockLease) {
+        return new LocalSharedQuotationCache(ttl, lockLease);
+    }
+
+    /**
+     * Creates the shared cache on the Redis server configured with {@code spring.data.redis.*}.
+     *
+     * @param redisTemplate the template of the Redis server
+     * @param objectMapper the mapper used to write and read the quotation
+     * @param keyPrefix the prefix of the keys and channel used by the cache
+     * @param ttl how long a cached quotation is served
+     * @param lockLease how long the refresh lock is held at most
+     * @param recoveryInterval the time between two attempts to subscribe to change messages
+     * @return RedisSharedQuotationCache instance, subscribing to changes with the application context
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cotizacion.shared-cache", name = "type", havingValue = "redis")
+    public RedisSharedQuotationCache redisSharedQuotationCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${cotizacion.shared-cache.key-prefix:test-api:cotizacion:}") String keyPrefix,
+            @Value("${cotizacion.shared-cache.ttl:30s}") Duration ttl,
+            @Value("${cotizacion.shared-cache.lock-lease:5s}") Duration lockLease,
+            @Value("${cotizacion.shared-cache.recovery-interval:5s}") Duration recoveryInterval) {
+        return new RedisSharedQuotationCache(redisTemplate, objectMapper, keyPrefix, ttl, lockLease, recoveryInterval);
+    }
+
+    /**
+     * Binds the shared cache meters: requests answered from it, local entries dropped by
+     * published changes and refresh waits that timed out.
+     *
+     * @param cotizacionService the service using the shared cache
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder sharedCacheMeters(CotizacionService cotizacionService) {
+        return registry -> {
+            FunctionCounter.builder("cotizacion.shared.cache.served", cotizacionService,
+                            CotizacionService::getSharedCacheServedCount)
+                    .description("Quotation requests answered from the shared cache after a local miss")
+                    .register(registry);
+            FunctionCounter.builder("cotizacion.shared.cache.invalidations", cotizacionService,
+                            CotizacionService::getSharedCacheInvalidationCount)
+                    .description("Local quotation entries dropped because another instance published a change")
+                    .register(registry);
+            FunctionCounter.builder("cotizacion.shared.cache.refresh.timeouts", cotizacionService,
+                            CotizacionService::getRefreshWaitTimeoutCount)
+                    .description("Local misses that called the upstream after waiting in vain for a shared refresh")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.testapi.config;
+
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.MappedFileSnapshotStore;
+import com.example.testapi.snapshot.QuotationSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Configuration class for the quotation snapshot used to serve right after a restart,
+ * and for the meters showing how stale the served quotation is.
+ */
+@Configuration
+public class SnapshotConfig {
+
+    /**
+     * Creates the snapshot store backed by a local memory-mapped file. There is no default
+     * path: the file must live on a volume that survives a redeploy and belong to a single
+     * instance, so the store is only created when cotizacion.snapshot.path is set.
+     *
+     * @param path the snapshot file
+     * @param slotSize the space reserved for each of the two snapshot copies
+     * @param objectMapper the mapper used to write and read the quotation
+     * @return QuotationSnapshotStore instance
+     */
+    @Bean
+    @ConditionalOnExpression("${cotizacion.snapshot.enabled:true} and '${cotizacion.snapshot.path:}' != ''")
+    public QuotationSnapshotStore quotationSnapshotStore(
+            @Value("${cotizacion.snapshot.path}") Path path,
+            @Value("${cotizacion.snapshot.slot-size:64KB}") DataSize slotSize,
+            ObjectMapper objectMapper) {
+        return new MappedFileSnapshotStore(path, (int) slotSize.toBytes(), objectMapper);
+    }
+
+    /**
+     * Binds the snapshot meters: the age of the latest good quotation, the requests
+     * answered with a stale snapshot, by reason, and those answered from the local cache.
+     *
+     * @param cotizacionService the service holding the latest snapshot
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder quotationSnapshotMeters(CotizacionService cotizacionService) {
+        return registry -> {
+            Gauge.builder("cotizacion.snapshot.age", cotizacionService,
+                            service -> service.getLatestSnapshot()
+                                    .map(snapshot -> snapshot.getAge(Instant.now()).toMillis() / 1000.0)
+                                    .orElse(Double.NaN))
+                    .description("Seconds since the latest good quotation was retrieved from the upstream")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("cotizacion.snapshot.stale.served", cotizacionService,
+                            CotizacionService::getWarmStartServedCount)
+                    .description("Quotation requests answered with a stale snapshot")
+                    .tag("reason", "warm_start")
+                    .register(registry);
+            FunctionCounter.builder("cotizacion.snapshot.stale.served", cotizacionService,
+                            CotizacionService::getUpstreamErrorServedCount)
+                    .description("Quotation requests answered with a stale snapshot")
+                    .tag("reason", "upstream_error")
+                    .register(registry);
+            FunctionCounter.builder("cotizacion.local.cache.served", cotizacionService,
+                            CotizacionService::getLocalCacheServedCount)
+                    .description("Quotation requests answered from the local cache without calling the upstream")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.testapi.config;
+
+import com.example.testapi.cache.SharedQuotationCache;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshotStore;
+import com.example.testapi.stats.QuoteObserver;
+import com.example.testapi.upstream.HedgingPolicy;
+import com.example.testapi.upstream.RetryPolicy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the policies applied to upstream (external API) calls, and for
+ * the settings of the quotation service using them.
+ * All values can be overridden through application properties or environment variables.
+ */
+@Configuration
+@EnableConfigurationProperties(CotizacionAggregatorProperties.class)
+public class UpstreamConfig {
+
+    /**
+     * Creates the hedging policy for quotation fetches.
+     *
+     * @param enabled whether hedged requests are sent
+     * @param percentile the upstream latency percentile after which a hedge is sent
+     * @param minDelay the minimum delay before hedging
+     * @param initialDelay the delay used until upstream latencies have been observed
+     * @param maxRatio the maximum fraction of requests that may be hedged
+     * @return HedgingPolicy instance
+     */
+    @Bean
+    public HedgingPolicy cotizacionHedgingPolicy(
+            @Value("${cotizacion.hedging.enabled:false}") boolean enabled,
+            @Value("${cotizacion.hedging.percentile:95}") double percentile,
+            @Value("${cotizacion.hedging.min-delay:20ms}") Duration minDelay,
+            @Value("${cotizacion.hedging.initial-delay:250ms}") Duration initialDelay,
+            @Value("${cotizacion.hedging.max-ratio:0.05}") double maxRatio) {
+        return new HedgingPolicy(enabled, percentile, minDelay, initialDelay, maxRatio);
+    }
+
+    /**
+     * Creates the retry policy for quotation fetches. Its attempt and budget meters are
+     * bound to the application meter registry.
+     *
+     * @param enabled whether failed fetches are retried
+     * @param maxAttempts the maximum attempts per fetch, the first one included
+     * @param baseDelay the upper bound of the delay before the first retry
+     * @param maxDelay the upper bound of any delay, Retry-After included
+     * @param maxRatio the maximum fraction of fetches that may be retried
+     * @return RetryPolicy instance
+     */
+    @Bean
+    public RetryPolicy cotizacionRetryPolicy(
+            @Value("${cotizacion.retry.enabled:true}") boolean enabled,
+            @Value("${cotizacion.retry.max-attempts:3}") int maxAttempts,
+            @Value("${cotizacion.retry.base-delay:100ms}") Duration baseDelay,
+            @Value("${cotizacion.retry.max-delay:2s}") Duration maxDelay,
+            @Value("${cotizacion.retry.max-ratio:0.1}") double maxRatio) {
+        return new RetryPolicy(enabled, maxAttempts, baseDelay, maxDelay, maxRatio);
+    }
+
+    /**
+     * Creates the settings of the quotation service. The snapshot store and the shared cache
+     * are used when configured. With a shared cache the local cache is its first level, so it
+     * is enabled with the shared cache's local TTL when its own TTL is 0.
+     *
+     * @param hedgingPolicy the policy deciding when a slow upstream call is hedged
+     * @param retryPolicy the policy deciding whether a failed upstream call is retried
+     * @param quoteObservers the listeners notified of every retrieved quotation
+     * @param snapshotStore the store of the latest good quotation, if any
+     * @param sharedCache the cache shared with the other instances, if any
+     * @param streamingDecode whether upstream bodies are decoded incrementally instead of data-bound
+     * @param maxStale the maximum age of a snapshot served instead of a live response
+     * @param localCacheTtl the age under which a live snapshot is served without calling the upstream, 0 to always call it
+     * @param refreshWait how long a local miss waits for another instance refreshing the shared cache
+     * @param firstLevelTtl the local cache TTL used with a shared cache when the local cache is disabled
+     * @param clusterEnabled whether the quotation is only retrieved by the cluster poller
+     * @param clusterPollInterval the time between two cluster polls
+     * @return CotizacionService.Options instance
+     */
+    @Bean
+    public CotizacionService.Options cotizacionServiceOptions(
+            HedgingPolicy hedgingPolicy,
+            RetryPolicy retryPolicy,
+            ObjectProvider<QuoteObserver> quoteObservers,
+            ObjectProvider<QuotationSnapshotStore> snapshotStore,
+            ObjectProvider<SharedQuotationCache> sharedCache,
+            @Value("${cotizacion.streaming-decode.enabled:true}") boolean streamingDecode,
+            @Value("${cotizacion.snapshot.max-stale:1h}") Duration maxStale,
+            @Value("${cotizacion.local-cache.ttl:0s}") Duration localCacheTtl,
+            @Value("${cotizacion.shared-cache.refresh-wait:2s}") Duration refreshWait,
+            @Value("${cotizacion.shared-cache.local-ttl:5s}") Duration firstLevelTtl,
+            @Value("${cotizacion.cluster.enabled:false}") boolean clusterEnabled,
+            @Value("${cotizacion.cluster.poll-interval:5s}") Duration clusterPollInterval) {
+        SharedQuotationCache shared = sharedCache.getIfAvailable();
+        Duration localTtl = shared != null && localCacheTtl.isZero() ? firstLevelTtl : localCacheTtl;
+        return CotizacionService.Options.builder()
+                .hedgingPolicy(hedgingPolicy)
+                .retryPolicy(retryPolicy)
+                .streamingDecode(streamingDecode)
+                .quoteObservers(quoteObservers.orderedStream().toList())
+                .snapshotStore(snapshotStore.getIfAvailable(), maxStale)
+                .localCacheTtl(localTtl)
+                .sharedCache(shared, refreshWait)
+                .clusterPolled(clusterEnabled ? clusterPollInterval : null)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.testapi.config;
+
+import com.example.testapi.formula.FormulaRegistry;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.service.DiferenciasService;
+import com.example.testapi.warmup.StartupWarmup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the startup warm-up, which runs before the readiness state
+ * flips to accepting traffic. Enabled by default.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupConfig {
+
+    /**
+     * Creates the warm-up stage. It computes with a private DiferenciasService sharing the
+     * application formulas and arithmetic but no observers, so synthetic requests stay out
+     * of the statistics and alerts.
+     *
+     * @param objectMapper the application mapper
+     * @param formulaRegistry the formulas selectable per request
+     * @param exact whether the default differences use exact decimal arithmetic
+     * @param exactScale the decimal places of the fixed-point fast path
+     * @param cotizacionService the service whose upstream connection is primed
+     * @param meterRegistry the registry for the warm-up meters
+     * @param loggingSystem the logging system, used to quiet the services during the warm-up
+     * @param maxDuration the maximum time spent on synthetic iterations
+     * @param batchSize the number of iterations timed together
+     * @param tolerance the relative change between batches under which timings are stable
+     * @param upstreamTimeout the maximum time waited for the upstream call
+     * @return StartupWarmup instance
+     */
+    @Bean
+    public StartupWarmup startupWarmup(ObjectMapper objectMapper, FormulaRegistry formulaRegistry,
+                                       @Value("${diferencias.exact.enabled:false}") boolean exact,
+                                       @Value("${diferencias.exact.scale:8}") int exactScale,
+                                       CotizacionService cotizacionService, MeterRegistry meterRegistry,
+                                       LoggingSystem loggingSystem,
+                                       @Value("${warmup.max-duration:10s}") Duration maxDuration,
+                                       @Value("${warmup.batch-size:200}") int batchSize,
+                                       @Value("${warmup.tolerance:0.1}") double tolerance,
+                                       @Value("${warmup.upstream-timeout:3s}") Duration upstreamTimeout) {
+        DiferenciasService diferenciasService = new DiferenciasService(DiferenciasService.Options.builder()
+                .formulaRegistry(formulaRegistry)
+                .exactArithmetic(exact, exactScale)
+                .build());
+        // In cluster mode only the elected poller calls the upstream, and it primes its own connection
+        Runnable upstreamPrimer = cotizacionService.isClusterPolled() ? () -> { } : cotizacionService::actualizarCotizacion;
+        return new StartupWarmup(objectMapper, diferenciasService, upstreamPrimer,
+                meterRegistry, loggingSystem, maxDuration,
+                batchSize, tolerance, upstreamTimeout);
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.testapi.config;
 
+import com.example.testapi.upstream.ConnectionPoolMonitor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuration class for WebClient and other application configurations.
@@ -11,15 +16,48 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * Creates the monitor of the WebClient connection pools, read by the health indicators.
+     *
+     * @return ConnectionPoolMonitor instance
+     */
+    @Bean
+    public ConnectionPoolMonitor connectionPoolMonitor() {
+        return new ConnectionPoolMonitor();
+    }
+
+    /**
+     * Creates the connection pool shared by all WebClients, with one pool per upstream
+     * address reporting to the monitor.
+     *
+     * @param maxConnections the maximum connections per upstream address
+     * @param maxPending the maximum requests waiting for a connection per upstream address
+     * @param monitor the monitor receiving the pool metrics
+     * @return ConnectionProvider instance
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webClientConnectionProvider(@Value("${webclient.pool.max-connections:500}") int maxConnections,
+                                                          @Value("${webclient.pool.max-pending:1000}") int maxPending,
+                                                          ConnectionPoolMonitor monitor) {
+        return ConnectionProvider.builder("webclient")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .metrics(true, () -> monitor)
+                .build();
+    }
+
     /**
      * Creates a WebClient bean for making HTTP requests to external APIs.
      * This WebClient is configured with default settings and can be used
      * throughout the application for external API calls.
      *
+     * @param connectionProvider the connection pool used by the built clients
      * @return WebClient.Builder instance
      */
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(ConnectionProvider connectionProvider) {
+        // Same compression as the default connector
+        HttpClient httpClient = HttpClient.create(connectionProvider).compress(true);
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
     }
 }
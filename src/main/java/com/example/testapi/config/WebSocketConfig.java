@@ -0,0 +1,90 @@
+package com.example.testapi.config;
+
+import com.example.testapi.service.DiferenciasService;
+import com.example.testapi.websocket.DiferenciasWebSocketHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the streaming diferencias WebSocket at
+ * {@code /api/v1/diferencias/stream}.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final DiferenciasWebSocketHandler diferenciasWebSocketHandler;
+
+    /**
+     * Constructor for WebSocketConfig.
+     *
+     * @param diferenciasWebSocketHandler the handler of the diferencias stream
+     */
+    public WebSocketConfig(DiferenciasWebSocketHandler diferenciasWebSocketHandler) {
+        this.diferenciasWebSocketHandler = diferenciasWebSocketHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(diferenciasWebSocketHandler, "/api/v1/diferencias/stream");
+    }
+
+    /**
+     * Configuration of the diferencias stream handler, kept apart from the configurer so the
+     * handler can be injected into it.
+     */
+    @Configuration
+    static class HandlerConfig {
+
+        /**
+         * Creates the worker pool draining the per-connection request queues.
+         *
+         * @param threads the number of workers, 0 for one per available processor
+         * @return the executor, shut down with the context
+         */
+        @Bean(destroyMethod = "shutdownNow")
+        public ExecutorService diferenciasWebSocketExecutor(@Value("${diferencias.ws.worker-threads:0}") int threads) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "diferencias-ws-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        /**
+         * Creates the diferencias stream handler.
+         *
+         * @param diferenciasService the service computing the differences
+         * @param objectMapper the mapper used to read and write frames
+         * @param diferenciasWebSocketExecutor the worker pool
+         * @param maxInFlight the maximum number of pending requests per connection
+         * @param sendTimeLimit the maximum time a single send may take
+         * @param sendBufferSize the maximum size of the send buffer of a slow client
+         * @return DiferenciasWebSocketHandler instance
+         */
+        @Bean
+        public DiferenciasWebSocketHandler diferenciasWebSocketHandler(
+                DiferenciasService diferenciasService,
+                ObjectMapper objectMapper,
+                ExecutorService diferenciasWebSocketExecutor,
+                @Value("${diferencias.ws.max-in-flight:256}") int maxInFlight,
+                @Value("${diferencias.ws.send-time-limit:5s}") Duration sendTimeLimit,
+                @Value("${diferencias.ws.send-buffer-size:512KB}") DataSize sendBufferSize) {
+            return new DiferenciasWebSocketHandler(diferenciasService, objectMapper, diferenciasWebSocketExecutor,
+                    maxInFlight, (int) sendTimeLimit.toMillis(), (int) sendBufferSize.toBytes());
+        }
+    }
+}
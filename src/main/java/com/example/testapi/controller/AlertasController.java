@@ -0,0 +1,89 @@
+package com.example.testapi.controller;
+
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.ReglaAlerta;
+import com.example.testapi.service.AlertasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for alert rules and fired alerts.
+ * This controller lets operators register threshold rules on differences and
+ * quotation fields and inspect the alerts they fired.
+ */
+@RestController
+@RequestMapping("/api/v1/alertas")
+public class AlertasController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertasController.class);
+
+    private final AlertasService alertasService;
+
+    /**
+     * Constructor for AlertasController.
+     *
+     * @param alertasService the service managing alert rules
+     */
+    public AlertasController(AlertasService alertasService) {
+        this.alertasService = alertasService;
+    }
+
+    /**
+     * POST endpoint to register an alert rule.
+     *
+     * @param regla the rule definition
+     * @return ResponseEntity containing the registered rule
+     */
+    @PostMapping("/reglas")
+    public ResponseEntity<ReglaAlerta> registrarRegla(@RequestBody ReglaAlerta regla) {
+        ReglaAlerta registrada = alertasService.registrarRegla(regla);
+        logger.info("Registered alert rule {} on metric '{}'", registrada.getId(), registrada.getMetrica());
+        return ResponseEntity.status(HttpStatus.CREATED).body(registrada);
+    }
+
+    /**
+     * GET endpoint to list the registered alert rules.
+     *
+     * @return ResponseEntity containing the rules
+     */
+    @GetMapping("/reglas")
+    public ResponseEntity<List<ReglaAlerta>> obtenerReglas() {
+        return ResponseEntity.ok(alertasService.obtenerReglas());
+    }
+
+    /**
+     * DELETE endpoint to remove an alert rule.
+     *
+     * @param id the rule id
+     * @return 204 if the rule was removed, 404 if it does not exist
+     */
+    @DeleteMapping("/reglas/{id}")
+    public ResponseEntity<Void> eliminarRegla(@PathVariable String id) {
+        if (!alertasService.eliminarRegla(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        logger.info("Removed alert rule {}", id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET endpoint to list the most recent alerts, newest first.
+     *
+     * @return ResponseEntity containing the alerts
+     */
+    @GetMapping
+    public ResponseEntity<List<Alerta>> obtenerAlertas() {
+        return ResponseEntity.ok(alertasService.obtenerAlertas());
+    }
+}
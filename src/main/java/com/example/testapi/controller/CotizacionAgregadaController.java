@@ -0,0 +1,50 @@
+package com.example.testapi.controller;
+
+import com.example.testapi.model.CotizacionAgregadaResponse;
+import com.example.testapi.service.CotizacionAggregatorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the aggregated (multi-provider) quotation.
+ * This controller exposes the consensus quotation built from all configured providers
+ * and delegates the fan-out and merging to the service layer.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class CotizacionAgregadaController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CotizacionAgregadaController.class);
+
+    private final CotizacionAggregatorService cotizacionAggregatorService;
+
+    /**
+     * Constructor for CotizacionAgregadaController.
+     *
+     * @param cotizacionAggregatorService the service aggregating provider quotations
+     */
+    public CotizacionAgregadaController(CotizacionAggregatorService cotizacionAggregatorService) {
+        this.cotizacionAggregatorService = cotizacionAggregatorService;
+    }
+
+    /**
+     * GET endpoint to retrieve the aggregated exchange rate quotation.
+     * Returns per-provider values and the median consensus. If the quorum of providers
+     * does not respond before the deadline, the UpstreamException is mapped to 503 by the
+     * global exception handler.
+     *
+     * @return ResponseEntity containing the aggregated quotation
+     */
+    @GetMapping("/cotizacion/agregada")
+    public ResponseEntity<CotizacionAgregadaResponse> obtenerCotizacionAgregada() {
+        logger.info("Received request to retrieve aggregated exchange rate quotation");
+
+        CotizacionAgregadaResponse response = cotizacionAggregatorService.obtenerCotizacionAgregada();
+        logger.info("Aggregated exchange rate quotation retrieved successfully");
+        return ResponseEntity.ok(response);
+    }
+}
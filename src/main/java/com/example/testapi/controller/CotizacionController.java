@@ -2,14 +2,18 @@ package com.example.testapi.controller;
 
 import com.example.testapi.model.CotizacionResponse;
 import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+
 /**
  * REST Controller for handling cotizacion (quotation) related HTTP requests.
  * This controller exposes endpoints for quotation operations and delegates
@@ -21,6 +25,8 @@ public class CotizacionController {
 
     private static final Logger logger = LoggerFactory.getLogger(CotizacionController.class);
 
+    static final String STALE_HEADER = "X-Cotizacion-Stale";
+
     private final CotizacionService cotizacionService;
 
     /**
@@ -37,19 +43,27 @@ public class CotizacionController {
      * This endpoint makes an internal request to an external API and returns
      * the exchange rate data to the client.
      *
+     * A stored snapshot served instead of a live response carries an {@code Age} header
+     * with its age in seconds and {@code X-Cotizacion-Stale: true}. Upstream failures
+     * without a snapshot to serve propagate as an UpstreamException and are mapped to 503
+     * by the global exception handler.
+     *
      * @return ResponseEntity containing the exchange rate data
      */
     @GetMapping("/cotizacion")
     public ResponseEntity<CotizacionResponse> obtenerCotizacion() {
         logger.info("Received request to retrieve exchange rate quotation");
-        
-        try {
-            CotizacionResponse response = cotizacionService.obtenerCotizacion();
-            logger.info("Exchange rate quotation retrieved successfully");
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            logger.error("Error retrieving exchange rate quotation", e);
-            return ResponseEntity.internalServerError().build();
+
+        QuotationSnapshot snapshot = cotizacionService.obtenerSnapshot();
+        if (snapshot.isStale()) {
+            long age = snapshot.getAge(Instant.now()).toSeconds();
+            logger.info("Exchange rate quotation served from a snapshot {} s old", age);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.AGE, Long.toString(age))
+                    .header(STALE_HEADER, "true")
+                    .body(snapshot.getCotizacion());
         }
+        logger.info("Exchange rate quotation retrieved successfully");
+        return ResponseEntity.ok(snapshot.getCotizacion());
     }
 }
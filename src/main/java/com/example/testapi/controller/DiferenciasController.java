@@ -1,20 +1,21 @@
 package com.example.testapi.controller;
 
-import com.example.testapi.exception.ApiTestException;
 import com.example.testapi.model.DiferenciasRequest;
 import com.example.testapi.model.DiferenciasResponse;
-import com.example.testapi.model.ErrorResponse;
+import com.example.testapi.model.FormulaDiferencia;
 import com.example.testapi.service.DiferenciasService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import jakarta.validation.Valid;
+import java.util.List;
 
 /**
  * REST Controller for handling diferencias (differences) related HTTP requests.
@@ -41,37 +42,50 @@ public class DiferenciasController {
     /**
      * POST endpoint to calculate differences between MEP and crypto exchange rate values.
      * This endpoint receives a JSON request containing crypto and MEP exchange rate data,
-     * calculates the differences (MEP - Crypto), and returns the results.
+     * calculates the differences (MEP - Crypto), and returns the results. The optional
+     * {@code formula} parameter selects another registered spread formula, e.g. {@code porcentaje}.
      * 
      * If any calculated difference is negative, an ApiTestException is thrown with
-     * details about which specific items caused the negative differences.
+     * details about which specific items caused the negative differences. The request is
+     * validated once, by the service, against the constraints declared on DiferenciasRequest.
+     * Both errors are mapped to 400 by the global exception handler.
      *
      * @param request the DiferenciasRequest containing crypto and MEP exchange rate data
-     * @return ResponseEntity containing the calculated differences or error information
+     * @param formula the name of the spread formula, or null for MEP - Crypto
+     * @return ResponseEntity containing the calculated spreads
      */
     @PostMapping("/diferencias")
-    public ResponseEntity<?> calcularDiferencias(@Valid @RequestBody DiferenciasRequest request) {
+    public ResponseEntity<DiferenciasResponse> calcularDiferencias(@RequestBody DiferenciasRequest request,
+                                                                   @RequestParam(name = "formula", required = false) String formula) {
         logger.info("Received request to calculate differences between MEP and crypto values");
-        
-        try {
-            DiferenciasResponse response = diferenciasService.calcularDiferencias(request);
-            logger.info("Differences calculated successfully");
-            return ResponseEntity.ok(response);
-            
-        } catch (ApiTestException e) {
-            logger.error("ApiTestException occurred while calculating differences: {}", e.getMessage());
-            ErrorResponse errorResponse = ErrorResponse.of("Negative differences detected", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-            
-        } catch (IllegalArgumentException e) {
-            logger.error("Invalid request data: {}", e.getMessage());
-            ErrorResponse errorResponse = ErrorResponse.of("Validation error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-            
-        } catch (Exception e) {
-            logger.error("Unexpected error occurred while calculating differences", e);
-            ErrorResponse errorResponse = ErrorResponse.of("Internal server error", "An unexpected error occurred");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+
+        DiferenciasResponse response = formula == null
+                ? diferenciasService.calcularDiferencias(request)
+                : diferenciasService.calcularDiferencias(request, formula);
+        logger.info("Differences calculated successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET endpoint to list the spread formulas that can be selected with the
+     * {@code formula} parameter.
+     *
+     * @return ResponseEntity containing the formulas
+     */
+    @GetMapping("/diferencias/formulas")
+    public ResponseEntity<List<FormulaDiferencia>> obtenerFormulas() {
+        return ResponseEntity.ok(diferenciasService.obtenerFormulas());
+    }
+
+    /**
+     * POST endpoint to register a custom spread formula. The formula is compiled once
+     * here, so an invalid formula is rejected at registration.
+     *
+     * @param formula the formula name and expression
+     * @return ResponseEntity containing the registered formula
+     */
+    @PostMapping("/diferencias/formulas")
+    public ResponseEntity<FormulaDiferencia> registrarFormula(@RequestBody FormulaDiferencia formula) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(diferenciasService.registrarFormula(formula));
     }
 }
@@ -0,0 +1,44 @@
+package com.example.testapi.controller;
+
+import com.example.testapi.model.EstadisticasResponse;
+import com.example.testapi.service.EstadisticasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the running statistics of computed differences.
+ * This controller exposes the rolling-window statistics maintained by the service layer.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class EstadisticasController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstadisticasController.class);
+
+    private final EstadisticasService estadisticasService;
+
+    /**
+     * Constructor for EstadisticasController.
+     *
+     * @param estadisticasService the service maintaining difference statistics
+     */
+    public EstadisticasController(EstadisticasService estadisticasService) {
+        this.estadisticasService = estadisticasService;
+    }
+
+    /**
+     * GET endpoint to retrieve the statistics of the differences computed in the last
+     * minute, five minutes and hour.
+     *
+     * @return ResponseEntity containing the statistics by window
+     */
+    @GetMapping("/diferencias/estadisticas")
+    public ResponseEntity<EstadisticasResponse> obtenerEstadisticas() {
+        logger.debug("Received request to retrieve difference statistics");
+        return ResponseEntity.ok(estadisticasService.obtenerEstadisticas());
+    }
+}
@@ -40,14 +40,9 @@ public class PedidoController {
     @GetMapping("/pedido")
     public ResponseEntity<PedidoResponse> procesarPedido() {
         logger.info("Received request to process order");
-        
-        try {
-            PedidoResponse response = pedidoService.procesarPedido();
-            logger.info("Order processed successfully");
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error processing order", e);
-            return ResponseEntity.internalServerError().build();
-        }
+
+        PedidoResponse response = pedidoService.procesarPedido();
+        logger.info("Order processed successfully");
+        return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,80 @@
+package com.example.testapi.decimal;
+
+import java.math.BigDecimal;
+
+/**
+ * Exact decimal arithmetic on rates with a known number of decimal places.
+ *
+ * Binary doubles cannot represent most decimal rates exactly, so {@code 1250.37 - 940.12}
+ * evaluates to {@code 310.25000000000006}. This class treats each operand as the decimal
+ * it was written as and returns the double closest to the exact decimal result, which
+ * serializes back to the exact decimal (e.g. {@code 310.25}).
+ *
+ * The fast path scales both operands to longs with {@code scale} decimal places, subtracts
+ * them and divides once by the power of ten; since the scaled values stay below 2^53 every
+ * step is exact except the final, correctly rounded division. Operands with more decimal
+ * places than {@code scale}, or too large for the fixed-point range, fall back to BigDecimal.
+ */
+public final class FixedPointArithmetic {
+
+    /**
+     * Largest magnitude a double represents with integer precision.
+     */
+    private static final double MAX_EXACT = 0x1p53;
+
+    private static final int MAX_SCALE = 15;
+
+    private final int scale;
+    private final double factor;
+
+    /**
+     * Constructor for FixedPointArithmetic.
+     *
+     * @param scale the number of decimal places handled by the fast path
+     * @throws IllegalArgumentException if the scale is not between 0 and 15
+     */
+    public FixedPointArithmetic(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE);
+        }
+        this.scale = scale;
+        this.factor = Math.pow(10, scale);
+    }
+
+    /**
+     * Subtracts two decimal values exactly.
+     *
+     * @param minuend the value to subtract from
+     * @param subtrahend the value to subtract
+     * @return the double closest to the exact decimal difference
+     */
+    public double subtract(double minuend, double subtrahend) {
+        long a = toScaled(minuend);
+        long b = toScaled(subtrahend);
+        if (a != Long.MIN_VALUE && b != Long.MIN_VALUE) {
+            long difference = a - b;
+            if (Math.abs((double) difference) < MAX_EXACT) {
+                return difference / factor;
+            }
+        }
+        return BigDecimal.valueOf(minuend).subtract(BigDecimal.valueOf(subtrahend)).doubleValue();
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Converts a value to its fixed-point representation, or returns {@code Long.MIN_VALUE}
+     * if the value has more decimal places than the scale or is outside the fixed-point range.
+     */
+    private long toScaled(double value) {
+        double scaled = value * factor;
+        if (!(Math.abs(scaled) < MAX_EXACT)) {
+            return Long.MIN_VALUE;
+        }
+        long rounded = Math.round(scaled);
+        // The value is a decimal with at most `scale` places iff it is the double nearest to rounded / 10^scale
+        return rounded / factor == value ? rounded : Long.MIN_VALUE;
+    }
+}
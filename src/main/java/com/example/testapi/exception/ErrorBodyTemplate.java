@@ -0,0 +1,109 @@
+package com.example.testapi.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Pre-serialized JSON template for one kind of error body.
+ * The {@code {"error":"...","message":} prefix is encoded once per error type, so rendering
+ * a response only escapes the message and appends the timestamp into a single exact-size
+ * array, which is written as-is by the byte array message converter. The produced JSON has
+ * the same shape as {@link com.example.testapi.model.ErrorResponse}.
+ */
+final class ErrorBodyTemplate {
+
+    private static final byte[] MESSAGE_FIELD = "\",\"message\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIMESTAMP_FIELD = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpStatusCode status;
+    private final byte[] head;
+
+    /**
+     * Creates a template for the given status and error title.
+     *
+     * @param status the HTTP status of the responses
+     * @param error the error title, e.g. "Validation error"
+     */
+    ErrorBodyTemplate(HttpStatusCode status, String error) {
+        this.status = status;
+        this.head = concat("{\"error\":\"".getBytes(StandardCharsets.UTF_8),
+                JsonStringEncoder.getInstance().quoteAsUTF8(error), MESSAGE_FIELD);
+    }
+
+    /**
+     * Returns the HTTP status of the responses built from this template.
+     *
+     * @return the status
+     */
+    HttpStatusCode getStatus() {
+        return status;
+    }
+
+    /**
+     * Builds a JSON response with the given message and the current time.
+     *
+     * @param message the error message, may be null
+     * @return the response entity
+     */
+    ResponseEntity<byte[]> toResponse(String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(render(message, Instant.now()));
+    }
+
+    /**
+     * Renders the error body.
+     *
+     * @param message the error message, may be null
+     * @param timestamp the timestamp of the error
+     * @return the UTF-8 encoded JSON body
+     */
+    byte[] render(String message, Instant timestamp) {
+        byte[] quoted = message == null ? NULL : JsonStringEncoder.getInstance().quoteAsUTF8(message);
+        String time = timestamp.toString();
+        int quote = message == null ? 0 : 1;
+        byte[] body = new byte[head.length + quoted.length + 2 * quote + TIMESTAMP_FIELD.length
+                + time.length() + END.length];
+
+        int pos = put(body, 0, head);
+        if (quote == 1) {
+            body[pos++] = '"';
+        }
+        pos = put(body, pos, quoted);
+        if (quote == 1) {
+            body[pos++] = '"';
+        }
+        pos = put(body, pos, TIMESTAMP_FIELD);
+        // ISO-8601 instants are plain ASCII
+        for (int i = 0; i < time.length(); i++) {
+            body[pos++] = (byte) time.charAt(i);
+        }
+        put(body, pos, END);
+        return body;
+    }
+
+    private static int put(byte[] target, int pos, byte[] source) {
+        System.arraycopy(source, 0, target, pos, source.length);
+        return pos + source.length;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int pos = 0;
+        for (byte[] part : parts) {
+            pos = put(result, pos, part);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.testapi.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Centralized error mapping for all REST controllers.
+ * Controllers let exceptions propagate and this advice turns them into the API error
+ * body ({@code error}, {@code message}, {@code timestamp}):
+ * <ul>
+ *   <li>{@link ApiTestException}: 400 "Negative differences detected"</li>
+ *   <li>{@link IllegalArgumentException}, including request validation failures: 400 "Validation error"</li>
+ *   <li>{@link UpstreamException}: 503 "Upstream unavailable"</li>
+ *   <li>Spring MVC exceptions (unreadable body, unsupported method, ...): their status and reason phrase</li>
+ *   <li>Anything else: 500 "Internal server error"</li>
+ * </ul>
+ *
+ * Bodies are rendered from cached {@link ErrorBodyTemplate}s instead of going through
+ * Jackson, and expected business rejections are only logged at debug and counted in
+ * {@code api.rejections} by {@code type}, so rejecting a request costs little more than
+ * accepting it.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    static final String UNEXPECTED_ERROR_MESSAGE = "An unexpected error occurred";
+
+    private static final ErrorBodyTemplate NEGATIVE_DIFFERENCES =
+            new ErrorBodyTemplate(HttpStatus.BAD_REQUEST, "Negative differences detected");
+    private static final ErrorBodyTemplate VALIDATION_ERROR =
+            new ErrorBodyTemplate(HttpStatus.BAD_REQUEST, "Validation error");
+    private static final ErrorBodyTemplate UPSTREAM_UNAVAILABLE =
+            new ErrorBodyTemplate(HttpStatus.SERVICE_UNAVAILABLE, "Upstream unavailable");
+    private static final ErrorBodyTemplate INTERNAL_ERROR =
+            new ErrorBodyTemplate(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+
+    private final Map<Integer, ErrorBodyTemplate> statusTemplates = new ConcurrentHashMap<>();
+    private final Counter negativeDifferencesRejections;
+    private final Counter validationRejections;
+
+    /**
+     * @param meterRegistry the registry for the rejection counters
+     */
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.negativeDifferencesRejections = rejectionCounter(meterRegistry, "negative_differences");
+        this.validationRejections = rejectionCounter(meterRegistry, "validation");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("api.rejections")
+                .description("Requests rejected as invalid by the API")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Maps negative differences to 400.
+     *
+     * @param e the exception
+     * @return the error response
+     */
+    @ExceptionHandler(ApiTestException.class)
+    public ResponseEntity<byte[]> handleApiTestException(ApiTestException e) {
+        negativeDifferencesRejections.increment();
+        logger.debug("Negative differences detected: {}", e.getMessage());
+        return NEGATIVE_DIFFERENCES.toResponse(e.getMessage());
+    }
+
+    /**
+     * Maps invalid input, such as a failed request validation or an invalid rule or formula, to 400.
+     *
+     * @param e the exception
+     * @return the error response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<byte[]> handleIllegalArgumentException(IllegalArgumentException e) {
+        validationRejections.increment();
+        logger.debug("Invalid request data: {}", e.getMessage());
+        return VALIDATION_ERROR.toResponse(e.getMessage());
+    }
+
+    /**
+     * Maps failed or timed-out upstream calls to 503. The cause was already logged by the service.
+     *
+     * @param e the exception
+     * @return the error response
+     */
+    @ExceptionHandler(UpstreamException.class)
+    public ResponseEntity<byte[]> handleUpstreamException(UpstreamException e) {
+        logger.warn("Upstream unavailable: {}", e.getMessage());
+        return UPSTREAM_UNAVAILABLE.toResponse(e.getMessage());
+    }
+
+    /**
+     * Maps any other exception to 500, logging the full stack trace since it is not expected.
+     *
+     * @param e the exception
+     * @return the error response
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<byte[]> handleUnexpectedException(Exception e) {
+        logger.error("Unexpected error occurred while handling request", e);
+        return INTERNAL_ERROR.toResponse(UNEXPECTED_ERROR_MESSAGE);
+    }
+
+    /**
+     * Reports bean validation failures on {@code @Valid} arguments with the first field message.
+     */
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        FieldError fieldError = ex.getBindingResult().getFieldError();
+        String message = fieldError != null ? fieldError.getDefaultMessage() : ex.getBody().getDetail();
+        validationRejections.increment();
+        logger.debug("Invalid request data: {}", message);
+        return ResponseEntity.status(VALIDATION_ERROR.getStatus())
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(VALIDATION_ERROR.render(message, Instant.now()));
+    }
+
+    /**
+     * Renders the Spring MVC exceptions handled by the base class with the API error body
+     * instead of a problem detail, keeping headers such as {@code Allow}.
+     */
+    @Override
+    protected ResponseEntity<Object> createResponseEntity(Object body, HttpHeaders headers,
+                                                          HttpStatusCode statusCode, WebRequest request) {
+        String message = body instanceof ProblemDetail problemDetail ? problemDetail.getDetail() : null;
+        logger.debug("Request rejected with status {}: {}", statusCode.value(), message);
+        ErrorBodyTemplate template = statusTemplates.computeIfAbsent(statusCode.value(), GlobalExceptionHandler::templateFor);
+        return ResponseEntity.status(statusCode)
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(template.render(message, Instant.now()));
+    }
+
+    private static ErrorBodyTemplate templateFor(int statusCode) {
+        HttpStatus status = HttpStatus.resolve(statusCode);
+        return new ErrorBodyTemplate(HttpStatusCode.valueOf(statusCode),
+                status != null ? status.getReasonPhrase() : "Error");
+    }
+}
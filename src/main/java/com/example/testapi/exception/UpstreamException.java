@@ -0,0 +1,27 @@
+package com.example.testapi.exception;
+
+/**
+ * Exception thrown when exchange rate data cannot be obtained from the external providers.
+ * This covers failed or timed-out upstream calls, as opposed to invalid client input.
+ */
+public class UpstreamException extends RuntimeException {
+
+    /**
+     * Constructs a new UpstreamException with the specified detail message.
+     *
+     * @param message the detail message describing the upstream failure
+     */
+    public UpstreamException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new UpstreamException with the specified detail message and cause.
+     *
+     * @param message the detail message describing the upstream failure
+     * @param cause the cause of this exception
+     */
+    public UpstreamException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.testapi.filter;
+
+import com.example.testapi.admission.AdaptiveConcurrencyLimiter;
+import com.example.testapi.admission.EndpointMatcher;
+import com.example.testapi.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter shedding load with an adaptive concurrency limit per endpoint.
+ * Each endpoint has its own limiter so that the latency baseline of a fast endpoint is not
+ * mixed with the latency of one calling an external API. Shed requests receive 503 with
+ * Retry-After.
+ *
+ * Metrics: {@code admission.concurrency.shed} (counter, tagged by endpoint prefix, or
+ * {@code other} for paths matching none).
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final EndpointMatcher<AdaptiveConcurrencyLimiter> limiters;
+
+    private final ObjectMapper objectMapper;
+
+    private final EndpointMatcher<Counter> shedCounters;
+
+    /**
+     * Constructor for ConcurrencyLimitFilter.
+     *
+     * @param limiters the concurrency limiter of each endpoint
+     * @param objectMapper the mapper used to serialize error bodies
+     * @param meterRegistry the registry for the shed counters
+     */
+    public ConcurrencyLimitFilter(EndpointMatcher<AdaptiveConcurrencyLimiter> limiters, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.limiters = limiters;
+        this.objectMapper = objectMapper;
+        this.shedCounters = new EndpointMatcher<>(limiters.getPrefixes(),
+                endpoint -> shedCounter(meterRegistry, endpoint), shedCounter(meterRegistry, "other"));
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String endpoint) {
+        return Counter.builder("admission.concurrency.shed")
+                .description("Requests rejected because the concurrency limit was reached")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = FilterResponses.path(request.getRequestURI(), request.getContextPath());
+        AdaptiveConcurrencyLimiter limiter = limiters.match(path);
+        if (!limiter.tryAcquire()) {
+            shedCounters.match(path).increment();
+            // Overload sheds many requests at once; the shed counter is the signal, not the log
+            logger.debug("Concurrency limit {} reached on {}, shedding request", limiter.getLimit(), path);
+            FilterResponses.reject(response, HttpStatus.SERVICE_UNAVAILABLE, RETRY_AFTER_SECONDS,
+                    ErrorResponse.of("Service overloaded", "Concurrency limit reached, retry later"), objectMapper);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.testapi.filter;
+
+import com.example.testapi.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Helper for writing error responses directly from servlet filters, where the
+ * controller layer and its message converters are not involved.
+ */
+final class FilterResponses {
+
+    private FilterResponses() {
+    }
+
+    /**
+     * Writes a rejection with a Retry-After header and an ErrorResponse body.
+     *
+     * @param response the servlet response
+     * @param status the HTTP status
+     * @param retryAfterSeconds the Retry-After value in seconds
+     * @param error the error body
+     * @param objectMapper the mapper used to serialize the body
+     * @throws IOException if the body cannot be written
+     */
+    static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                       ErrorResponse error, ObjectMapper objectMapper) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Returns the request path relative to the context path.
+     *
+     * @param requestUri the request URI
+     * @param contextPath the context path
+     * @return the application path
+     */
+    static String path(String requestUri, String contextPath) {
+        return contextPath == null || contextPath.isEmpty() ? requestUri : requestUri.substring(contextPath.length());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.testapi.filter;
+
+import com.example.testapi.admission.CoDelLoadShedder;
+import com.example.testapi.admission.EndpointMatcher;
+import com.example.testapi.admission.QueueTimingExecutor;
+import com.example.testapi.admission.RequestPriority;
+import com.example.testapi.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servlet filter rejecting requests early when the Tomcat queue backs up.
+ * The time each request spent waiting for a worker thread is taken from the
+ * {@link QueueTimingExecutor} and evaluated by a {@link CoDelLoadShedder} according to the
+ * priority class of its endpoint. Shed requests receive 503 with Retry-After.
+ *
+ * Metrics: {@code admission.shed} (counter, tagged by priority), {@code admission.queue.delay}
+ * (distribution of queue delays, in milliseconds) and {@code admission.in.flight} (gauge).
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final CoDelLoadShedder shedder;
+
+    private final EndpointMatcher<RequestPriority> priorities;
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<RequestPriority, Counter> shedCounters = new EnumMap<>(RequestPriority.class);
+
+    private final DistributionSummary queueDelay;
+
+    /**
+     * Constructor for LoadSheddingFilter.
+     *
+     * @param shedder the CoDel load shedder
+     * @param priorities the priority class of each endpoint
+     * @param objectMapper the mapper used to serialize error bodies
+     * @param meterRegistry the registry for shedding metrics
+     */
+    public LoadSheddingFilter(CoDelLoadShedder shedder, EndpointMatcher<RequestPriority> priorities,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.shedder = shedder;
+        this.priorities = priorities;
+        this.objectMapper = objectMapper;
+        for (RequestPriority priority : RequestPriority.values()) {
+            shedCounters.put(priority, Counter.builder("admission.shed")
+                    .description("Requests rejected because of queueing delay")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.queueDelay = DistributionSummary.builder("admission.queue.delay")
+                .description("Time requests waited for a worker thread")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently being processed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = FilterResponses.path(request.getRequestURI(), request.getContextPath());
+        RequestPriority priority = priorities.match(path);
+        long delayNanos = Math.max(0, QueueTimingExecutor.takeQueueDelayNanos());
+        queueDelay.record(delayNanos / 1_000_000.0);
+
+        if (shedder.shouldShed(delayNanos, priority)) {
+            shedCounters.get(priority).increment();
+            // Overload sheds many requests at once; the shed counter is the signal, not the log
+            logger.debug("Shedding {} request to {} after {} ms in queue", priority, path,
+                    TimeUnit.NANOSECONDS.toMillis(delayNanos));
+            FilterResponses.reject(response, HttpStatus.SERVICE_UNAVAILABLE, RETRY_AFTER_SECONDS,
+                    ErrorResponse.of("Service overloaded", "Request queued too long, retry later"), objectMapper);
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.testapi.filter;
+
+import com.example.testapi.admission.EndpointMatcher;
+import com.example.testapi.admission.TokenBucketRateLimiter;
+import com.example.testapi.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter applying per-client token bucket rate limits.
+ * Clients are identified by the configured API key header when it carries one of the known
+ * API keys, and by remote address otherwise, so that a client cannot obtain fresh buckets by
+ * sending new header values. Each endpoint has its own limiter, so a client exhausting the limit of
+ * one endpoint is still served on the others. Rejected requests receive 429 with Retry-After.
+ *
+ * Metrics: {@code admission.rate.limited} (counter, tagged by endpoint prefix, or
+ * {@code other} for paths matching none).
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final EndpointMatcher<TokenBucketRateLimiter> limiters;
+
+    private final String clientHeader;
+
+    private final Set<String> apiKeys;
+
+    private final ObjectMapper objectMapper;
+
+    private final EndpointMatcher<Counter> rejectedCounters;
+
+    /**
+     * Constructor for RateLimitFilter.
+     *
+     * @param limiters the rate limiter of each endpoint
+     * @param clientHeader the header carrying the client API key
+     * @param apiKeys the API keys identifying a client
+     * @param objectMapper the mapper used to serialize error bodies
+     * @param meterRegistry the registry for the rejection counters
+     */
+    public RateLimitFilter(EndpointMatcher<TokenBucketRateLimiter> limiters, String clientHeader, Set<String> apiKeys,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limiters = limiters;
+        this.clientHeader = clientHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.objectMapper = objectMapper;
+        this.rejectedCounters = new EndpointMatcher<>(limiters.getPrefixes(),
+                endpoint -> rejectedCounter(meterRegistry, endpoint), rejectedCounter(meterRegistry, "other"));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String endpoint) {
+        return Counter.builder("admission.rate.limited")
+                .description("Requests rejected because the client exceeded its rate limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = FilterResponses.path(request.getRequestURI(), request.getContextPath());
+        long waitNanos = limiters.match(path).tryAcquire(clientKey(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejectedCounters.match(path).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        logger.debug("Rate limit exceeded on {} by {}", path, request.getRemoteAddr());
+        FilterResponses.reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                ErrorResponse.of("Too many requests", "Rate limit exceeded, retry in " + retryAfterSeconds + " seconds"),
+                objectMapper);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(clientHeader);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
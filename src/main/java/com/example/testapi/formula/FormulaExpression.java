@@ -0,0 +1,17 @@
+package com.example.testapi.formula;
+
+/**
+ * A compiled spread formula node.
+ */
+@FunctionalInterface
+interface FormulaExpression {
+
+    /**
+     * Evaluates the node.
+     *
+     * @param rates the rate values, laid out as described in {@link SpreadFormula}
+     * @param component the component being computed: {@link SpreadFormula#AVG}, {@link SpreadFormula#SELL} or {@link SpreadFormula#BUY}
+     * @return the value
+     */
+    double evaluate(double[] rates, int component);
+}
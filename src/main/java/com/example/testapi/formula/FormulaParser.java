@@ -0,0 +1,279 @@
+package com.example.testapi.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive-descent parser compiling a formula into a tree of {@link FormulaExpression}
+ * closures. Constant sub-expressions are folded and variables are resolved to array
+ * offsets while parsing, so evaluation is a handful of virtual calls and array reads.
+ *
+ * Grammar:
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := '-' unary | primary
+ * primary    := number | variable | function '(' expression (',' expression)* ')' | '(' expression ')'
+ * </pre>
+ *
+ * Both parsing and evaluation recurse, so the text length, the nesting depth and the number
+ * of operands and operators are bounded; larger formulas are rejected as malformed instead
+ * of overflowing the stack.
+ */
+final class FormulaParser {
+
+    static final int MAX_LENGTH = 1024;
+
+    static final int MAX_DEPTH = 32;
+
+    static final int MAX_NODES = 256;
+
+    /**
+     * A parsed node; constant nodes carry their value so that callers can fold them.
+     */
+    private record Node(FormulaExpression expression, boolean constant, double value) {
+
+        static Node of(FormulaExpression expression) {
+            return new Node(expression, false, Double.NaN);
+        }
+
+        static Node constant(double value) {
+            return new Node((rates, component) -> value, true, value);
+        }
+    }
+
+    private final String text;
+    private int position;
+    private int depth;
+    private int nodes;
+
+    private FormulaParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses and compiles a formula.
+     *
+     * @param text the formula text
+     * @return the compiled formula
+     * @throws IllegalArgumentException if the formula is malformed
+     */
+    static FormulaExpression parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Formula expression is required");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Invalid formula: longer than " + MAX_LENGTH + " characters");
+        }
+        FormulaParser parser = new FormulaParser(text);
+        Node node = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < text.length()) {
+            throw parser.error("unexpected '" + text.charAt(parser.position) + "'");
+        }
+        return node.expression();
+    }
+
+    private Node expression() {
+        enter();
+        Node left = term();
+        while (true) {
+            if (accept('+')) {
+                left = binary(left, term(), '+');
+            } else if (accept('-')) {
+                left = binary(left, term(), '-');
+            } else {
+                depth--;
+                return left;
+            }
+        }
+    }
+
+    private Node term() {
+        Node left = unary();
+        while (true) {
+            if (accept('*')) {
+                left = binary(left, unary(), '*');
+            } else if (accept('/')) {
+                left = binary(left, unary(), '/');
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (accept('-')) {
+            enter();
+            Node operand = unary();
+            depth--;
+            count();
+            if (operand.constant()) {
+                return Node.constant(-operand.value());
+            }
+            FormulaExpression e = operand.expression();
+            return Node.of((rates, component) -> -e.evaluate(rates, component));
+        }
+        return primary();
+    }
+
+    private Node primary() {
+        count();
+        skipWhitespace();
+        if (accept('(')) {
+            Node node = expression();
+            expect(')');
+            return node;
+        }
+        if (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+            return number();
+        }
+        int start = position;
+        String identifier = identifier();
+        if (accept('(')) {
+            return function(identifier, start);
+        }
+        return variable(identifier, start);
+    }
+
+    private Node number() {
+        int start = position;
+        while (position < text.length()
+                && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+            position++;
+        }
+        try {
+            return Node.constant(Double.parseDouble(text.substring(start, position)));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("malformed number");
+        }
+    }
+
+    private String identifier() {
+        int start = position;
+        while (position < text.length()
+                && (Character.isLetterOrDigit(text.charAt(position)) || text.charAt(position) == '_'
+                || text.charAt(position) == '.')) {
+            position++;
+        }
+        if (start == position) {
+            throw error(position < text.length() ? "unexpected '" + text.charAt(position) + "'" : "unexpected end of formula");
+        }
+        return text.substring(start, position);
+    }
+
+    private Node variable(String name, int start) {
+        int dot = name.indexOf('.');
+        String rate = dot < 0 ? name : name.substring(0, dot);
+        int base = switch (rate) {
+            case "crypto" -> SpreadFormula.CRYPTO;
+            case "mep" -> SpreadFormula.MEP;
+            default -> throw error("unknown variable '" + name + "'", start);
+        };
+        if (dot < 0) {
+            return Node.of((rates, component) -> rates[base + component]);
+        }
+        int index = base + switch (name.substring(dot + 1)) {
+            case "avg" -> SpreadFormula.AVG;
+            case "sell" -> SpreadFormula.SELL;
+            case "buy" -> SpreadFormula.BUY;
+            default -> throw error("unknown variable '" + name + "'", start);
+        };
+        return Node.of((rates, component) -> rates[index]);
+    }
+
+    private Node function(String name, int start) {
+        List<Node> arguments = new ArrayList<>();
+        do {
+            arguments.add(expression());
+        } while (accept(','));
+        expect(')');
+
+        int arity = "abs".equals(name) ? 1 : 2;
+        if (!"abs".equals(name) && !"min".equals(name) && !"max".equals(name)) {
+            throw error("unknown function '" + name + "'", start);
+        }
+        if (arguments.size() != arity) {
+            throw error("function '" + name + "' takes " + arity + " argument" + (arity == 1 ? "" : "s"), start);
+        }
+        if (arity == 1) {
+            Node operand = arguments.get(0);
+            if (operand.constant()) {
+                return Node.constant(Math.abs(operand.value()));
+            }
+            FormulaExpression e = operand.expression();
+            return Node.of((rates, component) -> Math.abs(e.evaluate(rates, component)));
+        }
+        return binary(arguments.get(0), arguments.get(1), "min".equals(name) ? 'm' : 'M');
+    }
+
+    private Node binary(Node left, Node right, char operator) {
+        count();
+        if (left.constant() && right.constant()) {
+            return Node.constant(apply(operator, left.value(), right.value()));
+        }
+        FormulaExpression l = left.expression();
+        FormulaExpression r = right.expression();
+        return Node.of(switch (operator) {
+            case '+' -> (rates, component) -> l.evaluate(rates, component) + r.evaluate(rates, component);
+            case '-' -> (rates, component) -> l.evaluate(rates, component) - r.evaluate(rates, component);
+            case '*' -> (rates, component) -> l.evaluate(rates, component) * r.evaluate(rates, component);
+            case '/' -> (rates, component) -> l.evaluate(rates, component) / r.evaluate(rates, component);
+            case 'm' -> (rates, component) -> Math.min(l.evaluate(rates, component), r.evaluate(rates, component));
+            default -> (rates, component) -> Math.max(l.evaluate(rates, component), r.evaluate(rates, component));
+        });
+    }
+
+    private static double apply(char operator, double left, double right) {
+        return switch (operator) {
+            case '+' -> left + right;
+            case '-' -> left - right;
+            case '*' -> left * right;
+            case '/' -> left / right;
+            case 'm' -> Math.min(left, right);
+            default -> Math.max(left, right);
+        };
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("nested deeper than " + MAX_DEPTH + " levels");
+        }
+    }
+
+    private void count() {
+        if (++nodes > MAX_NODES) {
+            throw error("more than " + MAX_NODES + " operands and operators");
+        }
+    }
+
+    private boolean accept(char c) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error("expected '" + c + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String reason) {
+        return error(reason, position);
+    }
+
+    private static IllegalArgumentException error(String reason, int at) {
+        return new IllegalArgumentException("Invalid formula: " + reason + " at position " + at);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.testapi.formula;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the spread formulas available to the diferencias endpoint.
+ * Formulas are compiled when registered; lookups are a single hash map read.
+ */
+public class FormulaRegistry {
+
+    /**
+     * Name of the legacy MEP minus crypto formula, used when no formula is requested.
+     */
+    public static final String DEFAULT_FORMULA = "diferencia";
+
+    /**
+     * Maximum number of custom formulas; every formula can be selected by any request, so the
+     * registry must not grow without bound.
+     */
+    public static final int MAX_CUSTOM_FORMULAS = 100;
+
+    private static final Map<String, String> BUILT_IN = Map.of(
+            DEFAULT_FORMULA, "mep - crypto",
+            "porcentaje", "(mep - crypto) / crypto * 100",
+            "ratio", "mep / crypto",
+            "cruzado", "mep.buy - crypto.sell");
+
+    private final Map<String, SpreadFormula> formulas = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry holding the built-in formulas.
+     */
+    public FormulaRegistry() {
+        BUILT_IN.forEach(this::register);
+    }
+
+    /**
+     * Compiles and registers a formula, replacing any custom formula of the same name.
+     *
+     * @param name the formula name
+     * @param expression the formula text
+     * @return the compiled formula
+     * @throws IllegalArgumentException if the formula is invalid, the name is a built-in formula
+     *         or the maximum number of custom formulas is registered
+     */
+    public synchronized SpreadFormula register(String name, String expression) {
+        if (BUILT_IN.containsKey(name) && formulas.containsKey(name)) {
+            throw new IllegalArgumentException("Built-in formula cannot be replaced: " + name);
+        }
+        if (!formulas.containsKey(name) && formulas.size() - BUILT_IN.size() >= MAX_CUSTOM_FORMULAS) {
+            throw new IllegalArgumentException("No more than " + MAX_CUSTOM_FORMULAS + " custom formulas can be registered");
+        }
+        SpreadFormula formula = SpreadFormula.compile(name, expression);
+        formulas.put(name, formula);
+        return formula;
+    }
+
+    /**
+     * Resolves a formula by name.
+     *
+     * @param name the formula name, null for the default formula
+     * @return the formula
+     * @throws IllegalArgumentException if no formula has that name
+     */
+    public SpreadFormula get(String name) {
+        SpreadFormula formula = formulas.get(name == null ? DEFAULT_FORMULA : name);
+        if (formula == null) {
+            throw new IllegalArgumentException("Unknown formula: " + name);
+        }
+        return formula;
+    }
+
+    /**
+     * Returns all registered formulas.
+     *
+     * @return the formulas
+     */
+    public Collection<SpreadFormula> getAll() {
+        return formulas.values();
+    }
+}
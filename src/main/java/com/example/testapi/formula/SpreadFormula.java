@@ -0,0 +1,72 @@
+package com.example.testapi.formula;
+
+/**
+ * A named spread formula compiled once into a closure tree.
+ *
+ * Formulas are arithmetic expressions ({@code + - * /}, parentheses, {@code abs}, {@code min},
+ * {@code max}) over the request rates. {@code mep} and {@code crypto} refer to the component
+ * being computed, so {@code (mep - crypto) / crypto * 100} yields the percentage spread of
+ * avg, sell and buy respectively; {@code mep.buy}, {@code crypto.sell} and similar refer to a
+ * fixed component, so {@code mep.buy - crypto.sell} yields the same cross spread for all three.
+ */
+public final class SpreadFormula {
+
+    /**
+     * Offset of the crypto rates in the rate array.
+     */
+    public static final int CRYPTO = 0;
+
+    /**
+     * Offset of the MEP rates in the rate array.
+     */
+    public static final int MEP = 3;
+
+    public static final int AVG = 0;
+    public static final int SELL = 1;
+    public static final int BUY = 2;
+
+    private final String name;
+    private final String expression;
+    private final FormulaExpression compiled;
+
+    private SpreadFormula(String name, String expression, FormulaExpression compiled) {
+        this.name = name;
+        this.expression = expression;
+        this.compiled = compiled;
+    }
+
+    /**
+     * Parses and compiles a formula.
+     *
+     * @param name the formula name
+     * @param expression the formula text
+     * @return the compiled formula
+     * @throws IllegalArgumentException if the name is missing or the expression is malformed
+     */
+    public static SpreadFormula compile(String name, String expression) {
+        if (name == null || !name.matches("[a-z0-9_-]+")) {
+            throw new IllegalArgumentException("Formula name must contain only lowercase letters, digits, '_' or '-'");
+        }
+        FormulaExpression compiled = FormulaParser.parse(expression);
+        return new SpreadFormula(name, expression.trim(), compiled);
+    }
+
+    /**
+     * Evaluates the formula for one component.
+     *
+     * @param rates crypto avg, sell, buy followed by MEP avg, sell, buy
+     * @param component {@link #AVG}, {@link #SELL} or {@link #BUY}
+     * @return the spread
+     */
+    public double evaluate(double[] rates, int component) {
+        return compiled.evaluate(rates, component);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.testapi.grpc;
+
+import com.example.testapi.exception.ApiTestException;
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.grpc.proto.CotizacionesGrpc;
+import com.example.testapi.grpc.proto.GetQuotationRequest;
+import com.example.testapi.grpc.proto.Quotation;
+import com.example.testapi.grpc.proto.SpreadBatchResponse;
+import com.example.testapi.grpc.proto.SpreadError;
+import com.example.testapi.grpc.proto.SpreadRequest;
+import com.example.testapi.grpc.proto.SpreadResponse;
+import com.example.testapi.grpc.proto.SpreadResult;
+import com.example.testapi.grpc.proto.WatchQuotationRequest;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.service.DiferenciasService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * gRPC implementation of the Cotizaciones service.
+ * This class exposes the quotation and spread computation of CotizacionService and
+ * DiferenciasService to internal gRPC callers. Errors are mapped the same way the REST
+ * API maps them: invalid input to INVALID_ARGUMENT, negative differences to
+ * FAILED_PRECONDITION, upstream failures to UNAVAILABLE and anything else to INTERNAL.
+ */
+public class CotizacionGrpcService extends CotizacionesGrpc.CotizacionesImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(CotizacionGrpcService.class);
+
+    private static final String UNEXPECTED_ERROR_MESSAGE = "An unexpected error occurred";
+
+    /**
+     * Maximum number of requests in a ComputeSpreads stream, since all results are held until it completes.
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final CotizacionService cotizacionService;
+    private final DiferenciasService diferenciasService;
+    private final QuotationBroadcaster quotationBroadcaster;
+
+    /**
+     * Constructor for CotizacionGrpcService.
+     *
+     * @param cotizacionService the service retrieving quotations
+     * @param diferenciasService the service computing spreads
+     * @param quotationBroadcaster the poller feeding WatchQuotation streams
+     */
+    public CotizacionGrpcService(CotizacionService cotizacionService, DiferenciasService diferenciasService,
+                                 QuotationBroadcaster quotationBroadcaster) {
+        this.cotizacionService = cotizacionService;
+        this.diferenciasService = diferenciasService;
+        this.quotationBroadcaster = quotationBroadcaster;
+    }
+
+    @Override
+    public void getQuotation(GetQuotationRequest request, StreamObserver<Quotation> responseObserver) {
+        Quotation quotation;
+        try {
+            quotation = ProtoMapper.toQuotation(cotizacionService.obtenerCotizacion());
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(quotation);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void watchQuotation(WatchQuotationRequest request, StreamObserver<Quotation> responseObserver) {
+        quotationBroadcaster.subscribe((ServerCallStreamObserver<Quotation>) responseObserver);
+    }
+
+    @Override
+    public void computeSpread(SpreadRequest request, StreamObserver<SpreadResponse> responseObserver) {
+        SpreadResponse response;
+        try {
+            response = compute(request);
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<SpreadRequest> computeSpreads(StreamObserver<SpreadBatchResponse> responseObserver) {
+        return new StreamObserver<>() {
+
+            private final SpreadBatchResponse.Builder batch = SpreadBatchResponse.newBuilder();
+
+            private boolean rejected;
+
+            @Override
+            public void onNext(SpreadRequest request) {
+                if (rejected) {
+                    return;
+                }
+                if (batch.getResultsCount() == MAX_BATCH_SIZE) {
+                    rejected = true;
+                    responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                            .withDescription("A spread batch cannot exceed " + MAX_BATCH_SIZE + " requests")
+                            .asRuntimeException());
+                    return;
+                }
+                SpreadResult.Builder result = SpreadResult.newBuilder();
+                try {
+                    result.setSpread(compute(request));
+                } catch (RuntimeException e) {
+                    Status status = toStatus(e);
+                    result.setError(SpreadError.newBuilder()
+                            .setError(errorTitle(e))
+                            .setMessage(status.getDescription()));
+                }
+                batch.addResults(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                logger.debug("ComputeSpreads stream aborted by the client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                if (rejected) {
+                    return;
+                }
+                responseObserver.onNext(batch.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private SpreadResponse compute(SpreadRequest request) {
+        DiferenciasRequest diferenciasRequest = ProtoMapper.toDiferenciasRequest(request);
+        return ProtoMapper.toSpreadResponse(request.getFormula().isEmpty()
+                ? diferenciasService.calcularDiferencias(diferenciasRequest)
+                : diferenciasService.calcularDiferencias(diferenciasRequest, request.getFormula()));
+    }
+
+    /**
+     * Maps a service exception to a gRPC status. Expected errors are logged without a stack trace.
+     */
+    static Status toStatus(RuntimeException e) {
+        if (e instanceof ApiTestException) {
+            logger.warn("Negative differences detected: {}", e.getMessage());
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            logger.warn("Invalid request data: {}", e.getMessage());
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof UpstreamException) {
+            logger.warn("Upstream unavailable: {}", e.getMessage());
+            return Status.UNAVAILABLE.withDescription(e.getMessage());
+        }
+        logger.error("Unexpected error occurred while handling gRPC call", e);
+        return Status.INTERNAL.withDescription(UNEXPECTED_ERROR_MESSAGE);
+    }
+
+    private static String errorTitle(RuntimeException e) {
+        if (e instanceof ApiTestException) {
+            return "Negative differences detected";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "Validation error";
+        }
+        if (e instanceof UpstreamException) {
+            return "Upstream unavailable";
+        }
+        return "Internal server error";
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.testapi.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server on its own port alongside Tomcat.
+ * The server is started with the application context and stopped before the beans it
+ * uses are destroyed, letting in-flight calls finish within the shutdown grace period.
+ */
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final int port;
+    private final Duration shutdownGrace;
+    private final BindableService service;
+    private final QuotationBroadcaster quotationBroadcaster;
+
+    private volatile Server server;
+
+    /**
+     * Creates the server.
+     *
+     * @param port the port to listen on, 0 for a random port
+     * @param shutdownGrace how long in-flight calls may run once shutdown starts
+     * @param service the gRPC service
+     * @param quotationBroadcaster the broadcaster whose streams are completed on shutdown
+     */
+    public GrpcServer(int port, Duration shutdownGrace, BindableService service,
+                      QuotationBroadcaster quotationBroadcaster) {
+        this.port = port;
+        this.shutdownGrace = shutdownGrace;
+        this.service = service;
+        this.quotationBroadcaster = quotationBroadcaster;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = ServerBuilder.forPort(port).addService(service).build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+        logger.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        quotationBroadcaster.shutdown();
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(shutdownGrace.toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        logger.info("gRPC server stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server listens on, which differs from the configured one when it is 0.
+     *
+     * @return the bound port, or -1 if the server is not running
+     */
+    public int getPort() {
+        Server running = server;
+        return running != null ? running.getPort() : -1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.testapi.grpc;
+
+import com.example.testapi.grpc.proto.Quotation;
+import com.example.testapi.grpc.proto.RateValues;
+import com.example.testapi.grpc.proto.SpreadRequest;
+import com.example.testapi.grpc.proto.SpreadResponse;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.DiferenciasResponse;
+
+/**
+ * Conversions between the protobuf messages and the REST models, so the gRPC API reuses
+ * the services unchanged. Unset protobuf values become nulls and are reported by the
+ * same validation as REST requests.
+ */
+final class ProtoMapper {
+
+    private ProtoMapper() {
+    }
+
+    static Quotation toQuotation(CotizacionResponse response) {
+        Quotation.Builder quotation = Quotation.newBuilder();
+        if (response.getOficial() != null) {
+            quotation.setOficial(toRateValues(response.getOficial()));
+        }
+        if (response.getBlue() != null) {
+            quotation.setBlue(toRateValues(response.getBlue()));
+        }
+        if (response.getOficialEuro() != null) {
+            quotation.setOficialEuro(toRateValues(response.getOficialEuro()));
+        }
+        if (response.getBlueEuro() != null) {
+            quotation.setBlueEuro(toRateValues(response.getBlueEuro()));
+        }
+        if (response.getLastUpdate() != null) {
+            quotation.setLastUpdate(response.getLastUpdate());
+        }
+        return quotation.build();
+    }
+
+    static DiferenciasRequest toDiferenciasRequest(SpreadRequest request) {
+        DiferenciasRequest.Builder builder = DiferenciasRequest.builder();
+        if (request.hasCrypto()) {
+            RateValues crypto = request.getCrypto();
+            builder.addCrypto(avg(crypto), sell(crypto), buy(crypto));
+        }
+        if (request.hasMep()) {
+            RateValues mep = request.getMep();
+            builder.addMep(avg(mep), sell(mep), buy(mep));
+        }
+        return builder.build();
+    }
+
+    static SpreadResponse toSpreadResponse(DiferenciasResponse response) {
+        SpreadResponse.Builder spread = SpreadResponse.newBuilder();
+        if (response.getDiferenciaAvg() != null) {
+            spread.setDiferenciaAvg(response.getDiferenciaAvg());
+        }
+        if (response.getDiferenciaSell() != null) {
+            spread.setDiferenciaSell(response.getDiferenciaSell());
+        }
+        if (response.getDiferenciaBuy() != null) {
+            spread.setDiferenciaBuy(response.getDiferenciaBuy());
+        }
+        return spread.build();
+    }
+
+    private static RateValues toRateValues(CotizacionResponse.CotizacionData data) {
+        RateValues.Builder values = RateValues.newBuilder();
+        if (data.getValueAvg() != null) {
+            values.setValueAvg(data.getValueAvg());
+        }
+        if (data.getValueSell() != null) {
+            values.setValueSell(data.getValueSell());
+        }
+        if (data.getValueBuy() != null) {
+            values.setValueBuy(data.getValueBuy());
+        }
+        return values.build();
+    }
+
+    private static Double avg(RateValues values) {
+        return values.hasValueAvg() ? values.getValueAvg() : null;
+    }
+
+    private static Double sell(RateValues values) {
+        return values.hasValueSell() ? values.getValueSell() : null;
+    }
+
+    private static Double buy(RateValues values) {
+        return values.hasValueBuy() ? values.getValueBuy() : null;
+    }
+}
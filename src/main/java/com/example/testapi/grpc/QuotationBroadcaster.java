@@ -0,0 +1,158 @@
+package com.example.testapi.grpc;
+
+import com.example.testapi.grpc.proto.Quotation;
+import com.example.testapi.service.CotizacionService;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans the quotation out to the WatchQuotation streams.
+ * A single poller fetches the quotation every interval while at least one stream is open,
+ * so the number of watchers does not change the upstream traffic, and a quotation is only
+ * sent when it differs from the previous one. Each stream keeps only the latest unsent
+ * quotation: a slow reader skips intermediate quotations instead of buffering them.
+ */
+public class QuotationBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuotationBroadcaster.class);
+
+    private final CotizacionService cotizacionService;
+    private final Duration interval;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grpc-quotation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> poller;
+    private volatile Quotation latest;
+
+    /**
+     * Creates a broadcaster polling the given service.
+     *
+     * @param cotizacionService the quotation service
+     * @param interval the time between two polls
+     */
+    public QuotationBroadcaster(CotizacionService cotizacionService, Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Watch interval must be positive");
+        }
+        this.cotizacionService = cotizacionService;
+        this.interval = interval;
+    }
+
+    /**
+     * Registers a stream. It receives the latest known quotation right away, or the first
+     * one fetched, then every change until it is cancelled.
+     *
+     * @param observer the server stream
+     */
+    void subscribe(ServerCallStreamObserver<Quotation> observer) {
+        Subscriber subscriber = new Subscriber(observer);
+        observer.setOnCancelHandler(() -> unsubscribe(subscriber));
+        observer.setOnReadyHandler(subscriber::flush);
+        subscribers.add(subscriber);
+
+        Quotation current = latest;
+        if (current != null) {
+            subscriber.send(current);
+        }
+        synchronized (this) {
+            if (poller == null) {
+                poller = scheduler.scheduleWithFixedDelay(this::poll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return the subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Completes every open stream and stops polling.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        synchronized (this) {
+            if (subscribers.isEmpty() && poller != null) {
+                poller.cancel(false);
+                poller = null;
+            }
+        }
+    }
+
+    private void poll() {
+        Quotation quotation;
+        try {
+            quotation = ProtoMapper.toQuotation(cotizacionService.obtenerCotizacion());
+        } catch (RuntimeException e) {
+            // Streams stay open; watchers keep the last quotation until the upstream recovers
+            logger.warn("Quotation poll failed: {}", e.getMessage());
+            return;
+        }
+        if (quotation.equals(latest)) {
+            return;
+        }
+        latest = quotation;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.send(quotation);
+        }
+    }
+
+    /**
+     * One stream and its latest quotation not yet written because the stream was not ready.
+     */
+    private static final class Subscriber {
+
+        private final ServerCallStreamObserver<Quotation> observer;
+        private Quotation pending;
+        private boolean completed;
+
+        Subscriber(ServerCallStreamObserver<Quotation> observer) {
+            this.observer = observer;
+        }
+
+        synchronized void send(Quotation quotation) {
+            pending = quotation;
+            flush();
+        }
+
+        synchronized void flush() {
+            if (completed || pending == null || observer.isCancelled() || !observer.isReady()) {
+                return;
+            }
+            observer.onNext(pending);
+            pending = null;
+        }
+
+        synchronized void complete() {
+            if (!completed && !observer.isCancelled()) {
+                completed = true;
+                observer.onCompleted();
+            }
+        }
+    }
+}
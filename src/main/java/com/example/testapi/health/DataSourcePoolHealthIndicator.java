@@ -0,0 +1,56 @@
+package com.example.testapi.health;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+
+import javax.sql.DataSource;
+
+/**
+ * Health of the database connection pool: down when the connections in use reach the
+ * maximum usage while threads are waiting for one. The database itself is checked by the
+ * standard {@code db} indicator. Unknown when there is no Hikari pool, as with the lean
+ * profile, or before the pool has been started.
+ */
+public class DataSourcePoolHealthIndicator implements HealthIndicator {
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final double maxUsage;
+
+    /**
+     * Creates the indicator.
+     *
+     * @param dataSource provides the application DataSource, if any
+     * @param maxUsage the fraction of the maximum pool size beyond which the pool is exhausted
+     */
+    public DataSourcePoolHealthIndicator(ObjectProvider<DataSource> dataSource, double maxUsage) {
+        this.dataSource = dataSource;
+        this.maxUsage = maxUsage;
+    }
+
+    @Override
+    public Health health() {
+        DataSource candidate = dataSource.getIfAvailable();
+        HikariDataSource hikari = candidate != null
+                ? DataSourceUnwrapper.unwrap(candidate, HikariConfigMXBean.class, HikariDataSource.class)
+                : null;
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "No started connection pool").build();
+        }
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        int maxPoolSize = hikari.getMaximumPoolSize();
+        double usage = maxPoolSize <= 0 ? 0.0 : (double) active / maxPoolSize;
+        Health.Builder builder = usage >= maxUsage && waiting > 0 ? Health.down() : Health.up();
+        return builder.withDetail("active", active)
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("waiting", waiting)
+                .withDetail("maxPoolSize", maxPoolSize)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.testapi.health;
+
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Health of the quotation: the age of the latest good quotation against a maximum age.
+ *
+ * The latest quotation is only replaced when it is requested, so an instance without
+ * traffic, for instance one the load balancer routed around, would otherwise age out and
+ * never recover. A check finding the quotation older than the refresh age therefore starts
+ * a background upstream call, and later checks see its result; the quotation only exceeds
+ * the maximum age while the upstream keeps failing. In cluster mode the refresh is left to
+ * the cluster poller instead. Before the first quotation is retrieved the status is unknown,
+ * which does not take the instance out of service.
+ */
+public class QuotationFreshnessHealthIndicator implements HealthIndicator {
+
+    private final CotizacionService cotizacionService;
+    private final Duration maxAge;
+    private final Duration refreshAfter;
+
+    /**
+     * Creates the indicator.
+     *
+     * @param cotizacionService the service holding the latest quotation
+     * @param maxAge the age beyond which the quotation is reported down
+     * @param refreshAfter the age beyond which a check refreshes the quotation
+     */
+    public QuotationFreshnessHealthIndicator(CotizacionService cotizacionService, Duration maxAge, Duration refreshAfter) {
+        this.cotizacionService = cotizacionService;
+        this.maxAge = maxAge;
+        this.refreshAfter = refreshAfter;
+    }
+
+    @Override
+    public Health health() {
+        Optional<QuotationSnapshot> latest = cotizacionService.getLatestSnapshot();
+        if (latest.isEmpty()) {
+            cotizacionService.refreshInBackground();
+            return Health.unknown().withDetail("reason", "No quotation retrieved yet").build();
+        }
+        QuotationSnapshot snapshot = latest.get();
+        Duration age = snapshot.getAge(Instant.now());
+        if (age.compareTo(refreshAfter) > 0) {
+            cotizacionService.refreshInBackground();
+        }
+        Health.Builder builder = age.compareTo(maxAge) > 0 ? Health.down() : Health.up();
+        return builder.withDetail("fetchedAt", snapshot.getFetchedAt().toString())
+                .withDetail("ageSeconds", age.toSeconds())
+                .withDetail("maxAgeSeconds", maxAge.toSeconds())
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.testapi.health;
+
+import com.example.testapi.admission.QueueTimingExecutor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Health of the request queue of the Tomcat connector: down when the oldest request waiting
+ * for a worker thread has waited longer than the maximum, so new requests could not be
+ * answered within it. The wait drains on its own once traffic is routed elsewhere, so the
+ * instance comes back without help. Unknown when the connector does not use a
+ * {@link QueueTimingExecutor}.
+ */
+public class RequestQueueHealthIndicator implements HealthIndicator {
+
+    private final Supplier<QueueTimingExecutor> executor;
+    private final Duration maxWait;
+
+    /**
+     * Creates the indicator.
+     *
+     * @param executor supplies the connector executor, or null when there is none
+     * @param maxWait the longest acceptable wait for a worker thread
+     */
+    public RequestQueueHealthIndicator(Supplier<QueueTimingExecutor> executor, Duration maxWait) {
+        this.executor = executor;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public Health health() {
+        QueueTimingExecutor current = executor.get();
+        if (current == null) {
+            return Health.unknown().withDetail("reason", "Request queue is not measured").build();
+        }
+        long oldestWaitNanos = current.getOldestQueuedNanos();
+        Health.Builder builder = oldestWaitNanos > maxWait.toNanos() ? Health.down() : Health.up();
+        return builder.withDetail("queued", current.getQueue().size())
+                .withDetail("oldestWaitMillis", TimeUnit.NANOSECONDS.toMillis(oldestWaitNanos))
+                .withDetail("activeThreads", current.getActiveCount())
+                .withDetail("maxThreads", current.getMaximumPoolSize())
+                .withDetail("maxWaitMillis", maxWait.toMillis())
+                .build();
+    }
+}
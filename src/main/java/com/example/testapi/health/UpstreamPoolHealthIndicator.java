@@ -0,0 +1,47 @@
+package com.example.testapi.health;
+
+import com.example.testapi.upstream.ConnectionPoolMonitor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Health of the WebClient connection pools: down when any pool is saturated beyond the
+ * maximum, since further upstream calls would wait for a connection instead of being sent.
+ */
+public class UpstreamPoolHealthIndicator implements HealthIndicator {
+
+    private final ConnectionPoolMonitor monitor;
+    private final double maxSaturation;
+
+    /**
+     * Creates the indicator.
+     *
+     * @param monitor the monitor of the connection pools
+     * @param maxSaturation the fraction of connections in use beyond which a pool is saturated
+     */
+    public UpstreamPoolHealthIndicator(ConnectionPoolMonitor monitor, double maxSaturation) {
+        this.monitor = monitor;
+        this.maxSaturation = maxSaturation;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> pools = new LinkedHashMap<>();
+        boolean saturated = false;
+        for (Map.Entry<String, ConnectionPoolMonitor.PoolState> entry : monitor.getPools().entrySet()) {
+            ConnectionPoolMonitor.PoolState state = entry.getValue();
+            saturated |= state.getSaturation() >= maxSaturation;
+            pools.put(entry.getKey(), Map.of(
+                    "acquired", state.getAcquired(),
+                    "pending", state.getPending(),
+                    "maxConnections", state.getMaxConnections()));
+        }
+        Health.Builder builder = saturated ? Health.down() : Health.up();
+        return builder.withDetail("pools", pools)
+                .withDetail("maxSaturation", maxSaturation)
+                .build();
+    }
+}
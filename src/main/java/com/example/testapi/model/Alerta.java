@@ -0,0 +1,39 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an alert fired by a rule, as delivered to the webhook and listed by the API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Alerta {
+
+    @JsonProperty("regla_id")
+    private String reglaId;
+
+    @JsonProperty("nombre")
+    private String nombre;
+
+    @JsonProperty("metrica")
+    private String metrica;
+
+    @JsonProperty("tipo")
+    private String tipo;
+
+    /**
+     * The observed value: the metric for "umbral" rules, the percentage change for "variacion" rules.
+     */
+    @JsonProperty("valor")
+    private Double valor;
+
+    @JsonProperty("umbral")
+    private Double umbral;
+
+    @JsonProperty("timestamp")
+    private String timestamp;
+}
@@ -0,0 +1,44 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response DTO for the aggregated quotation endpoint.
+ * Contains the quotation reported by each provider that answered in time and a
+ * consensus quotation built from the per-field median across those providers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CotizacionAgregadaResponse {
+
+    /**
+     * The consensus quotation: median of every value across the responding providers,
+     * with the most recent last_update.
+     */
+    @JsonProperty("consenso")
+    private CotizacionResponse consenso;
+
+    /**
+     * The quotation reported by each responding provider, keyed by provider name.
+     */
+    @JsonProperty("fuentes")
+    private Map<String, CotizacionResponse> fuentes;
+
+    /**
+     * The number of providers queried.
+     */
+    @JsonProperty("fuentes_consultadas")
+    private Integer fuentesConsultadas;
+
+    /**
+     * The number of providers included in the consensus.
+     */
+    @JsonProperty("fuentes_respondidas")
+    private Integer fuentesRespondidas;
+}
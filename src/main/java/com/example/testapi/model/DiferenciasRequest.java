@@ -1,6 +1,9 @@
 package com.example.testapi.model;
 
+import com.example.testapi.validation.RequiredRates;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,6 +22,9 @@ import java.util.Map;
  *     "mep": { "value_avg": 1250.0, "value_sell": 1260.0, "value_buy": 1240.0 }
  *   }
  * }
+ *
+ * Constraints are declared on the fields and enforced by DiferenciasRequestValidator;
+ * rate value messages are prefixed with the label of the rate, e.g. "crypto value_avg cannot be null".
  */
 @Data
 @NoArgsConstructor
@@ -26,6 +32,11 @@ import java.util.Map;
 public class DiferenciasRequest {
 
     @JsonProperty("rates")
+    @NotNull(message = "Rates map cannot be null")
+    @RequiredRates({
+            @RequiredRates.Rate(type = ExchangeRateType.CRYPTO, label = "crypto", message = "Crypto data is required"),
+            @RequiredRates.Rate(type = ExchangeRateType.MEP, label = "MEP", message = "MEP data is required")
+    })
     private Map<ExchangeRateType, ExchangeRateData> rates;
 
     /**
@@ -53,6 +64,8 @@ public class DiferenciasRequest {
          * Represents the mean value between buy and sell rates.
          */
         @JsonProperty("value_avg")
+        @NotNull(message = "value_avg cannot be null")
+        @Positive(message = "value_avg must be positive")
         private Double valueAvg;
 
         /**
@@ -60,6 +73,8 @@ public class DiferenciasRequest {
          * Represents the rate at which the currency can be sold.
          */
         @JsonProperty("value_sell")
+        @NotNull(message = "value_sell cannot be null")
+        @Positive(message = "value_sell must be positive")
         private Double valueSell;
 
         /**
@@ -67,6 +82,8 @@ public class DiferenciasRequest {
          * Represents the rate at which the currency can be bought.
          */
         @JsonProperty("value_buy")
+        @NotNull(message = "value_buy cannot be null")
+        @Positive(message = "value_buy must be positive")
         private Double valueBuy;
     }
 
@@ -0,0 +1,42 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Frame sent by clients of the diferencias WebSocket.
+ * It is a DiferenciasRequest plus the id the client uses to correlate the answer and an
+ * optional spread formula:
+ * {
+ *   "id": "42",
+ *   "formula": "porcentaje",
+ *   "rates": { "crypto": { ... }, "mep": { ... } }
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiferenciasStreamRequest {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("formula")
+    private String formula;
+
+    @JsonProperty("rates")
+    private Map<DiferenciasRequest.ExchangeRateType, DiferenciasRequest.ExchangeRateData> rates;
+
+    /**
+     * Returns the rates of this frame as a DiferenciasRequest.
+     *
+     * @return the request
+     */
+    public DiferenciasRequest toRequest() {
+        return new DiferenciasRequest(rates);
+    }
+}
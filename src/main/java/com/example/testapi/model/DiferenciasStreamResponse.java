@@ -0,0 +1,49 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Frame sent back on the diferencias WebSocket, carrying the id of the request it answers
+ * and either the computed differences or the same error body the REST endpoint returns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DiferenciasStreamResponse {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("result")
+    private DiferenciasResponse result;
+
+    @JsonProperty("error")
+    private ErrorResponse error;
+
+    /**
+     * Creates a frame answering a request with its differences.
+     *
+     * @param id the request id
+     * @param result the computed differences
+     * @return DiferenciasStreamResponse instance
+     */
+    public static DiferenciasStreamResponse result(String id, DiferenciasResponse result) {
+        return new DiferenciasStreamResponse(id, result, null);
+    }
+
+    /**
+     * Creates a frame answering a request with an error.
+     *
+     * @param id the request id, null if the frame could not be read
+     * @param error the error body
+     * @return DiferenciasStreamResponse instance
+     */
+    public static DiferenciasStreamResponse error(String id, ErrorResponse error) {
+        return new DiferenciasStreamResponse(id, null, error);
+    }
+}
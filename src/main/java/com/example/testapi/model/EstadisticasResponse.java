@@ -0,0 +1,65 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response DTO for the spread statistics endpoint.
+ * Contains running statistics of the computed differences for each rolling window
+ * ("1m", "5m", "1h") and each difference ("diferencia_avg", "diferencia_sell", "diferencia_buy").
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasResponse {
+
+    /**
+     * Statistics by window and by difference.
+     */
+    @JsonProperty("ventanas")
+    private Map<String, Map<String, Estadistica>> ventanas;
+
+    /**
+     * The time the statistics were computed.
+     */
+    @JsonProperty("timestamp")
+    private String timestamp;
+
+    /**
+     * Statistics of one difference within one window.
+     * All values except count are null when the window is empty.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Estadistica {
+
+        @JsonProperty("count")
+        private Long count;
+
+        @JsonProperty("mean")
+        private Double mean;
+
+        @JsonProperty("min")
+        private Double min;
+
+        @JsonProperty("max")
+        private Double max;
+
+        @JsonProperty("variance")
+        private Double variance;
+
+        @JsonProperty("p50")
+        private Double p50;
+
+        @JsonProperty("p90")
+        private Double p90;
+
+        @JsonProperty("p99")
+        private Double p99;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a spread formula, used both to register a formula and to list the available ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormulaDiferencia {
+
+    /**
+     * The name selecting the formula through the {@code formula} request parameter.
+     */
+    @JsonProperty("nombre")
+    private String nombre;
+
+    /**
+     * The formula, e.g. {@code (mep - crypto) / crypto * 100}.
+     */
+    @JsonProperty("expresion")
+    private String expresion;
+}
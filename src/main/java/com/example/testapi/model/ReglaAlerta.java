@@ -0,0 +1,67 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for an alert rule, used both to register a rule and to describe registered rules.
+ *
+ * A rule of type "umbral" fires when the metric compared with {@code umbral} using
+ * {@code operador} holds. A rule of type "variacion" fires when the percentage change of
+ * the metric over {@code ventana} compared with {@code umbral} holds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReglaAlerta {
+
+    /**
+     * Identifier assigned on registration.
+     */
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("nombre")
+    private String nombre;
+
+    /**
+     * A field (e.g. "diferencia_avg") or the difference of two fields
+     * (e.g. "blue.value_avg - oficial.value_avg").
+     */
+    @JsonProperty("metrica")
+    private String metrica;
+
+    /**
+     * "umbral" (default) or "variacion".
+     */
+    @JsonProperty("tipo")
+    private String tipo;
+
+    /**
+     * One of ">", ">=", "<", "<=".
+     */
+    @JsonProperty("operador")
+    private String operador;
+
+    /**
+     * The threshold; a percentage for "variacion" rules.
+     */
+    @JsonProperty("umbral")
+    private Double umbral;
+
+    /**
+     * Time span of the change for "variacion" rules, e.g. "5m".
+     */
+    @JsonProperty("ventana")
+    private String ventana;
+
+    /**
+     * Minimum time between two alerts of the rule, e.g. "10m". Defaults to "5m".
+     */
+    @JsonProperty("cooldown")
+    private String cooldown;
+}
@@ -0,0 +1,81 @@
+package com.example.testapi.service;
+
+import com.example.testapi.alert.AlertEngine;
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.ReglaAlerta;
+import com.example.testapi.stats.QuoteObserver;
+import com.example.testapi.stats.SpreadObserver;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service class for alert rules on differences and quotations.
+ * Every difference computed by DiferenciasService and every quotation retrieved by
+ * CotizacionService is fed to the alert engine, which evaluates the affected rules
+ * incrementally and delivers fired alerts to the configured sink.
+ */
+@Service
+public class AlertasService implements SpreadObserver, QuoteObserver {
+
+    private final AlertEngine alertEngine;
+
+    /**
+     * Constructor for AlertasService.
+     *
+     * @param alertEngine the engine evaluating the alert rules
+     */
+    public AlertasService(AlertEngine alertEngine) {
+        this.alertEngine = alertEngine;
+    }
+
+    @Override
+    public void onSpread(double diferenciaAvg, double diferenciaSell, double diferenciaBuy) {
+        alertEngine.onSpread(diferenciaAvg, diferenciaSell, diferenciaBuy);
+    }
+
+    @Override
+    public void onQuote(CotizacionResponse cotizacion) {
+        alertEngine.onQuote(cotizacion);
+    }
+
+    /**
+     * Registers an alert rule.
+     *
+     * @param regla the rule definition
+     * @return the registered rule, including its id
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    public ReglaAlerta registrarRegla(ReglaAlerta regla) {
+        return alertEngine.register(regla);
+    }
+
+    /**
+     * Returns the registered alert rules.
+     *
+     * @return the rules
+     */
+    public List<ReglaAlerta> obtenerReglas() {
+        return alertEngine.getRules();
+    }
+
+    /**
+     * Deletes an alert rule.
+     *
+     * @param id the rule id
+     * @return true if the rule existed
+     */
+    public boolean eliminarRegla(String id) {
+        return alertEngine.remove(id);
+    }
+
+    /**
+     * Returns the most recent alerts, newest first.
+     *
+     * @return the recent alerts
+     */
+    public List<Alerta> obtenerAlertas() {
+        return alertEngine.getRecentAlerts();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.testapi.service;
+
+import com.example.testapi.config.CotizacionAggregatorProperties;
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.model.CotizacionAgregadaResponse;
+import com.example.testapi.model.CotizacionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Service class for aggregating quotations from several providers.
+ * All providers are queried in parallel; the service answers as soon as the configured
+ * quorum of providers has responded, so total latency is bounded by the deadline rather
+ * than by the sum (or the maximum) of the provider latencies.
+ */
+@Service
+public class CotizacionAggregatorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CotizacionAggregatorService.class);
+
+    private final WebClient webClient;
+
+    private final CotizacionAggregatorProperties properties;
+
+    /**
+     * Constructor for CotizacionAggregatorService.
+     *
+     * @param webClientBuilder the WebClient.Builder instance for making HTTP requests
+     * @param properties the configured providers, deadline and quorum
+     */
+    public CotizacionAggregatorService(WebClient.Builder webClientBuilder, CotizacionAggregatorProperties properties) {
+        this.webClient = webClientBuilder.build();
+        this.properties = properties;
+    }
+
+    /**
+     * Retrieves the quotation from every configured provider and merges the results.
+     *
+     * @return CotizacionAgregadaResponse with per-source values and the consensus
+     * @throws UpstreamException if fewer providers than the quorum respond before the deadline
+     */
+    public CotizacionAgregadaResponse obtenerCotizacionAgregada() {
+        List<CotizacionAggregatorProperties.Provider> providers = properties.getProviders();
+        if (providers.isEmpty()) {
+            throw new UpstreamException("No quotation providers configured");
+        }
+        int quorum = Math.max(1, Math.min(properties.getQuorum(), providers.size()));
+        logger.info("Querying {} quotation providers, quorum {}, deadline {}", providers.size(), quorum, properties.getDeadline());
+
+        List<Tuple2<String, CotizacionResponse>> responses = Flux.merge(providers.stream().map(this::fetch).toList())
+                .take(quorum)
+                .take(properties.getDeadline())
+                .collectList()
+                .block();
+
+        if (responses == null || responses.size() < quorum) {
+            int responded = responses == null ? 0 : responses.size();
+            throw new UpstreamException(String.format("Quorum not reached: %d of %d providers responded within %d ms",
+                    responded, quorum, properties.getDeadline().toMillis()));
+        }
+
+        Map<String, CotizacionResponse> fuentes = new LinkedHashMap<>();
+        responses.forEach(response -> fuentes.put(response.getT1(), response.getT2()));
+        logger.info("Aggregated quotation from providers {}", fuentes.keySet());
+
+        return new CotizacionAgregadaResponse(consensus(fuentes.values()), fuentes, providers.size(), fuentes.size());
+    }
+
+    /**
+     * Fetches a single provider. Failures are logged and turned into an empty result so
+     * that one broken provider does not fail the aggregation.
+     */
+    private Mono<Tuple2<String, CotizacionResponse>> fetch(CotizacionAggregatorProperties.Provider provider) {
+        return webClient
+                .get()
+                .uri(provider.getUrl())
+                .retrieve()
+                .bodyToMono(CotizacionResponse.class)
+                .map(response -> Tuples.of(provider.getName(), response))
+                .onErrorResume(e -> {
+                    logger.warn("Quotation provider {} failed: {}", provider.getName(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Builds the consensus quotation as the per-field median of the given quotations.
+     * Its last update is the most recent instant reported by any provider.
+     *
+     * @param quotations the provider quotations
+     * @return the consensus quotation
+     */
+    static CotizacionResponse consensus(Iterable<CotizacionResponse> quotations) {
+        List<CotizacionResponse> list = new ArrayList<>();
+        quotations.forEach(list::add);
+
+        CotizacionResponse consenso = new CotizacionResponse();
+        consenso.setOficial(medianData(list, CotizacionResponse::getOficial));
+        consenso.setBlue(medianData(list, CotizacionResponse::getBlue));
+        consenso.setOficialEuro(medianData(list, CotizacionResponse::getOficialEuro));
+        consenso.setBlueEuro(medianData(list, CotizacionResponse::getBlueEuro));
+        consenso.setLastUpdate(list.stream()
+                .map(CotizacionResponse::getLastUpdate)
+                .filter(lastUpdate -> parseLastUpdate(lastUpdate) != null)
+                .max(Comparator.comparing(CotizacionAggregatorService::parseLastUpdate))
+                .orElse(null));
+        return consenso;
+    }
+
+    /**
+     * Parses a provider last_update as an instant, since providers may report different offsets.
+     * Returns null for a missing value or one that is not an ISO-8601 date-time with offset.
+     */
+    private static Instant parseLastUpdate(String lastUpdate) {
+        if (lastUpdate == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(lastUpdate).toInstant();
+        } catch (DateTimeParseException e) {
+            logger.debug("Ignoring unparseable provider last_update {}", lastUpdate);
+            return null;
+        }
+    }
+
+    private static CotizacionResponse.CotizacionData medianData(List<CotizacionResponse> quotations,
+                                                               Function<CotizacionResponse, CotizacionResponse.CotizacionData> type) {
+        List<CotizacionResponse.CotizacionData> data = quotations.stream().map(type).filter(Objects::nonNull).toList();
+        if (data.isEmpty()) {
+            return null;
+        }
+        CotizacionResponse.CotizacionData median = new CotizacionResponse.CotizacionData();
+        median.setValueAvg(median(data, CotizacionResponse.CotizacionData::getValueAvg));
+        median.setValueSell(median(data, CotizacionResponse.CotizacionData::getValueSell));
+        median.setValueBuy(median(data, CotizacionResponse.CotizacionData::getValueBuy));
+        return median;
+    }
+
+    /**
+     * Returns the median of the non-null values, or null if there are none.
+     * For an even number of values the mean of the two middle values is used.
+     */
+    static Double median(List<CotizacionResponse.CotizacionData> data,
+                         Function<CotizacionResponse.CotizacionData, Double> field) {
+        double[] values = data.stream().map(field).filter(Objects::nonNull).mapToDouble(Double::doubleValue).toArray();
+        if (values.length == 0) {
+            return null;
+        }
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2.0;
+    }
+}
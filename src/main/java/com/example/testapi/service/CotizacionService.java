@@ -1,18 +1,62 @@
 package com.example.testapi.service;
 
+import com.example.testapi.cache.SharedQuotationCache;
+import com.example.testapi.exception.UpstreamException;
 import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.example.testapi.snapshot.QuotationSnapshotStore;
+import com.example.testapi.stats.QuoteObserver;
+import com.example.testapi.upstream.CotizacionStreamDecoder;
+import com.example.testapi.upstream.HedgingPolicy;
+import com.example.testapi.upstream.RetryPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Service class for handling cotizacion (quotation) related business logic.
  * This service encapsulates the business logic for quotation operations,
  * including external API calls to retrieve exchange rate data.
+ *
+ * With a snapshot store the latest good quotation is persisted whenever it changes and
+ * restored on startup. Until the first upstream call after startup succeeds, requests are
+ * answered from the restored snapshot while a single background call refreshes it; later,
+ * upstream failures are answered from the latest snapshot. Snapshots older than the
+ * maximum staleness are never served. Snapshots served instead of a live response are
+ * marked stale.
+ *
+ * Failed upstream calls are retried as decided by the retry policy; each attempt may be
+ * hedged.
+ *
+ * With a local cache TTL, a live snapshot younger than the TTL is served without calling
+ * the upstream. Snapshots retrieved by another instance of a cluster can be adopted, and
+ * are then served like live ones.
+ *
+ * With a shared cache, the local cache is its first level. On a local miss the shared
+ * entry is adopted if present; otherwise one instance takes the refresh lock and calls the
+ * upstream while the others wait, up to the refresh wait, for the change it publishes.
+ * A published change of last_update drops the local entry of every other instance.
+ *
+ * In cluster mode the quotation is only retrieved by the cluster poller: requests, warm-up
+ * and background refreshes never call the upstream, and are answered from the latest
+ * polled or adopted snapshot. It is live for two poll intervals, then served stale up to
+ * the maximum staleness.
  */
 @Service
 public class CotizacionService {
@@ -23,48 +67,631 @@ public class CotizacionService {
 
     private final WebClient webClient;
 
+    private final HedgingPolicy hedgingPolicy;
+
+    private final RetryPolicy retryPolicy;
+
+    private final CotizacionStreamDecoder streamDecoder;
+
+    private final List<QuoteObserver> quoteObservers;
+
+    private final AtomicReference<CotizacionResponse> lastResponse = new AtomicReference<>();
+
+    private final QuotationSnapshotStore snapshotStore;
+
+    private final Duration maxStale;
+
+    private final Duration localCacheTtl;
+
+    private final SharedQuotationCache sharedCache;
+
+    private final Duration refreshWait;
+
+    private final Duration clusterPollInterval;
+
+    private final Object sharedChangeMonitor = new Object();
+
+    private long sharedChanges;
+
+    private final AtomicReference<QuotationSnapshot> invalidated = new AtomicReference<>();
+
+    private final AtomicReference<QuotationSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicBoolean warm = new AtomicBoolean();
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final LongAdder warmStartServed = new LongAdder();
+
+    private final LongAdder upstreamErrorServed = new LongAdder();
+
+    private final LongAdder localCacheServed = new LongAdder();
+
+    private final LongAdder sharedCacheServed = new LongAdder();
+
+    private final LongAdder sharedCacheInvalidations = new LongAdder();
+
+    private final LongAdder refreshWaitTimeouts = new LongAdder();
+
     public void setBluelyticsApiUrl(String bluelyticsApiUrl) {
         this.bluelyticsApiUrl = bluelyticsApiUrl;
     }
 
     /**
-     * Constructor for CotizacionService.
+     * Constructor for CotizacionService with every optional feature disabled.
      *
      * @param webClientBuilder the WebClient.Builder instance for making HTTP requests
      */
     public CotizacionService(WebClient.Builder webClientBuilder) {
+        this(webClientBuilder, Options.builder().build());
+    }
+
+    /**
+     * Constructor for CotizacionService. The stored snapshot, if any, is restored here.
+     *
+     * @param webClientBuilder the WebClient.Builder instance for making HTTP requests
+     * @param options the policies, stores and caches used by the service
+     */
+    @Autowired
+    public CotizacionService(WebClient.Builder webClientBuilder, Options options) {
         this.webClient = webClientBuilder.build();
+        this.hedgingPolicy = options.hedgingPolicy;
+        this.retryPolicy = options.retryPolicy;
+        this.streamDecoder = options.streamingDecode ? new CotizacionStreamDecoder() : null;
+        this.quoteObservers = List.copyOf(options.quoteObservers);
+        this.snapshotStore = options.snapshotStore;
+        this.maxStale = options.maxStale;
+        this.localCacheTtl = options.localCacheTtl;
+        this.sharedCache = options.sharedCache;
+        this.refreshWait = options.refreshWait;
+        this.clusterPollInterval = options.clusterPollInterval;
+        if (snapshotStore != null) {
+            snapshotStore.load().ifPresent(restored -> {
+                snapshot.set(restored);
+                lastResponse.set(restored.getCotizacion());
+            });
+        }
+        if (sharedCache != null) {
+            sharedCache.subscribe(this::onSharedChange);
+        }
     }
 
     /**
      * Retrieves the latest exchange rate data from the external API.
      * This method makes a GET request to the Bluelytics API and returns
-     * the response data.
+     * the response data, or a snapshot as described for this class.
      *
      * @return CotizacionResponse containing the exchange rate data
-     * @throws RuntimeException if the external API call fails
+     * @throws UpstreamException if the external API call fails and no snapshot can be served
      */
     public CotizacionResponse obtenerCotizacion() {
+        return obtenerSnapshot().getCotizacion();
+    }
+
+    /**
+     * Retrieves the latest exchange rate data with its retrieval time, marked stale when a
+     * snapshot is served instead of a live upstream response.
+     *
+     * @return the quotation snapshot
+     * @throws UpstreamException if the external API call fails and no snapshot can be served
+     */
+    public QuotationSnapshot obtenerSnapshot() {
+        QuotationSnapshot current = snapshot.get();
+        if (isClusterPolled()) {
+            return fromClusterPoll(current);
+        }
+        if (isCached(current)) {
+            localCacheServed.increment();
+            return current;
+        }
+        if (sharedCache == null) {
+            return fromUpstreamOrSnapshot(current);
+        }
+        long changesBefore = sharedChangeCount();
+        Optional<QuotationSnapshot> shared = sharedCache.get();
+        if (shared.isPresent()) {
+            return servedFromSharedCache(shared.get());
+        }
+        if (!sharedCache.tryLockRefresh()) {
+            shared = awaitSharedChange(changesBefore);
+            if (shared.isPresent()) {
+                return servedFromSharedCache(shared.get());
+            }
+            refreshWaitTimeouts.increment();
+            return fromUpstreamOrSnapshot(current);
+        }
+        try {
+            return fromUpstreamOrSnapshot(current);
+        } finally {
+            sharedCache.unlockRefresh();
+        }
+    }
+
+    /**
+     * Serves the latest polled or adopted snapshot without calling the upstream.
+     */
+    private QuotationSnapshot fromClusterPoll(QuotationSnapshot current) {
+        if (!isServable(current)) {
+            throw new UpstreamException("No recent quotation has been retrieved by the cluster poller");
+        }
+        if (warm.get() && current.getAge(Instant.now()).compareTo(clusterPollInterval.multipliedBy(2)) <= 0) {
+            localCacheServed.increment();
+            return current;
+        }
+        if (warm.get()) {
+            upstreamErrorServed.increment();
+        } else {
+            warmStartServed.increment();
+        }
+        return current.asStale();
+    }
+
+    /**
+     * Serves the local snapshot on a warm start, or calls the upstream falling back to it.
+     */
+    private QuotationSnapshot fromUpstreamOrSnapshot(QuotationSnapshot current) {
+        if (snapshotStore != null && !warm.get() && isServable(current)) {
+            refreshInBackground();
+            warmStartServed.increment();
+            logger.info("Serving restored quotation snapshot retrieved at {} while refreshing", current.getFetchedAt());
+            return current.asStale();
+        }
+        try {
+            return actualizarCotizacion();
+        } catch (UpstreamException e) {
+            QuotationSnapshot latest = snapshot.get();
+            if (snapshotStore == null || !isServable(latest)) {
+                throw e;
+            }
+            upstreamErrorServed.increment();
+            logger.warn("Serving quotation snapshot retrieved at {} after upstream failure", latest.getFetchedAt());
+            return latest.asStale();
+        }
+    }
+
+    /**
+     * Returns whether the quotation is only retrieved by the cluster poller.
+     *
+     * @return whether the service runs in cluster mode
+     */
+    public boolean isClusterPolled() {
+        return clusterPollInterval != null;
+    }
+
+    /**
+     * Returns the latest good quotation, live or restored, without calling the upstream.
+     *
+     * @return the latest snapshot, or empty before the first successful retrieval
+     */
+    public Optional<QuotationSnapshot> getLatestSnapshot() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    /**
+     * Returns the number of requests answered from the restored snapshot after startup.
+     *
+     * @return the warm start count
+     */
+    public long getWarmStartServedCount() {
+        return warmStartServed.sum();
+    }
+
+    /**
+     * Returns the number of upstream failures answered from the latest snapshot.
+     *
+     * @return the upstream error count
+     */
+    public long getUpstreamErrorServedCount() {
+        return upstreamErrorServed.sum();
+    }
+
+    /**
+     * Returns the number of requests answered from the local cache.
+     *
+     * @return the local cache hit count
+     */
+    public long getLocalCacheServedCount() {
+        return localCacheServed.sum();
+    }
+
+    /**
+     * Returns the number of requests answered from the shared cache after a local miss.
+     *
+     * @return the shared cache hit count
+     */
+    public long getSharedCacheServedCount() {
+        return sharedCacheServed.sum();
+    }
+
+    /**
+     * Returns the number of local entries dropped because another instance published a change.
+     *
+     * @return the invalidation count
+     */
+    public long getSharedCacheInvalidationCount() {
+        return sharedCacheInvalidations.sum();
+    }
+
+    /**
+     * Returns the number of local misses that called the upstream after waiting in vain for
+     * another instance to refresh the shared cache.
+     *
+     * @return the refresh wait timeout count
+     */
+    public long getRefreshWaitTimeoutCount() {
+        return refreshWaitTimeouts.sum();
+    }
+
+    /**
+     * Adopts a quotation retrieved by another instance if it is newer than the latest
+     * snapshot. An adopted quotation is handled like a live one: observers are notified and
+     * it is persisted when it changed, and it is served from the local cache within its TTL.
+     *
+     * @param shared the snapshot retrieved elsewhere
+     * @return whether the snapshot was adopted
+     */
+    public boolean adoptSnapshot(QuotationSnapshot shared) {
+        if (shared == null || shared.getCotizacion() == null) {
+            return false;
+        }
+        QuotationSnapshot fresh = new QuotationSnapshot(shared.getCotizacion(), shared.getFetchedAt());
+        QuotationSnapshot previous;
+        do {
+            previous = snapshot.get();
+            if (previous != null && !fresh.getFetchedAt().isAfter(previous.getFetchedAt())) {
+                return false;
+            }
+        } while (!snapshot.compareAndSet(previous, fresh));
+        warm.set(true);
+        lastResponse.set(fresh.getCotizacion());
+        if (previous == null || !Objects.equals(previous.getCotizacion(), fresh.getCotizacion())) {
+            notifyObservers(fresh.getCotizacion());
+            if (snapshotStore != null) {
+                snapshotStore.save(fresh);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the quotation from the upstream without serving snapshots, and keeps it as
+     * the latest snapshot. In cluster mode only the cluster poller calls this method.
+     *
+     * @return the live quotation snapshot
+     * @throws UpstreamException if the external API call fails
+     */
+    public QuotationSnapshot actualizarCotizacion() {
         try {
             logger.info("Initiating request to external API: {}", bluelyticsApiUrl);
             
-            CotizacionResponse response = webClient
-                    .get()
-                    .uri(bluelyticsApiUrl)
-                    .retrieve()
-                    .bodyToMono(CotizacionResponse.class)
-                    .block();
+            CotizacionResponse response = fetch().block();
 
             logger.info("Successfully retrieved exchange rate data");
-            return response;
+            return record(response);
 
         } catch (WebClientResponseException e) {
             logger.error("Error calling external API. Status: {}, Response: {}", 
                         e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Error retrieving exchange rate data from external API", e);
+            throw new UpstreamException("Error retrieving exchange rate data from external API", e);
         } catch (Exception e) {
             logger.error("Unexpected error occurred while calling external API", e);
-            throw new RuntimeException("Unexpected error occurred while retrieving exchange rate data", e);
+            throw new UpstreamException("Unexpected error occurred while retrieving exchange rate data", e);
+        }
+    }
+
+    /**
+     * Starts a background upstream call replacing the latest snapshot, unless one is
+     * already running. Failures are logged and leave the snapshot unchanged. In cluster mode
+     * nothing is done, as the cluster poller refreshes the snapshot.
+     */
+    public void refreshInBackground() {
+        if (isClusterPolled() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        fetch().doFinally(signal -> refreshing.set(false))
+                .subscribe(response -> {
+                    logger.info("Refreshed quotation snapshot in the background");
+                    record(response);
+                }, e -> logger.warn("Background refresh of the quotation snapshot failed: {}", e.getMessage()));
+    }
+
+    /**
+     * Notifies the observers of a retrieved quotation and keeps it as the latest snapshot,
+     * persisting it when it changed.
+     */
+    private QuotationSnapshot record(CotizacionResponse response) {
+        notifyObservers(response);
+        QuotationSnapshot fresh = new QuotationSnapshot(response, Instant.now());
+        if (response == null) {
+            return fresh;
+        }
+        QuotationSnapshot previous = snapshot.getAndSet(fresh);
+        warm.set(true);
+        if (snapshotStore != null && (previous == null || !Objects.equals(previous.getCotizacion(), response))) {
+            snapshotStore.save(fresh);
+        }
+        if (sharedCache != null) {
+            sharedCache.put(fresh);
+        }
+        return fresh;
+    }
+
+    private QuotationSnapshot servedFromSharedCache(QuotationSnapshot shared) {
+        adoptSnapshot(shared);
+        sharedCacheServed.increment();
+        return shared;
+    }
+
+    /**
+     * Drops the local entry when the published last_update differs from it, and wakes up
+     * the requests waiting for a refresh.
+     */
+    private void onSharedChange(String lastUpdate) {
+        QuotationSnapshot current = snapshot.get();
+        if (current != null && !Objects.equals(current.getCotizacion().getLastUpdate(), lastUpdate)) {
+            invalidated.set(current);
+            sharedCacheInvalidations.increment();
+        }
+        synchronized (sharedChangeMonitor) {
+            sharedChanges++;
+            sharedChangeMonitor.notifyAll();
+        }
+    }
+
+    private long sharedChangeCount() {
+        synchronized (sharedChangeMonitor) {
+            return sharedChanges;
+        }
+    }
+
+    /**
+     * Waits until a change is published after the given count or the refresh wait elapses,
+     * then reads the shared cache.
+     */
+    private Optional<QuotationSnapshot> awaitSharedChange(long changesBefore) {
+        long deadline = System.nanoTime() + refreshWait.toNanos();
+        synchronized (sharedChangeMonitor) {
+            long remaining;
+            while (sharedChanges == changesBefore && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(sharedChangeMonitor, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Optional.empty();
+                }
+            }
+        }
+        return sharedCache.get();
+    }
+
+    /**
+     * Returns whether a snapshot may be served without calling the upstream. Snapshots
+     * restored at startup are excluded until the first live retrieval.
+     */
+    private boolean isCached(QuotationSnapshot candidate) {
+        return candidate != null && warm.get() && candidate != invalidated.get()
+                && localCacheTtl.compareTo(Duration.ZERO) > 0
+                && candidate.getAge(Instant.now()).compareTo(localCacheTtl) <= 0;
+    }
+
+    private boolean isServable(QuotationSnapshot candidate) {
+        return candidate != null && candidate.getAge(Instant.now()).compareTo(maxStale) <= 0;
+    }
+
+    /**
+     * Notifies the quote observers. A failing observer is logged and never fails the retrieval.
+     */
+    private void notifyObservers(CotizacionResponse response) {
+        if (response == null) {
+            return;
+        }
+        for (QuoteObserver observer : quoteObservers) {
+            try {
+                observer.onQuote(response);
+            } catch (RuntimeException e) {
+                logger.warn("Quote observer {} failed", observer.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Builds the upstream call, retried after a failure as long as the retry policy allows.
+     *
+     * @return Mono emitting the exchange rate data
+     */
+    private Mono<CotizacionResponse> fetch() {
+        return Mono.defer(() -> {
+            retryPolicy.onRequest();
+            return attempt(0);
+        });
+    }
+
+    private Mono<CotizacionResponse> attempt(int retry) {
+        return hedgedRequest().onErrorResume(e -> {
+            Duration delay = retryPolicy.nextDelay(retry, e);
+            if (delay == null) {
+                return Mono.error(e);
+            }
+            logger.warn("Upstream call failed ({}), retry {} in {} ms", e.getMessage(), retry + 1, delay.toMillis());
+            return Mono.delay(delay).then(Mono.defer(() -> attempt(retry + 1)));
+        });
+    }
+
+    /**
+     * Builds one upstream attempt, hedged when the hedging policy is enabled.
+     *
+     * A hedged call sends the primary request and, if it has not completed after the
+     * policy's percentile-based delay and the hedge budget allows it, a second identical
+     * request. The first successful response wins and the other request is cancelled.
+     * If the primary request fails before a hedge is sent, its error is propagated.
+     *
+     * @return Mono emitting the exchange rate data
+     */
+    private Mono<CotizacionResponse> hedgedRequest() {
+        if (!hedgingPolicy.isEnabled()) {
+            return request();
+        }
+        return Mono.defer(() -> {
+            hedgingPolicy.onRequest();
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+
+            Mono<CotizacionResponse> primary = timedRequest(true).doOnError(primaryError::set);
+            Mono<CotizacionResponse> hedge = Mono.delay(hedgingPolicy.hedgeDelay())
+                    .filter(tick -> primaryError.get() == null && hedgingPolicy.tryAcquireHedge())
+                    .flatMap(tick -> {
+                        logger.debug("Upstream call exceeded hedge delay, sending hedged request");
+                        return timedRequest(false);
+                    });
+
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(e -> primaryError.get() != null ? primaryError.get() : e);
+        });
+    }
+
+    /**
+     * Sends a request recording its latency for the hedge delay. A primary request cancelled
+     * because the hedge won is recorded with its elapsed time, which is at least the hedge
+     * delay and so a valid lower bound; leaving it out would keep only the fast responses and
+     * pull the percentile down. A cancelled hedge is not recorded, since its elapsed time is
+     * only the primary latency minus the hedge delay.
+     *
+     * @param primary whether this is the primary request of a hedged call
+     */
+    private Mono<CotizacionResponse> timedRequest(boolean primary) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<CotizacionResponse> timed = request()
+                    .doOnSuccess(response -> hedgingPolicy.recordLatency(System.nanoTime() - start));
+            return primary ? timed.doOnCancel(() -> hedgingPolicy.recordLatency(System.nanoTime() - start)) : timed;
+        });
+    }
+
+    /**
+     * Sends a single upstream request. With streaming decoding the body is parsed as it
+     * arrives and an unchanged last_update returns the previous response without decoding
+     * the rest of the body.
+     */
+    private Mono<CotizacionResponse> request() {
+        WebClient.ResponseSpec response = webClient
+                .get()
+                .uri(bluelyticsApiUrl)
+                .retrieve();
+        if (streamDecoder == null) {
+            return response.bodyToMono(CotizacionResponse.class);
+        }
+        return streamDecoder.decode(response.bodyToFlux(DataBuffer.class), lastResponse.get())
+                .doOnNext(lastResponse::set);
+    }
+
+    /**
+     * Settings of a CotizacionService. Every setting is optional: by default upstream calls
+     * are neither hedged nor retried, bodies are data-bound, and no snapshot, local cache or
+     * shared cache is used.
+     */
+    public static final class Options {
+
+        private final HedgingPolicy hedgingPolicy;
+        private final RetryPolicy retryPolicy;
+        private final boolean streamingDecode;
+        private final List<QuoteObserver> quoteObservers;
+        private final QuotationSnapshotStore snapshotStore;
+        private final Duration maxStale;
+        private final Duration localCacheTtl;
+        private final SharedQuotationCache sharedCache;
+        private final Duration refreshWait;
+        private final Duration clusterPollInterval;
+
+        private Options(Builder builder) {
+            this.hedgingPolicy = builder.hedgingPolicy;
+            this.retryPolicy = builder.retryPolicy;
+            this.streamingDecode = builder.streamingDecode;
+            this.quoteObservers = builder.quoteObservers;
+            this.snapshotStore = builder.snapshotStore;
+            this.maxStale = builder.maxStale;
+            this.localCacheTtl = builder.localCacheTtl;
+            this.sharedCache = builder.sharedCache;
+            this.refreshWait = builder.refreshWait;
+            this.clusterPollInterval = builder.clusterPollInterval;
+        }
+
+        /**
+         * Creates a new Builder instance.
+         *
+         * @return new Builder instance
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Builder of the service settings.
+         *
+         * hedgingPolicy decides when a slow upstream call is hedged, retryPolicy whether a
+         * failed one is retried, and streamingDecode whether bodies are decoded incrementally.
+         * quoteObservers are notified of every retrieved quotation. snapshotStore keeps the
+         * latest good quotation, served up to maxStale old instead of a failed live response.
+         * localCacheTtl is the age under which a live snapshot is served without calling the
+         * upstream. sharedCache is the cache shared with the other instances, and refreshWait
+         * how long a local miss waits for another instance refreshing it. clusterPollInterval,
+         * when set, leaves retrieval to the cluster poller polling at that interval.
+         */
+        public static class Builder {
+            private HedgingPolicy hedgingPolicy = HedgingPolicy.disabled();
+            private RetryPolicy retryPolicy = RetryPolicy.disabled();
+            private boolean streamingDecode;
+            private List<QuoteObserver> quoteObservers = List.of();
+            private QuotationSnapshotStore snapshotStore;
+            private Duration maxStale = Duration.ofHours(1);
+            private Duration localCacheTtl = Duration.ZERO;
+            private SharedQuotationCache sharedCache;
+            private Duration refreshWait = Duration.ZERO;
+            private Duration clusterPollInterval;
+
+            public Builder hedgingPolicy(HedgingPolicy hedgingPolicy) {
+                this.hedgingPolicy = hedgingPolicy;
+                return this;
+            }
+
+            public Builder retryPolicy(RetryPolicy retryPolicy) {
+                this.retryPolicy = retryPolicy;
+                return this;
+            }
+
+            public Builder streamingDecode(boolean streamingDecode) {
+                this.streamingDecode = streamingDecode;
+                return this;
+            }
+
+            public Builder quoteObservers(List<QuoteObserver> quoteObservers) {
+                this.quoteObservers = quoteObservers;
+                return this;
+            }
+
+            public Builder snapshotStore(QuotationSnapshotStore snapshotStore, Duration maxStale) {
+                this.snapshotStore = snapshotStore;
+                this.maxStale = maxStale;
+                return this;
+            }
+
+            public Builder localCacheTtl(Duration localCacheTtl) {
+                this.localCacheTtl = localCacheTtl;
+                return this;
+            }
+
+            public Builder sharedCache(SharedQuotationCache sharedCache, Duration refreshWait) {
+                this.sharedCache = sharedCache;
+                this.refreshWait = refreshWait;
+                return this;
+            }
+
+            public Builder clusterPolled(Duration clusterPollInterval) {
+                this.clusterPollInterval = clusterPollInterval;
+                return this;
+            }
+
+            public Options build() {
+                return new Options(this);
+            }
         }
     }
 }
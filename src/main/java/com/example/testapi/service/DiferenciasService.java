@@ -1,13 +1,22 @@
 package com.example.testapi.service;
 
+import com.example.testapi.cache.DiferenciasMemoCache;
+import com.example.testapi.decimal.FixedPointArithmetic;
 import com.example.testapi.exception.ApiTestException;
+import com.example.testapi.formula.FormulaRegistry;
+import com.example.testapi.formula.SpreadFormula;
 import com.example.testapi.model.DiferenciasRequest;
 import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.model.FormulaDiferencia;
+import com.example.testapi.stats.SpreadObserver;
+import com.example.testapi.validation.DiferenciasRequestValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -15,12 +24,47 @@ import java.util.Map;
  * Service class for handling diferencias (differences) related business logic.
  * This service encapsulates the business logic for calculating differences between
  * MEP and crypto exchange rate values, including validation for negative differences.
+ * Besides the default MEP minus crypto difference, any formula of the formula registry
+ * can be selected per request. In exact mode the default differences are computed with
+ * decimal instead of binary floating-point arithmetic. An optional memo cache replays the
+ * outcome of default-formula requests whose six rate values were already seen.
  */
 @Service
 public class DiferenciasService {
 
     private static final Logger logger = LoggerFactory.getLogger(DiferenciasService.class);
 
+    private static final DiferenciasRequestValidator VALIDATOR = DiferenciasRequestValidator.compile();
+
+    private final List<SpreadObserver> spreadObservers;
+
+    private final FormulaRegistry formulaRegistry;
+
+    private final FixedPointArithmetic exactArithmetic;
+
+    private final DiferenciasMemoCache memoCache;
+
+    /**
+     * Constructor for DiferenciasService with the built-in formulas, floating-point
+     * arithmetic and neither observers nor memo cache.
+     */
+    public DiferenciasService() {
+        this(Options.builder().build());
+    }
+
+    /**
+     * Constructor for DiferenciasService.
+     *
+     * @param options the observers, formulas, arithmetic and cache used by the service
+     */
+    @Autowired
+    public DiferenciasService(Options options) {
+        this.spreadObservers = List.copyOf(options.spreadObservers);
+        this.formulaRegistry = options.formulaRegistry;
+        this.exactArithmetic = options.exact ? new FixedPointArithmetic(options.exactScale) : null;
+        this.memoCache = options.memoCache;
+    }
+
     /**
      * Calculates the differences between MEP and crypto exchange rate values.
      * This method computes the differences for average, sell, and buy values,
@@ -32,23 +76,73 @@ public class DiferenciasService {
      * @throws IllegalArgumentException if the request or its data is null or invalid
      */
     public DiferenciasResponse calcularDiferencias(DiferenciasRequest request) {
+        return calcularDiferencias(request, null);
+    }
+
+    /**
+     * Calculates the spreads between MEP and crypto exchange rate values with the given formula.
+     * The default formula ({@value FormulaRegistry#DEFAULT_FORMULA}, MEP - Crypto) feeds the spread
+     * observers with every computed difference, negative ones included, and then rejects negative
+     * differences; other formulas return their values as computed.
+     *
+     * @param request the DiferenciasRequest containing exchange rate data in EnumMap format
+     * @param formula the formula name, or null for the default formula
+     * @return DiferenciasResponse containing the calculated spreads
+     * @throws ApiTestException if any difference of the default formula is negative
+     * @throws IllegalArgumentException if the request is invalid, the formula is unknown or its result is not finite
+     */
+    public DiferenciasResponse calcularDiferencias(DiferenciasRequest request, String formula) {
         logger.info("Starting calculation of differences between MEP and crypto values");
         
-        // Validate input
-        validateRequest(request);
+        // Validate input against the constraints declared on the model
+        VALIDATOR.requireValid(request);
+        SpreadFormula spreadFormula = formulaRegistry.get(formula);
         
         // Extract values using EnumMap for type safety
         Map<DiferenciasRequest.ExchangeRateType, DiferenciasRequest.ExchangeRateData> rates = request.getRates();
         DiferenciasRequest.ExchangeRateData crypto = rates.get(DiferenciasRequest.ExchangeRateType.CRYPTO);
         DiferenciasRequest.ExchangeRateData mep = rates.get(DiferenciasRequest.ExchangeRateType.MEP);
+        boolean defaultFormula = FormulaRegistry.DEFAULT_FORMULA.equals(spreadFormula.getName());
         
-        // Calculate differences (MEP - Crypto)
-        Double diferenciaAvg = mep.getValueAvg() - crypto.getValueAvg();
-        Double diferenciaSell = mep.getValueSell() - crypto.getValueSell();
-        Double diferenciaBuy = mep.getValueBuy() - crypto.getValueBuy();
+        // Replay the outcome of rates already seen; only the default formula is cached since
+        // custom formulas can be re-registered under the same name
+        boolean cacheable = defaultFormula && memoCache != null;
+        if (cacheable) {
+            DiferenciasMemoCache.Outcome outcome = memoCache.get(
+                    crypto.getValueAvg(), crypto.getValueSell(), crypto.getValueBuy(),
+                    mep.getValueAvg(), mep.getValueSell(), mep.getValueBuy());
+            if (outcome != null) {
+                return replay(outcome);
+            }
+        }
         
-        logger.debug("Calculated differences - Avg: {}, Sell: {}, Buy: {}", 
-                    diferenciaAvg, diferenciaSell, diferenciaBuy);
+        // Calculate differences (MEP - Crypto unless another formula is selected)
+        Double diferenciaAvg;
+        Double diferenciaSell;
+        Double diferenciaBuy;
+        if (defaultFormula && exactArithmetic != null) {
+            diferenciaAvg = exactArithmetic.subtract(mep.getValueAvg(), crypto.getValueAvg());
+            diferenciaSell = exactArithmetic.subtract(mep.getValueSell(), crypto.getValueSell());
+            diferenciaBuy = exactArithmetic.subtract(mep.getValueBuy(), crypto.getValueBuy());
+        } else {
+            double[] values = {
+                    crypto.getValueAvg(), crypto.getValueSell(), crypto.getValueBuy(),
+                    mep.getValueAvg(), mep.getValueSell(), mep.getValueBuy()
+            };
+            diferenciaAvg = spreadFormula.evaluate(values, SpreadFormula.AVG);
+            diferenciaSell = spreadFormula.evaluate(values, SpreadFormula.SELL);
+            diferenciaBuy = spreadFormula.evaluate(values, SpreadFormula.BUY);
+        }
+        
+        logger.debug("Calculated differences with formula {} - Avg: {}, Sell: {}, Buy: {}", 
+                    spreadFormula.getName(), diferenciaAvg, diferenciaSell, diferenciaBuy);
+        
+        if (!defaultFormula) {
+            if (!Double.isFinite(diferenciaAvg) || !Double.isFinite(diferenciaSell) || !Double.isFinite(diferenciaBuy)) {
+                throw new IllegalArgumentException(String.format("Formula %s produced a non-finite value", spreadFormula.getName()));
+            }
+            return DiferenciasResponse.of(diferenciaAvg, diferenciaSell, diferenciaBuy);
+        }
         
         // Check for negative differences and collect them
         List<String> negativeItems = new ArrayList<>();
@@ -67,75 +161,157 @@ public class DiferenciasService {
         if (!negativeItems.isEmpty()) {
             String errorMessage = String.format("Negative differences found for items: %s", 
                                               String.join(", ", negativeItems));
-            logger.error("Negative differences detected: {}", errorMessage);
+            // The rejection is logged once by whoever maps it to an answer
+            logger.debug("Negative differences detected: {}", errorMessage);
+            if (cacheable) {
+                memoCache.putError(crypto.getValueAvg(), crypto.getValueSell(), crypto.getValueBuy(),
+                        mep.getValueAvg(), mep.getValueSell(), mep.getValueBuy(),
+                        diferenciaAvg, diferenciaSell, diferenciaBuy, errorMessage);
+            }
+            // MEP falling below crypto is what alerts and statistics watch for, so it is observed before rejecting
+            notifyObservers(diferenciaAvg, diferenciaSell, diferenciaBuy);
             throw new ApiTestException(errorMessage);
         }
         
         logger.info("Successfully calculated differences - Avg: {}, Sell: {}, Buy: {}", 
                   diferenciaAvg, diferenciaSell, diferenciaBuy);
         
+        if (cacheable) {
+            memoCache.putResult(crypto.getValueAvg(), crypto.getValueSell(), crypto.getValueBuy(),
+                    mep.getValueAvg(), mep.getValueSell(), mep.getValueBuy(),
+                    diferenciaAvg, diferenciaSell, diferenciaBuy);
+        }
+        
+        notifyObservers(diferenciaAvg, diferenciaSell, diferenciaBuy);
+        
         return DiferenciasResponse.of(diferenciaAvg, diferenciaSell, diferenciaBuy);
     }
     
     /**
-     * Validates the input request to ensure it contains valid data.
-     * 
-     * @param request the DiferenciasRequest to validate
-     * @throws IllegalArgumentException if the request or its data is null or invalid
+     * Returns a cached outcome as a fresh response, or throws its negative differences error.
+     * Observers are notified as for a computed result, so statistics and alerts still see every request.
      */
-    private void validateRequest(DiferenciasRequest request) {
-        if (request == null) {
-            throw new IllegalArgumentException("Request cannot be null");
-        }
-        
-        Map<DiferenciasRequest.ExchangeRateType, DiferenciasRequest.ExchangeRateData> rates = request.getRates();
-        if (rates == null) {
-            throw new IllegalArgumentException("Rates map cannot be null");
+    private DiferenciasResponse replay(DiferenciasMemoCache.Outcome outcome) {
+        notifyObservers(outcome.getDiferenciaAvg(), outcome.getDiferenciaSell(), outcome.getDiferenciaBuy());
+        if (outcome.getErrorMessage() != null) {
+            logger.debug("Replayed cached negative differences: {}", outcome.getErrorMessage());
+            throw new ApiTestException(outcome.getErrorMessage());
         }
-        
-        if (!rates.containsKey(DiferenciasRequest.ExchangeRateType.CRYPTO)) {
-            throw new IllegalArgumentException("Crypto data is required");
-        }
-        
-        if (!rates.containsKey(DiferenciasRequest.ExchangeRateType.MEP)) {
-            throw new IllegalArgumentException("MEP data is required");
-        }
-        
-        validateExchangeRateData(rates.get(DiferenciasRequest.ExchangeRateType.CRYPTO), "crypto");
-        validateExchangeRateData(rates.get(DiferenciasRequest.ExchangeRateType.MEP), "MEP");
+        logger.debug("Replayed cached differences - Avg: {}, Sell: {}, Buy: {}",
+                outcome.getDiferenciaAvg(), outcome.getDiferenciaSell(), outcome.getDiferenciaBuy());
+        return DiferenciasResponse.of(outcome.getDiferenciaAvg(), outcome.getDiferenciaSell(), outcome.getDiferenciaBuy());
     }
     
     /**
-     * Validates exchange rate data to ensure all values are present and valid.
-     * 
-     * @param data the ExchangeRateData to validate
-     * @param dataType the type of data being validated (for error messages)
-     * @throws IllegalArgumentException if any value is null or invalid
+     * Registers a custom spread formula, compiling it once.
+     *
+     * @param formula the formula name and expression
+     * @return the registered formula
+     * @throws IllegalArgumentException if the formula is invalid or replaces a built-in formula
      */
-    private void validateExchangeRateData(DiferenciasRequest.ExchangeRateData data, String dataType) {
-        if (data.getValueAvg() == null) {
-            throw new IllegalArgumentException(String.format("%s value_avg cannot be null", dataType));
-        }
-        
-        if (data.getValueSell() == null) {
-            throw new IllegalArgumentException(String.format("%s value_sell cannot be null", dataType));
+    public FormulaDiferencia registrarFormula(FormulaDiferencia formula) {
+        if (formula == null) {
+            throw new IllegalArgumentException("Formula cannot be null");
         }
-        
-        if (data.getValueBuy() == null) {
-            throw new IllegalArgumentException(String.format("%s value_buy cannot be null", dataType));
+        SpreadFormula compiled = formulaRegistry.register(formula.getNombre(), formula.getExpresion());
+        logger.info("Registered spread formula {}: {}", compiled.getName(), compiled.getExpression());
+        return new FormulaDiferencia(compiled.getName(), compiled.getExpression());
+    }
+    
+    /**
+     * Returns the available spread formulas, sorted by name.
+     *
+     * @return the formulas
+     */
+    public List<FormulaDiferencia> obtenerFormulas() {
+        return formulaRegistry.getAll().stream()
+                .map(f -> new FormulaDiferencia(f.getName(), f.getExpression()))
+                .sorted(Comparator.comparing(FormulaDiferencia::getNombre))
+                .toList();
+    }
+    
+    /**
+     * Notifies the spread observers. A failing observer is logged and never fails the calculation.
+     */
+    private void notifyObservers(double diferenciaAvg, double diferenciaSell, double diferenciaBuy) {
+        for (SpreadObserver observer : spreadObservers) {
+            try {
+                observer.onSpread(diferenciaAvg, diferenciaSell, diferenciaBuy);
+            } catch (RuntimeException e) {
+                logger.warn("Spread observer {} failed", observer.getClass().getSimpleName(), e);
+            }
         }
-        
-        // Additional validation: values should be positive
-        if (data.getValueAvg() <= 0) {
-            throw new IllegalArgumentException(String.format("%s value_avg must be positive", dataType));
+    }
+
+    /**
+     * Settings of a DiferenciasService. By default only the built-in formulas are available,
+     * differences are computed with floating-point arithmetic, and there are neither spread
+     * observers nor memo cache.
+     */
+    public static final class Options {
+
+        private final List<SpreadObserver> spreadObservers;
+        private final FormulaRegistry formulaRegistry;
+        private final boolean exact;
+        private final int exactScale;
+        private final DiferenciasMemoCache memoCache;
+
+        private Options(Builder builder) {
+            this.spreadObservers = builder.spreadObservers;
+            this.formulaRegistry = builder.formulaRegistry;
+            this.exact = builder.exact;
+            this.exactScale = builder.exactScale;
+            this.memoCache = builder.memoCache;
         }
-        
-        if (data.getValueSell() <= 0) {
-            throw new IllegalArgumentException(String.format("%s value_sell must be positive", dataType));
+
+        /**
+         * Creates a new Builder instance.
+         *
+         * @return new Builder instance
+         */
+        public static Builder builder() {
+            return new Builder();
         }
-        
-        if (data.getValueBuy() <= 0) {
-            throw new IllegalArgumentException(String.format("%s value_buy must be positive", dataType));
+
+        /**
+         * Builder of the service settings.
+         *
+         * spreadObservers are notified of every computed difference and formulaRegistry holds
+         * the formulas that can be selected per request. exactArithmetic computes the default
+         * differences with exact decimal arithmetic, with a fixed-point fast path for rates of
+         * up to the given decimal places. memoCache replays default-formula outcomes.
+         */
+        public static class Builder {
+            private List<SpreadObserver> spreadObservers = List.of();
+            private FormulaRegistry formulaRegistry = new FormulaRegistry();
+            private boolean exact;
+            private int exactScale = 8;
+            private DiferenciasMemoCache memoCache;
+
+            public Builder spreadObservers(List<SpreadObserver> spreadObservers) {
+                this.spreadObservers = spreadObservers;
+                return this;
+            }
+
+            public Builder formulaRegistry(FormulaRegistry formulaRegistry) {
+                this.formulaRegistry = formulaRegistry;
+                return this;
+            }
+
+            public Builder exactArithmetic(boolean exact, int exactScale) {
+                this.exact = exact;
+                this.exactScale = exactScale;
+                return this;
+            }
+
+            public Builder memoCache(DiferenciasMemoCache memoCache) {
+                this.memoCache = memoCache;
+                return this;
+            }
+
+            public Options build() {
+                return new Options(this);
+            }
         }
     }
 }
@@ -0,0 +1,87 @@
+package com.example.testapi.service;
+
+import com.example.testapi.model.EstadisticasResponse;
+import com.example.testapi.stats.RollingWindow;
+import com.example.testapi.stats.SpreadObserver;
+import com.example.testapi.stats.WindowSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Service class maintaining running statistics of the computed differences.
+ * Every difference computed by DiferenciasService, including the negative ones it rejects,
+ * is recorded into lock-free rolling windows of one minute, five minutes and one hour,
+ * each with fixed memory, so queries never scan past values.
+ */
+@Service
+public class EstadisticasService implements SpreadObserver {
+
+    static final String[] DIFERENCIAS = {"diferencia_avg", "diferencia_sell", "diferencia_buy"};
+
+    private final Map<String, RollingWindow[]> windows = new LinkedHashMap<>();
+
+    /**
+     * Constructor for EstadisticasService using the system clock.
+     */
+    public EstadisticasService() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructor for EstadisticasService.
+     *
+     * @param nanoClock the monotonic clock, in nanoseconds
+     */
+    EstadisticasService(LongSupplier nanoClock) {
+        addWindow("1m", Duration.ofMinutes(1), 12, nanoClock);
+        addWindow("5m", Duration.ofMinutes(5), 10, nanoClock);
+        addWindow("1h", Duration.ofHours(1), 12, nanoClock);
+    }
+
+    @Override
+    public void onSpread(double diferenciaAvg, double diferenciaSell, double diferenciaBuy) {
+        for (RollingWindow[] window : windows.values()) {
+            window[0].record(diferenciaAvg);
+            window[1].record(diferenciaSell);
+            window[2].record(diferenciaBuy);
+        }
+    }
+
+    /**
+     * Returns the current statistics of every window.
+     *
+     * @return EstadisticasResponse with statistics by window and difference
+     */
+    public EstadisticasResponse obtenerEstadisticas() {
+        Map<String, Map<String, EstadisticasResponse.Estadistica>> ventanas = new LinkedHashMap<>();
+        windows.forEach((name, window) -> {
+            Map<String, EstadisticasResponse.Estadistica> estadisticas = new LinkedHashMap<>();
+            for (int i = 0; i < DIFERENCIAS.length; i++) {
+                estadisticas.put(DIFERENCIAS[i], toEstadistica(window[i].snapshot()));
+            }
+            ventanas.put(name, estadisticas);
+        });
+        return new EstadisticasResponse(ventanas, Instant.now().toString());
+    }
+
+    private void addWindow(String name, Duration length, int buckets, LongSupplier nanoClock) {
+        RollingWindow[] window = new RollingWindow[DIFERENCIAS.length];
+        for (int i = 0; i < window.length; i++) {
+            window[i] = new RollingWindow(length, buckets, nanoClock);
+        }
+        windows.put(name, window);
+    }
+
+    private static EstadisticasResponse.Estadistica toEstadistica(WindowSnapshot snapshot) {
+        if (snapshot.count() == 0) {
+            return new EstadisticasResponse.Estadistica(0L, null, null, null, null, null, null, null);
+        }
+        return new EstadisticasResponse.Estadistica(snapshot.count(), snapshot.mean(), snapshot.min(), snapshot.max(),
+                snapshot.variance(), snapshot.quantile(0.5), snapshot.quantile(0.9), snapshot.quantile(0.99));
+    }
+}
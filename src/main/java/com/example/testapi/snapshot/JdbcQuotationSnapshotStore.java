@@ -0,0 +1,114 @@
+package com.example.testapi.snapshot;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Quotation snapshot store backed by a single-row table of a database shared by the
+ * instances of a cluster.
+ *
+ * The row holds the quotation as JSON and its retrieval time. A save only replaces an older
+ * snapshot, so a deposed leader finishing a slow retrieval cannot overwrite the snapshot of
+ * its successor. Database errors are logged and the store behaves as empty, like the file
+ * store does when its file cannot be mapped.
+ */
+public class JdbcQuotationSnapshotStore implements QuotationSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcQuotationSnapshotStore.class);
+
+    private static final int ROW_ID = 1;
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS cotizacion_snapshot ("
+            + "id INT PRIMARY KEY, payload VARCHAR(65536) NOT NULL, fetched_at BIGINT NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean tableCreated;
+
+    /**
+     * Creates the store. Its table is created on first use.
+     *
+     * @param jdbcTemplate the template of the shared database
+     * @param objectMapper the mapper used to write and read the quotation
+     */
+    public JdbcQuotationSnapshotStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<QuotationSnapshot> load() {
+        List<Row> rows;
+        try {
+            createTable();
+            rows = jdbcTemplate.query("SELECT payload, fetched_at FROM cotizacion_snapshot WHERE id = ?",
+                    (result, index) -> new Row(result.getString(1), result.getLong(2)), ROW_ID);
+        } catch (DataAccessException e) {
+            logger.warn("Shared quotation snapshot cannot be read: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Row row = rows.get(0);
+        try {
+            CotizacionResponse cotizacion = objectMapper.readValue(row.payload(), CotizacionResponse.class);
+            return Optional.of(new QuotationSnapshot(cotizacion, Instant.ofEpochMilli(row.fetchedAtMillis())));
+        } catch (IOException e) {
+            logger.warn("Shared quotation snapshot cannot be decoded: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(QuotationSnapshot snapshot) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(snapshot.getCotizacion());
+        } catch (IOException e) {
+            logger.warn("Quotation snapshot cannot be encoded: {}", e.getMessage());
+            return;
+        }
+        long fetchedAtMillis = snapshot.getFetchedAt().toEpochMilli();
+        try {
+            createTable();
+            int updated = jdbcTemplate.update("UPDATE cotizacion_snapshot SET payload = ?, fetched_at = ? "
+                    + "WHERE id = ? AND fetched_at < ?", payload, fetchedAtMillis, ROW_ID, fetchedAtMillis);
+            if (updated == 0) {
+                insert(payload, fetchedAtMillis);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Shared quotation snapshot cannot be written: {}", e.getMessage());
+        }
+    }
+
+    private void insert(String payload, long fetchedAtMillis) {
+        try {
+            jdbcTemplate.update("INSERT INTO cotizacion_snapshot (id, payload, fetched_at) VALUES (?, ?, ?)",
+                    ROW_ID, payload, fetchedAtMillis);
+        } catch (DuplicateKeyException e) {
+            // The stored snapshot is at least as recent
+        }
+    }
+
+    private void createTable() {
+        if (!tableCreated) {
+            jdbcTemplate.execute(CREATE_TABLE);
+            tableCreated = true;
+        }
+    }
+
+    private record Row(String payload, long fetchedAtMillis) {
+    }
+}
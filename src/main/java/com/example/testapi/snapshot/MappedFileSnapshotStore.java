@@ -0,0 +1,168 @@
+package com.example.testapi.snapshot;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Quotation snapshot store backed by a local memory-mapped file.
+ *
+ * The file holds two slots written alternately, each with a header (magic, sequence,
+ * retrieval time, payload length, CRC-32) followed by the quotation as JSON. A write goes
+ * to the slot not holding the latest snapshot, so a write interrupted by a crash leaves the
+ * previous snapshot readable; loading picks the valid slot with the highest sequence.
+ *
+ * Saving is a copy into the mapping without a sync: the page cache outlives the process,
+ * which is what a restart needs, and requests never wait on the disk. If the file cannot be
+ * opened the store logs it and behaves as empty, so the snapshot never prevents a start.
+ */
+public class MappedFileSnapshotStore implements QuotationSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileSnapshotStore.class);
+
+    private static final int MAGIC = 0x51534E31;
+    private static final int HEADER_SIZE = 4 + 8 + 8 + 4 + 4;
+
+    private final Path path;
+    private final int slotSize;
+    private final ObjectMapper objectMapper;
+    private final MappedByteBuffer buffer;
+    private long sequence;
+
+    /**
+     * Opens or creates the snapshot file.
+     *
+     * @param path the snapshot file
+     * @param slotSize the size of each of the two slots, header included
+     * @param objectMapper the mapper used to write and read the quotation
+     */
+    public MappedFileSnapshotStore(Path path, int slotSize, ObjectMapper objectMapper) {
+        if (slotSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Snapshot slot size must exceed the " + HEADER_SIZE + " byte header");
+        }
+        this.path = path;
+        this.slotSize = slotSize;
+        this.objectMapper = objectMapper;
+        this.buffer = map(path, 2L * slotSize);
+        if (buffer != null) {
+            this.sequence = Math.max(0, Math.max(validSequence(0), validSequence(1)));
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, long size) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // The mapping stays valid after the channel is closed
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Quotation snapshot file {} cannot be mapped, snapshots are disabled: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized Optional<QuotationSnapshot> load() {
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        int latest = -1;
+        long latestSequence = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            long slotSequence = validSequence(slot);
+            if (slotSequence > latestSequence) {
+                latest = slot;
+                latestSequence = slotSequence;
+            }
+        }
+        if (latest < 0) {
+            return Optional.empty();
+        }
+        int offset = latest * slotSize;
+        long fetchedAtMillis = buffer.getLong(offset + 12);
+        byte[] payload = new byte[buffer.getInt(offset + 20)];
+        buffer.get(offset + HEADER_SIZE, payload);
+        try {
+            CotizacionResponse cotizacion = objectMapper.readValue(payload, CotizacionResponse.class);
+            logger.info("Restored quotation snapshot from {} retrieved at {}", path, Instant.ofEpochMilli(fetchedAtMillis));
+            return Optional.of(new QuotationSnapshot(cotizacion, Instant.ofEpochMilli(fetchedAtMillis)));
+        } catch (IOException e) {
+            logger.warn("Quotation snapshot in {} cannot be decoded: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public synchronized void save(QuotationSnapshot snapshot) {
+        if (buffer == null) {
+            return;
+        }
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(snapshot.getCotizacion());
+        } catch (IOException e) {
+            logger.warn("Quotation snapshot cannot be encoded: {}", e.getMessage());
+            return;
+        }
+        if (payload.length > slotSize - HEADER_SIZE) {
+            logger.warn("Quotation snapshot of {} bytes exceeds the {} byte slot, not saved", payload.length, slotSize);
+            return;
+        }
+        long next = sequence + 1;
+        int offset = (int) (next & 1) * slotSize;
+        long fetchedAtMillis = snapshot.getFetchedAt().toEpochMilli();
+
+        // Invalidate the slot first so a torn write cannot pass the magic check with a stale CRC
+        buffer.putInt(offset, 0);
+        buffer.put(offset + HEADER_SIZE, payload);
+        buffer.putLong(offset + 4, next);
+        buffer.putLong(offset + 12, fetchedAtMillis);
+        buffer.putInt(offset + 20, payload.length);
+        buffer.putInt(offset + 24, checksum(next, fetchedAtMillis, payload));
+        buffer.putInt(offset, MAGIC);
+        sequence = next;
+    }
+
+    /**
+     * Returns the sequence of a slot, or -1 if the slot is empty or corrupt.
+     */
+    private long validSequence(int slot) {
+        int offset = slot * slotSize;
+        if (buffer.getInt(offset) != MAGIC) {
+            return -1;
+        }
+        int length = buffer.getInt(offset + 20);
+        if (length < 0 || length > slotSize - HEADER_SIZE) {
+            return -1;
+        }
+        long slotSequence = buffer.getLong(offset + 4);
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_SIZE, payload);
+        int crc = checksum(slotSequence, buffer.getLong(offset + 12), payload);
+        return crc == buffer.getInt(offset + 24) ? slotSequence : -1;
+    }
+
+    private static int checksum(long sequence, long fetchedAtMillis, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(16).putLong(sequence).putLong(fetchedAtMillis).flip());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.testapi.snapshot;
+
+import com.example.testapi.model.CotizacionResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A quotation together with the time it was retrieved from the upstream.
+ * A stale snapshot is one served instead of a live upstream response, either while a
+ * restarted instance refreshes the snapshot restored from disk or while the upstream fails.
+ */
+public final class QuotationSnapshot {
+
+    private final CotizacionResponse cotizacion;
+    private final Instant fetchedAt;
+    private final boolean stale;
+
+    /**
+     * Creates a snapshot of a live upstream response.
+     *
+     * @param cotizacion the quotation
+     * @param fetchedAt the time the quotation was retrieved
+     */
+    public QuotationSnapshot(CotizacionResponse cotizacion, Instant fetchedAt) {
+        this(cotizacion, fetchedAt, false);
+    }
+
+    private QuotationSnapshot(CotizacionResponse cotizacion, Instant fetchedAt, boolean stale) {
+        this.cotizacion = cotizacion;
+        this.fetchedAt = fetchedAt;
+        this.stale = stale;
+    }
+
+    /**
+     * Returns this snapshot marked as served instead of a live response.
+     *
+     * @return the stale snapshot
+     */
+    public QuotationSnapshot asStale() {
+        return stale ? this : new QuotationSnapshot(cotizacion, fetchedAt, true);
+    }
+
+    public CotizacionResponse getCotizacion() {
+        return cotizacion;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Returns the time elapsed since the quotation was retrieved, never negative.
+     *
+     * @param now the current time
+     * @return the age
+     */
+    public Duration getAge(Instant now) {
+        Duration age = Duration.between(fetchedAt, now);
+        return age.isNegative() ? Duration.ZERO : age;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.testapi.snapshot;
+
+import java.util.Optional;
+
+/**
+ * Durable storage of the latest good quotation, read when an instance starts so that it can
+ * serve before its first upstream call completes.
+ */
+public interface QuotationSnapshotStore {
+
+    /**
+     * Reads the stored snapshot.
+     *
+     * @return the snapshot, or empty if none was stored or it cannot be read
+     */
+    Optional<QuotationSnapshot> load();
+
+    /**
+     * Replaces the stored snapshot. Failures are logged and never propagated.
+     *
+     * @param snapshot the snapshot to store
+     */
+    void save(QuotationSnapshot snapshot);
+}
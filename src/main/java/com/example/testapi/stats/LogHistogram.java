@@ -0,0 +1,75 @@
+package com.example.testapi.stats;
+
+/**
+ * Bucket layout of a fixed-size, signed log-scaled histogram.
+ *
+ * Magnitudes between {@link #MIN_VALUE} and {@link #MAX_VALUE} fall into buckets whose width
+ * grows geometrically by {@link #GROWTH}, so every reported quantile is within 1% of the
+ * exact value regardless of magnitude. Negative values use the same buckets mirrored below
+ * the zero bucket, so bucket order is value order: the first bucket holds values at or below
+ * -{@link #MAX_VALUE}, the bucket at {@link #ZERO} the magnitudes below {@link #MIN_VALUE}
+ * and the last bucket values at or above {@link #MAX_VALUE}.
+ */
+final class LogHistogram {
+
+    static final double MIN_VALUE = 0.01;
+    static final double MAX_VALUE = 10_000_000;
+    static final double GROWTH = 1.02;
+
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+
+    /**
+     * Buckets on each side of zero: the geometric buckets plus the out-of-range one.
+     */
+    private static final int SIDE_BUCKETS = (int) Math.ceil(Math.log(MAX_VALUE / MIN_VALUE) / LOG_GROWTH) + 1;
+
+    static final int ZERO = SIDE_BUCKETS;
+
+    static final int BUCKETS = 2 * SIDE_BUCKETS + 1;
+
+    private LogHistogram() {
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value the value
+     * @return the bucket index
+     */
+    static int index(double value) {
+        int offset = magnitudeIndex(Math.abs(value));
+        return value < 0 ? ZERO - offset : ZERO + offset;
+    }
+
+    /**
+     * Returns the value representing a bucket: the geometric midpoint of its bounds, with the
+     * sign of its side.
+     *
+     * @param index the bucket index
+     * @return the representative value
+     */
+    static double value(int index) {
+        double magnitude = magnitudeValue(Math.abs(index - ZERO));
+        return index < ZERO ? -magnitude : magnitude;
+    }
+
+    private static int magnitudeIndex(double magnitude) {
+        if (!(magnitude >= MIN_VALUE)) {
+            return 0;
+        }
+        if (magnitude >= MAX_VALUE) {
+            return SIDE_BUCKETS;
+        }
+        return 1 + (int) (Math.log(magnitude / MIN_VALUE) / LOG_GROWTH);
+    }
+
+    private static double magnitudeValue(int offset) {
+        if (offset == 0) {
+            return 0;
+        }
+        if (offset == SIDE_BUCKETS) {
+            return MAX_VALUE;
+        }
+        return MIN_VALUE * Math.pow(GROWTH, offset - 0.5);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.testapi.stats;
+
+import com.example.testapi.model.CotizacionResponse;
+
+/**
+ * Listener notified of every quotation successfully retrieved from the upstream API.
+ * Implementations are called on the request thread and must be fast and non-blocking.
+ */
+public interface QuoteObserver {
+
+    /**
+     * Called after a quotation has been retrieved.
+     *
+     * @param cotizacion the retrieved quotation
+     */
+    void onQuote(CotizacionResponse cotizacion);
+}
@@ -0,0 +1,149 @@
+package com.example.testapi.stats;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free rolling window of running statistics with fixed memory.
+ *
+ * The window is a ring of buckets, each covering {@code window / buckets} of time and holding
+ * count, sum, sum of squares, min, max and a {@link LogHistogram}. Recording touches a single
+ * bucket through atomic counters; a bucket is recycled by the first writer that observes its
+ * time slot has passed. Queries merge the live buckets, so their cost depends on the number of
+ * buckets and not on how many values were recorded. The window slides one bucket at a time,
+ * so it covers between {@code window - window / buckets} and {@code window} of history.
+ *
+ * Statistics are approximate under contention: a value recorded concurrently with the
+ * recycling of its bucket may be lost, and a query may observe a bucket mid-update.
+ */
+public class RollingWindow {
+
+    private final long bucketNanos;
+    private final Bucket[] buckets;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a rolling window using the system clock.
+     *
+     * @param window the length of the window
+     * @param bucketCount the number of buckets the window is divided into
+     */
+    public RollingWindow(Duration window, int bucketCount) {
+        this(window, bucketCount, System::nanoTime);
+    }
+
+    /**
+     * Creates a rolling window.
+     *
+     * @param window the length of the window
+     * @param bucketCount the number of buckets the window is divided into
+     * @param nanoClock the monotonic clock, in nanoseconds
+     */
+    public RollingWindow(Duration window, int bucketCount, LongSupplier nanoClock) {
+        if (bucketCount < 1 || window.toNanos() < bucketCount) {
+            throw new IllegalArgumentException("Window must be divisible into at least one bucket");
+        }
+        this.bucketNanos = window.toNanos() / bucketCount;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value
+     */
+    public void record(double value) {
+        long slot = currentSlot();
+        Bucket bucket = buckets[(int) Math.floorMod(slot, (long) buckets.length)];
+        bucket.rollTo(slot);
+        bucket.add(value);
+    }
+
+    /**
+     * Returns the statistics of the values recorded within the window.
+     *
+     * @return the window snapshot
+     */
+    public WindowSnapshot snapshot() {
+        long slot = currentSlot();
+        long oldest = slot - buckets.length + 1;
+
+        long count = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long[] histogram = new long[LogHistogram.BUCKETS];
+
+        for (Bucket bucket : buckets) {
+            long bucketSlot = bucket.slot.get();
+            if (bucketSlot < oldest || bucketSlot > slot) {
+                continue;
+            }
+            long bucketCount = bucket.count.sum();
+            if (bucketCount == 0) {
+                continue;
+            }
+            count += bucketCount;
+            sum += bucket.sum.sum();
+            sumOfSquares += bucket.sumOfSquares.sum();
+            min = Math.min(min, Double.longBitsToDouble(bucket.min.get()));
+            max = Math.max(max, Double.longBitsToDouble(bucket.max.get()));
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += bucket.histogram.get(i);
+            }
+        }
+        return WindowSnapshot.of(count, sum, sumOfSquares, min, max, histogram);
+    }
+
+    private long currentSlot() {
+        return Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+    }
+
+    /**
+     * Statistics of one time slot.
+     */
+    private static final class Bucket {
+
+        private final AtomicLong slot = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+        private final DoubleAdder sumOfSquares = new DoubleAdder();
+        private final AtomicLong min = new AtomicLong(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+        private final AtomicLong max = new AtomicLong(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+        private final AtomicLongArray histogram = new AtomicLongArray(LogHistogram.BUCKETS);
+
+        void rollTo(long newSlot) {
+            long current = slot.get();
+            if (current < newSlot && slot.compareAndSet(current, newSlot)) {
+                count.reset();
+                sum.reset();
+                sumOfSquares.reset();
+                min.set(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+                max.set(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+                for (int i = 0; i < histogram.length(); i++) {
+                    histogram.set(i, 0);
+                }
+            }
+        }
+
+        void add(double value) {
+            count.increment();
+            sum.add(value);
+            sumOfSquares.add(value * value);
+            min.accumulateAndGet(Double.doubleToLongBits(value),
+                    (current, candidate) -> Double.longBitsToDouble(candidate) < Double.longBitsToDouble(current) ? candidate : current);
+            max.accumulateAndGet(Double.doubleToLongBits(value),
+                    (current, candidate) -> Double.longBitsToDouble(candidate) > Double.longBitsToDouble(current) ? candidate : current);
+            histogram.incrementAndGet(LogHistogram.index(value));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.testapi.stats;
+
+/**
+ * Listener notified of every computed MEP minus crypto difference, including negative
+ * differences that the request is then rejected for.
+ * Implementations are called on the request thread and must be fast and non-blocking.
+ */
+public interface SpreadObserver {
+
+    /**
+     * Called after a difference has been computed.
+     *
+     * @param diferenciaAvg the difference of the average values
+     * @param diferenciaSell the difference of the sell values
+     * @param diferenciaBuy the difference of the buy values
+     */
+    void onSpread(double diferenciaAvg, double diferenciaSell, double diferenciaBuy);
+}
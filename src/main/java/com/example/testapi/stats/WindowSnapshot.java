@@ -0,0 +1,56 @@
+package com.example.testapi.stats;
+
+/**
+ * Immutable statistics of a rolling window at a point in time.
+ *
+ * @param count the number of values
+ * @param mean the arithmetic mean, or NaN if empty
+ * @param min the minimum, or NaN if empty
+ * @param max the maximum, or NaN if empty
+ * @param variance the population variance, or NaN if empty
+ * @param histogram the merged log histogram counts, used for quantiles
+ */
+public record WindowSnapshot(long count, double mean, double min, double max, double variance, long[] histogram) {
+
+    static WindowSnapshot of(long count, double sum, double sumOfSquares, double min, double max, long[] histogram) {
+        if (count == 0) {
+            return new WindowSnapshot(0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, histogram);
+        }
+        double mean = sum / count;
+        double variance = Math.max(0, sumOfSquares / count - mean * mean);
+        return new WindowSnapshot(count, mean, min, max, variance, histogram);
+    }
+
+    /**
+     * Returns the approximate quantile, within 1% of the exact value and clamped to [min, max].
+     *
+     * @param quantile the quantile, between 0 and 1
+     * @return the approximate value, or NaN if empty
+     */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                if (i == 0) {
+                    return min;
+                }
+                return i == histogram.length - 1 ? max : Math.min(max, Math.max(min, LogHistogram.value(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the population standard deviation.
+     *
+     * @return the standard deviation, or NaN if empty
+     */
+    public double stdDev() {
+        return Math.sqrt(variance);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.testapi.upstream;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a live view of the WebClient connection pools, one per upstream address.
+ *
+ * Reactor Netty creates a pool per remote address on first use and hands its metrics to
+ * this registrar; the metrics are read on demand, so registering costs nothing on the
+ * request path. The saturation of a pool is the fraction of its maximum connections in use,
+ * and reaches 1 once further requests have to wait for a connection.
+ */
+public class ConnectionPoolMonitor implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(key(poolName, remoteAddress), metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(key(poolName, remoteAddress));
+    }
+
+    /**
+     * Returns the current state of every pool, keyed by pool name and remote address.
+     *
+     * @return the pool states, sorted by key
+     */
+    public Map<String, PoolState> getPools() {
+        Map<String, PoolState> states = new TreeMap<>();
+        pools.forEach((key, metrics) -> states.put(key, new PoolState(metrics.acquiredSize(),
+                metrics.pendingAcquireSize(), metrics.maxAllocatedSize())));
+        return states;
+    }
+
+    /**
+     * Returns the highest saturation among the pools.
+     *
+     * @return the saturation between 0 and 1, or 0 before the first connection
+     */
+    public double getMaxSaturation() {
+        double max = 0.0;
+        for (PoolState state : getPools().values()) {
+            max = Math.max(max, state.getSaturation());
+        }
+        return max;
+    }
+
+    private static String key(String poolName, SocketAddress remoteAddress) {
+        String address = remoteAddress instanceof InetSocketAddress inet
+                ? inet.getHostString() + ":" + inet.getPort()
+                : String.valueOf(remoteAddress);
+        return poolName + " " + address;
+    }
+
+    /**
+     * Point-in-time state of one connection pool.
+     */
+    public static final class PoolState {
+
+        private final int acquired;
+        private final int pending;
+        private final int maxConnections;
+
+        PoolState(int acquired, int pending, int maxConnections) {
+            this.acquired = acquired;
+            this.pending = pending;
+            this.maxConnections = maxConnections;
+        }
+
+        public int getAcquired() {
+            return acquired;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        /**
+         * Returns the fraction of the maximum connections in use, 1 when requests are waiting.
+         *
+         * @return the saturation between 0 and 1
+         */
+        public double getSaturation() {
+            if (pending > 0) {
+                return 1.0;
+            }
+            return maxConnections <= 0 ? 0.0 : Math.min(1.0, (double) acquired / maxConnections);
+        }
+    }
+}
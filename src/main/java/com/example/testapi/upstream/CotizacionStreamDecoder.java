@@ -0,0 +1,216 @@
+package com.example.testapi.upstream;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * Incremental decoder for the Bluelytics {@code latest} payload.
+ *
+ * The upstream body is fed buffer by buffer into a non-blocking Jackson parser, reading the
+ * network buffers in place instead of aggregating the body first. Only the fields exposed by
+ * {@link CotizacionResponse} are extracted, into a primitive array; every other field is
+ * skipped at token level without building any object. When {@code last_update} matches the
+ * previously decoded response, decoding stops immediately, the rest of the body is not read
+ * and the previous response is returned as is.
+ */
+public class CotizacionStreamDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String[] TYPES = {"oficial", "blue", "oficial_euro", "blue_euro"};
+    private static final String[] FIELDS = {"value_avg", "value_sell", "value_buy"};
+    private static final String LAST_UPDATE = "last_update";
+
+    /**
+     * Decodes a quotation from the given body.
+     *
+     * @param body the upstream response body
+     * @param previous the last decoded response, or null if there is none
+     * @return Mono emitting the decoded response, {@code previous} if its last_update is unchanged,
+     *         or empty if the body is empty
+     */
+    public Mono<CotizacionResponse> decode(Flux<DataBuffer> body, CotizacionResponse previous) {
+        return Mono.defer(() -> {
+            Session session;
+            try {
+                session = new Session(previous);
+            } catch (IOException e) {
+                return Mono.error(new DecodingException("Could not create quotation parser", e));
+            }
+            return body.<CotizacionResponse>handle((buffer, sink) -> {
+                        try {
+                            CotizacionResponse response = session.feed(buffer);
+                            if (response != null) {
+                                sink.next(response);
+                            }
+                        } catch (IOException e) {
+                            sink.error(new DecodingException("Malformed quotation payload: " + e.getMessage(), e));
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .next()
+                    .switchIfEmpty(Mono.defer(session::finish))
+                    .doFinally(signal -> session.close());
+        });
+    }
+
+    /**
+     * Parsing state for a single response body.
+     */
+    private static final class Session {
+
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private final CotizacionResponse previous;
+
+        private final double[] values = new double[TYPES.length * FIELDS.length];
+        private int presentValues;
+        private int presentTypes;
+        private String lastUpdate;
+
+        private boolean started;
+        private int depth;
+        private int type = -1;
+        private int field = -1;
+        private boolean lastUpdateField;
+
+        Session(CotizacionResponse previous) throws IOException {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            this.previous = previous;
+        }
+
+        CotizacionResponse feed(DataBuffer buffer) throws IOException {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    feeder.feedInput(iterator.next());
+                    CotizacionResponse response = drain();
+                    if (response != null) {
+                        return response;
+                    }
+                }
+            }
+            return null;
+        }
+
+        Mono<CotizacionResponse> finish() {
+            try {
+                feeder.endOfInput();
+                CotizacionResponse response = drain();
+                if (response != null) {
+                    return Mono.just(response);
+                }
+            } catch (IOException e) {
+                return Mono.error(new DecodingException("Malformed quotation payload: " + e.getMessage(), e));
+            }
+            return started ? Mono.error(new DecodingException("Incomplete quotation payload")) : Mono.empty();
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // Nothing to release: the parser never owns the fed buffers
+            }
+        }
+
+        /**
+         * Consumes every token available in the fed input.
+         *
+         * @return the decoded response once complete (or short-circuited), otherwise null
+         */
+        private CotizacionResponse drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                started = true;
+                switch (token) {
+                    case START_OBJECT, START_ARRAY -> depth++;
+                    case END_OBJECT, END_ARRAY -> {
+                        depth--;
+                        if (depth == 1) {
+                            type = -1;
+                        } else if (depth == 0) {
+                            return build();
+                        }
+                    }
+                    case FIELD_NAME -> {
+                        if (depth == 1) {
+                            type = indexOf(TYPES, parser.currentName());
+                            lastUpdateField = LAST_UPDATE.equals(parser.currentName());
+                        } else if (depth == 2 && type >= 0) {
+                            field = indexOf(FIELDS, parser.currentName());
+                        }
+                    }
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                        if (depth == 2 && type >= 0 && field >= 0) {
+                            int index = type * FIELDS.length + field;
+                            values[index] = parser.getDoubleValue();
+                            presentValues |= 1 << index;
+                        }
+                    }
+                    case VALUE_STRING -> {
+                        if (depth == 1 && lastUpdateField) {
+                            lastUpdate = parser.getText();
+                            if (previous != null && lastUpdate.equals(previous.getLastUpdate())) {
+                                return previous;
+                            }
+                        }
+                    }
+                    default -> {
+                        // Literals and nulls carry no data we expose
+                    }
+                }
+                if (depth == 2 && token == JsonToken.START_OBJECT && type >= 0) {
+                    presentTypes |= 1 << type;
+                }
+            }
+            return null;
+        }
+
+        private CotizacionResponse build() {
+            CotizacionResponse response = new CotizacionResponse();
+            response.setOficial(data(0));
+            response.setBlue(data(1));
+            response.setOficialEuro(data(2));
+            response.setBlueEuro(data(3));
+            response.setLastUpdate(lastUpdate);
+            return response;
+        }
+
+        private CotizacionResponse.CotizacionData data(int typeIndex) {
+            if ((presentTypes & (1 << typeIndex)) == 0) {
+                return null;
+            }
+            CotizacionResponse.CotizacionData data = new CotizacionResponse.CotizacionData();
+            data.setValueAvg(value(typeIndex, 0));
+            data.setValueSell(value(typeIndex, 1));
+            data.setValueBuy(value(typeIndex, 2));
+            return data;
+        }
+
+        private Double value(int typeIndex, int fieldIndex) {
+            int index = typeIndex * FIELDS.length + fieldIndex;
+            return (presentValues & (1 << index)) != 0 ? values[index] : null;
+        }
+
+        private static int indexOf(String[] names, String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
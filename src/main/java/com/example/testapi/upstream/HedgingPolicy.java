@@ -0,0 +1,120 @@
+package com.example.testapi.upstream;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when and how often a hedged (duplicate) upstream request may be sent.
+ *
+ * The hedge delay follows a configurable percentile of recent upstream latencies, so a
+ * second request is only sent for calls that are already slower than usual. The hedge rate
+ * is capped with a token budget: every primary request deposits {@code maxHedgeRatio}
+ * tokens and every hedge spends one, so hedges can never exceed that fraction of the
+ * traffic (plus a small burst allowance).
+ */
+public class HedgingPolicy {
+
+    private static final long TOKEN_SCALE = 1_000;
+    private static final long MAX_TOKENS = 10 * TOKEN_SCALE;
+
+    private final boolean enabled;
+    private final Duration minDelay;
+    private final Duration initialDelay;
+    private final long depositPerRequest;
+    private final LatencyTracker latencyTracker;
+
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    /**
+     * Creates a hedging policy.
+     *
+     * @param enabled whether hedging is active
+     * @param percentile the latency percentile used as hedge delay
+     * @param minDelay the lower bound for the hedge delay
+     * @param initialDelay the hedge delay used before any latency has been observed
+     * @param maxHedgeRatio the maximum fraction of requests that may be hedged
+     */
+    public HedgingPolicy(boolean enabled, double percentile, Duration minDelay, Duration initialDelay,
+                         double maxHedgeRatio) {
+        if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+            throw new IllegalArgumentException("Max hedge ratio must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.minDelay = minDelay;
+        this.initialDelay = initialDelay;
+        this.depositPerRequest = Math.round(maxHedgeRatio * TOKEN_SCALE);
+        this.latencyTracker = new LatencyTracker(1024, percentile);
+    }
+
+    /**
+     * Creates a policy that never hedges.
+     *
+     * @return a disabled HedgingPolicy
+     */
+    public static HedgingPolicy disabled() {
+        return new HedgingPolicy(false, 95, Duration.ZERO, Duration.ZERO, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a new primary request and deposits its share of the hedge budget.
+     */
+    public void onRequest() {
+        requests.incrementAndGet();
+        tokens.getAndUpdate(current -> Math.min(MAX_TOKENS, current + depositPerRequest));
+    }
+
+    /**
+     * Returns how long to wait for the primary request before sending a hedge.
+     *
+     * @return the hedge delay
+     */
+    public Duration hedgeDelay() {
+        long percentileNanos = latencyTracker.percentileNanos();
+        if (percentileNanos < 0) {
+            return initialDelay;
+        }
+        Duration delay = Duration.ofNanos(percentileNanos);
+        return delay.compareTo(minDelay) < 0 ? minDelay : delay;
+    }
+
+    /**
+     * Tries to spend one token from the hedge budget.
+     *
+     * @return true if a hedge may be sent
+     */
+    public boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN_SCALE));
+        hedges.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Records the latency of a successful upstream call, or the elapsed time of a primary
+     * call cancelled by its hedge, which is a lower bound of its latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordLatency(long nanos) {
+        latencyTracker.record(nanos);
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getHedgeCount() {
+        return hedges.get();
+    }
+}
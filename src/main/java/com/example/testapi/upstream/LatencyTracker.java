@@ -0,0 +1,82 @@
+package com.example.testapi.upstream;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the latency of recent upstream calls and estimates a percentile over them.
+ * Samples are kept in a fixed-size ring buffer, so memory is bounded and old behavior
+ * ages out. The percentile is cached and recomputed only after the sample count has grown
+ * by {@code capacity / 8} (or doubled, while the buffer is still filling), which keeps the
+ * per-request cost to a single array store.
+ */
+public class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int refreshInterval;
+
+    private volatile long cachedPercentileNanos = -1;
+    private volatile long cachedAt;
+
+    /**
+     * Creates a tracker.
+     *
+     * @param capacity the number of recent samples kept
+     * @param percentile the percentile to estimate, between 0 and 100
+     */
+    public LatencyTracker(int capacity, double percentile) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+        this.samples = new AtomicLongArray(capacity);
+        this.percentile = percentile;
+        this.refreshInterval = Math.max(1, capacity / 8);
+    }
+
+    /**
+     * Records the latency of a completed call.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+    }
+
+    /**
+     * Returns the estimated percentile latency, or -1 if no calls were recorded yet.
+     *
+     * @return the percentile latency in nanoseconds
+     */
+    public long percentileNanos() {
+        long count = recorded.get();
+        if (count == 0) {
+            return -1;
+        }
+        if (cachedPercentileNanos < 0 || count - cachedAt >= Math.min(refreshInterval, cachedAt)) {
+            cachedPercentileNanos = compute((int) Math.min(count, samples.length()));
+            cachedAt = count;
+        }
+        return cachedPercentileNanos;
+    }
+
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    private long compute(int size) {
+        long[] snapshot = new long[size];
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        int rank = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return snapshot[Math.max(0, Math.min(rank, size - 1))];
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.testapi.upstream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Decides whether and when a failed idempotent upstream request is retried.
+ *
+ * Only failures that a later attempt may avoid are retried: connection errors and the 429,
+ * 502, 503 and 504 statuses. The delay before retry {@code n} (starting at 0) is drawn
+ * uniformly between zero and {@code min(maxDelay, baseDelay * 2^n)} (full jitter), which
+ * spreads the retries of many clients instead of synchronizing them. A 429 or 503 response
+ * carrying Retry-After is retried after exactly that delay, and not at all if the upstream
+ * asks for longer than the maximum delay.
+ *
+ * Retries are capped with a token budget: every request deposits {@code maxRetryRatio}
+ * tokens and every retry spends one, so retries never exceed that fraction of the traffic
+ * plus a burst allowance, which starts full. When the upstream is failing for everyone the
+ * budget runs out and failures are returned at once instead of multiplying the load.
+ */
+public class RetryPolicy implements MeterBinder {
+
+    private static final long TOKEN_SCALE = 1_000;
+    private static final long MAX_TOKENS = 10 * TOKEN_SCALE;
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final long depositPerRequest;
+    private final DoubleSupplier random;
+
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    /**
+     * Creates a retry policy with random jitter.
+     *
+     * @param enabled whether failed requests are retried
+     * @param maxAttempts the maximum attempts per request, the first one included
+     * @param baseDelay the upper bound of the delay before the first retry
+     * @param maxDelay the upper bound of any delay, Retry-After included
+     * @param maxRetryRatio the maximum fraction of requests that may be retried
+     */
+    public RetryPolicy(boolean enabled, int maxAttempts, Duration baseDelay, Duration maxDelay, double maxRetryRatio) {
+        this(enabled, maxAttempts, baseDelay, maxDelay, maxRetryRatio, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Creates a retry policy.
+     *
+     * @param enabled whether failed requests are retried
+     * @param maxAttempts the maximum attempts per request, the first one included
+     * @param baseDelay the upper bound of the delay before the first retry
+     * @param maxDelay the upper bound of any delay, Retry-After included
+     * @param maxRetryRatio the maximum fraction of requests that may be retried
+     * @param random the source of jitter, uniform in [0, 1)
+     */
+    public RetryPolicy(boolean enabled, int maxAttempts, Duration baseDelay, Duration maxDelay, double maxRetryRatio,
+                       DoubleSupplier random) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (maxRetryRatio < 0 || maxRetryRatio > 1) {
+            throw new IllegalArgumentException("Max retry ratio must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.depositPerRequest = Math.round(maxRetryRatio * TOKEN_SCALE);
+        this.random = random;
+    }
+
+    /**
+     * Creates a policy that never retries.
+     *
+     * @return a disabled RetryPolicy
+     */
+    public static RetryPolicy disabled() {
+        return new RetryPolicy(false, 1, Duration.ZERO, Duration.ZERO, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a new request and deposits its share of the retry budget.
+     */
+    public void onRequest() {
+        requests.increment();
+        tokens.getAndUpdate(current -> Math.min(MAX_TOKENS, current + depositPerRequest));
+    }
+
+    /**
+     * Decides whether a failed attempt is retried and spends a token of the budget if so.
+     *
+     * @param retry the number of retries already made for this request
+     * @param error the failure of the last attempt
+     * @return the delay before the next attempt, or null if the failure is returned
+     */
+    public Duration nextDelay(int retry, Throwable error) {
+        if (!enabled || retry + 1 >= maxAttempts || !isRetryable(error)) {
+            return null;
+        }
+        Duration delay = retryAfter(error);
+        if (delay == null) {
+            long baseNanos = baseDelay.toNanos();
+            long ceilingNanos = maxDelay.toNanos();
+            if (retry < Long.numberOfLeadingZeros(baseNanos) - 1) {
+                ceilingNanos = Math.min(ceilingNanos, baseNanos << retry);
+            }
+            delay = Duration.ofNanos((long) (random.getAsDouble() * ceilingNanos));
+        } else if (delay.compareTo(maxDelay) > 0) {
+            return null;
+        }
+        if (!tryAcquireRetry()) {
+            budgetExhausted.increment();
+            return null;
+        }
+        retries.increment();
+        return delay;
+    }
+
+    private boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN_SCALE));
+        return true;
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.BAD_GATEWAY.value()
+                    || status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the delay requested by the Retry-After header of a 429 or 503 response, either
+     * in seconds or as an HTTP date.
+     */
+    private static Duration retryAfter(Throwable error) {
+        if (!(error instanceof WebClientResponseException response)) {
+            return null;
+        }
+        int status = response.getStatusCode().value();
+        if (status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return null;
+        }
+        String value = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try an HTTP date
+        }
+        try {
+            Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(Instant.now(), at);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Returns the number of retryable failures returned because the budget was spent.
+     *
+     * @return the budget exhaustion count
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cotizacion.upstream.attempts", requests, LongAdder::sum)
+                .description("Upstream quotation attempts")
+                .tag("type", "initial")
+                .register(registry);
+        FunctionCounter.builder("cotizacion.upstream.attempts", retries, LongAdder::sum)
+                .description("Upstream quotation attempts")
+                .tag("type", "retry")
+                .register(registry);
+        FunctionCounter.builder("cotizacion.upstream.retry.budget.exhausted", budgetExhausted, LongAdder::sum)
+                .description("Retryable upstream failures returned because the retry budget was spent")
+                .register(registry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.testapi.validation;
+
+import com.example.testapi.model.DiferenciasRequest;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Validator for DiferenciasRequest compiled from the constraints declared on the model.
+ *
+ * The {@link NotNull}, {@link RequiredRates} and {@link Positive} annotations are read once
+ * at construction and turned into a flat list of checks with direct (non-reflective) value
+ * accessors and fully formatted messages. Validating a request then runs every check in a
+ * single pass, without reflection, message interpolation or exceptions, and returns all
+ * violations in declaration order.
+ */
+public final class DiferenciasRequestValidator {
+
+    static final String NULL_REQUEST_MESSAGE = "Request cannot be null";
+
+    /**
+     * The checks of one value of one rate.
+     */
+    private record ValueCheck(Function<DiferenciasRequest.ExchangeRateData, Double> accessor,
+                              String nullMessage, String positiveMessage) {
+    }
+
+    /**
+     * The checks of one required rate.
+     */
+    private record RateCheck(DiferenciasRequest.ExchangeRateType type, String missingMessage, ValueCheck[] values) {
+    }
+
+    private final String nullRatesMessage;
+    private final RateCheck[] rates;
+
+    private DiferenciasRequestValidator(String nullRatesMessage, RateCheck[] rates) {
+        this.nullRatesMessage = nullRatesMessage;
+        this.rates = rates;
+    }
+
+    /**
+     * Compiles the validator from the constraints declared on DiferenciasRequest.
+     *
+     * @return the validator
+     * @throws IllegalStateException if the model constraints are inconsistent
+     */
+    public static DiferenciasRequestValidator compile() {
+        try {
+            Field ratesField = DiferenciasRequest.class.getDeclaredField("rates");
+            NotNull ratesNotNull = ratesField.getAnnotation(NotNull.class);
+            RequiredRates required = ratesField.getAnnotation(RequiredRates.class);
+            if (ratesNotNull == null || required == null) {
+                throw new IllegalStateException("DiferenciasRequest.rates must declare @NotNull and @RequiredRates");
+            }
+
+            List<Field> valueFields = new ArrayList<>();
+            for (Field field : DiferenciasRequest.ExchangeRateData.class.getDeclaredFields()) {
+                if (field.isAnnotationPresent(NotNull.class) || field.isAnnotationPresent(Positive.class)) {
+                    valueFields.add(field);
+                }
+            }
+
+            RateCheck[] rates = new RateCheck[required.value().length];
+            for (int i = 0; i < rates.length; i++) {
+                RequiredRates.Rate rate = required.value()[i];
+                ValueCheck[] values = new ValueCheck[valueFields.size()];
+                for (int j = 0; j < values.length; j++) {
+                    Field field = valueFields.get(j);
+                    NotNull notNull = field.getAnnotation(NotNull.class);
+                    Positive positive = field.getAnnotation(Positive.class);
+                    values[j] = new ValueCheck(accessor(field),
+                            notNull == null ? null : rate.label() + " " + notNull.message(),
+                            positive == null ? null : rate.label() + " " + positive.message());
+                }
+                rates[i] = new RateCheck(rate.type(), rate.message(), values);
+            }
+            return new DiferenciasRequestValidator(ratesNotNull.message(), rates);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot compile DiferenciasRequest constraints", e);
+        }
+    }
+
+    /**
+     * Validates a request.
+     *
+     * @param request the request, may be null
+     * @return the violations in declaration order; empty if the request is valid
+     */
+    public List<String> validate(DiferenciasRequest request) {
+        if (request == null) {
+            return List.of(NULL_REQUEST_MESSAGE);
+        }
+        Map<DiferenciasRequest.ExchangeRateType, DiferenciasRequest.ExchangeRateData> map = request.getRates();
+        if (map == null) {
+            return List.of(nullRatesMessage);
+        }
+
+        List<String> violations = null;
+        DiferenciasRequest.ExchangeRateData[] data = new DiferenciasRequest.ExchangeRateData[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            data[i] = map.get(rates[i].type());
+            if (data[i] == null) {
+                violations = add(violations, rates[i].missingMessage());
+            }
+        }
+        if (violations != null) {
+            return violations;
+        }
+
+        for (int i = 0; i < rates.length; i++) {
+            ValueCheck[] values = rates[i].values();
+            // Every value is read once; null checks of a rate are reported before its sign checks
+            int notPositive = 0;
+            for (int j = 0; j < values.length; j++) {
+                Double value = values[j].accessor().apply(data[i]);
+                if (value == null) {
+                    if (values[j].nullMessage() != null) {
+                        violations = add(violations, values[j].nullMessage());
+                    }
+                } else if (!(value > 0) && values[j].positiveMessage() != null) {
+                    notPositive |= 1 << j;
+                }
+            }
+            for (int j = 0; notPositive != 0; j++, notPositive >>>= 1) {
+                if ((notPositive & 1) != 0) {
+                    violations = add(violations, values[j].positiveMessage());
+                }
+            }
+        }
+        return violations == null ? List.of() : violations;
+    }
+
+    /**
+     * Validates a request, collecting every violation in a single pass before failing.
+     *
+     * @param request the request, may be null
+     * @throws RequestValidationException with all violations if the request is invalid
+     */
+    public void requireValid(DiferenciasRequest request) {
+        List<String> violations = validate(request);
+        if (!violations.isEmpty()) {
+            throw new RequestValidationException(violations);
+        }
+    }
+
+    private static List<String> add(List<String> violations, String violation) {
+        List<String> result = violations == null ? new ArrayList<>(4) : violations;
+        result.add(violation);
+        return result;
+    }
+
+    /**
+     * Builds a direct accessor for the getter of a field, so values are read without reflection.
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<DiferenciasRequest.ExchangeRateData, Double> accessor(Field field)
+            throws ReflectiveOperationException {
+        String getter = "get" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.findVirtual(DiferenciasRequest.ExchangeRateData.class, getter,
+                MethodType.methodType(Double.class));
+        try {
+            return (Function<DiferenciasRequest.ExchangeRateData, Double>) LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+                    handle, handle.type()).getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create accessor for " + field.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.testapi.validation;
+
+import java.util.List;
+
+/**
+ * Thrown when a request violates its declared constraints.
+ * The message is the first violation; all violations found are available through
+ * {@link #getViolations()}.
+ */
+public class RequestValidationException extends IllegalArgumentException {
+
+    private final List<String> violations;
+
+    /**
+     * Constructs a new RequestValidationException.
+     *
+     * @param violations the violations, in declaration order; must not be empty
+     */
+    public RequestValidationException(List<String> violations) {
+        super(violations.get(0));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
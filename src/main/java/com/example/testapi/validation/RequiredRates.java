@@ -0,0 +1,46 @@
+package com.example.testapi.validation;
+
+import com.example.testapi.model.DiferenciasRequest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the exchange rates a rates map must contain, in validation order.
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiredRates {
+
+    /**
+     * The required rates.
+     */
+    Rate[] value();
+
+    /**
+     * A required rate.
+     */
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Rate {
+
+        /**
+         * The rate type.
+         */
+        DiferenciasRequest.ExchangeRateType type();
+
+        /**
+         * The name prefixed to the violations of the rate's values, e.g. "crypto".
+         */
+        String label();
+
+        /**
+         * The violation reported when the rate is missing.
+         */
+        String message();
+    }
+}
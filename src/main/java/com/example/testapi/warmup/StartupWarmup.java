@@ -0,0 +1,305 @@
+package com.example.testapi.warmup;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.service.DiferenciasService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Warm-up stage run at startup, before the readiness state flips to accepting traffic.
+ *
+ * Spring Boot publishes readiness only after all application runners have completed, so
+ * running here keeps the load balancer away until the hot paths are compiled. Each
+ * iteration deserializes a synthetic diferencias request, computes it with the default and
+ * a percentage formula, serializes the response, and round-trips a Bluelytics payload,
+ * cycling through a table of rates so that no input is constant. Iterations run in batches
+ * until the mean time per iteration of consecutive batches changes by less than the
+ * tolerance, or the maximum duration is reached. Meanwhile one upstream call primes the
+ * WebClient connection pool; an upstream failure is logged and never blocks readiness.
+ *
+ * The synthetic requests go to a DiferenciasService without observers or memo cache, so
+ * they warm the same code without reaching statistics, alerts or hit rates. Service logging
+ * is raised to WARN for the duration of the warm-up.
+ */
+public class StartupWarmup implements ApplicationRunner, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String QUIET_LOGGER = "com.example.testapi.service";
+
+    private static final int RATE_SETS = 16;
+
+    private static final int STABLE_BATCHES = 2;
+
+    private final ObjectMapper objectMapper;
+    private final DiferenciasService diferenciasService;
+    private final Runnable upstreamPrimer;
+    private final MeterRegistry meterRegistry;
+    private final LoggingSystem loggingSystem;
+    private final Duration maxDuration;
+    private final int batchSize;
+    private final double tolerance;
+    private final Duration upstreamTimeout;
+
+    private final byte[][] requests = new byte[RATE_SETS][];
+    private final byte[] quotation;
+    private volatile long sink;
+
+    /**
+     * Creates the warm-up stage.
+     *
+     * @param objectMapper the application mapper, whose serializers are primed
+     * @param diferenciasService a service instance used only for the warm-up
+     * @param upstreamPrimer a single upstream call priming the connection pool
+     * @param meterRegistry the registry for the warm-up meters
+     * @param loggingSystem the logging system used to quiet the service loggers, or null
+     * @param maxDuration the maximum time spent on synthetic iterations
+     * @param batchSize the number of iterations timed together
+     * @param tolerance the relative change between batches under which timings are stable
+     * @param upstreamTimeout the maximum time waited for the upstream call after the iterations
+     */
+    public StartupWarmup(ObjectMapper objectMapper, DiferenciasService diferenciasService, Runnable upstreamPrimer,
+                         MeterRegistry meterRegistry, LoggingSystem loggingSystem, Duration maxDuration,
+                         int batchSize, double tolerance, Duration upstreamTimeout) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Warm-up batch size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.diferenciasService = diferenciasService;
+        this.upstreamPrimer = upstreamPrimer;
+        this.meterRegistry = meterRegistry;
+        this.loggingSystem = loggingSystem;
+        this.maxDuration = maxDuration;
+        this.batchSize = batchSize;
+        this.tolerance = tolerance;
+        this.upstreamTimeout = upstreamTimeout;
+        try {
+            for (int i = 0; i < RATE_SETS; i++) {
+                double crypto = 900 + i * 7.25;
+                double mep = crypto + 150 + i * 3.5;
+                requests[i] = objectMapper.writeValueAsBytes(DiferenciasRequest.builder()
+                        .addCrypto(crypto, crypto + 5, crypto - 5)
+                        .addMep(mep, mep + 5, mep - 5)
+                        .build());
+            }
+            this.quotation = objectMapper.writeValueAsBytes(sampleQuotation());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Report report = warmUp();
+        bindMeters(report);
+        logger.info("Warm-up completed in {} ms: {} iterations, {} ns per iteration in the first batch and {} ns in the last, "
+                        + "timings {}, upstream {}",
+                report.getDuration().toMillis(), report.getIterations(), Math.round(report.getFirstBatchNanos()),
+                Math.round(report.getLastBatchNanos()), report.isConverged() ? "stable" : "not yet stable",
+                report.isUpstreamPrimed() ? "primed" : "not primed");
+    }
+
+    /**
+     * Runs the warm-up.
+     *
+     * @return the warm-up report
+     */
+    public Report warmUp() {
+        long start = System.nanoTime();
+        LogLevel previousLevel = quietLogging();
+        CompletableFuture<Void> upstream = CompletableFuture.runAsync(upstreamPrimer);
+        long iterations = 0;
+        double firstBatch = Double.NaN;
+        double lastBatch = Double.NaN;
+        int stableBatches = 0;
+        try {
+            long deadline = start + maxDuration.toNanos();
+            while (stableBatches < STABLE_BATCHES && System.nanoTime() < deadline) {
+                long batchStart = System.nanoTime();
+                for (int i = 0; i < batchSize; i++) {
+                    iterate(iterations++);
+                }
+                double batch = (double) (System.nanoTime() - batchStart) / batchSize;
+                if (Double.isNaN(firstBatch)) {
+                    firstBatch = batch;
+                } else {
+                    stableBatches = Math.abs(batch - lastBatch) <= tolerance * lastBatch ? stableBatches + 1 : 0;
+                }
+                lastBatch = batch;
+            }
+        } finally {
+            restoreLogging(previousLevel);
+        }
+        boolean upstreamPrimed = awaitUpstream(upstream, start);
+        return new Report(Duration.ofNanos(System.nanoTime() - start), iterations, firstBatch, lastBatch,
+                stableBatches >= STABLE_BATCHES, upstreamPrimed);
+    }
+
+    private void iterate(long iteration) {
+        try {
+            DiferenciasRequest request = objectMapper.readValue(requests[(int) (iteration % RATE_SETS)], DiferenciasRequest.class);
+            DiferenciasResponse response = (iteration & 1) == 0
+                    ? diferenciasService.calcularDiferencias(request)
+                    : diferenciasService.calcularDiferencias(request, "porcentaje");
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            CotizacionResponse cotizacion = objectMapper.readValue(quotation, CotizacionResponse.class);
+            sink += body.length + objectMapper.writeValueAsBytes(cotizacion).length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean awaitUpstream(CompletableFuture<Void> upstream, long start) {
+        long remaining = Math.max(0, upstreamTimeout.toNanos() - (System.nanoTime() - start));
+        try {
+            upstream.get(remaining, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("Upstream did not answer within the {} ms warm-up budget", upstreamTimeout.toMillis());
+        } catch (ExecutionException e) {
+            logger.warn("Upstream call failed during warm-up: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private LogLevel quietLogging() {
+        if (loggingSystem == null) {
+            return null;
+        }
+        LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(QUIET_LOGGER);
+        LogLevel previous = configuration != null ? configuration.getConfiguredLevel() : null;
+        loggingSystem.setLogLevel(QUIET_LOGGER, LogLevel.WARN);
+        return previous;
+    }
+
+    private void restoreLogging(LogLevel previous) {
+        if (loggingSystem != null) {
+            loggingSystem.setLogLevel(QUIET_LOGGER, previous);
+        }
+    }
+
+    private void bindMeters(Report report) {
+        TimeGauge.builder("warmup.duration", report, TimeUnit.NANOSECONDS, r -> r.getDuration().toNanos())
+                .description("Time spent warming up before accepting traffic")
+                .register(meterRegistry);
+        Gauge.builder("warmup.iterations", report, Report::getIterations)
+                .description("Synthetic iterations run during the warm-up")
+                .register(meterRegistry);
+        TimeGauge.builder("warmup.iteration.time", report, TimeUnit.NANOSECONDS, Report::getFirstBatchNanos)
+                .description("Mean time of a synthetic iteration in a warm-up batch")
+                .tag("batch", "first")
+                .register(meterRegistry);
+        TimeGauge.builder("warmup.iteration.time", report, TimeUnit.NANOSECONDS, Report::getLastBatchNanos)
+                .description("Mean time of a synthetic iteration in a warm-up batch")
+                .tag("batch", "last")
+                .register(meterRegistry);
+        Gauge.builder("warmup.converged", report, r -> r.isConverged() ? 1 : 0)
+                .description("Whether warm-up timings stabilized before the maximum duration")
+                .register(meterRegistry);
+        Gauge.builder("warmup.upstream.primed", report, r -> r.isUpstreamPrimed() ? 1 : 0)
+                .description("Whether the upstream connection was primed during the warm-up")
+                .register(meterRegistry);
+    }
+
+    private static CotizacionResponse sampleQuotation() {
+        CotizacionResponse response = new CotizacionResponse();
+        response.setOficial(rate(100.0));
+        response.setBlue(rate(200.0));
+        response.setOficialEuro(rate(110.0));
+        response.setBlueEuro(rate(220.0));
+        response.setLastUpdate("2024-01-01T12:00:00.000000-03:00");
+        return response;
+    }
+
+    private static CotizacionResponse.CotizacionData rate(double avg) {
+        CotizacionResponse.CotizacionData data = new CotizacionResponse.CotizacionData();
+        data.setValueAvg(avg);
+        data.setValueSell(avg + 0.5);
+        data.setValueBuy(avg - 0.5);
+        return data;
+    }
+
+    /**
+     * Outcome of a warm-up run.
+     */
+    public static final class Report {
+
+        private final Duration duration;
+        private final long iterations;
+        private final double firstBatchNanos;
+        private final double lastBatchNanos;
+        private final boolean converged;
+        private final boolean upstreamPrimed;
+
+        Report(Duration duration, long iterations, double firstBatchNanos, double lastBatchNanos,
+               boolean converged, boolean upstreamPrimed) {
+            this.duration = duration;
+            this.iterations = iterations;
+            this.firstBatchNanos = firstBatchNanos;
+            this.lastBatchNanos = lastBatchNanos;
+            this.converged = converged;
+            this.upstreamPrimed = upstreamPrimed;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public long getIterations() {
+            return iterations;
+        }
+
+        /**
+         * Returns the mean time of an iteration in the first batch, the cold baseline.
+         *
+         * @return the time in nanoseconds, or NaN if no batch ran
+         */
+        public double getFirstBatchNanos() {
+            return firstBatchNanos;
+        }
+
+        /**
+         * Returns the mean time of an iteration in the last batch.
+         *
+         * @return the time in nanoseconds, or NaN if no batch ran
+         */
+        public double getLastBatchNanos() {
+            return lastBatchNanos;
+        }
+
+        public boolean isConverged() {
+            return converged;
+        }
+
+        public boolean isUpstreamPrimed() {
+            return upstreamPrimed;
+        }
+    }
+}
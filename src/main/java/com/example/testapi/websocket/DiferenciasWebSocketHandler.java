@@ -0,0 +1,226 @@
+package com.example.testapi.websocket;
+
+import com.example.testapi.exception.ApiTestException;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.model.DiferenciasStreamRequest;
+import com.example.testapi.model.DiferenciasStreamResponse;
+import com.example.testapi.model.ErrorResponse;
+import com.example.testapi.service.DiferenciasService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WebSocket handler computing differences for a stream of DiferenciasStreamRequest frames.
+ * Clients may pipeline requests without waiting for answers; each answer carries the id of
+ * its request and either the differences or the error body of the REST endpoint.
+ *
+ * Each connection has a bounded queue of pending requests drained by a shared worker pool,
+ * one worker per connection at a time, so answers of a connection keep the request order.
+ * A worker answers at most DRAIN_BATCH_SIZE requests before resubmitting the drain, so a
+ * client pipelining without pause cannot hold a worker while other connections wait.
+ * A request arriving when the queue is full is answered right away with a "Too many
+ * requests" error instead of being buffered. Outgoing frames go through a bounded send
+ * buffer; a client that stops reading until the buffer overflows is disconnected.
+ */
+public class DiferenciasWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiferenciasWebSocketHandler.class);
+
+    /**
+     * Maximum number of requests a worker answers for a connection before yielding.
+     */
+    static final int DRAIN_BATCH_SIZE = 16;
+
+    private final DiferenciasService diferenciasService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimit;
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the handler.
+     *
+     * @param diferenciasService the service computing the differences
+     * @param objectMapper the mapper used to read and write frames
+     * @param executor the worker pool draining the connection queues
+     * @param maxInFlight the maximum number of pending requests per connection
+     * @param sendTimeLimitMillis the maximum time a single send may take
+     * @param sendBufferSizeLimit the maximum number of bytes buffered for a slow client
+     */
+    public DiferenciasWebSocketHandler(DiferenciasService diferenciasService, ObjectMapper objectMapper, Executor executor,
+                                       int maxInFlight, int sendTimeLimitMillis, int sendBufferSizeLimit) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight requests must be positive");
+        }
+        this.diferenciasService = diferenciasService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession concurrentSession = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis,
+                sendBufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        connections.put(session.getId(), new Connection(concurrentSession));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        DiferenciasStreamRequest frame;
+        try {
+            frame = objectMapper.readValue(message.getPayload(), DiferenciasStreamRequest.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Malformed diferencias frame: {}", e.getOriginalMessage());
+            connection.send(DiferenciasStreamResponse.error(null,
+                    ErrorResponse.of("Validation error", "Malformed frame: " + e.getOriginalMessage())));
+            return;
+        }
+        if (!connection.offer(frame)) {
+            connection.send(DiferenciasStreamResponse.error(frame.getId(), ErrorResponse.of("Too many requests",
+                    "Too many in-flight requests on this connection, max " + maxInFlight)));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = connections.remove(session.getId());
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Returns the number of open connections.
+     *
+     * @return the connection count
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private DiferenciasStreamResponse process(DiferenciasStreamRequest frame) {
+        try {
+            DiferenciasRequest request = frame.toRequest();
+            DiferenciasResponse response = frame.getFormula() == null
+                    ? diferenciasService.calcularDiferencias(request)
+                    : diferenciasService.calcularDiferencias(request, frame.getFormula());
+            return DiferenciasStreamResponse.result(frame.getId(), response);
+        } catch (ApiTestException e) {
+            logger.debug("Negative differences detected for frame {}: {}", frame.getId(), e.getMessage());
+            return DiferenciasStreamResponse.error(frame.getId(), ErrorResponse.of("Negative differences detected", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid diferencias frame {}: {}", frame.getId(), e.getMessage());
+            return DiferenciasStreamResponse.error(frame.getId(), ErrorResponse.of("Validation error", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error occurred while calculating differences for frame {}", frame.getId(), e);
+            return DiferenciasStreamResponse.error(frame.getId(),
+                    ErrorResponse.of("Internal server error", "An unexpected error occurred"));
+        }
+    }
+
+    /**
+     * Per-connection state: the pending requests and whether a worker is draining them.
+     */
+    private final class Connection {
+
+        private final WebSocketSession session;
+        private final BlockingQueue<DiferenciasStreamRequest> pending = new ArrayBlockingQueue<>(maxInFlight);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Connection(WebSocketSession session) {
+            this.session = session;
+        }
+
+        boolean offer(DiferenciasStreamRequest frame) {
+            if (!pending.offer(frame)) {
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        private void scheduleDrain() {
+            if (closed || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            submitDrain();
+        }
+
+        private void submitDrain() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                logger.warn("Diferencias WebSocket worker pool rejected a drain for session {}", session.getId());
+            }
+        }
+
+        private void drain() {
+            int processed = 0;
+            while (!closed) {
+                if (processed == DRAIN_BATCH_SIZE) {
+                    // Give the worker back to other connections; the flag stays set so the order is kept
+                    submitDrain();
+                    return;
+                }
+                DiferenciasStreamRequest frame = pending.poll();
+                if (frame == null) {
+                    draining.set(false);
+                    // A frame offered after the poll but before the flag was cleared found the flag set
+                    if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                send(process(frame));
+                processed++;
+            }
+            draining.set(false);
+        }
+
+        void send(DiferenciasStreamResponse response) {
+            if (closed) {
+                return;
+            }
+            try {
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            } catch (IOException | RuntimeException e) {
+                // The decorator closes the session itself when the send buffer or time limit is exceeded
+                logger.warn("Could not send diferencias frame on session {}: {}", session.getId(), e.getMessage());
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+        }
+    }
+}
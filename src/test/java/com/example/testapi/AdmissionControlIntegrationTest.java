@@ -0,0 +1,95 @@
+package com.example.testapi;
+
+import com.example.testapi.admission.QueueTimingExecutor;
+import com.example.testapi.service.CotizacionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for admission control on the embedded server.
+ * This class enables rate limiting with a small burst on /api/v1/pedido and verifies the
+ * responses seen by real HTTP clients, as well as the queue-delay load shedding wiring.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "admission.rate-limit.enabled=true",
+        "admission.rate-limit.api-keys=burst-client,other-client,metrics-client",
+        "admission.rate-limit.endpoints.[/api/v1/pedido].requests-per-second=0.1",
+        "admission.rate-limit.endpoints.[/api/v1/pedido].burst=3"
+})
+@ActiveProfiles("test")
+@DisplayName("Admission Control Integration Tests")
+class AdmissionControlIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private CotizacionService cotizacionService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once a client exceeds its burst")
+    void getPedido_BeyondBurst_ShouldReturnTooManyRequests() throws Exception {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send("burst-client").statusCode(), "Request " + i + " should be within the burst");
+        }
+        HttpResponse<String> rejected = send("burst-client");
+
+        // Then
+        assertEquals(429, rejected.statusCode(), "Status should be TOO_MANY_REQUESTS");
+        assertTrue(rejected.headers().firstValue("Retry-After").isPresent(), "Retry-After should be set");
+        assertTrue(rejected.body().contains("Too many requests"));
+        assertEquals(200, send("other-client").statusCode(), "Other clients should still be served");
+    }
+
+    @Test
+    @DisplayName("Should measure queue delay of requests served by the Tomcat connector")
+    void connector_ShouldUseQueueTimingExecutor() throws Exception {
+        // Given
+        TomcatWebServer webServer = (TomcatWebServer) applicationContext.getWebServer();
+        long before = meterRegistry.get("admission.queue.delay").summary().count();
+
+        // When
+        send("metrics-client");
+
+        // Then
+        assertInstanceOf(QueueTimingExecutor.class,
+                webServer.getTomcat().getConnector().getProtocolHandler().getExecutor(),
+                "Connector should run requests on the queue timing executor");
+        assertEquals(before + 1, meterRegistry.get("admission.queue.delay").summary().count(),
+                "Queue delay should be recorded for each request");
+        assertEquals(0.0, meterRegistry.get("admission.shed").tag("priority", "low").counter().count(),
+                "Requests should not be shed without load");
+    }
+
+    private HttpResponse<String> send(String apiKey) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/pedido"))
+                .header("X-API-Key", apiKey)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
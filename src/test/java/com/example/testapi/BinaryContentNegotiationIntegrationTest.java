@@ -0,0 +1,193 @@
+package com.example.testapi;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.model.ErrorResponse;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the binary (Smile and CBOR) content negotiation.
+ * This class verifies that the diferencias and cotizacion endpoints accept and produce
+ * the binary formats when asked to, and that they are smaller than the JSON payloads.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Binary Content Negotiation Integration Tests")
+class BinaryContentNegotiationIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryContentNegotiationIntegrationTest.class);
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper smileMapper = new SmileMapper();
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CotizacionService cotizacionService;
+
+    private MockMvc mockMvc;
+
+    private DiferenciasRequest request;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        when(cotizacionService.obtenerSnapshot())
+                .thenReturn(new QuotationSnapshot(createMockCotizacionResponse(), Instant.now()));
+        request = DiferenciasRequest.builder()
+                .addCrypto(940.12, 945.5, 935.25)
+                .addMep(1250.37, 1260.0, 1240.75)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should accept and produce Smile for POST /api/v1/diferencias")
+    void postDiferencias_WithSmile_ShouldReturnSmileResponse() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/diferencias")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        // Then
+        DiferenciasResponse response = smileMapper.readValue(result.getResponse().getContentAsByteArray(),
+                DiferenciasResponse.class);
+        assertEquals(310.25, response.getDiferenciaAvg(), 1e-9, "Average difference should be MEP - crypto");
+        assertEquals(305.5, response.getDiferenciaBuy(), 1e-9, "Buy difference should be MEP - crypto");
+    }
+
+    @Test
+    @DisplayName("Should accept and produce CBOR for POST /api/v1/diferencias")
+    void postDiferencias_WithCbor_ShouldReturnCborResponse() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/diferencias")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Then
+        DiferenciasResponse response = cborMapper.readValue(result.getResponse().getContentAsByteArray(),
+                DiferenciasResponse.class);
+        assertEquals(314.5, response.getDiferenciaSell(), 1e-9, "Sell difference should be MEP - crypto");
+    }
+
+    @Test
+    @DisplayName("Should produce Smile and CBOR for GET /api/v1/cotizacion, smaller than JSON")
+    void getCotizacion_WithBinaryAccept_ShouldReturnSmallerPayloads() throws Exception {
+        // When
+        byte[] json = fetchCotizacion(MediaType.APPLICATION_JSON);
+        byte[] smile = fetchCotizacion(SMILE);
+        byte[] cbor = fetchCotizacion(MediaType.APPLICATION_CBOR);
+
+        logger.info("Bytes per /cotizacion response - json: {}, smile: {}, cbor: {}", json.length, smile.length, cbor.length);
+
+        // Then
+        CotizacionResponse expected = objectMapper.readValue(json, CotizacionResponse.class);
+        assertEquals(expected, smileMapper.readValue(smile, CotizacionResponse.class), "Smile payload should decode to the same response");
+        assertEquals(expected, cborMapper.readValue(cbor, CotizacionResponse.class), "CBOR payload should decode to the same response");
+        assertTrue(smile.length < json.length, "Smile payload should be smaller than JSON");
+        assertTrue(cbor.length < json.length, "CBOR payload should be smaller than JSON");
+    }
+
+    @Test
+    @DisplayName("Should keep answering JSON when no binary format is requested")
+    void getCotizacion_WithoutAccept_ShouldReturnJson() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/cotizacion"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should report validation errors of a Smile request with the JSON error body")
+    void postDiferencias_WithInvalidSmileRequest_ShouldReturnJsonError() throws Exception {
+        // Given
+        DiferenciasRequest invalid = DiferenciasRequest.builder().addCrypto(940.0, 945.0, 935.0).build();
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/diferencias")
+                        .contentType(SMILE)
+                        .accept(SMILE, MediaType.APPLICATION_JSON)
+                        .content(smileMapper.writeValueAsBytes(invalid)))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        // Then
+        ErrorResponse error = objectMapper.readValue(result.getResponse().getContentAsByteArray(), ErrorResponse.class);
+        assertEquals("Validation error", error.getError());
+        assertEquals("MEP data is required", error.getMessage());
+    }
+
+    private byte[] fetchCotizacion(MediaType accept) throws Exception {
+        return mockMvc.perform(get("/api/v1/cotizacion").accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(accept))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    /**
+     * Creates a mock CotizacionResponse for testing purposes.
+     *
+     * @return a mock CotizacionResponse object
+     */
+    private CotizacionResponse createMockCotizacionResponse() {
+        CotizacionResponse response = new CotizacionResponse();
+        response.setOficial(data(100.0, 99.5, 100.5));
+        response.setBlue(data(200.0, 199.5, 200.5));
+        response.setOficialEuro(data(110.0, 109.5, 110.5));
+        response.setBlueEuro(data(220.0, 219.5, 220.5));
+        response.setLastUpdate("2024-01-01T12:00:00Z");
+        return response;
+    }
+
+    private CotizacionResponse.CotizacionData data(double avg, double buy, double sell) {
+        CotizacionResponse.CotizacionData data = new CotizacionResponse.CotizacionData();
+        data.setValueAvg(avg);
+        data.setValueBuy(buy);
+        data.setValueSell(sell);
+        return data;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.testapi;
+
+import com.example.testapi.cluster.ClusterQuotationPoller;
+import com.example.testapi.cluster.LeaderElector;
+import com.example.testapi.cluster.LeaseTableLeaderElector;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.JdbcQuotationSnapshotStore;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for cluster mode on the H2 test database.
+ * This class checks that the lease elector is chosen for a non-PostgreSQL URL and that the
+ * started poller leads and shares the quotation through the database.
+ */
+@SpringBootTest(properties = {
+        "cotizacion.cluster.enabled=true",
+        "cotizacion.cluster.poll-interval=100ms"
+})
+@ActiveProfiles("test")
+@DisplayName("Cluster Mode Integration Tests")
+class ClusterModeIntegrationTest {
+
+    @MockBean
+    private CotizacionService cotizacionService;
+
+    @Autowired
+    private LeaderElector leaderElector;
+
+    @Autowired
+    private ClusterQuotationPoller clusterQuotationPoller;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should lead through the lease table and share the quotation")
+    void startup_WithClusterMode_ShouldLeadAndShareQuotation() {
+        // Given
+        CotizacionResponse response = new CotizacionResponse();
+        response.setLastUpdate("2024-01-01T12:00:00Z");
+        when(cotizacionService.actualizarCotizacion()).thenReturn(new QuotationSnapshot(response, Instant.now()));
+
+        // When: polls run from the start of the context, the mock answers once stubbed
+        verify(cotizacionService, timeout(5000).atLeastOnce()).actualizarCotizacion();
+        JdbcQuotationSnapshotStore sharedStore = new JdbcQuotationSnapshotStore(jdbcTemplate, objectMapper);
+        Optional<QuotationSnapshot> shared = sharedStore.load();
+        for (long waited = 0; shared.isEmpty() && waited < 5000; waited += 10) {
+            sleep();
+            shared = sharedStore.load();
+        }
+
+        // Then
+        assertInstanceOf(LeaseTableLeaderElector.class, leaderElector);
+        assertTrue(clusterQuotationPoller.isRunning());
+        assertTrue(clusterQuotationPoller.isLeader());
+        assertTrue(shared.isPresent(), "The leader should share its quotation through the database");
+        assertEquals("2024-01-01T12:00:00Z", shared.get().getCotizacion().getLastUpdate());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
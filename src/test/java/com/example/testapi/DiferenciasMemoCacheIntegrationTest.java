@@ -0,0 +1,76 @@
+package com.example.testapi;
+
+import com.example.testapi.model.DiferenciasRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the diferencias memo cache.
+ * This class enables the cache and checks that repeated requests are answered from it
+ * and counted in the hit rate meters.
+ */
+@SpringBootTest(properties = "diferencias.cache.enabled=true")
+@ActiveProfiles("test")
+@DisplayName("Diferencias Memo Cache Integration Tests")
+class DiferenciasMemoCacheIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should answer repeated requests from the cache and report the hit ratio")
+    void postDiferencias_WithRepeatedRates_ShouldHitCache() throws Exception {
+        // Given
+        String valid = objectMapper.writeValueAsString(DiferenciasRequest.builder()
+                .addCrypto(940.0, 945.0, 935.0)
+                .addMep(1250.0, 1260.0, 1240.0)
+                .build());
+        String negative = objectMapper.writeValueAsString(DiferenciasRequest.builder()
+                .addCrypto(1250.0, 1260.0, 1240.0)
+                .addMep(940.0, 945.0, 935.0)
+                .build());
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/diferencias").contentType(MediaType.APPLICATION_JSON).content(valid))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.diferencia_avg").value(310.0));
+            mockMvc.perform(post("/api/v1/diferencias").contentType(MediaType.APPLICATION_JSON).content(negative))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Negative differences detected"));
+        }
+
+        // Then
+        assertEquals(4.0, meterRegistry.get("diferencias.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("diferencias.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(4.0 / 6.0, meterRegistry.get("diferencias.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.testapi;
+
+import com.example.testapi.model.DiferenciasStreamResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the streaming diferencias WebSocket.
+ * This class connects a real WebSocket client to the embedded server and pipelines
+ * requests on a single connection.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Diferencias WebSocket Integration Tests")
+class DiferenciasWebSocketIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiferenciasWebSocketIntegrationTest.class);
+
+    private static final int PIPELINED_REQUESTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    private WebSocketSession session;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (session != null && session.isOpen()) {
+            session.close(CloseStatus.NORMAL);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer pipelined requests on one connection, correlated by id")
+    void stream_WithPipelinedRequests_ShouldAnswerEveryRequest() throws Exception {
+        // Given
+        session = connect();
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < PIPELINED_REQUESTS; i++) {
+            session.sendMessage(new TextMessage(frame(Integer.toString(i), 940.0 + i, 1250.0)));
+        }
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < PIPELINED_REQUESTS; i++) {
+            String payload = received.poll(10, TimeUnit.SECONDS);
+            assertNotNull(payload, "Every request should be answered");
+            DiferenciasStreamResponse response = objectMapper.readValue(payload, DiferenciasStreamResponse.class);
+            assertNotNull(response.getResult(), "Request " + response.getId() + " should succeed");
+            assertEquals(310.0 - Integer.parseInt(response.getId()), response.getResult().getDiferenciaAvg(), 1e-9,
+                    "Answer should match the request with the same id");
+            ids.add(response.getId());
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        logger.info("{} pipelined diferencias requests answered in {} us ({} us per request)",
+                PIPELINED_REQUESTS, elapsedMicros, elapsedMicros / PIPELINED_REQUESTS);
+
+        // Then
+        assertEquals(PIPELINED_REQUESTS, ids.size(), "Each id should be answered once");
+    }
+
+    @Test
+    @DisplayName("Should answer an invalid request with an error frame and keep the connection open")
+    void stream_WithInvalidRequest_ShouldAnswerErrorAndStayOpen() throws Exception {
+        // Given
+        session = connect();
+
+        // When
+        session.sendMessage(new TextMessage(frame("bad", 1250.0, 940.0)));
+        DiferenciasStreamResponse error = objectMapper.readValue(received.poll(10, TimeUnit.SECONDS),
+                DiferenciasStreamResponse.class);
+        session.sendMessage(new TextMessage(frame("good", 940.0, 1250.0)));
+        DiferenciasStreamResponse result = objectMapper.readValue(received.poll(10, TimeUnit.SECONDS),
+                DiferenciasStreamResponse.class);
+
+        // Then
+        assertEquals("bad", error.getId());
+        assertEquals("Negative differences detected", error.getError().getError());
+        assertNotNull(error.getError().getTimestamp(), "Error frames should carry the timestamp");
+        assertEquals("good", result.getId());
+        assertEquals(310.0, result.getResult().getDiferenciaAvg(), 1e-9);
+        assertTrue(session.isOpen(), "Errors should not close the connection");
+    }
+
+    private WebSocketSession connect() throws Exception {
+        return new StandardWebSocketClient()
+                .execute(new TextWebSocketHandler() {
+                    @Override
+                    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                        received.add(message.getPayload());
+                    }
+                }, "ws://localhost:" + port + "/api/v1/diferencias/stream")
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private String frame(String id, double crypto, double mep) {
+        return String.format(Locale.ROOT, "{\"id\":\"%s\",\"rates\":{"
+                        + "\"crypto\":{\"value_avg\":%s,\"value_sell\":%s,\"value_buy\":%s},"
+                        + "\"mep\":{\"value_avg\":%s,\"value_sell\":%s,\"value_buy\":%s}}}",
+                id, crypto, crypto + 5, crypto - 5, mep, mep + 5, mep - 5);
+    }
+}
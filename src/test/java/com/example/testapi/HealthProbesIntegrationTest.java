@@ -0,0 +1,105 @@
+package com.example.testapi;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the liveness and readiness probes.
+ * This class checks which indicators each probe group includes and that a stale quotation
+ * takes the instance out of readiness without failing liveness. Indicator details are only
+ * shown to an authenticated caller.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Health Probes Integration Tests")
+class HealthProbesIntegrationTest {
+
+    private static final Principal OPERATOR = () -> "operator";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockBean
+    private CotizacionService cotizacionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should report ready with the quotation, pool and queue indicators")
+    void readiness_WithRecentQuotation_ShouldBeUp() throws Exception {
+        // Given
+        givenQuotationRetrievedAgo(Duration.ofSeconds(5));
+
+        // When & Then
+        mockMvc.perform(get("/actuator/health/readiness").principal(OPERATOR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.readinessState.status").value("UP"))
+                .andExpect(jsonPath("$.components.cotizacionFreshness.status").value("UP"))
+                .andExpect(jsonPath("$.components.upstreamPool.status").value("UP"))
+                .andExpect(jsonPath("$.components.requestQueue").exists())
+                .andExpect(jsonPath("$.components.dbPool").exists());
+    }
+
+    @Test
+    @DisplayName("Should refuse readiness but stay live when the quotation is stale")
+    void probes_WithStaleQuotation_ShouldFailReadinessOnly() throws Exception {
+        // Given
+        givenQuotationRetrievedAgo(Duration.ofHours(1));
+
+        // When & Then
+        mockMvc.perform(get("/actuator/health/readiness").principal(OPERATOR))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("DOWN"))
+                .andExpect(jsonPath("$.components.cotizacionFreshness.status").value("DOWN"));
+        mockMvc.perform(get("/actuator/health/liveness").principal(OPERATOR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.cotizacionFreshness").doesNotExist());
+        verify(cotizacionService, atLeastOnce()).refreshInBackground();
+    }
+
+    @Test
+    @DisplayName("Should report only the status to unauthenticated callers")
+    void readiness_WithoutPrincipal_ShouldHideDetails() throws Exception {
+        // Given
+        givenQuotationRetrievedAgo(Duration.ofHours(1));
+
+        // When & Then
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("DOWN"))
+                .andExpect(jsonPath("$.components").doesNotExist());
+    }
+
+    private void givenQuotationRetrievedAgo(Duration age) {
+        QuotationSnapshot snapshot = new QuotationSnapshot(new CotizacionResponse(), Instant.now().minus(age));
+        when(cotizacionService.getLatestSnapshot()).thenReturn(Optional.of(snapshot));
+    }
+}
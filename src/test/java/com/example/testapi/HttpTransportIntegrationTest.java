@@ -0,0 +1,186 @@
+package com.example.testapi;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the HTTP transport settings of the embedded server.
+ * This class verifies response compression and HTTP/2 cleartext (h2c) support
+ * against a real Tomcat listening on a random port.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("HTTP Transport Integration Tests")
+class HttpTransportIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpTransportIntegrationTest.class);
+
+    private static final int SAMPLE_REQUESTS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CotizacionService cotizacionService;
+
+    private HttpClient http1Client;
+
+    @BeforeEach
+    void setUp() {
+        when(cotizacionService.obtenerSnapshot())
+                .thenReturn(new QuotationSnapshot(createMockCotizacionResponse(), Instant.now()));
+        http1Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Test
+    @DisplayName("Should gzip cotizacion response when client accepts gzip")
+    void getCotizacion_WithAcceptEncodingGzip_ShouldReturnCompressedBody() throws Exception {
+        // When
+        HttpResponse<byte[]> response = http1Client.send(cotizacionRequest("gzip"),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(200, response.statusCode(), "Status should be OK");
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null),
+                "Response should be gzip encoded");
+
+        CotizacionResponse body = objectMapper.readValue(gunzip(response.body()), CotizacionResponse.class);
+        assertEquals("2024-01-01T12:00:00Z", body.getLastUpdate(), "Decompressed body should be intact");
+    }
+
+    @Test
+    @DisplayName("Should not compress response when client does not accept gzip")
+    void getCotizacion_WithoutAcceptEncoding_ShouldReturnIdentityBody() throws Exception {
+        // When
+        HttpResponse<byte[]> response = http1Client.send(cotizacionRequest(null),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(200, response.statusCode(), "Status should be OK");
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty(),
+                "Response should not be encoded");
+    }
+
+    @Test
+    @DisplayName("Should transfer fewer bytes on the wire with compression enabled")
+    void getCotizacion_WithCompression_ShouldReduceBytesOnWire() throws Exception {
+        // When
+        long identityBytes = 0;
+        long gzipBytes = 0;
+        long identityNanos = 0;
+        long gzipNanos = 0;
+        for (int i = 0; i < SAMPLE_REQUESTS; i++) {
+            long start = System.nanoTime();
+            identityBytes += http1Client.send(cotizacionRequest(null), HttpResponse.BodyHandlers.ofByteArray()).body().length;
+            identityNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            gzipBytes += http1Client.send(cotizacionRequest("gzip"), HttpResponse.BodyHandlers.ofByteArray()).body().length;
+            gzipNanos += System.nanoTime() - start;
+        }
+
+        logger.info("Bytes per /cotizacion response - identity: {}, gzip: {} ({}% saved); mean latency identity: {} us, gzip: {} us",
+                identityBytes / SAMPLE_REQUESTS, gzipBytes / SAMPLE_REQUESTS,
+                100 - (gzipBytes * 100 / identityBytes),
+                identityNanos / SAMPLE_REQUESTS / 1_000, gzipNanos / SAMPLE_REQUESTS / 1_000);
+
+        // Then
+        assertTrue(gzipBytes < identityBytes, "Compressed responses should be smaller than identity responses");
+    }
+
+    @Test
+    @DisplayName("Should upgrade plain HTTP connections to HTTP/2 (h2c)")
+    void getPedido_WithHttp2Client_ShouldNegotiateH2c() throws Exception {
+        // Given
+        HttpClient http2Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/pedido")).GET().build();
+
+        // When
+        HttpResponse<String> response = http2Client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, response.statusCode(), "Status should be OK");
+        assertEquals(HttpClient.Version.HTTP_2, response.version(), "Connection should be upgraded to HTTP/2");
+        assertTrue(response.body().contains("El pedido fue procesado"));
+    }
+
+    private HttpRequest cotizacionRequest(String acceptEncoding) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/cotizacion"))
+                .header("Accept", "application/json")
+                .GET();
+        if (acceptEncoding != null) {
+            builder.header("Accept-Encoding", acceptEncoding);
+        }
+        return builder.build();
+    }
+
+    private byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Creates a mock CotizacionResponse for testing purposes.
+     *
+     * @return a mock CotizacionResponse object
+     */
+    private CotizacionResponse createMockCotizacionResponse() {
+        CotizacionResponse response = new CotizacionResponse();
+
+        CotizacionResponse.CotizacionData oficial = new CotizacionResponse.CotizacionData();
+        oficial.setValueAvg(100.0);
+        oficial.setValueBuy(99.5);
+        oficial.setValueSell(100.5);
+
+        CotizacionResponse.CotizacionData blue = new CotizacionResponse.CotizacionData();
+        blue.setValueAvg(200.0);
+        blue.setValueBuy(199.5);
+        blue.setValueSell(200.5);
+
+        CotizacionResponse.CotizacionData oficialEuro = new CotizacionResponse.CotizacionData();
+        oficialEuro.setValueAvg(110.0);
+        oficialEuro.setValueBuy(109.5);
+        oficialEuro.setValueSell(110.5);
+
+        CotizacionResponse.CotizacionData blueEuro = new CotizacionResponse.CotizacionData();
+        blueEuro.setValueAvg(220.0);
+        blueEuro.setValueBuy(219.5);
+        blueEuro.setValueSell(220.5);
+
+        response.setOficial(oficial);
+        response.setBlue(blue);
+        response.setOficialEuro(oficialEuro);
+        response.setBlueEuro(blueEuro);
+        response.setLastUpdate("2024-01-01T12:00:00Z");
+
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.testapi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup tests for the "lean" production profile.
+ * This class boots the application the way a freshly scheduled pod would and
+ * records how long it takes until the context is ready to serve traffic.
+ */
+@DisplayName("Lean Profile Startup Tests")
+class LeanStartupTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeanStartupTest.class);
+
+    /**
+     * Upper bound for a lean startup on a shared CI runner. Typical values are well below one
+     * third of this; the bound only exists to catch regressions such as a re-enabled JPA bootstrap.
+     */
+    private static final Duration MAX_STARTUP_TIME = Duration.ofSeconds(20);
+
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should start within the startup budget with the lean profile")
+    void leanProfile_ShouldStartWithinBudget() {
+        // When
+        long start = System.nanoTime();
+        context = startLean();
+        Duration startupTime = Duration.ofNanos(System.nanoTime() - start);
+
+        logger.info("Lean profile started in {} ms", startupTime.toMillis());
+
+        // Then
+        assertTrue(context.isActive(), "Application context should be active");
+        assertTrue(startupTime.compareTo(MAX_STARTUP_TIME) < 0,
+                "Lean startup took " + startupTime.toMillis() + " ms, budget is " + MAX_STARTUP_TIME.toMillis() + " ms");
+    }
+
+    @Test
+    @DisplayName("Should not bootstrap a DataSource with the lean profile")
+    void leanProfile_ShouldNotCreateDataSource() {
+        // When
+        context = startLean();
+
+        // Then
+        assertEquals(0, context.getBeanNamesForType(DataSource.class).length,
+                "No DataSource should be configured in the lean profile");
+    }
+
+    @Test
+    @DisplayName("Should initialize application beans lazily with the lean profile")
+    void leanProfile_ShouldUseLazyInitialization() {
+        // When
+        context = startLean();
+
+        // Then
+        assertTrue(context.getBeanFactory().getBeanDefinition("diferenciasService").isLazyInit(),
+                "Service beans should be lazily initialized");
+    }
+
+    private ConfigurableApplicationContext startLean() {
+        return new SpringApplicationBuilder(TestApiApplication.class)
+                .profiles("lean")
+                .properties("server.port=0", "grpc.server.port=0")
+                .run();
+    }
+}
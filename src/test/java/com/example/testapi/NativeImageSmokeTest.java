@@ -0,0 +1,133 @@
+package com.example.testapi;
+
+import com.example.testapi.support.BluelyticsStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test for the GraalVM native image.
+ * Runs the binary built by {@code mvn -Pnative native:compile} against a local Bluelytics
+ * stub and records the time until the first successful quotation and the resident set size.
+ *
+ * Run with: {@code mvn test -Dtest=NativeImageSmokeTest -Dnative.binary=target/test-api}
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+@DisplayName("Native Image Smoke Tests")
+class NativeImageSmokeTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeImageSmokeTest.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final long maxStartupMillis = Long.getLong("native.max-startup-ms", 1_000);
+    private final long maxRssKb = Long.getLong("native.max-rss-mb", 192) * 1024;
+
+    private BluelyticsStubServer stub;
+    private Process process;
+    private Path logFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = BluelyticsStubServer.start();
+        logFile = Files.createTempFile("test-api-native", ".log");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Should serve a quotation from the stub within the startup and RSS budgets")
+    void nativeBinary_ShouldStartQuicklyWithSmallFootprint() throws Exception {
+        // Given
+        int port = freePort();
+        ProcessBuilder builder = new ProcessBuilder(List.of(
+                new File(System.getProperty("native.binary")).getAbsolutePath(),
+                "--server.port=" + port,
+                "--spring.profiles.active=lean"))
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        builder.environment().put("BLUELYTICS_API_URL", stub.latestUrl());
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/cotizacion")).build();
+
+        // When
+        long start = System.nanoTime();
+        process = builder.start();
+        HttpResponse<String> response = awaitFirstResponse(client, request);
+        long startupMillis = (System.nanoTime() - start) / 1_000_000;
+        long rssKb = residentSetSizeKb(process.pid());
+
+        logger.info("Native image served first quotation after {} ms, RSS {} MB", startupMillis, rssKb / 1024);
+
+        // Then
+        assertEquals(200, response.statusCode(), "First quotation should succeed; see " + logFile);
+        assertTrue(response.body().contains("\"last_update\""), "Quotation should come from the stub");
+        assertTrue(stub.getRequestCount() > 0, "Stub should have been called");
+        assertTrue(startupMillis <= maxStartupMillis,
+                "Startup took " + startupMillis + " ms, budget is " + maxStartupMillis + " ms");
+        if (rssKb > 0) {
+            assertTrue(rssKb <= maxRssKb, "RSS is " + rssKb + " kB, budget is " + maxRssKb + " kB");
+        }
+    }
+
+    private HttpResponse<String> awaitFirstResponse(HttpClient client, HttpRequest request) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "Native binary exited early; see " + logFile);
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                Thread.sleep(5);
+            }
+        }
+        throw new AssertionError("Native binary did not accept connections within " + STARTUP_TIMEOUT);
+    }
+
+    /**
+     * Reads VmRSS from procfs. Returns 0 when procfs is not available (non-Linux hosts).
+     */
+    private long residentSetSizeKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.replaceAll("\\D", ""))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(0);
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.testapi;
+
+import com.example.testapi.cache.RedisSharedQuotationCache;
+import com.example.testapi.cache.SharedQuotationCache;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.support.BluelyticsStubServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Redis shared cache.
+ * No Redis server runs during the tests, so this class checks that an unreachable server
+ * neither prevents the start nor fails requests: the cache behaves as empty, and the local
+ * first level still spares upstream calls.
+ */
+@SpringBootTest(properties = {
+        "cotizacion.shared-cache.type=redis",
+        "spring.data.redis.port=1",
+        "cotizacion.shared-cache.recovery-interval=1h"
+})
+@ActiveProfiles("test")
+@DisplayName("Shared Cache Integration Tests")
+class SharedCacheIntegrationTest {
+
+    @Autowired
+    private SharedQuotationCache sharedCache;
+
+    @Autowired
+    private CotizacionService cotizacionService;
+
+    @Test
+    @DisplayName("Should start and fall back to the upstream when Redis is unreachable")
+    void startup_WithRedisDown_ShouldBehaveAsEmptyCache() {
+        // Then
+        RedisSharedQuotationCache redisCache = assertInstanceOf(RedisSharedQuotationCache.class, sharedCache);
+        assertTrue(redisCache.isRunning());
+        assertFalse(redisCache.isSubscribed());
+        assertTrue(sharedCache.get().isEmpty());
+        assertTrue(sharedCache.tryLockRefresh(), "Every instance should refresh on its own without Redis");
+    }
+
+    @Test
+    @DisplayName("Should enable the local first level with the shared cache")
+    void obtenerSnapshot_WithSharedCache_ShouldServeFromLocalFirstLevel() throws IOException {
+        // Given
+        try (BluelyticsStubServer stub = BluelyticsStubServer.start()) {
+            cotizacionService.setBluelyticsApiUrl(stub.latestUrl());
+            long servedBefore = cotizacionService.getLocalCacheServedCount();
+
+            // When
+            cotizacionService.obtenerSnapshot();
+            cotizacionService.obtenerSnapshot();
+
+            // Then
+            assertEquals(1, stub.getRequestCount(), "The second request should be served locally");
+            assertEquals(servedBefore + 1, cotizacionService.getLocalCacheServedCount());
+        }
+    }
+}
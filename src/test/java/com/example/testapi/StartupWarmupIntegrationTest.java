@@ -0,0 +1,86 @@
+package com.example.testapi;
+
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.service.EstadisticasService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the startup warm-up.
+ * This class boots the application with the warm-up enabled and checks that readiness is
+ * only accepting traffic once the warm-up has finished, and that its meters are recorded.
+ */
+@SpringBootTest(properties = {"warmup.enabled=true", "warmup.max-duration=500ms", "warmup.upstream-timeout=500ms"})
+@ActiveProfiles("test")
+@DisplayName("Startup Warm-up Integration Tests")
+class StartupWarmupIntegrationTest {
+
+    private static final AtomicReference<ReadinessState> readinessAfterWarmup = new AtomicReference<>();
+
+    @MockBean
+    private CotizacionService cotizacionService;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EstadisticasService estadisticasService;
+
+    @TestConfiguration
+    static class ReadinessProbeConfig {
+
+        /**
+         * Records the readiness state right after the warm-up, before startup completes.
+         */
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+        ApplicationRunner readinessRecorder(ApplicationAvailability applicationAvailability) {
+            return args -> readinessAfterWarmup.set(applicationAvailability.getReadinessState());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse traffic until the warm-up has run, then accept it")
+    void startup_WithWarmupEnabled_ShouldFlipReadinessAfterWarmup() {
+        // Then
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, readinessAfterWarmup.get(),
+                "Readiness should still refuse traffic when the warm-up finishes");
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState(),
+                "Readiness should accept traffic once startup completes");
+        verify(cotizacionService).actualizarCotizacion();
+    }
+
+    @Test
+    @DisplayName("Should record the warm-up meters without feeding synthetic spreads to the statistics")
+    void startup_WithWarmupEnabled_ShouldRecordMetersOnly() {
+        // Then
+        assertTrue(meterRegistry.get("warmup.duration").timeGauge().value(TimeUnit.MILLISECONDS) > 0);
+        assertTrue(meterRegistry.get("warmup.iterations").gauge().value() > 0);
+        assertEquals(1.0, meterRegistry.get("warmup.upstream.primed").gauge().value());
+        assertTrue(estadisticasService.obtenerEstadisticas().getVentanas().values().stream()
+                        .flatMap(window -> window.values().stream())
+                        .allMatch(estadistica -> estadistica.getCount() == 0),
+                "Synthetic requests should not reach the statistics");
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.testapi;
 
+import com.example.testapi.exception.UpstreamException;
 import com.example.testapi.model.CotizacionResponse;
 import com.example.testapi.model.DiferenciasRequest;
 import com.example.testapi.model.DiferenciasResponse;
 import com.example.testapi.model.PedidoResponse;
 import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.Instant;
 import java.util.Map;
 
 import static org.mockito.Mockito.when;
@@ -52,7 +55,7 @@ class TestApiApplicationIntegrationTest {
         
         // Setup mock for CotizacionService
         CotizacionResponse mockResponse = createMockCotizacionResponse();
-        when(cotizacionService.obtenerCotizacion()).thenReturn(mockResponse);
+        when(cotizacionService.obtenerSnapshot()).thenReturn(new QuotationSnapshot(mockResponse, Instant.now()));
     }
 
     @Test
@@ -78,6 +81,47 @@ class TestApiApplicationIntegrationTest {
                 .andExpect(jsonPath("$.last_update").exists());
     }
 
+    @Test
+    @DisplayName("Should return service unavailable when the external API fails")
+    void getCotizacion_WhenUpstreamFails_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(cotizacionService.obtenerSnapshot())
+                .thenThrow(new UpstreamException("Error retrieving exchange rate data from external API"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/cotizacion"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Upstream unavailable"))
+                .andExpect(jsonPath("$.message").value("Error retrieving exchange rate data from external API"))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @Test
+    @DisplayName("Should mark a quotation served from a snapshot with Age and stale headers")
+    void getCotizacion_WhenServedFromSnapshot_ShouldReturnStaleHeaders() throws Exception {
+        // Given
+        when(cotizacionService.obtenerSnapshot()).thenReturn(
+                new QuotationSnapshot(createMockCotizacionResponse(), Instant.now().minusSeconds(90)).asStale());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/cotizacion"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cotizacion-Stale", "true"))
+                .andExpect(header().string("Age", "90"))
+                .andExpect(jsonPath("$.last_update").exists());
+    }
+
+    @Test
+    @DisplayName("Should not add stale headers to a live quotation")
+    void getCotizacion_WhenLive_ShouldNotReturnStaleHeaders() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/cotizacion"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Cotizacion-Stale"))
+                .andExpect(header().doesNotExist("Age"));
+    }
+
     @Test
     @DisplayName("Should handle non-existent endpoint")
     void getNonExistentEndpoint_ShouldReturnNotFound() throws Exception {
@@ -244,6 +288,18 @@ class TestApiApplicationIntegrationTest {
                 .andExpect(status().isMethodNotAllowed());
     }
 
+    @Test
+    @DisplayName("Should return the API error body and Allow header for an unsupported method")
+    void deletePedido_ShouldReturnMethodNotAllowedErrorBody() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/v1/pedido"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().string("Allow", "GET"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Method Not Allowed"))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
     @Test
     @DisplayName("Should return method not allowed for GET to /api/v1/diferencias")
     void getDiferencias_ShouldReturnMethodNotAllowed() throws Exception {
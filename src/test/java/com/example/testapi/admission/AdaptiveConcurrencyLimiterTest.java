@@ -0,0 +1,100 @@
+package com.example.testapi.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ * This class verifies admission against the limit and the AIMD adjustment driven by latency.
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    @DisplayName("Should shed requests once the limit is in flight")
+    void tryAcquire_AtLimit_ShouldReject() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0.5);
+
+        // When & Then
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire(), "Third request should be shed");
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire(), "Released slot should be reusable");
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should increase the limit additively while latency is stable")
+    void release_WithStableLatency_ShouldIncreaseLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100, 2.0, 0.5);
+
+        // When
+        complete(limiter, 4, FAST);
+
+        // Then
+        assertEquals(5, limiter.getLimit(), "One full window of healthy requests should add one slot");
+    }
+
+    @Test
+    @DisplayName("Should decrease the limit multiplicatively when latency climbs")
+    void release_WithRisingLatency_ShouldDecreaseLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 1, 100, 2.0, 0.5);
+        complete(limiter, 40, FAST);
+        int before = limiter.getLimit();
+
+        // When
+        complete(limiter, before, SLOW);
+
+        // Then
+        assertEquals(before / 2, limiter.getLimit(), "Latency beyond tolerance should halve the limit");
+    }
+
+    @Test
+    @DisplayName("Should keep the limit within the configured bounds")
+    void release_ShouldRespectBounds() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 2, 4, 2.0, 0.5);
+
+        // When
+        complete(limiter, 100, FAST);
+
+        // Then
+        assertEquals(4, limiter.getLimit(), "Limit should not exceed the maximum");
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            complete(limiter, limiter.getLimit(), SLOW * (i + 2));
+        }
+
+        // Then
+        assertEquals(2, limiter.getLimit(), "Limit should not drop below the minimum");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void constructor_WithInvalidSettings_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 0, 10, 2.0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 5, 4, 2.0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 1, 10, 0.5, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 1, 10, 2.0, 1.0));
+    }
+
+    private void complete(AdaptiveConcurrencyLimiter limiter, int requests, long latencyNanos) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(latencyNanos);
+        }
+    }
+}
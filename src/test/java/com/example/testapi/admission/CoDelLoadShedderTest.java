@@ -0,0 +1,81 @@
+package com.example.testapi.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CoDelLoadShedder.
+ * This class drives the shedder with a manual clock through burst, standing queue and recovery phases.
+ */
+@DisplayName("CoDelLoadShedder Tests")
+class CoDelLoadShedderTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CoDelLoadShedder shedder =
+            new CoDelLoadShedder(Duration.ofMillis(5), Duration.ofMillis(100), clock::get);
+
+    @Test
+    @DisplayName("Should tolerate short bursts while no standing queue exists")
+    void shouldShed_WithoutStandingQueue_ShouldOnlyShedBeyondInterval() {
+        // When & Then
+        assertFalse(shedder.shouldShed(50 * MS, RequestPriority.LOW), "A burst below the interval should be served");
+        assertTrue(shedder.shouldShed(150 * MS, RequestPriority.LOW), "Waits beyond the interval should be shed");
+        assertFalse(shedder.shouldShed(150 * MS, RequestPriority.HIGH), "High priority tolerates four intervals");
+        assertFalse(shedder.isOverloaded());
+    }
+
+    @Test
+    @DisplayName("Should detect a standing queue and shed by priority against the target")
+    void shouldShed_WithStandingQueue_ShouldShedLowPriorityFirst() {
+        // Given
+        standingQueue(20 * MS);
+
+        // When & Then
+        assertTrue(shedder.isOverloaded(), "Minimum delay above target for an interval should mean overload");
+        assertTrue(shedder.shouldShed(8 * MS, RequestPriority.LOW), "Low priority should be shed beyond the target");
+        assertFalse(shedder.shouldShed(8 * MS, RequestPriority.MEDIUM), "Medium priority tolerates twice the target");
+        assertTrue(shedder.shouldShed(12 * MS, RequestPriority.MEDIUM));
+        assertFalse(shedder.shouldShed(19 * MS, RequestPriority.HIGH), "High priority tolerates four times the target");
+        assertTrue(shedder.shouldShed(21 * MS, RequestPriority.HIGH));
+    }
+
+    @Test
+    @DisplayName("Should leave the overloaded state once the queue drains")
+    void shouldShed_AfterQueueDrains_ShouldRecover() {
+        // Given
+        standingQueue(20 * MS);
+
+        // When
+        shedder.shouldShed(MS, RequestPriority.LOW);
+        clock.addAndGet(100 * MS);
+        shedder.shouldShed(MS, RequestPriority.LOW);
+
+        // Then
+        assertFalse(shedder.isOverloaded(), "An interval with delay below target should end the overload");
+        assertFalse(shedder.shouldShed(8 * MS, RequestPriority.LOW));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void constructor_WithInvalidSettings_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new CoDelLoadShedder(Duration.ZERO, Duration.ofMillis(100)));
+        assertThrows(IllegalArgumentException.class, () -> new CoDelLoadShedder(Duration.ofMillis(10), Duration.ofMillis(5)));
+    }
+
+    private void standingQueue(long delayNanos) {
+        for (int i = 0; i < 10; i++) {
+            shedder.shouldShed(delayNanos, RequestPriority.HIGH);
+            clock.addAndGet(10 * MS);
+        }
+        shedder.shouldShed(delayNanos, RequestPriority.HIGH);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.testapi.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EndpointMatcher.
+ */
+@DisplayName("EndpointMatcher Tests")
+class EndpointMatcherTest {
+
+    private final EndpointMatcher<String> matcher = new EndpointMatcher<>(
+            List.of("/api/v1/cotizacion", "/api/v1/cotizacion/agregada", "/api/v1/pedido"),
+            prefix -> prefix, "default");
+
+    @Test
+    @DisplayName("Should resolve the longest matching prefix")
+    void match_WithNestedPrefixes_ShouldPreferLongest() {
+        // When & Then
+        assertEquals("/api/v1/cotizacion", matcher.match("/api/v1/cotizacion"));
+        assertEquals("/api/v1/cotizacion/agregada", matcher.match("/api/v1/cotizacion/agregada"));
+        assertEquals("/api/v1/pedido", matcher.match("/api/v1/pedido/123"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default for unmatched and sibling paths")
+    void match_WithUnknownPath_ShouldReturnDefault() {
+        // When & Then
+        assertEquals("default", matcher.match("/api/v1/diferencias"));
+        assertEquals("default", matcher.match("/api/v1/pedidos"), "Sibling paths should not match the prefix");
+    }
+
+    @Test
+    @DisplayName("Should expose the configured prefixes, longest first")
+    void getPrefixes_ShouldReturnPrefixesInMatchOrder() {
+        // When & Then
+        assertEquals(List.of("/api/v1/cotizacion/agregada", "/api/v1/cotizacion", "/api/v1/pedido"), matcher.getPrefixes());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.testapi.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueueTimingExecutor.
+ */
+@DisplayName("QueueTimingExecutor Tests")
+class QueueTimingExecutorTest {
+
+    private final QueueTimingExecutor executor = new QueueTimingExecutor("test-exec-", 1, 1, Integer.MAX_VALUE);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should expose the time a task waited behind a busy worker")
+    void takeQueueDelayNanos_AfterQueueing_ShouldReturnWaitTime() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        CompletableFuture<long[]> delays = new CompletableFuture<>();
+        executor.execute(() -> delays.complete(new long[]{
+                QueueTimingExecutor.takeQueueDelayNanos(), QueueTimingExecutor.takeQueueDelayNanos()}));
+
+        // When
+        Thread.sleep(50);
+        release.countDown();
+        long[] result = delays.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(result[0] >= TimeUnit.MILLISECONDS.toNanos(50), "Delay should cover the time spent queued");
+        assertEquals(-1, result[1], "Delay should be cleared once taken");
+    }
+
+    @Test
+    @DisplayName("Should report no delay on threads not run by the executor")
+    void takeQueueDelayNanos_OutsideExecutor_ShouldReturnMinusOne() {
+        // When & Then
+        assertEquals(-1, QueueTimingExecutor.takeQueueDelayNanos());
+    }
+
+    @Test
+    @DisplayName("Should report how long the oldest queued task has waited")
+    void getOldestQueuedNanos_WithQueuedTask_ShouldReturnItsWait() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        assertEquals(0, executor.getOldestQueuedNanos(), "An empty queue should report no wait");
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> { });
+
+        // When
+        Thread.sleep(50);
+        long oldest = executor.getOldestQueuedNanos();
+        release.countDown();
+
+        // Then
+        assertTrue(oldest >= TimeUnit.MILLISECONDS.toNanos(50), "Wait should cover the time spent queued");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.testapi.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucketRateLimiter.
+ * This class drives the limiter with a manual clock to verify burst, refill and eviction behavior.
+ */
+@DisplayName("TokenBucketRateLimiter Tests")
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Should admit the burst and reject the next request with the time to wait")
+    void tryAcquire_BeyondBurst_ShouldReturnWaitTime() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, 100, clock::get);
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client"), "Request " + i + " should be admitted");
+        }
+        long wait = limiter.tryAcquire("client");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait, "Next token should be available after one interval");
+    }
+
+    @Test
+    @DisplayName("Should refill tokens at the configured rate")
+    void tryAcquire_AfterInterval_ShouldAdmitAgain() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 100, clock::get);
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0, "Bucket should be empty");
+
+        // When
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then
+        assertEquals(0, limiter.tryAcquire("client"), "One token should have been refilled");
+    }
+
+    @Test
+    @DisplayName("Should not accumulate more tokens than the burst while idle")
+    void tryAcquire_AfterLongIdle_ShouldCapAtBurst() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 2, 100, clock::get);
+        limiter.tryAcquire("client");
+
+        // When
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Then
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0, "Idle time should not exceed the burst");
+    }
+
+    @Test
+    @DisplayName("Should keep an independent bucket per client")
+    void tryAcquire_WithDifferentClients_ShouldNotShareTokens() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, clock::get);
+
+        // When
+        limiter.tryAcquire("noisy");
+
+        // Then
+        assertTrue(limiter.tryAcquire("noisy") > 0, "Noisy client should be limited");
+        assertEquals(0, limiter.tryAcquire("quiet"), "Other clients should be unaffected");
+    }
+
+    @Test
+    @DisplayName("Should evict idle buckets once the key limit is reached")
+    void tryAcquire_WithTooManyKeys_ShouldEvictIdleBuckets() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 3, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("c");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // When
+        limiter.tryAcquire("d");
+
+        // Then
+        assertEquals(1, limiter.size(), "Refilled buckets should be evicted");
+    }
+
+    @Test
+    @DisplayName("Should share one bucket among new keys while the key limit is reached")
+    void tryAcquire_WithKeyFlood_ShouldNotGrowPastLimit() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1, 3, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("c");
+
+        // When
+        long first = limiter.tryAcquire("new-1");
+        long second = limiter.tryAcquire("new-2");
+
+        // Then
+        assertEquals(3, limiter.size(), "Busy buckets should be kept and no new key tracked");
+        assertEquals(0, first, "The first new key should take the overflow bucket's token");
+        assertTrue(second > 0, "Further new keys should not get a fresh burst");
+    }
+
+    @Test
+    @DisplayName("Should admit exactly the burst under concurrent access")
+    void tryAcquire_Concurrently_ShouldNotOverAdmit() throws InterruptedException {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 50, 100, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(400);
+        AtomicInteger admitted = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> {
+                if (limiter.tryAcquire("client") == 0) {
+                    admitted.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // Then
+        assertEquals(50, admitted.get(), "Only the burst should be admitted with a frozen clock");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void constructor_WithInvalidSettings_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0, 10));
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.ReglaAlerta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AlertEngine.
+ * Time is driven by a manual clock so windows and cooldowns are deterministic.
+ */
+@DisplayName("AlertEngine Tests")
+class AlertEngineTest {
+
+    private final List<Alerta> delivered = new ArrayList<>();
+    private long now;
+    private AlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        engine = new AlertEngine(delivered::add, 3, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should fire a threshold rule on the difference of two quote fields")
+    void onQuote_WhenThresholdCrossed_ShouldFireAlert() {
+        // Given
+        ReglaAlerta regla = engine.register(rule("brecha", "blue.value_avg - oficial.value_avg", ">", 150.0));
+
+        // When
+        engine.onQuote(quote(100.0, 200.0));
+        engine.onQuote(quote(100.0, 260.0));
+
+        // Then
+        assertEquals(1, delivered.size(), "Only the crossing quotation should fire");
+        Alerta alerta = delivered.get(0);
+        assertEquals(regla.getId(), alerta.getReglaId());
+        assertEquals("brecha", alerta.getNombre());
+        assertEquals("umbral", alerta.getTipo());
+        assertEquals(160.0, alerta.getValor());
+        assertEquals(150.0, alerta.getUmbral());
+    }
+
+    @Test
+    @DisplayName("Should not fire again while the rule stays in alarm")
+    void onSpread_WhileInAlarm_ShouldDeduplicate() {
+        // Given
+        engine.register(rule("spread", "diferencia_avg", ">=", 10.0));
+
+        // When
+        engine.onSpread(12.0, 12.0, 12.0);
+        now += Duration.ofHours(1).toNanos();
+        engine.onSpread(13.0, 13.0, 13.0);
+
+        // Then
+        assertEquals(1, delivered.size(), "A rule that stays in alarm should fire once");
+    }
+
+    @Test
+    @DisplayName("Should fire again after recovering once the cooldown has elapsed")
+    void onSpread_AfterRecoveryAndCooldown_ShouldFireAgain() {
+        // Given
+        ReglaAlerta definition = rule("spread", "diferencia_avg", "<", 0.0);
+        definition.setCooldown("10m");
+        engine.register(definition);
+
+        // When
+        engine.onSpread(-1.0, 0.0, 0.0);
+        engine.onSpread(1.0, 0.0, 0.0);
+        now += Duration.ofMinutes(5).toNanos();
+        engine.onSpread(-1.0, 0.0, 0.0);
+        int withinCooldown = delivered.size();
+        engine.onSpread(1.0, 0.0, 0.0);
+        now += Duration.ofMinutes(6).toNanos();
+        engine.onSpread(-1.0, 0.0, 0.0);
+
+        // Then
+        assertEquals(1, withinCooldown, "Alerts within the cooldown should be suppressed");
+        assertEquals(2, delivered.size(), "An alert after the cooldown should be delivered");
+    }
+
+    @Test
+    @DisplayName("Should fire a change rule when the metric moves more than the threshold within the window")
+    void onSpread_WhenPercentChangeExceeded_ShouldFireAlert() {
+        // Given
+        ReglaAlerta definition = rule("salto", "diferencia_avg", ">", 10.0);
+        definition.setTipo("variacion");
+        definition.setVentana("5m");
+        engine.register(definition);
+
+        // When
+        engine.onSpread(100.0, 0.0, 0.0);
+        now += Duration.ofMinutes(1).toNanos();
+        engine.onSpread(105.0, 0.0, 0.0);
+        int beforeJump = delivered.size();
+        now += Duration.ofMinutes(1).toNanos();
+        engine.onSpread(115.0, 0.0, 0.0);
+
+        // Then
+        assertEquals(0, beforeJump, "A 5% change should not fire");
+        assertEquals(1, delivered.size(), "A 15% change should fire");
+        assertEquals("variacion", delivered.get(0).getTipo());
+        assertEquals(15.0, delivered.get(0).getValor(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should compare change rules only against values within the window")
+    void onSpread_WithValuesOlderThanWindow_ShouldIgnoreThem() {
+        // Given
+        ReglaAlerta definition = rule("salto", "diferencia_avg", ">", 10.0);
+        definition.setTipo("variacion");
+        definition.setVentana("5m");
+        engine.register(definition);
+
+        // When
+        engine.onSpread(100.0, 0.0, 0.0);
+        now += Duration.ofMinutes(10).toNanos();
+        engine.onSpread(200.0, 0.0, 0.0);
+
+        // Then
+        assertTrue(delivered.isEmpty(), "A value outside the window should not be a reference");
+    }
+
+    @Test
+    @DisplayName("Should only evaluate rules depending on the updated source")
+    void onSpread_WithQuoteRule_ShouldNotEvaluateIt() {
+        // Given
+        engine.register(rule("blue", "blue.value_avg", ">", 0.0));
+
+        // When
+        engine.onSpread(1.0, 1.0, 1.0);
+
+        // Then
+        assertTrue(delivered.isEmpty(), "Quote rules should not fire on spread updates");
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent alerts, newest first")
+    void getRecentAlerts_ShouldBeBoundedAndNewestFirst() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            engine.register(rule("r" + i, "diferencia_avg", ">", (double) i));
+        }
+
+        // When
+        engine.onSpread(10.0, 0.0, 0.0);
+        List<Alerta> recent = engine.getRecentAlerts();
+
+        // Then
+        assertEquals(5, delivered.size(), "All alerts should be delivered");
+        assertEquals(3, recent.size(), "History should be bounded");
+        assertSame(delivered.get(4), recent.get(0), "Newest alert should come first");
+    }
+
+    @Test
+    @DisplayName("Should stop evaluating removed rules")
+    void remove_ShouldStopEvaluation() {
+        // Given
+        ReglaAlerta regla = engine.register(rule("spread", "diferencia_avg", ">", 0.0));
+
+        // When
+        boolean removed = engine.remove(regla.getId());
+        engine.onSpread(1.0, 1.0, 1.0);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(engine.remove(regla.getId()), "Removing twice should report a missing rule");
+        assertTrue(engine.getRules().isEmpty());
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep evaluating when the sink fails")
+    void onSpread_WithFailingSink_ShouldRecordAlert() {
+        // Given
+        AlertEngine failing = new AlertEngine(alerta -> {
+            throw new IllegalStateException("sink down");
+        }, 10, () -> now);
+        failing.register(rule("spread", "diferencia_avg", ">", 0.0));
+
+        // When
+        assertDoesNotThrow(() -> failing.onSpread(1.0, 1.0, 1.0));
+
+        // Then
+        assertEquals(1, failing.getRecentAlerts().size());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rule definitions")
+    void register_WithInvalidDefinition_ShouldThrowIllegalArgumentException() {
+        assertEquals("Operator must be one of >, >=, <, <=", assertThrows(IllegalArgumentException.class,
+                () -> engine.register(rule("x", "diferencia_avg", "=", 1.0))).getMessage());
+        assertEquals("Threshold is required", assertThrows(IllegalArgumentException.class,
+                () -> engine.register(rule("x", "diferencia_avg", ">", null))).getMessage());
+
+        ReglaAlerta sinVentana = rule("x", "diferencia_avg", ">", 1.0);
+        sinVentana.setTipo("variacion");
+        assertEquals("Window is required", assertThrows(IllegalArgumentException.class,
+                () -> engine.register(sinVentana)).getMessage());
+
+        ReglaAlerta tipoInvalido = rule("x", "diferencia_avg", ">", 1.0);
+        tipoInvalido.setTipo("media");
+        assertEquals("Rule type must be 'umbral' or 'variacion'", assertThrows(IllegalArgumentException.class,
+                () -> engine.register(tipoInvalido)).getMessage());
+
+        ReglaAlerta cooldownInvalido = rule("x", "diferencia_avg", ">", 1.0);
+        cooldownInvalido.setCooldown("pronto");
+        assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> engine.register(cooldownInvalido)).getMessage().startsWith("Cooldown must be a duration"));
+        assertTrue(engine.getRules().isEmpty(), "Invalid rules should not be registered");
+    }
+
+    @Test
+    @DisplayName("Should reject rules beyond the limit until one is removed")
+    void register_WhenRuleLimitReached_ShouldThrowIllegalArgumentException() {
+        // Given
+        String firstId = engine.register(rule("r0", "diferencia_avg", ">", 0.0)).getId();
+        for (int i = 1; i < AlertEngine.MAX_RULES; i++) {
+            engine.register(rule("r" + i, "diferencia_avg", ">", (double) i));
+        }
+
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> engine.register(rule("extra", "diferencia_avg", ">", 1.0)));
+
+        // Then
+        assertEquals("No more than " + AlertEngine.MAX_RULES + " alert rules can be registered", exception.getMessage());
+        assertEquals(AlertEngine.MAX_RULES, engine.getRules().size());
+        assertTrue(engine.remove(firstId));
+        assertNotNull(engine.register(rule("extra", "diferencia_avg", ">", 1.0)).getId(),
+                "A slot freed by a removal should be reusable");
+    }
+
+    @Test
+    @DisplayName("Should combine the latest quote and spread values in mixed rules")
+    void onSpreadAndOnQuote_WithMixedRule_ShouldSeeBothSources() {
+        // Given
+        engine.register(rule("mixta", "diferencia_avg - blue.value_avg", ">", 0.0));
+
+        // When
+        engine.onQuote(quote(100.0, 200.0));
+        engine.onSpread(150.0, 150.0, 150.0);
+        engine.onSpread(250.0, 250.0, 250.0);
+
+        // Then
+        assertEquals(1, delivered.size(), "The spread above the stored blue quotation should fire");
+        assertEquals(50.0, delivered.get(0).getValor());
+
+        // When
+        engine.onSpread(150.0, 150.0, 150.0);
+        now += Duration.ofHours(1).toNanos();
+        engine.onQuote(quote(100.0, 100.0));
+
+        // Then
+        assertEquals(2, delivered.size(), "A quotation below the stored spread should fire");
+        assertEquals(50.0, delivered.get(1).getValor());
+    }
+
+    private ReglaAlerta rule(String nombre, String metrica, String operador, Double umbral) {
+        ReglaAlerta regla = new ReglaAlerta();
+        regla.setNombre(nombre);
+        regla.setMetrica(metrica);
+        regla.setOperador(operador);
+        regla.setUmbral(umbral);
+        return regla;
+    }
+
+    private CotizacionResponse quote(double oficialAvg, double blueAvg) {
+        CotizacionResponse response = new CotizacionResponse();
+        CotizacionResponse.CotizacionData oficial = new CotizacionResponse.CotizacionData();
+        oficial.setValueAvg(oficialAvg);
+        CotizacionResponse.CotizacionData blue = new CotizacionResponse.CotizacionData();
+        blue.setValueAvg(blueAvg);
+        response.setOficial(oficial);
+        response.setBlue(blue);
+        return response;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.testapi.alert;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricExpression.
+ */
+@DisplayName("MetricExpression Tests")
+class MetricExpressionTest {
+
+    @Test
+    @DisplayName("Should evaluate a single field")
+    void parse_WithSingleField_ShouldEvaluateField() {
+        // Given
+        MetricExpression metric = MetricExpression.parse("diferencia_avg");
+        double[] values = values();
+        values[AlertField.DIFERENCIA_AVG.ordinal()] = 12.5;
+
+        // When & Then
+        assertEquals(12.5, metric.evaluate(values));
+        assertEquals(EnumSet.of(AlertField.Source.SPREAD), metric.sources());
+    }
+
+    @Test
+    @DisplayName("Should evaluate the difference of two fields")
+    void parse_WithDifference_ShouldEvaluateDifference() {
+        // Given
+        MetricExpression metric = MetricExpression.parse(" blue.value_avg - oficial.value_avg ");
+        double[] values = values();
+        values[AlertField.BLUE_AVG.ordinal()] = 1200.0;
+        values[AlertField.OFICIAL_AVG.ordinal()] = 900.0;
+
+        // When & Then
+        assertEquals(300.0, metric.evaluate(values));
+        assertEquals("blue.value_avg - oficial.value_avg", metric.toString());
+        assertEquals(EnumSet.of(AlertField.Source.QUOTE), metric.sources());
+    }
+
+    @Test
+    @DisplayName("Should depend on both sources when mixing spread and quote fields")
+    void parse_WithMixedSources_ShouldReportBothSources() {
+        // When
+        MetricExpression metric = MetricExpression.parse("diferencia_sell - blue.value_sell");
+
+        // Then
+        assertEquals(EnumSet.allOf(AlertField.Source.class), metric.sources());
+    }
+
+    @Test
+    @DisplayName("Should evaluate to NaN while an operand has no value")
+    void evaluate_WithMissingOperand_ShouldReturnNaN() {
+        // Given
+        MetricExpression metric = MetricExpression.parse("blue.value_avg - oficial.value_avg");
+        double[] values = values();
+        values[AlertField.BLUE_AVG.ordinal()] = 1200.0;
+
+        // When & Then
+        assertTrue(Double.isNaN(metric.evaluate(values)));
+    }
+
+    @Test
+    @DisplayName("Should reject missing, unknown and malformed metrics")
+    void parse_WithInvalidMetric_ShouldThrowIllegalArgumentException() {
+        assertEquals("Metric is required",
+                assertThrows(IllegalArgumentException.class, () -> MetricExpression.parse(" ")).getMessage());
+        assertEquals("Unknown alert field: dolar",
+                assertThrows(IllegalArgumentException.class, () -> MetricExpression.parse("dolar")).getMessage());
+        assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> MetricExpression.parse("blue.value_avg - oficial.value_avg - diferencia_avg")).getMessage()
+                .startsWith("Metric must be a field or the difference of two fields"));
+    }
+
+    private double[] values() {
+        double[] values = new double[AlertField.values().length];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+}
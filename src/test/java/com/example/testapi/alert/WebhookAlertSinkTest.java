@@ -0,0 +1,72 @@
+package com.example.testapi.alert;
+
+import com.example.testapi.model.Alerta;
+import com.example.testapi.support.RecordingWebhookServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Network-level tests for WebhookAlertSink against a local webhook stand-in.
+ */
+@DisplayName("WebhookAlertSink Tests")
+class WebhookAlertSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RecordingWebhookServer webhook;
+    private WebhookAlertSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        webhook = RecordingWebhookServer.start();
+        sink = new WebhookAlertSink(WebClient.builder(), webhook.url(), Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        webhook.close();
+    }
+
+    @Test
+    @DisplayName("Should post the alert as JSON to the webhook")
+    void send_ShouldPostAlertAsJson() throws Exception {
+        // When
+        sink.send(alerta("r1"));
+
+        // Then
+        String body = webhook.awaitBody(Duration.ofSeconds(5));
+        assertNotNull(body, "Webhook should receive the alert");
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals("r1", json.path("regla_id").asText());
+        assertEquals("blue.value_avg - oficial.value_avg", json.path("metrica").asText());
+        assertEquals(160.0, json.path("valor").asDouble());
+    }
+
+    @Test
+    @DisplayName("Should not throw when the webhook rejects the alert")
+    void send_WithWebhookError_ShouldNotThrow() throws Exception {
+        // Given
+        webhook.setStatus(500);
+
+        // When
+        assertDoesNotThrow(() -> sink.send(alerta("r2")));
+
+        // Then
+        assertNotNull(webhook.awaitBody(Duration.ofSeconds(5)), "Delivery should still be attempted");
+    }
+
+    private Alerta alerta(String reglaId) {
+        return new Alerta(reglaId, "brecha", "blue.value_avg - oficial.value_avg", "umbral",
+                160.0, 150.0, "2024-01-01T12:00:00Z");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.testapi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DiferenciasMemoCache.
+ * This class checks lookups by the raw rate values, cached errors, clock eviction within a
+ * probe window and the hit rate meters.
+ */
+@DisplayName("DiferenciasMemoCache Tests")
+class DiferenciasMemoCacheTest {
+
+    @Test
+    @DisplayName("Should return the cached differences for the same six rates")
+    void get_AfterPutResult_ShouldReturnDifferences() {
+        // Given
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(64);
+        cache.putResult(940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0, 310.0, 315.0, 305.0);
+
+        // When
+        DiferenciasMemoCache.Outcome outcome = cache.get(940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0);
+
+        // Then
+        assertNotNull(outcome, "Same rates should hit");
+        assertNull(outcome.getErrorMessage(), "A computed outcome should carry no error");
+        assertEquals(310.0, outcome.getDiferenciaAvg());
+        assertEquals(315.0, outcome.getDiferenciaSell());
+        assertEquals(305.0, outcome.getDiferenciaBuy());
+        assertNull(cache.get(940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.5), "Any different rate should miss");
+        assertNull(cache.get(945.0, 940.0, 935.0, 1250.0, 1260.0, 1240.0), "Swapped rates should miss");
+    }
+
+    @Test
+    @DisplayName("Should return the cached error message and its differences")
+    void get_AfterPutError_ShouldReturnError() {
+        // Given
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(64);
+        cache.putError(1250.0, 945.0, 935.0, 940.0, 1260.0, 1240.0, -310.0, 315.0, 305.0,
+                "Negative differences found for items: avg");
+
+        // When
+        DiferenciasMemoCache.Outcome outcome = cache.get(1250.0, 945.0, 935.0, 940.0, 1260.0, 1240.0);
+
+        // Then
+        assertEquals("Negative differences found for items: avg", outcome.getErrorMessage());
+        assertEquals(-310.0, outcome.getDiferenciaAvg(), "The rejected differences should be kept");
+        assertEquals(315.0, outcome.getDiferenciaSell());
+        assertEquals(305.0, outcome.getDiferenciaBuy());
+    }
+
+    @Test
+    @DisplayName("Should compare the raw bits of the rates")
+    void get_WithSignedZero_ShouldDistinguishKeys() {
+        // Given
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(64);
+        cache.putResult(0.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 0.0, 0.0);
+
+        // When & Then
+        assertNotNull(cache.get(0.0, 1.0, 1.0, 1.0, 1.0, 1.0));
+        assertNull(cache.get(-0.0, 1.0, 1.0, 1.0, 1.0, 1.0), "-0.0 should be a different key");
+    }
+
+    @Test
+    @DisplayName("Should keep recently hit entries and evict unreferenced ones when full")
+    void putResult_WhenFull_ShouldEvictUnreferencedEntries() {
+        // Given: a table that is a single probe window
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(1);
+        int window = DiferenciasMemoCache.PROBE_WINDOW;
+        for (int i = 0; i < window; i++) {
+            cache.putResult(i, 1, 1, 1, 1, 1, i, 0, 0);
+        }
+        assertNotNull(cache.get(0, 1, 1, 1, 1, 1), "Entry 0 should be cached and referenced");
+
+        // When
+        for (int i = window; i < 2 * window - 1; i++) {
+            cache.putResult(i, 1, 1, 1, 1, 1, i, 0, 0);
+        }
+
+        // Then
+        assertEquals(window, cache.capacity(), "Capacity should be rounded up to the probe window");
+        assertEquals(window, cache.size());
+        assertEquals(window - 1, cache.getEvictions());
+        assertNotNull(cache.get(0, 1, 1, 1, 1, 1), "The referenced entry should get a second chance");
+        assertNotNull(cache.get(2 * window - 2, 1, 1, 1, 1, 1), "The newest entry should be cached");
+    }
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two")
+    void constructor_ShouldRoundCapacity() {
+        // When & Then
+        assertEquals(4096, new DiferenciasMemoCache(4096).capacity());
+        assertEquals(8192, new DiferenciasMemoCache(4097).capacity());
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new DiferenciasMemoCache(0));
+        assertEquals("Cache capacity must be positive", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should expose hits, misses and hit ratio as meters")
+    void bindTo_ShouldRegisterHitRateMeters() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(64);
+        cache.bindTo(registry);
+        cache.putResult(940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0, 310.0, 315.0, 305.0);
+
+        // When
+        cache.get(940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0);
+        cache.get(940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0);
+        cache.get(941.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0);
+        cache.get(942.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0);
+
+        // Then
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(2.0, registry.get("diferencias.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("diferencias.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(0.5, registry.get("diferencias.cache.hit.ratio").gauge().value());
+        assertEquals(1.0, registry.get("diferencias.cache.size").gauge().value());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.testapi.cache;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LocalSharedQuotationCache.
+ */
+@DisplayName("LocalSharedQuotationCache Tests")
+class LocalSharedQuotationCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private final LocalSharedQuotationCache cache =
+            new LocalSharedQuotationCache(Duration.ofSeconds(30), Duration.ofSeconds(5), clock::get);
+
+    @Test
+    @DisplayName("Should serve the cached quotation until it expires")
+    void get_ShouldExpireAfterTtl() {
+        // Given
+        QuotationSnapshot snapshot = snapshot("first");
+        cache.put(snapshot);
+
+        // When & Then
+        assertSame(snapshot, cache.get().orElseThrow());
+        clock.addAndGet(30_000);
+        assertTrue(cache.get().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should publish only puts that change last_update or replace an expired entry")
+    void put_ShouldPublishChangesOnly() {
+        // Given
+        List<String> published = new ArrayList<>();
+        cache.subscribe(published::add);
+
+        // When
+        cache.put(snapshot("first"));
+        cache.put(snapshot("first"));
+        cache.put(snapshot("second"));
+        clock.addAndGet(30_000);
+        cache.put(snapshot("second"));
+
+        // Then
+        assertEquals(List.of("first", "second", "second"), published);
+    }
+
+    @Test
+    @DisplayName("Should grant the refresh lock to one holder until released or expired")
+    void tryLockRefresh_ShouldBeExclusive() throws Exception {
+        // Given
+        assertTrue(cache.tryLockRefresh());
+
+        // When
+        boolean otherWhileHeld = CompletableFuture.supplyAsync(cache::tryLockRefresh).get();
+        cache.unlockRefresh();
+        boolean otherAfterRelease = CompletableFuture.supplyAsync(cache::tryLockRefresh).get();
+        clock.addAndGet(5_000);
+
+        // Then
+        assertFalse(otherWhileHeld);
+        assertTrue(otherAfterRelease);
+        assertTrue(cache.tryLockRefresh(), "An abandoned lock should expire after its lease");
+    }
+
+    private static QuotationSnapshot snapshot(String lastUpdate) {
+        CotizacionResponse response = new CotizacionResponse();
+        response.setLastUpdate(lastUpdate);
+        return new QuotationSnapshot(response, Instant.now());
+    }
+}
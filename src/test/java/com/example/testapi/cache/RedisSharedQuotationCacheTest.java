@@ -0,0 +1,176 @@
+package com.example.testapi.cache;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RedisSharedQuotationCache.
+ * The Redis template and listener container are mocked; the commands sent and the entry
+ * encoding are checked, and an in-memory value stands in for the server.
+ */
+@DisplayName("RedisSharedQuotationCache Tests")
+class RedisSharedQuotationCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> operations;
+    private RedisMessageListenerContainer container;
+    private RedisSharedQuotationCache cache;
+    private String stored;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        operations = mock(ValueOperations.class);
+        container = mock(RedisMessageListenerContainer.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(operations.get("app:latest")).thenAnswer(invocation -> stored);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("app:latest")), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    String previous = stored;
+                    stored = invocation.getArgument(2);
+                    return previous;
+                });
+        cache = new RedisSharedQuotationCache(redisTemplate, () -> container, objectMapper, "app:",
+                Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.stop();
+    }
+
+    @Test
+    @DisplayName("Should store the quotation with its retrieval time and its expiry in one command")
+    void put_ThenGet_ShouldRoundTrip() {
+        // Given
+        Instant fetchedAt = Instant.ofEpochMilli(1_700_000_000_123L);
+
+        // When
+        cache.put(new QuotationSnapshot(quotation("first"), fetchedAt));
+        QuotationSnapshot loaded = cache.get().orElseThrow();
+
+        // Then
+        assertEquals("first", loaded.getCotizacion().getLastUpdate());
+        assertEquals(fetchedAt, loaded.getFetchedAt());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("app:latest")), anyString(), eq("30000"));
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should publish last_update only when it changes")
+    void put_ShouldPublishChangesOnly() {
+        // When
+        cache.put(new QuotationSnapshot(quotation("first"), Instant.now()));
+        cache.put(new QuotationSnapshot(quotation("first"), Instant.now()));
+        cache.put(new QuotationSnapshot(quotation("second"), Instant.now()));
+
+        // Then
+        verify(redisTemplate).convertAndSend("app:changes", "first");
+        verify(redisTemplate).convertAndSend("app:changes", "second");
+        verify(redisTemplate, times(2)).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should lock with a token and release only that token")
+    void tryLockRefresh_ShouldUseTokenAndLease() {
+        // Given
+        when(operations.setIfAbsent(eq("app:refresh"), anyString(), eq(Duration.ofSeconds(5)))).thenReturn(true);
+
+        // When
+        boolean locked = cache.tryLockRefresh();
+        cache.unlockRefresh();
+
+        // Then
+        assertTrue(locked);
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(operations).setIfAbsent(eq("app:refresh"), token.capture(), eq(Duration.ofSeconds(5)));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("app:refresh")), eq(token.getValue()));
+    }
+
+    @Test
+    @DisplayName("Should deliver change messages to subscribers")
+    void subscribe_ShouldReceivePublishedLastUpdate() {
+        // Given
+        List<String> received = new ArrayList<>();
+        cache.subscribe(received::add);
+        cache.start();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container, timeout(1000)).start();
+        verify(container).addMessageListener(listener.capture(), eq(new ChannelTopic("app:changes")));
+
+        // When
+        listener.getValue().onMessage(new DefaultMessage("app:changes".getBytes(StandardCharsets.UTF_8),
+                "second".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        assertEquals(List.of("second"), received);
+    }
+
+    @Test
+    @DisplayName("Should keep trying to subscribe while Redis is unreachable at startup")
+    void start_WithRedisDown_ShouldRetrySubscription() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("Unable to connect to Redis")).doNothing().when(container).start();
+
+        // When
+        cache.start();
+
+        // Then
+        verify(container, timeout(1000).times(2)).start();
+        verify(container).destroy();
+        assertTrue(cache.isRunning());
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (!cache.isSubscribed() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cache.isSubscribed());
+    }
+
+    @Test
+    @DisplayName("Should behave as an empty cache with a granted lock when Redis is down")
+    void operations_WithRedisDown_ShouldFallBack() {
+        // Given
+        RedisConnectionFailureException down = new RedisConnectionFailureException("Connection refused");
+        when(operations.get(anyString())).thenThrow(down);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString())).thenThrow(down);
+        when(operations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenThrow(down);
+
+        // When & Then
+        assertTrue(cache.get().isEmpty());
+        assertDoesNotThrow(() -> cache.put(new QuotationSnapshot(quotation("first"), Instant.now())));
+        assertTrue(cache.tryLockRefresh(), "Without Redis every instance should refresh on its own");
+    }
+
+    private static CotizacionResponse quotation(String lastUpdate) {
+        CotizacionResponse response = new CotizacionResponse();
+        response.setLastUpdate(lastUpdate);
+        return response;
+    }
+}
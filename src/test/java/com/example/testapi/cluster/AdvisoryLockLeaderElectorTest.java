@@ -0,0 +1,122 @@
+package com.example.testapi.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AdvisoryLockLeaderElector.
+ * The advisory lock functions are PostgreSQL specific, so the JDBC objects are mocked.
+ */
+@DisplayName("AdvisoryLockLeaderElector Tests")
+class AdvisoryLockLeaderElectorTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement lock;
+    private PreparedStatement unlock;
+    private ResultSet result;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        lock = mock(PreparedStatement.class);
+        unlock = mock(PreparedStatement.class);
+        result = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT pg_try_advisory_lock(?)")).thenReturn(lock);
+        when(connection.prepareStatement("SELECT pg_advisory_unlock(?)")).thenReturn(unlock);
+        when(lock.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should keep the connection holding the lock and renew by validating it")
+    void tryAcquire_WhenLockGranted_ShouldLeadOnItsConnection() throws SQLException {
+        // Given
+        when(result.getBoolean(1)).thenReturn(true);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        AdvisoryLockLeaderElector elector = new AdvisoryLockLeaderElector(dataSource, "poller");
+
+        // When
+        boolean acquired = elector.tryAcquire();
+        boolean renewed = elector.tryAcquire();
+
+        // Then
+        assertTrue(acquired);
+        assertTrue(renewed);
+        assertTrue(elector.isLeader());
+        verify(lock).setLong(1, AdvisoryLockLeaderElector.lockKey("poller"));
+        verify(lock, times(1)).executeQuery();
+        verify(connection, never()).close();
+    }
+
+    @Test
+    @DisplayName("Should return the connection to the pool when the lock is held elsewhere")
+    void tryAcquire_WhenLockHeldElsewhere_ShouldFollow() throws SQLException {
+        // Given
+        when(result.getBoolean(1)).thenReturn(false);
+        AdvisoryLockLeaderElector elector = new AdvisoryLockLeaderElector(dataSource, "poller");
+
+        // When & Then
+        assertFalse(elector.tryAcquire());
+        assertFalse(elector.isLeader());
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should compete again when the connection holding the lock is lost")
+    void tryAcquire_WhenConnectionLost_ShouldAcquireAgain() throws SQLException {
+        // Given
+        when(result.getBoolean(1)).thenReturn(true, false);
+        when(connection.isValid(anyInt())).thenReturn(false);
+        AdvisoryLockLeaderElector elector = new AdvisoryLockLeaderElector(dataSource, "poller");
+        elector.tryAcquire();
+
+        // When
+        boolean renewed = elector.tryAcquire();
+
+        // Then
+        assertFalse(renewed, "Another instance may have taken the lock once the session ended");
+        verify(lock, times(2)).executeQuery();
+    }
+
+    @Test
+    @DisplayName("Should unlock and close the connection on release")
+    void release_WhenLeading_ShouldUnlock() throws SQLException {
+        // Given
+        when(result.getBoolean(1)).thenReturn(true);
+        AdvisoryLockLeaderElector elector = new AdvisoryLockLeaderElector(dataSource, "poller");
+        elector.tryAcquire();
+
+        // When
+        elector.release();
+
+        // Then
+        assertFalse(elector.isLeader());
+        verify(unlock).setLong(1, AdvisoryLockLeaderElector.lockKey("poller"));
+        verify(unlock).execute();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should not lead when no connection can be obtained")
+    void tryAcquire_WithDatabaseDown_ShouldNotLead() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        AdvisoryLockLeaderElector elector = new AdvisoryLockLeaderElector(dataSource, "poller");
+
+        // When & Then
+        assertFalse(elector.tryAcquire());
+    }
+}
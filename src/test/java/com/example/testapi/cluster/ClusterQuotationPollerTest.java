@@ -0,0 +1,185 @@
+package com.example.testapi.cluster;
+
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.JdbcQuotationSnapshotStore;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.example.testapi.support.BluelyticsStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ClusterQuotationPoller.
+ * This class runs several instances, each with its own service, elector and poller, against
+ * a shared in-memory H2 database and a local Bluelytics stub, polling by hand.
+ */
+@DisplayName("ClusterQuotationPoller Tests")
+class ClusterQuotationPollerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BluelyticsStubServer stub;
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = BluelyticsStubServer.start();
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Should call the upstream once per poll for the whole cluster")
+    void poll_WithSeveralInstances_ShouldCallUpstreamOncePerRound() {
+        // Given
+        List<Instance> cluster = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            cluster.add(new Instance("node-" + i));
+        }
+
+        // When
+        for (int round = 0; round < 3; round++) {
+            cluster.forEach(instance -> instance.poller.poll());
+        }
+
+        // Then
+        assertEquals(3, stub.getRequestCount());
+        assertEquals(1, cluster.stream().filter(instance -> instance.poller.isLeader()).count());
+        assertEquals(3, cluster.get(0).poller.getLeaderPollCount());
+        assertEquals(3, cluster.get(1).poller.getFollowerPollCount());
+        for (Instance instance : cluster) {
+            assertEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE,
+                    instance.service.getLatestSnapshot().orElseThrow().getCotizacion().getLastUpdate());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer followers from the adopted quotation without calling the upstream")
+    void obtenerSnapshot_OnFollower_ShouldServeAdoptedQuotation() {
+        // Given
+        Instance leader = new Instance("leader");
+        Instance follower = new Instance("follower");
+        leader.poller.poll();
+        follower.poller.poll();
+
+        // When
+        QuotationSnapshot served = follower.service.obtenerSnapshot();
+
+        // Then
+        assertFalse(served.isStale());
+        assertEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, served.getCotizacion().getLastUpdate());
+        assertEquals(1, stub.getRequestCount(), "Only the leader should have called the upstream");
+        assertEquals(1, follower.service.getLocalCacheServedCount());
+    }
+
+    @Test
+    @DisplayName("Should call the upstream once per interval whatever the requests, probes and warm-ups")
+    void obtenerSnapshot_WithTrafficOnTwoInstances_ShouldOnlyFetchFromPolls() {
+        // Given
+        Instance leader = new Instance("leader");
+        Instance follower = new Instance("follower");
+
+        // When: requests and refreshes run on both instances around every poll
+        for (int round = 0; round < 3; round++) {
+            leader.poller.poll();
+            follower.poller.poll();
+            for (Instance instance : List.of(leader, follower)) {
+                for (int request = 0; request < 5; request++) {
+                    assertFalse(instance.service.obtenerSnapshot().isStale());
+                }
+                instance.service.refreshInBackground();
+            }
+        }
+
+        // Then
+        assertEquals(3, stub.getRequestCount(), "Only the leader's polls should call the upstream");
+        assertEquals(15, follower.service.getLocalCacheServedCount());
+    }
+
+    @Test
+    @DisplayName("Should fail a request before the first poll instead of calling the upstream")
+    void obtenerSnapshot_BeforeFirstPoll_ShouldNotCallUpstream() {
+        // Given
+        Instance follower = new Instance("follower");
+
+        // When & Then
+        assertThrows(UpstreamException.class, follower.service::obtenerSnapshot);
+        follower.service.refreshInBackground();
+        assertEquals(0, stub.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should let a follower take over when the leader stops")
+    void poll_AfterLeaderStops_ShouldElectFollower() {
+        // Given
+        Instance leader = new Instance("leader");
+        Instance follower = new Instance("follower");
+        leader.poller.poll();
+        follower.poller.poll();
+
+        // When
+        leader.elector.release();
+        stub.changePayload();
+        follower.poller.poll();
+
+        // Then
+        assertTrue(follower.poller.isLeader());
+        assertEquals(2, stub.getRequestCount());
+        assertNotEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE,
+                new JdbcQuotationSnapshotStore(new JdbcTemplate(database), objectMapper).load().orElseThrow()
+                        .getCotizacion().getLastUpdate(), "The new leader should share its quotation");
+    }
+
+    @Test
+    @DisplayName("Should count a failed upstream call without propagating it")
+    void poll_WhenUpstreamFails_ShouldCountFailure() {
+        // Given
+        Instance leader = new Instance("leader");
+        stub.setErrorRate(1.0, 500);
+
+        // When
+        assertDoesNotThrow(leader.poller::poll);
+
+        // Then
+        assertEquals(1, leader.poller.getFailedPollCount());
+        assertTrue(leader.poller.isLeader(), "An upstream failure should not give up leadership");
+    }
+
+    private final class Instance {
+
+        final CotizacionService service;
+        final LeaseTableLeaderElector elector;
+        final ClusterQuotationPoller poller;
+
+        Instance(String nodeId) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            service = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                    .clusterPolled(Duration.ofSeconds(5))
+                    .build());
+            service.setBluelyticsApiUrl(stub.latestUrl());
+            elector = new LeaseTableLeaderElector(jdbcTemplate, "poller", nodeId, Duration.ofSeconds(15));
+            poller = new ClusterQuotationPoller(service, elector,
+                    new JdbcQuotationSnapshotStore(jdbcTemplate, objectMapper), Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.testapi.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LeaseTableLeaderElector.
+ * This class runs two electors against an in-memory H2 database with a shared manual clock.
+ */
+@DisplayName("LeaseTableLeaderElector Tests")
+class LeaseTableLeaderElectorTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(15);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private EmbeddedDatabase database;
+    private LeaseTableLeaderElector first;
+    private LeaseTableLeaderElector second;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        first = new LeaseTableLeaderElector(jdbcTemplate, "poller", "node-1", LEASE, clock::get);
+        second = new LeaseTableLeaderElector(jdbcTemplate, "poller", "node-2", LEASE, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should elect a single leader and keep it while it renews")
+    void tryAcquire_WithTwoInstances_ShouldElectOneLeader() {
+        // When
+        boolean firstLeads = first.tryAcquire();
+        boolean secondLeads = second.tryAcquire();
+        clock.addAndGet(10_000);
+        boolean firstRenews = first.tryAcquire();
+        clock.addAndGet(10_000);
+
+        // Then
+        assertTrue(firstLeads);
+        assertFalse(secondLeads);
+        assertTrue(firstRenews);
+        assertFalse(second.tryAcquire(), "A renewed lease should not be taken over");
+        assertTrue(first.isLeader());
+        assertFalse(second.isLeader());
+    }
+
+    @Test
+    @DisplayName("Should hand leadership over once the leader stops renewing")
+    void tryAcquire_AfterLeaseExpires_ShouldTakeOver() {
+        // Given
+        first.tryAcquire();
+
+        // When
+        clock.addAndGet(LEASE.toMillis() + 1);
+
+        // Then
+        assertFalse(first.isLeader(), "A leader that did not renew should step down on its own");
+        assertTrue(second.tryAcquire());
+        assertFalse(first.tryAcquire(), "The former leader should not take the lease back");
+    }
+
+    @Test
+    @DisplayName("Should hand leadership over right away when the leader releases it")
+    void release_ShouldLetAnotherInstanceLead() {
+        // Given
+        first.tryAcquire();
+
+        // When
+        first.release();
+
+        // Then
+        assertFalse(first.isLeader());
+        assertTrue(second.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should not lead when the database is unreachable")
+    void tryAcquire_WithDatabaseDown_ShouldNotLead() {
+        // Given
+        assertTrue(first.tryAcquire());
+        database.shutdown();
+
+        // When & Then
+        assertFalse(first.tryAcquire());
+        assertFalse(first.isLeader());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.testapi.config;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CotizacionAggregatorProperties.
+ * This class verifies the validation applied when the providers are bound.
+ */
+@DisplayName("CotizacionAggregatorProperties Tests")
+class CotizacionAggregatorPropertiesTest {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should accept providers with distinct names")
+    void validate_WithDistinctProviderNames_ShouldPass() {
+        // Given
+        CotizacionAggregatorProperties properties = new CotizacionAggregatorProperties();
+        properties.getProviders().add(new CotizacionAggregatorProperties.Provider("a", "http://a/latest"));
+        properties.getProviders().add(new CotizacionAggregatorProperties.Provider("b", "http://b/latest"));
+
+        // When
+        Set<ConstraintViolation<CotizacionAggregatorProperties>> violations = validator.validate(properties);
+
+        // Then
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject two providers with the same name")
+    void validate_WithDuplicateProviderNames_ShouldFail() {
+        // Given
+        CotizacionAggregatorProperties properties = new CotizacionAggregatorProperties();
+        properties.getProviders().add(new CotizacionAggregatorProperties.Provider("a", "http://a/latest"));
+        properties.getProviders().add(new CotizacionAggregatorProperties.Provider("a", "http://b/latest"));
+
+        // When
+        Set<ConstraintViolation<CotizacionAggregatorProperties>> violations = validator.validate(properties);
+
+        // Then
+        assertEquals(1, violations.size());
+        assertEquals("Quotation provider names must be unique", violations.iterator().next().getMessage());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.testapi.config;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.model.ErrorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NativeHintsConfig.
+ * This class verifies that the native-image hints cover the models bound by Jackson.
+ */
+@DisplayName("NativeHintsConfig Tests")
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.ModelRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should register binding hints for CotizacionResponse and its nested data")
+    void registerHints_ShouldCoverCotizacionResponse() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CotizacionResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CotizacionResponse.CotizacionData.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(CotizacionResponse.class.getMethod("setLastUpdate", String.class)).test(hints),
+                "Setters should be invocable for deserialization");
+    }
+
+    @Test
+    @DisplayName("Should register binding hints for DiferenciasRequest and its exchange rate data")
+    void registerHints_ShouldCoverDiferenciasRequest() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DiferenciasRequest.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(DiferenciasRequest.ExchangeRateData.class.getMethod("getValueAvg")).test(hints),
+                "Getters should be invocable for serialization");
+    }
+
+    @Test
+    @DisplayName("Should register field hints for the ExchangeRateType enum constants")
+    void registerHints_ShouldCoverExchangeRateTypeFields() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(DiferenciasRequest.ExchangeRateType.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints),
+                "Enum constant fields should be readable for @JsonProperty resolution");
+    }
+
+    @Test
+    @DisplayName("Should register binding hints for response models")
+    void registerHints_ShouldCoverResponseModels() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DiferenciasResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ErrorResponse.class).test(hints));
+    }
+
+    @Test
+    @DisplayName("Should register reflection hints for the shared cache entry")
+    void registerHints_ShouldCoverSharedCacheEntry() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.example.testapi.cache.RedisSharedQuotationCache$Entry"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints),
+                "The record constructor should be invocable for deserialization");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.testapi.config;
+
+import com.example.testapi.admission.QueueTimingExecutor;
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for QueueTimingTomcatCustomizer.
+ * This class verifies that the installed executor is sized from the Tomcat thread properties.
+ */
+@DisplayName("QueueTimingTomcatCustomizer Tests")
+class QueueTimingTomcatCustomizerTest {
+
+    @Test
+    @DisplayName("Should size the executor and its queue from the thread properties")
+    void customize_WithThreadProperties_ShouldInstallSizedExecutor() {
+        // Given
+        ServerProperties serverProperties = new ServerProperties();
+        serverProperties.getTomcat().getThreads().setMax(8);
+        serverProperties.getTomcat().getThreads().setMinSpare(2);
+        QueueTimingTomcatCustomizer customizer = new QueueTimingTomcatCustomizer(serverProperties, 50);
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        // When
+        customizer.customize(protocolHandler);
+
+        // Then
+        QueueTimingExecutor executor = customizer.getExecutor();
+        try {
+            verify(protocolHandler).setExecutor(executor);
+            assertEquals(8, executor.getMaximumPoolSize());
+            assertEquals(2, executor.getCorePoolSize());
+            assertEquals(50, executor.getQueue().remainingCapacity(), "The queue should honor max-queue-capacity");
+        } finally {
+            customizer.destroy();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.testapi.controller;
+
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.ReglaAlerta;
+import com.example.testapi.service.AlertasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AlertasController.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AlertasController Tests")
+class AlertasControllerTest {
+
+    @Mock
+    private AlertasService alertasService;
+
+    @InjectMocks
+    private AlertasController alertasController;
+
+    @Test
+    @DisplayName("Should return CREATED with the registered rule")
+    void registrarRegla_WithValidRule_ShouldReturnCreated() {
+        // Given
+        ReglaAlerta regla = new ReglaAlerta(null, "spread", "diferencia_avg", null, ">", 5.0, null, null);
+        ReglaAlerta registrada = new ReglaAlerta("id-1", "spread", "diferencia_avg", "umbral", ">", 5.0, null, null);
+        when(alertasService.registrarRegla(regla)).thenReturn(registrada);
+
+        // When
+        ResponseEntity<?> result = alertasController.registrarRegla(regla);
+
+        // Then
+        assertEquals(HttpStatus.CREATED, result.getStatusCode(), "Status should be CREATED");
+        assertSame(registrada, result.getBody());
+    }
+
+    @Test
+    @DisplayName("Should propagate an invalid rule error to the global exception handler")
+    void registrarRegla_WithInvalidRule_ShouldPropagateException() {
+        // Given
+        ReglaAlerta regla = new ReglaAlerta();
+        when(alertasService.registrarRegla(regla)).thenThrow(new IllegalArgumentException("Metric is required"));
+
+        // When
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> alertasController.registrarRegla(regla));
+
+        // Then
+        assertEquals("Metric is required", thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should return the registered rules")
+    void obtenerReglas_ShouldReturnOkResponse() {
+        // Given
+        List<ReglaAlerta> reglas = List.of(new ReglaAlerta());
+        when(alertasService.obtenerReglas()).thenReturn(reglas);
+
+        // When
+        ResponseEntity<List<ReglaAlerta>> result = alertasController.obtenerReglas();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(reglas, result.getBody());
+    }
+
+    @Test
+    @DisplayName("Should return NO_CONTENT when deleting an existing rule and NOT_FOUND otherwise")
+    void eliminarRegla_ShouldReturnNoContentOrNotFound() {
+        // Given
+        when(alertasService.eliminarRegla("id-1")).thenReturn(true);
+        when(alertasService.eliminarRegla("id-2")).thenReturn(false);
+
+        // When & Then
+        assertEquals(HttpStatus.NO_CONTENT, alertasController.eliminarRegla("id-1").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, alertasController.eliminarRegla("id-2").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should return the recent alerts")
+    void obtenerAlertas_ShouldReturnOkResponse() {
+        // Given
+        List<Alerta> alertas = List.of(new Alerta());
+        when(alertasService.obtenerAlertas()).thenReturn(alertas);
+
+        // When
+        ResponseEntity<List<Alerta>> result = alertasController.obtenerAlertas();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(alertas, result.getBody());
+    }
+}
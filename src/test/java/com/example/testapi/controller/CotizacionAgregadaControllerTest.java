@@ -0,0 +1,67 @@
+package com.example.testapi.controller;
+
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.model.CotizacionAgregadaResponse;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.service.CotizacionAggregatorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CotizacionAgregadaController.
+ * This class contains tests for the aggregated quotation REST endpoint.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CotizacionAgregadaController Tests")
+class CotizacionAgregadaControllerTest {
+
+    @Mock
+    private CotizacionAggregatorService cotizacionAggregatorService;
+
+    @InjectMocks
+    private CotizacionAgregadaController cotizacionAgregadaController;
+
+    @Test
+    @DisplayName("Should return OK response with the aggregated quotation")
+    void obtenerCotizacionAgregada_ShouldReturnOkResponse() {
+        // Given
+        CotizacionResponse consenso = new CotizacionResponse();
+        consenso.setLastUpdate("2024-01-01T12:00:00Z");
+        CotizacionAgregadaResponse expected = new CotizacionAgregadaResponse(consenso, Map.of("bluelytics", consenso), 2, 1);
+        when(cotizacionAggregatorService.obtenerCotizacionAgregada()).thenReturn(expected);
+
+        // When
+        ResponseEntity<?> result = cotizacionAgregadaController.obtenerCotizacionAgregada();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Status should be OK");
+        assertSame(expected, result.getBody(), "Body should be the service response");
+        verify(cotizacionAggregatorService, times(1)).obtenerCotizacionAgregada();
+    }
+
+    @Test
+    @DisplayName("Should propagate the quorum failure to the global exception handler")
+    void obtenerCotizacionAgregada_WithUpstreamException_ShouldPropagateException() {
+        // Given
+        when(cotizacionAggregatorService.obtenerCotizacionAgregada())
+                .thenThrow(new UpstreamException("Quorum not reached: 0 of 1 providers responded within 800 ms"));
+
+        // When
+        UpstreamException thrown = assertThrows(UpstreamException.class,
+                () -> cotizacionAgregadaController.obtenerCotizacionAgregada());
+
+        // Then
+        assertTrue(thrown.getMessage().contains("Quorum not reached"));
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.testapi.controller;
 
+import com.example.testapi.exception.UpstreamException;
 import com.example.testapi.model.CotizacionResponse;
 import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,9 +11,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -39,7 +44,7 @@ class CotizacionControllerTest {
     void obtenerCotizacion_ShouldReturnOkResponse() {
         // Given
         CotizacionResponse expectedResponse = createMockCotizacionResponse();
-        when(cotizacionService.obtenerCotizacion()).thenReturn(expectedResponse);
+        when(cotizacionService.obtenerSnapshot()).thenReturn(new QuotationSnapshot(expectedResponse, Instant.now()));
 
         // When
         ResponseEntity<CotizacionResponse> result = cotizacionController.obtenerCotizacion();
@@ -50,25 +55,23 @@ class CotizacionControllerTest {
         assertNotNull(result.getBody(), "Response body should not be null");
         assertEquals(expectedResponse.getLastUpdate(), result.getBody().getLastUpdate());
         
-        verify(cotizacionService, times(1)).obtenerCotizacion();
+        verify(cotizacionService, times(1)).obtenerSnapshot();
     }
 
     @Test
-    @DisplayName("Should return internal server error when service throws RuntimeException")
-    void obtenerCotizacion_ShouldReturnInternalServerErrorWhenServiceThrowsException() {
+    @DisplayName("Should propagate upstream failures to the global exception handler")
+    void obtenerCotizacion_WhenServiceThrowsUpstreamException_ShouldPropagateException() {
         // Given
-        when(cotizacionService.obtenerCotizacion()).thenThrow(new RuntimeException("Service error"));
+        UpstreamException failure = new UpstreamException("Service error");
+        when(cotizacionService.obtenerSnapshot()).thenThrow(failure);
 
         // When
-        ResponseEntity<CotizacionResponse> result = cotizacionController.obtenerCotizacion();
+        UpstreamException thrown = assertThrows(UpstreamException.class, () -> cotizacionController.obtenerCotizacion());
 
         // Then
-        assertNotNull(result, "Response entity should not be null");
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode(), 
-                    "Status should be INTERNAL_SERVER_ERROR");
-        assertNull(result.getBody(), "Response body should be null");
-        
-        verify(cotizacionService, times(1)).obtenerCotizacion();
+        assertSame(failure, thrown, "The service exception should not be wrapped");
+
+        verify(cotizacionService, times(1)).obtenerSnapshot();
     }
 
     @Test
@@ -76,13 +79,13 @@ class CotizacionControllerTest {
     void obtenerCotizacion_ShouldCallServiceMethodOnce() {
         // Given
         CotizacionResponse expectedResponse = createMockCotizacionResponse();
-        when(cotizacionService.obtenerCotizacion()).thenReturn(expectedResponse);
+        when(cotizacionService.obtenerSnapshot()).thenReturn(new QuotationSnapshot(expectedResponse, Instant.now()));
 
         // When
         cotizacionController.obtenerCotizacion();
 
         // Then
-        verify(cotizacionService, times(1)).obtenerCotizacion();
+        verify(cotizacionService, times(1)).obtenerSnapshot();
         verifyNoMoreInteractions(cotizacionService);
     }
 
@@ -91,7 +94,7 @@ class CotizacionControllerTest {
     void obtenerCotizacion_ShouldReturnAllExchangeRateData() {
         // Given
         CotizacionResponse expectedResponse = createMockCotizacionResponse();
-        when(cotizacionService.obtenerCotizacion()).thenReturn(expectedResponse);
+        when(cotizacionService.obtenerSnapshot()).thenReturn(new QuotationSnapshot(expectedResponse, Instant.now()));
 
         // When
         ResponseEntity<CotizacionResponse> result = cotizacionController.obtenerCotizacion();
@@ -110,7 +113,7 @@ class CotizacionControllerTest {
     @DisplayName("Should handle service returning null response")
     void obtenerCotizacion_ShouldHandleNullResponse() {
         // Given
-        when(cotizacionService.obtenerCotizacion()).thenReturn(null);
+        when(cotizacionService.obtenerSnapshot()).thenReturn(new QuotationSnapshot(null, Instant.now()));
 
         // When
         ResponseEntity<CotizacionResponse> result = cotizacionController.obtenerCotizacion();
@@ -119,7 +122,40 @@ class CotizacionControllerTest {
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertNull(result.getBody());
         
-        verify(cotizacionService, times(1)).obtenerCotizacion();
+        verify(cotizacionService, times(1)).obtenerSnapshot();
+    }
+
+    @Test
+    @DisplayName("Should add Age and stale headers when a snapshot is served")
+    void obtenerCotizacion_WithStaleSnapshot_ShouldAddStaleHeaders() {
+        // Given
+        CotizacionResponse expectedResponse = createMockCotizacionResponse();
+        when(cotizacionService.obtenerSnapshot()).thenReturn(
+                new QuotationSnapshot(expectedResponse, Instant.now().minusSeconds(300)).asStale());
+
+        // When
+        ResponseEntity<CotizacionResponse> result = cotizacionController.obtenerCotizacion();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(expectedResponse, result.getBody(), "The snapshot quotation should be returned");
+        assertEquals("300", result.getHeaders().getFirst(HttpHeaders.AGE), "Age should be the snapshot age in seconds");
+        assertEquals("true", result.getHeaders().getFirst(CotizacionController.STALE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should not add stale headers to a live quotation")
+    void obtenerCotizacion_WithLiveSnapshot_ShouldNotAddStaleHeaders() {
+        // Given
+        when(cotizacionService.obtenerSnapshot())
+                .thenReturn(new QuotationSnapshot(createMockCotizacionResponse(), Instant.now()));
+
+        // When
+        ResponseEntity<CotizacionResponse> result = cotizacionController.obtenerCotizacion();
+
+        // Then
+        assertFalse(result.getHeaders().containsKey(HttpHeaders.AGE), "A live quotation should have no Age header");
+        assertFalse(result.getHeaders().containsKey(CotizacionController.STALE_HEADER));
     }
 
     /**
@@ -3,21 +3,27 @@ package com.example.testapi.controller;
 import com.example.testapi.exception.ApiTestException;
 import com.example.testapi.model.DiferenciasRequest;
 import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.model.FormulaDiferencia;
 import com.example.testapi.service.DiferenciasService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * including successful requests, validation errors, and exception handling.
  */
 @WebMvcTest(DiferenciasController.class)
+@Import(SimpleMeterRegistry.class)
 @DisplayName("DiferenciasController Tests")
 class DiferenciasControllerTest {
 
@@ -296,4 +303,74 @@ class DiferenciasControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should calculate spreads with the formula selected by the request parameter")
+    void calcularDiferencias_WithFormulaParameter_ShouldUseFormula() throws Exception {
+        // Given
+        when(diferenciasService.calcularDiferencias(any(DiferenciasRequest.class), eq("porcentaje")))
+                .thenReturn(DiferenciasResponse.of(32.98, 33.33, 32.62));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/diferencias")
+                        .param("formula", "porcentaje")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.diferencia_avg").value(32.98));
+    }
+
+    @Test
+    @DisplayName("Should return bad request for an unknown formula")
+    void calcularDiferencias_WithUnknownFormula_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(diferenciasService.calcularDiferencias(any(DiferenciasRequest.class), eq("nada")))
+                .thenThrow(new IllegalArgumentException("Unknown formula: nada"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/diferencias")
+                        .param("formula", "nada")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"))
+                .andExpect(jsonPath("$.message").value("Unknown formula: nada"));
+    }
+
+    @Test
+    @DisplayName("Should list the available formulas")
+    void obtenerFormulas_ShouldReturnFormulas() throws Exception {
+        // Given
+        when(diferenciasService.obtenerFormulas())
+                .thenReturn(List.of(new FormulaDiferencia("diferencia", "mep - crypto")));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/diferencias/formulas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nombre").value("diferencia"))
+                .andExpect(jsonPath("$[0].expresion").value("mep - crypto"));
+    }
+
+    @Test
+    @DisplayName("Should register a formula and reject invalid ones")
+    void registrarFormula_ShouldReturnCreatedOrBadRequest() throws Exception {
+        // Given
+        FormulaDiferencia valida = new FormulaDiferencia("brecha", "mep.sell - crypto.buy");
+        FormulaDiferencia invalida = new FormulaDiferencia("rota", "mep -");
+        when(diferenciasService.registrarFormula(valida)).thenReturn(valida);
+        when(diferenciasService.registrarFormula(invalida))
+                .thenThrow(new IllegalArgumentException("Invalid formula: unexpected end of formula at position 5"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/diferencias/formulas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(valida)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.nombre").value("brecha"));
+        mockMvc.perform(post("/api/v1/diferencias/formulas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalida)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"));
+    }
+}
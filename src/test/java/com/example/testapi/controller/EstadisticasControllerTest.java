@@ -0,0 +1,47 @@
+package com.example.testapi.controller;
+
+import com.example.testapi.model.EstadisticasResponse;
+import com.example.testapi.service.EstadisticasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EstadisticasController.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EstadisticasController Tests")
+class EstadisticasControllerTest {
+
+    @Mock
+    private EstadisticasService estadisticasService;
+
+    @InjectMocks
+    private EstadisticasController estadisticasController;
+
+    @Test
+    @DisplayName("Should return OK response with the statistics")
+    void obtenerEstadisticas_ShouldReturnOkResponse() {
+        // Given
+        EstadisticasResponse expected = new EstadisticasResponse(Map.of(), "2024-01-01T12:00:00Z");
+        when(estadisticasService.obtenerEstadisticas()).thenReturn(expected);
+
+        // When
+        ResponseEntity<EstadisticasResponse> result = estadisticasController.obtenerEstadisticas();
+
+        // Then
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Status should be OK");
+        assertSame(expected, result.getBody());
+        verify(estadisticasService, times(1)).obtenerEstadisticas();
+    }
+}
@@ -54,20 +54,18 @@ class PedidoControllerTest {
     }
 
     @Test
-    @DisplayName("Should return internal server error when service throws exception")
-    void procesarPedido_ShouldReturnInternalServerErrorWhenServiceThrowsException() {
+    @DisplayName("Should propagate service exceptions to the global exception handler")
+    void procesarPedido_WhenServiceThrowsException_ShouldPropagateException() {
         // Given
-        when(pedidoService.procesarPedido()).thenThrow(new RuntimeException("Service error"));
+        RuntimeException failure = new RuntimeException("Service error");
+        when(pedidoService.procesarPedido()).thenThrow(failure);
 
         // When
-        ResponseEntity<PedidoResponse> result = pedidoController.procesarPedido();
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> pedidoController.procesarPedido());
 
         // Then
-        assertNotNull(result, "Response entity should not be null");
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, result.getStatusCode(), 
-                    "Status should be INTERNAL_SERVER_ERROR");
-        assertNull(result.getBody(), "Response body should be null");
-        
+        assertSame(failure, thrown, "The service exception should not be wrapped");
+
         verify(pedidoService, times(1)).procesarPedido();
     }
 
@@ -0,0 +1,77 @@
+package com.example.testapi.decimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FixedPointArithmetic.
+ */
+@DisplayName("FixedPointArithmetic Tests")
+class FixedPointArithmeticTest {
+
+    private final FixedPointArithmetic arithmetic = new FixedPointArithmetic(8);
+
+    @Test
+    @DisplayName("Should return the exact decimal difference where double subtraction does not")
+    void subtract_WithDecimalRates_ShouldAvoidFloatingPointArtifacts() {
+        // Given
+        assertNotEquals(310.25, 1250.37 - 940.12, "Double subtraction should show the artifact this class avoids");
+
+        // When & Then
+        assertEquals(310.25, arithmetic.subtract(1250.37, 940.12));
+        assertEquals(0.1, arithmetic.subtract(0.3, 0.2));
+        assertEquals("0.3", Double.toString(arithmetic.subtract(0.4, 0.1)));
+        assertEquals(-5.05, arithmetic.subtract(940.1, 945.15));
+    }
+
+    @Test
+    @DisplayName("Should match BigDecimal arithmetic for random rates with known precision")
+    void subtract_WithRandomRates_ShouldMatchBigDecimal() {
+        // Given
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            double a = random.nextLong(1, 500_000_000L) / 10_000.0;
+            double b = random.nextLong(1, 500_000_000L) / 10_000.0;
+
+            // When
+            double result = arithmetic.subtract(a, b);
+
+            // Then
+            double expected = BigDecimal.valueOf(a).subtract(BigDecimal.valueOf(b)).doubleValue();
+            assertEquals(expected, result, a + " - " + b);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for values with more decimals than the scale")
+    void subtract_WithExcessPrecision_ShouldFallBackToBigDecimal() {
+        // Given
+        FixedPointArithmetic twoDecimals = new FixedPointArithmetic(2);
+
+        // When & Then
+        assertEquals(0.0001, twoDecimals.subtract(1000.0002, 1000.0001));
+        assertEquals(310.25, twoDecimals.subtract(1250.37, 940.12), "Fast path should still apply to 2 decimals");
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for values outside the fixed-point range")
+    void subtract_WithLargeValues_ShouldFallBackToBigDecimal() {
+        // When & Then
+        assertEquals(1.0E9 - 0.5, arithmetic.subtract(1.0E9, 0.5));
+        assertEquals(1.1E20, arithmetic.subtract(1.2E20, 1.0E19));
+    }
+
+    @Test
+    @DisplayName("Should reject scales outside the supported range")
+    void constructor_WithInvalidScale_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new FixedPointArithmetic(-1));
+        assertThrows(IllegalArgumentException.class, () -> new FixedPointArithmetic(16));
+        assertEquals(8, arithmetic.getScale());
+    }
+}
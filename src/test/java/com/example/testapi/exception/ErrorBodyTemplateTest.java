@@ -0,0 +1,91 @@
+package com.example.testapi.exception;
+
+import com.example.testapi.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ErrorBodyTemplate.
+ * This class verifies that the pre-serialized error bodies are byte-for-byte what
+ * Jackson produces for the equivalent ErrorResponse.
+ */
+@DisplayName("ErrorBodyTemplate Tests")
+class ErrorBodyTemplateTest {
+
+    private static final Instant TIMESTAMP = Instant.parse("2024-01-01T12:00:00.123456Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should render the same JSON as Jackson for an ErrorResponse")
+    void render_ShouldMatchJacksonSerialization() throws Exception {
+        // Given
+        ErrorBodyTemplate template = new ErrorBodyTemplate(HttpStatus.BAD_REQUEST, "Validation error");
+
+        // When
+        byte[] body = template.render("Rates map cannot be null", TIMESTAMP);
+
+        // Then
+        String expected = objectMapper.writeValueAsString(
+                new ErrorResponse("Validation error", "Rates map cannot be null", TIMESTAMP.toString()));
+        assertEquals(expected, new String(body, StandardCharsets.UTF_8), "Body should match Jackson output");
+    }
+
+    @Test
+    @DisplayName("Should escape quotes, control characters and non-ASCII text in the message")
+    void render_WithSpecialCharacters_ShouldEscapeMessage() throws Exception {
+        // Given
+        ErrorBodyTemplate template = new ErrorBodyTemplate(HttpStatus.BAD_REQUEST, "Validation error");
+        String message = "Invalid formula: unknown variable \"mép\"\n\tat position 3 \\ ✓";
+
+        // When
+        byte[] body = template.render(message, TIMESTAMP);
+
+        // Then
+        ErrorResponse parsed = objectMapper.readValue(body, ErrorResponse.class);
+        assertEquals(message, parsed.getMessage(), "Message should survive a round trip");
+        assertEquals("Validation error", parsed.getError());
+        assertEquals(TIMESTAMP.toString(), parsed.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should render a null message as JSON null")
+    void render_WithNullMessage_ShouldWriteNull() throws Exception {
+        // Given
+        ErrorBodyTemplate template = new ErrorBodyTemplate(HttpStatus.NOT_FOUND, "Not Found");
+
+        // When
+        byte[] body = template.render(null, TIMESTAMP);
+
+        // Then
+        String expected = objectMapper.writeValueAsString(new ErrorResponse("Not Found", null, TIMESTAMP.toString()));
+        assertEquals(expected, new String(body, StandardCharsets.UTF_8), "Null message should be written as null");
+    }
+
+    @Test
+    @DisplayName("Should build a JSON response with the template status")
+    void toResponse_ShouldUseStatusAndJsonContentType() throws Exception {
+        // Given
+        ErrorBodyTemplate template = new ErrorBodyTemplate(HttpStatus.SERVICE_UNAVAILABLE, "Upstream unavailable");
+
+        // When
+        ResponseEntity<byte[]> response = template.toResponse("Quorum not reached");
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode(), "Status should match the template");
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        ErrorResponse parsed = objectMapper.readValue(response.getBody(), ErrorResponse.class);
+        assertEquals("Upstream unavailable", parsed.getError());
+        assertEquals("Quorum not reached", parsed.getMessage());
+        assertNotNull(parsed.getTimestamp(), "Timestamp should be set");
+    }
+}
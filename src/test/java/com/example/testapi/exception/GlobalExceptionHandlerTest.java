@@ -0,0 +1,97 @@
+package com.example.testapi.exception;
+
+import com.example.testapi.model.ErrorResponse;
+import com.example.testapi.validation.RequestValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GlobalExceptionHandler.
+ * This class verifies how each kind of exception is mapped to a status and error body.
+ */
+@DisplayName("GlobalExceptionHandler Tests")
+class GlobalExceptionHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should map ApiTestException to BAD_REQUEST with negative differences error")
+    void handleApiTestException_ShouldReturnBadRequest() throws Exception {
+        // When
+        ResponseEntity<byte[]> response = handler.handleApiTestException(
+                new ApiTestException("Negative differences found for items: avg"));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Status should be BAD_REQUEST");
+        ErrorResponse body = parse(response);
+        assertEquals("Negative differences detected", body.getError());
+        assertEquals("Negative differences found for items: avg", body.getMessage());
+        assertEquals(1.0, rejections("negative_differences"), "The rejection should be counted by type");
+    }
+
+    @Test
+    @DisplayName("Should map request validation failures to BAD_REQUEST with validation error")
+    void handleIllegalArgumentException_WithValidationFailure_ShouldReturnBadRequest() throws Exception {
+        // When
+        ResponseEntity<byte[]> response = handler.handleIllegalArgumentException(
+                new RequestValidationException(List.of("Crypto data is required", "MEP data is required")));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Status should be BAD_REQUEST");
+        ErrorResponse body = parse(response);
+        assertEquals("Validation error", body.getError());
+        assertEquals("Crypto data is required", body.getMessage(), "First violation should be reported");
+        assertEquals(1.0, rejections("validation"), "The rejection should be counted by type");
+        assertEquals(0.0, rejections("negative_differences"));
+    }
+
+    @Test
+    @DisplayName("Should map UpstreamException to SERVICE_UNAVAILABLE")
+    void handleUpstreamException_ShouldReturnServiceUnavailable() throws Exception {
+        // When
+        ResponseEntity<byte[]> response = handler.handleUpstreamException(
+                new UpstreamException("Quorum not reached: 0 of 1 providers responded within 800 ms"));
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode(), "Status should be SERVICE_UNAVAILABLE");
+        ErrorResponse body = parse(response);
+        assertEquals("Upstream unavailable", body.getError());
+        assertTrue(body.getMessage().contains("Quorum not reached"));
+    }
+
+    @Test
+    @DisplayName("Should map unexpected exceptions to INTERNAL_SERVER_ERROR without exposing the message")
+    void handleUnexpectedException_ShouldReturnInternalServerError() throws Exception {
+        // When
+        ResponseEntity<byte[]> response = handler.handleUnexpectedException(new IllegalStateException("db password is wrong"));
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode(), "Status should be INTERNAL_SERVER_ERROR");
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        ErrorResponse body = parse(response);
+        assertEquals("Internal server error", body.getError());
+        assertEquals("An unexpected error occurred", body.getMessage());
+        assertNotNull(body.getTimestamp(), "Timestamp should be set");
+    }
+
+    private ErrorResponse parse(ResponseEntity<byte[]> response) throws Exception {
+        return objectMapper.readValue(response.getBody(), ErrorResponse.class);
+    }
+
+    private double rejections(String type) {
+        return meterRegistry.get("api.rejections").tag("type", type).counter().count();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.testapi.filter;
+
+import com.example.testapi.admission.AdaptiveConcurrencyLimiter;
+import com.example.testapi.admission.EndpointMatcher;
+import com.example.testapi.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConcurrencyLimitFilter.
+ */
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AdaptiveConcurrencyLimiter limiter;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 2.0, 0.5);
+        filter = new ConcurrencyLimitFilter(new EndpointMatcher<>(List.of(), path -> limiter, limiter), objectMapper,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should release the slot after the request completes")
+    void doFilter_WithFreeSlot_ShouldContinueAndRelease() throws Exception {
+        // Given
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/pedido"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertNotNull(chain.getRequest(), "Request should reach the chain");
+        assertEquals(0, limiter.getInFlight(), "Slot should be released");
+    }
+
+    @Test
+    @DisplayName("Should shed requests with 503 and Retry-After when the limit is reached")
+    void doFilter_AtLimit_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        assertTrue(limiter.tryAcquire());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/pedido"), response, chain);
+
+        // Then
+        assertEquals(503, response.getStatus(), "Status should be SERVICE_UNAVAILABLE");
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest(), "Shed request should not reach the chain");
+        ErrorResponse body = objectMapper.readValue(response.getContentAsString(), ErrorResponse.class);
+        assertEquals("Service overloaded", body.getError());
+        assertEquals(1.0, meterRegistry.get("admission.concurrency.shed").tag("endpoint", "other").counter().count(),
+                "Shed requests should be counted by endpoint");
+    }
+
+    @Test
+    @DisplayName("Should release the slot when the chain throws")
+    void doFilter_WhenChainFails_ShouldReleaseSlot() {
+        // Given
+        MockFilterChain failingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response)
+                    throws ServletException {
+                throw new ServletException("boom");
+            }
+        };
+
+        // When & Then
+        assertThrows(ServletException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/pedido"), new MockHttpServletResponse(), failingChain));
+        assertEquals(0, limiter.getInFlight(), "Slot should be released after a failure");
+    }
+}
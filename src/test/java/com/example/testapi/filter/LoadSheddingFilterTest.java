@@ -0,0 +1,131 @@
+package com.example.testapi.filter;
+
+import com.example.testapi.admission.CoDelLoadShedder;
+import com.example.testapi.admission.EndpointMatcher;
+import com.example.testapi.admission.QueueTimingExecutor;
+import com.example.testapi.admission.RequestPriority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadSheddingFilter.
+ * Requests are run on a single-threaded QueueTimingExecutor so that their queue delay is real.
+ */
+@DisplayName("LoadSheddingFilter Tests")
+class LoadSheddingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueueTimingExecutor executor = new QueueTimingExecutor("test-exec-", 1, 1, Integer.MAX_VALUE);
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, RequestPriority> priorities = Map.of(
+                "/api/v1/cotizacion", RequestPriority.HIGH,
+                "/api/v1/pedido", RequestPriority.LOW);
+        filter = new LoadSheddingFilter(
+                new CoDelLoadShedder(Duration.ofMillis(1), Duration.ofMillis(20)),
+                new EndpointMatcher<>(priorities.keySet(), priorities::get, RequestPriority.MEDIUM),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should serve requests that did not wait in the queue")
+    void doFilter_WithoutQueueDelay_ShouldContinueChain() throws Exception {
+        // Given
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/pedido"), response, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest(), "Request should reach the chain");
+        assertEquals(1, meterRegistry.get("admission.queue.delay").summary().count());
+    }
+
+    @Test
+    @DisplayName("Should shed low-priority requests that queued too long and count them")
+    void doFilter_AfterLongQueueDelay_ShouldShedLowPriority() throws Exception {
+        // When
+        List<MockHttpServletResponse> responses = runQueued(50, "/api/v1/pedido", "/api/v1/cotizacion");
+
+        // Then
+        assertEquals(503, responses.get(0).getStatus(), "Low priority request should be shed");
+        assertEquals("1", responses.get(0).getHeader("Retry-After"));
+        assertTrue(responses.get(0).getContentAsString().contains("Service overloaded"));
+        assertEquals(200, responses.get(1).getStatus(), "High priority request should still be served");
+        assertEquals(1.0, meterRegistry.get("admission.shed").tag("priority", "low").counter().count());
+        assertEquals(0.0, meterRegistry.get("admission.shed").tag("priority", "high").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should expose the number of in-flight requests")
+    void doFilter_ShouldTrackInFlightRequests() throws Exception {
+        // Given
+        double[] observed = new double[1];
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                observed[0] = meterRegistry.get("admission.in.flight").gauge().value();
+            }
+        };
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/pedido"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(1.0, observed[0], "Request should be counted while in the chain");
+        assertEquals(0.0, meterRegistry.get("admission.in.flight").gauge().value());
+    }
+
+    private List<MockHttpServletResponse> runQueued(long blockMillis, String... paths) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<CompletableFuture<MockHttpServletResponse>> futures = Arrays.stream(paths).map(path -> {
+            CompletableFuture<MockHttpServletResponse> future = new CompletableFuture<>();
+            executor.execute(() -> {
+                try {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+                    future.complete(response);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }).toList();
+        Thread.sleep(blockMillis);
+        release.countDown();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
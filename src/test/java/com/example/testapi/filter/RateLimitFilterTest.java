@@ -0,0 +1,128 @@
+package com.example.testapi.filter;
+
+import com.example.testapi.admission.EndpointMatcher;
+import com.example.testapi.admission.TokenBucketRateLimiter;
+import com.example.testapi.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitFilter.
+ */
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        EndpointMatcher<TokenBucketRateLimiter> limiters = new EndpointMatcher<>(
+                List.of("/api/v1/cotizacion"),
+                path -> new TokenBucketRateLimiter(0.5, 1, 100, clock::get),
+                new TokenBucketRateLimiter(100, 100, 100, clock::get));
+        filter = new RateLimitFilter(limiters, "X-API-Key", Set.of("partner-key"), objectMapper, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should pass requests within the limit down the chain")
+    void doFilter_WithinLimit_ShouldContinueChain() throws Exception {
+        // Given
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("/api/v1/cotizacion", null), response, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest(), "Request should reach the chain");
+    }
+
+    @Test
+    @DisplayName("Should reject requests over the limit with 429, Retry-After and an error body")
+    void doFilter_OverLimit_ShouldReturnTooManyRequests() throws Exception {
+        // Given
+        filter.doFilter(request("/api/v1/cotizacion", null), new MockHttpServletResponse(), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("/api/v1/cotizacion", null), response, chain);
+
+        // Then
+        assertEquals(429, response.getStatus(), "Status should be TOO_MANY_REQUESTS");
+        assertEquals("2", response.getHeader("Retry-After"), "Retry-After should round the wait up to seconds");
+        assertNull(chain.getRequest(), "Rejected request should not reach the chain");
+        ErrorResponse body = objectMapper.readValue(response.getContentAsString(), ErrorResponse.class);
+        assertEquals("Too many requests", body.getError());
+        assertEquals("Rate limit exceeded, retry in 2 seconds", body.getMessage());
+        assertEquals(1.0, meterRegistry.get("admission.rate.limited").tag("endpoint", "/api/v1/cotizacion").counter().count(),
+                "Rejected requests should be counted by endpoint");
+    }
+
+    @Test
+    @DisplayName("Should identify clients by API key before remote address")
+    void doFilter_WithApiKey_ShouldUseSeparateBucket() throws Exception {
+        // Given
+        filter.doFilter(request("/api/v1/cotizacion", null), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("/api/v1/cotizacion", "partner-key"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(200, response.getStatus(), "API key client should have its own bucket");
+    }
+
+    @Test
+    @DisplayName("Should identify clients with an unknown API key by remote address")
+    void doFilter_WithUnknownApiKey_ShouldUseAddressBucket() throws Exception {
+        // Given
+        filter.doFilter(request("/api/v1/cotizacion", null), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("/api/v1/cotizacion", "invented-key"), response, new MockFilterChain());
+
+        // Then
+        assertEquals(429, response.getStatus(), "An unknown API key should not get a fresh bucket");
+    }
+
+    @Test
+    @DisplayName("Should apply endpoint limits independently")
+    void doFilter_OnOtherEndpoint_ShouldUseItsOwnLimit() throws Exception {
+        // Given
+        filter.doFilter(request("/api/v1/cotizacion", null), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("/api/v1/pedido", null), response, new MockFilterChain());
+
+        // Then
+        assertEquals(200, response.getStatus(), "Other endpoints should not be affected");
+    }
+
+    private MockHttpServletRequest request(String path, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("10.0.0.1");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.testapi.formula;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FormulaRegistry.
+ */
+@DisplayName("FormulaRegistry Tests")
+class FormulaRegistryTest {
+
+    private final FormulaRegistry registry = new FormulaRegistry();
+
+    @Test
+    @DisplayName("Should provide the built-in formulas and default to MEP minus crypto")
+    void constructor_ShouldRegisterBuiltInFormulas() {
+        // When
+        Set<String> names = registry.getAll().stream().map(SpreadFormula::getName).collect(Collectors.toSet());
+
+        // Then
+        assertEquals(Set.of("diferencia", "porcentaje", "ratio", "cruzado"), names);
+        assertEquals("mep - crypto", registry.get(null).getExpression(), "Default formula should be MEP - crypto");
+    }
+
+    @Test
+    @DisplayName("Should register and replace custom formulas")
+    void register_WithCustomFormula_ShouldBeResolvable() {
+        // When
+        registry.register("brecha", "mep.sell / crypto.buy - 1");
+        registry.register("brecha", "mep.sell - crypto.buy");
+
+        // Then
+        assertEquals("mep.sell - crypto.buy", registry.get("brecha").getExpression());
+    }
+
+    @Test
+    @DisplayName("Should reject new custom formulas beyond the limit but still allow replacing one")
+    void register_BeyondLimit_ShouldThrowIllegalArgumentException() {
+        // Given
+        for (int i = 0; i < FormulaRegistry.MAX_CUSTOM_FORMULAS; i++) {
+            registry.register("custom-" + i, "mep - crypto");
+        }
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> registry.register("one-more", "mep - crypto"));
+        assertDoesNotThrow(() -> registry.register("custom-0", "mep / crypto"));
+    }
+
+    @Test
+    @DisplayName("Should reject replacing a built-in formula")
+    void register_WithBuiltInName_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> registry.register("diferencia", "crypto - mep"));
+        assertEquals("Built-in formula cannot be replaced: diferencia", exception.getMessage());
+        assertEquals("mep - crypto", registry.get("diferencia").getExpression());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formula names")
+    void get_WithUnknownName_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> registry.get("nada"));
+        assertEquals("Unknown formula: nada", exception.getMessage());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.testapi.formula;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpreadFormula and its parser.
+ */
+@DisplayName("SpreadFormula Tests")
+class SpreadFormulaTest {
+
+    // crypto avg, sell, buy, MEP avg, sell, buy
+    private static final double[] RATES = {940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0};
+
+    @Test
+    @DisplayName("Should resolve mep and crypto to the component being computed")
+    void evaluate_WithComponentVariables_ShouldUseEachComponent() {
+        // Given
+        SpreadFormula formula = SpreadFormula.compile("diferencia", "mep - crypto");
+
+        // When & Then
+        assertEquals(310.0, formula.evaluate(RATES, SpreadFormula.AVG));
+        assertEquals(315.0, formula.evaluate(RATES, SpreadFormula.SELL));
+        assertEquals(305.0, formula.evaluate(RATES, SpreadFormula.BUY));
+    }
+
+    @Test
+    @DisplayName("Should resolve qualified variables to a fixed component")
+    void evaluate_WithQualifiedVariables_ShouldUseFixedComponent() {
+        // Given
+        SpreadFormula formula = SpreadFormula.compile("cruzado", "mep.buy - crypto.sell");
+
+        // When & Then
+        assertEquals(295.0, formula.evaluate(RATES, SpreadFormula.AVG));
+        assertEquals(295.0, formula.evaluate(RATES, SpreadFormula.BUY));
+    }
+
+    @Test
+    @DisplayName("Should honor operator precedence, unary minus and parentheses")
+    void evaluate_WithMixedOperators_ShouldHonorPrecedence() {
+        assertEquals(7.0, SpreadFormula.compile("f", "1 + 2 * 3").evaluate(RATES, 0));
+        assertEquals(9.0, SpreadFormula.compile("f", "(1 + 2) * 3").evaluate(RATES, 0));
+        assertEquals(-1.0, SpreadFormula.compile("f", "2 - 3").evaluate(RATES, 0));
+        assertEquals(2.0, SpreadFormula.compile("f", "8 / 2 / 2").evaluate(RATES, 0));
+        assertEquals(1.0, SpreadFormula.compile("f", "-(-1)").evaluate(RATES, 0));
+        assertEquals(-5.0, SpreadFormula.compile("f", "-crypto.avg / 188").evaluate(RATES, 0));
+    }
+
+    @Test
+    @DisplayName("Should evaluate percentage spreads")
+    void evaluate_WithPercentageFormula_ShouldReturnPercentage() {
+        // Given
+        SpreadFormula formula = SpreadFormula.compile("porcentaje", "(mep - crypto) / crypto * 100");
+
+        // When & Then
+        assertEquals(310.0 / 940.0 * 100, formula.evaluate(RATES, SpreadFormula.AVG), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should evaluate abs, min and max")
+    void evaluate_WithFunctions_ShouldApplyThem() {
+        assertEquals(310.0, SpreadFormula.compile("f", "abs(crypto - mep)").evaluate(RATES, 0));
+        assertEquals(935.0, SpreadFormula.compile("f", "min(crypto.sell, crypto.buy)").evaluate(RATES, 0));
+        assertEquals(1260.0, SpreadFormula.compile("f", "max(mep.avg, max(mep.sell, mep.buy))").evaluate(RATES, 0));
+        assertEquals(3.0, SpreadFormula.compile("f", "abs(-3)").evaluate(RATES, 0));
+    }
+
+    @Test
+    @DisplayName("Should keep the trimmed expression and the name")
+    void compile_ShouldKeepNameAndExpression() {
+        // When
+        SpreadFormula formula = SpreadFormula.compile("ratio", "  mep / crypto ");
+
+        // Then
+        assertEquals("ratio", formula.getName());
+        assertEquals("mep / crypto", formula.getExpression());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed formulas with the offending position")
+    void compile_WithMalformedFormula_ShouldThrowIllegalArgumentException() {
+        assertEquals("Invalid formula: unknown variable 'blue' at position 0",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", "blue - mep")).getMessage());
+        assertEquals("Invalid formula: unknown variable 'mep.last' at position 0",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", "mep.last")).getMessage());
+        assertEquals("Invalid formula: expected ')' at position 13",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", "(mep - crypto")).getMessage());
+        assertEquals("Invalid formula: unexpected end of formula at position 6",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", "mep - ")).getMessage());
+        assertEquals("Invalid formula: unexpected ')' at position 3",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", "mep)")).getMessage());
+        assertEquals("Invalid formula: unknown function 'log' at position 0",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", "log(mep)")).getMessage());
+        assertEquals("Invalid formula: function 'max' takes 2 arguments at position 0",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", "max(mep)")).getMessage());
+        assertEquals("Formula expression is required",
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("f", " ")).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("Bad Name", "mep"));
+    }
+
+    @Test
+    @DisplayName("Should reject formulas nested deeper than the limit instead of overflowing the stack")
+    void compile_WithDeepNesting_ShouldThrowIllegalArgumentException() {
+        // Given
+        String deep = "(".repeat(20_000) + "mep" + ")".repeat(20_000);
+        String nested = "(".repeat(FormulaParser.MAX_DEPTH + 1) + "mep" + ")".repeat(FormulaParser.MAX_DEPTH + 1);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("deep", deep));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("nested", nested));
+        assertTrue(exception.getMessage().contains("nested deeper than"));
+        String allowed = "(".repeat(FormulaParser.MAX_DEPTH - 1) + "mep" + ")".repeat(FormulaParser.MAX_DEPTH - 1);
+        assertEquals(1250.0, SpreadFormula.compile("allowed", allowed).evaluate(RATES, SpreadFormula.AVG));
+    }
+
+    @Test
+    @DisplayName("Should reject formulas with too many terms instead of overflowing the stack on evaluation")
+    void compile_WithTooManyTerms_ShouldThrowIllegalArgumentException() {
+        // Given
+        String huge = "mep.avg" + " + mep.avg".repeat(50_000);
+        String wide = "mep" + "+mep".repeat(200);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("huge", huge));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> SpreadFormula.compile("long", wide));
+        assertTrue(exception.getMessage().contains("operands and operators"));
+    }
+}
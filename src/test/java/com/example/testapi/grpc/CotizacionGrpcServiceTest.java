@@ -0,0 +1,261 @@
+package com.example.testapi.grpc;
+
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.grpc.proto.CotizacionesGrpc;
+import com.example.testapi.grpc.proto.GetQuotationRequest;
+import com.example.testapi.grpc.proto.Quotation;
+import com.example.testapi.grpc.proto.RateValues;
+import com.example.testapi.grpc.proto.SpreadBatchResponse;
+import com.example.testapi.grpc.proto.SpreadRequest;
+import com.example.testapi.grpc.proto.SpreadResponse;
+import com.example.testapi.grpc.proto.SpreadResult;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.service.DiferenciasService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CotizacionGrpcService.
+ * This class calls the service through an in-process gRPC channel, with a mocked
+ * CotizacionService and a real DiferenciasService.
+ */
+@DisplayName("CotizacionGrpcService Tests")
+class CotizacionGrpcServiceTest {
+
+    private CotizacionService cotizacionService;
+    private QuotationBroadcaster quotationBroadcaster;
+    private Server server;
+    private ManagedChannel channel;
+    private CotizacionesGrpc.CotizacionesBlockingStub blockingStub;
+    private CotizacionesGrpc.CotizacionesStub asyncStub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cotizacionService = mock(CotizacionService.class);
+        quotationBroadcaster = new QuotationBroadcaster(cotizacionService, Duration.ofSeconds(5));
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new CotizacionGrpcService(cotizacionService, new DiferenciasService(), quotationBroadcaster))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blockingStub = CotizacionesGrpc.newBlockingStub(channel);
+        asyncStub = CotizacionesGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        quotationBroadcaster.shutdown();
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return the quotation retrieved by CotizacionService")
+    void getQuotation_ShouldReturnQuotation() {
+        // Given
+        when(cotizacionService.obtenerCotizacion()).thenReturn(createMockCotizacionResponse());
+
+        // When
+        Quotation quotation = blockingStub.getQuotation(GetQuotationRequest.getDefaultInstance());
+
+        // Then
+        assertEquals("2024-01-01T12:00:00Z", quotation.getLastUpdate());
+        assertEquals(200.0, quotation.getBlue().getValueAvg(), "Blue average should be mapped");
+        assertEquals(99.5, quotation.getOficial().getValueBuy(), "Oficial buy should be mapped");
+        assertFalse(quotation.hasBlueEuro(), "Missing rate types should be left unset");
+    }
+
+    @Test
+    @DisplayName("Should fail with UNAVAILABLE when the upstream fails")
+    void getQuotation_WhenUpstreamFails_ShouldReturnUnavailable() {
+        // Given
+        when(cotizacionService.obtenerCotizacion())
+                .thenThrow(new UpstreamException("Error retrieving exchange rate data from external API"));
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getQuotation(GetQuotationRequest.getDefaultInstance()));
+
+        // Then
+        assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+        assertEquals("Error retrieving exchange rate data from external API", exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should compute MEP - crypto differences")
+    void computeSpread_WithValidRequest_ShouldReturnDifferences() {
+        // When
+        SpreadResponse response = blockingStub.computeSpread(spreadRequest(940.0, 1250.0));
+
+        // Then
+        assertEquals(310.0, response.getDiferenciaAvg(), 1e-9);
+        assertEquals(310.0, response.getDiferenciaSell(), 1e-9);
+        assertEquals(310.0, response.getDiferenciaBuy(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should compute differences with the requested formula")
+    void computeSpread_WithFormula_ShouldUseFormula() {
+        // When
+        SpreadResponse response = blockingStub.computeSpread(spreadRequest(1000.0, 1250.0).toBuilder()
+                .setFormula("porcentaje")
+                .build());
+
+        // Then
+        assertEquals(25.0, response.getDiferenciaAvg(), 1e-9, "Percentage spread should be (mep / crypto - 1) * 100");
+    }
+
+    @Test
+    @DisplayName("Should fail with INVALID_ARGUMENT when a value is missing")
+    void computeSpread_WithMissingValue_ShouldReturnInvalidArgument() {
+        // Given
+        SpreadRequest request = spreadRequest(940.0, 1250.0).toBuilder()
+                .setMep(RateValues.newBuilder().setValueAvg(1250.0).setValueSell(1255.0))
+                .build();
+
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.computeSpread(request));
+
+        // Then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("MEP value_buy cannot be null", exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should fail with FAILED_PRECONDITION when differences are negative")
+    void computeSpread_WithNegativeDifferences_ShouldReturnFailedPrecondition() {
+        // When
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.computeSpread(spreadRequest(1250.0, 940.0)));
+
+        // Then
+        assertEquals(Status.Code.FAILED_PRECONDITION, exception.getStatus().getCode());
+        assertTrue(exception.getStatus().getDescription().startsWith("Negative differences found for items"));
+    }
+
+    @Test
+    @DisplayName("Should answer a client stream with one result per request, in order")
+    void computeSpreads_ShouldReturnOneResultPerRequest() throws Exception {
+        // Given
+        CompletableFuture<SpreadBatchResponse> result = new CompletableFuture<>();
+        StreamObserver<SpreadRequest> requests = asyncStub.computeSpreads(new StreamObserver<>() {
+            @Override
+            public void onNext(SpreadBatchResponse value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+
+        // When
+        requests.onNext(spreadRequest(940.0, 1250.0));
+        requests.onNext(spreadRequest(1250.0, 940.0));
+        requests.onNext(SpreadRequest.newBuilder().setCrypto(rates(940.0)).build());
+        requests.onCompleted();
+        SpreadBatchResponse batch = result.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(3, batch.getResultsCount(), "There should be one result per request");
+        assertEquals(SpreadResult.ResultCase.SPREAD, batch.getResults(0).getResultCase());
+        assertEquals(310.0, batch.getResults(0).getSpread().getDiferenciaAvg(), 1e-9);
+        assertEquals("Negative differences detected", batch.getResults(1).getError().getError());
+        assertEquals("Validation error", batch.getResults(2).getError().getError());
+        assertEquals("MEP data is required", batch.getResults(2).getError().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should fail a client stream longer than the batch limit with RESOURCE_EXHAUSTED")
+    void computeSpreads_WithTooManyRequests_ShouldReturnResourceExhausted() {
+        // Given
+        CompletableFuture<SpreadBatchResponse> result = new CompletableFuture<>();
+        StreamObserver<SpreadRequest> requests = asyncStub.computeSpreads(new StreamObserver<>() {
+            @Override
+            public void onNext(SpreadBatchResponse value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+
+        // When
+        for (int i = 0; i <= CotizacionGrpcService.MAX_BATCH_SIZE; i++) {
+            requests.onNext(spreadRequest(940.0, 1250.0));
+        }
+        requests.onCompleted();
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        StatusRuntimeException cause = assertInstanceOf(StatusRuntimeException.class, exception.getCause());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, cause.getStatus().getCode());
+        assertEquals("A spread batch cannot exceed " + CotizacionGrpcService.MAX_BATCH_SIZE + " requests",
+                cause.getStatus().getDescription());
+    }
+
+    private SpreadRequest spreadRequest(double crypto, double mep) {
+        return SpreadRequest.newBuilder().setCrypto(rates(crypto)).setMep(rates(mep)).build();
+    }
+
+    private RateValues rates(double avg) {
+        return RateValues.newBuilder().setValueAvg(avg).setValueSell(avg + 5).setValueBuy(avg - 5).build();
+    }
+
+    /**
+     * Creates a mock CotizacionResponse for testing purposes.
+     *
+     * @return a mock CotizacionResponse object without euro rates
+     */
+    private CotizacionResponse createMockCotizacionResponse() {
+        CotizacionResponse response = new CotizacionResponse();
+
+        CotizacionResponse.CotizacionData oficial = new CotizacionResponse.CotizacionData();
+        oficial.setValueAvg(100.0);
+        oficial.setValueBuy(99.5);
+        oficial.setValueSell(100.5);
+
+        CotizacionResponse.CotizacionData blue = new CotizacionResponse.CotizacionData();
+        blue.setValueAvg(200.0);
+        blue.setValueBuy(199.5);
+        blue.setValueSell(200.5);
+
+        response.setOficial(oficial);
+        response.setBlue(blue);
+        response.setLastUpdate("2024-01-01T12:00:00Z");
+        return response;
+    }
+}
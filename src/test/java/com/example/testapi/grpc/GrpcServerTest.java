@@ -0,0 +1,77 @@
+package com.example.testapi.grpc;
+
+import com.example.testapi.grpc.proto.CotizacionesGrpc;
+import com.example.testapi.grpc.proto.RateValues;
+import com.example.testapi.grpc.proto.SpreadRequest;
+import com.example.testapi.grpc.proto.SpreadResponse;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.service.DiferenciasService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for GrpcServer.
+ * This class starts the server on a random port and calls it over a real HTTP/2 connection.
+ */
+@DisplayName("GrpcServer Tests")
+class GrpcServerTest {
+
+    private GrpcServer grpcServer;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        CotizacionService cotizacionService = mock(CotizacionService.class);
+        QuotationBroadcaster broadcaster = new QuotationBroadcaster(cotizacionService, Duration.ofSeconds(5));
+        grpcServer = new GrpcServer(0, Duration.ofSeconds(1),
+                new CotizacionGrpcService(cotizacionService, new DiferenciasService(), broadcaster), broadcaster);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        grpcServer.stop();
+    }
+
+    @Test
+    @DisplayName("Should serve calls on the bound port once started")
+    void start_ShouldServeCallsOnBoundPort() {
+        // When
+        grpcServer.start();
+        channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort()).usePlaintext().build();
+        SpreadResponse response = CotizacionesGrpc.newBlockingStub(channel).computeSpread(SpreadRequest.newBuilder()
+                .setCrypto(RateValues.newBuilder().setValueAvg(940.0).setValueSell(945.0).setValueBuy(935.0))
+                .setMep(RateValues.newBuilder().setValueAvg(1250.0).setValueSell(1260.0).setValueBuy(1240.0))
+                .build());
+
+        // Then
+        assertTrue(grpcServer.isRunning(), "Server should be running");
+        assertTrue(grpcServer.getPort() > 0, "Server should be bound to a port");
+        assertEquals(310.0, response.getDiferenciaAvg(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should release the port when stopped")
+    void stop_ShouldStopServer() {
+        // Given
+        grpcServer.start();
+
+        // When
+        grpcServer.stop();
+
+        // Then
+        assertFalse(grpcServer.isRunning(), "Server should not be running");
+        assertEquals(-1, grpcServer.getPort(), "A stopped server has no port");
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.testapi.grpc;
+
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.grpc.proto.CotizacionesGrpc;
+import com.example.testapi.grpc.proto.Quotation;
+import com.example.testapi.grpc.proto.WatchQuotationRequest;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.service.CotizacionService;
+import io.grpc.Context;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for QuotationBroadcaster.
+ * This class opens WatchQuotation streams through an in-process gRPC channel and checks
+ * which quotations reach them and how often the upstream is polled.
+ */
+@DisplayName("QuotationBroadcaster Tests")
+class QuotationBroadcasterTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(20);
+
+    private CotizacionService cotizacionService;
+    private QuotationBroadcaster broadcaster;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cotizacionService = mock(CotizacionService.class);
+        broadcaster = new QuotationBroadcaster(cotizacionService, INTERVAL);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new CotizacionGrpcService(cotizacionService, null, broadcaster))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should send the first quotation and then only quotations that changed")
+    void watch_ShouldSendOnlyChangedQuotations() throws Exception {
+        // Given
+        when(cotizacionService.obtenerCotizacion())
+                .thenReturn(cotizacion("2024-01-01T12:00:00Z", 200.0))
+                .thenReturn(cotizacion("2024-01-01T12:00:00Z", 200.0))
+                .thenReturn(cotizacion("2024-01-01T12:05:00Z", 210.0));
+
+        // When
+        BlockingQueue<Quotation> received = new LinkedBlockingQueue<>();
+        Context.CancellableContext watch = watch(received);
+
+        // Then
+        Quotation first = received.poll(5, TimeUnit.SECONDS);
+        Quotation second = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first, "The current quotation should be sent right away");
+        assertNotNull(second, "The changed quotation should be sent");
+        assertEquals(200.0, first.getBlue().getValueAvg());
+        assertEquals(210.0, second.getBlue().getValueAvg());
+
+        Thread.sleep(INTERVAL.toMillis() * 5);
+        assertTrue(received.isEmpty(), "Unchanged quotations should not be sent again");
+        watch.cancel(null);
+    }
+
+    @Test
+    @DisplayName("Should poll the upstream once per interval for all watchers")
+    void watch_WithSeveralWatchers_ShouldShareOnePoller() throws Exception {
+        // Given
+        when(cotizacionService.obtenerCotizacion()).thenReturn(cotizacion("2024-01-01T12:00:00Z", 200.0));
+        List<BlockingQueue<Quotation>> queues = List.of(new LinkedBlockingQueue<>(),
+                new LinkedBlockingQueue<>(), new LinkedBlockingQueue<>());
+
+        // When
+        List<Context.CancellableContext> watches = queues.stream().map(this::watch).toList();
+        for (BlockingQueue<Quotation> queue : queues) {
+            assertNotNull(queue.poll(5, TimeUnit.SECONDS), "Every watcher should receive the quotation");
+        }
+        Thread.sleep(INTERVAL.toMillis() * 10);
+
+        // Then
+        verify(cotizacionService, atMost(15)).obtenerCotizacion();
+        assertEquals(3, broadcaster.getSubscriberCount());
+        watches.forEach(watch -> watch.cancel(null));
+    }
+
+    @Test
+    @DisplayName("Should keep streams open when a poll fails")
+    void watch_WhenPollFails_ShouldKeepStreamOpen() throws Exception {
+        // Given
+        when(cotizacionService.obtenerCotizacion())
+                .thenThrow(new UpstreamException("Error retrieving exchange rate data from external API"))
+                .thenReturn(cotizacion("2024-01-01T12:00:00Z", 200.0));
+
+        // When
+        BlockingQueue<Quotation> received = new LinkedBlockingQueue<>();
+        Context.CancellableContext watch = watch(received);
+
+        // Then
+        assertNotNull(received.poll(5, TimeUnit.SECONDS), "The quotation should arrive once the upstream recovers");
+        watch.cancel(null);
+    }
+
+    @Test
+    @DisplayName("Should stop polling when the last watcher cancels")
+    void watch_WhenCancelled_ShouldUnsubscribe() throws Exception {
+        // Given
+        when(cotizacionService.obtenerCotizacion()).thenReturn(cotizacion("2024-01-01T12:00:00Z", 200.0));
+        BlockingQueue<Quotation> received = new LinkedBlockingQueue<>();
+        Context.CancellableContext watch = watch(received);
+        assertNotNull(received.poll(5, TimeUnit.SECONDS));
+
+        // When
+        watch.cancel(null);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.getSubscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(INTERVAL.toMillis() * 2);
+        clearInvocations(cotizacionService);
+        Thread.sleep(INTERVAL.toMillis() * 5);
+
+        // Then
+        assertEquals(0, broadcaster.getSubscriberCount(), "The cancelled stream should be removed");
+        verify(cotizacionService, never()).obtenerCotizacion();
+    }
+
+    @Test
+    @DisplayName("Should complete open streams on shutdown")
+    void shutdown_ShouldCompleteStreams() throws Exception {
+        // Given
+        when(cotizacionService.obtenerCotizacion()).thenReturn(cotizacion("2024-01-01T12:00:00Z", 200.0));
+        CountDownLatch completed = new CountDownLatch(1);
+        CotizacionesGrpc.newStub(channel).watchQuotation(WatchQuotationRequest.getDefaultInstance(),
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(Quotation value) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.getSubscriberCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // When
+        broadcaster.shutdown();
+
+        // Then
+        assertTrue(completed.await(5, TimeUnit.SECONDS), "The stream should be completed");
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive interval")
+    void constructor_WithZeroInterval_ShouldThrow() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new QuotationBroadcaster(cotizacionService, Duration.ZERO));
+        assertEquals("Watch interval must be positive", exception.getMessage());
+    }
+
+    private Context.CancellableContext watch(BlockingQueue<Quotation> received) {
+        Context.CancellableContext context = Context.current().withCancellation();
+        context.run(() -> CotizacionesGrpc.newStub(channel).watchQuotation(WatchQuotationRequest.getDefaultInstance(),
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(Quotation value) {
+                        received.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                }));
+        return context;
+    }
+
+    private CotizacionResponse cotizacion(String lastUpdate, double blueAvg) {
+        CotizacionResponse.CotizacionData blue = new CotizacionResponse.CotizacionData();
+        blue.setValueAvg(blueAvg);
+        blue.setValueBuy(blueAvg - 5);
+        blue.setValueSell(blueAvg + 5);
+        CotizacionResponse response = new CotizacionResponse();
+        response.setBlue(blue);
+        response.setLastUpdate(lastUpdate);
+        return response;
+    }
+}
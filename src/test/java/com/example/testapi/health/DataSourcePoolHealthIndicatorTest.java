@@ -0,0 +1,85 @@
+package com.example.testapi.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DataSourcePoolHealthIndicator.
+ */
+@DisplayName("DataSourcePoolHealthIndicator Tests")
+class DataSourcePoolHealthIndicatorTest {
+
+    @Test
+    @DisplayName("Should report up with the pool details while connections are available")
+    void health_WithAvailableConnections_ShouldBeUp() {
+        // Given
+        DataSourcePoolHealthIndicator indicator = indicator(hikari(4, 6, 0, 10), 1.0);
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(4, health.getDetails().get("active"));
+        assertEquals(6, health.getDetails().get("idle"));
+        assertEquals(10, health.getDetails().get("maxPoolSize"));
+    }
+
+    @Test
+    @DisplayName("Should report down when every connection is in use and threads are waiting")
+    void health_WithExhaustedPool_ShouldBeDown() {
+        // Given
+        DataSourcePoolHealthIndicator indicator = indicator(hikari(10, 0, 3, 10), 1.0);
+
+        // When & Then
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report up when the pool is busy but nobody is waiting")
+    void health_WithBusyPoolAndNoWaiters_ShouldBeUp() {
+        // Given
+        DataSourcePoolHealthIndicator indicator = indicator(hikari(10, 0, 0, 10), 1.0);
+
+        // When & Then
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report unknown without a DataSource")
+    void health_WithoutDataSource_ShouldBeUnknown() {
+        // Given
+        DataSourcePoolHealthIndicator indicator = indicator(null, 1.0);
+
+        // When & Then
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataSourcePoolHealthIndicator indicator(DataSource dataSource, double maxUsage) {
+        ObjectProvider<DataSource> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(dataSource);
+        return new DataSourcePoolHealthIndicator(provider, maxUsage);
+    }
+
+    private HikariDataSource hikari(int active, int idle, int waiting, int maxPoolSize) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(active);
+        when(pool.getIdleConnections()).thenReturn(idle);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(waiting);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getMaximumPoolSize()).thenReturn(maxPoolSize);
+        return dataSource;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.testapi.health;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.service.CotizacionService;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for QuotationFreshnessHealthIndicator.
+ */
+@DisplayName("QuotationFreshnessHealthIndicator Tests")
+class QuotationFreshnessHealthIndicatorTest {
+
+    private final CotizacionService cotizacionService = mock(CotizacionService.class);
+
+    private final QuotationFreshnessHealthIndicator indicator =
+            new QuotationFreshnessHealthIndicator(cotizacionService, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Should report up without refreshing a recent quotation")
+    void health_WithRecentQuotation_ShouldBeUp() {
+        // Given
+        givenQuotationRetrievedAgo(Duration.ofSeconds(10));
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(10L, health.getDetails().get("ageSeconds"));
+        verify(cotizacionService, never()).refreshInBackground();
+    }
+
+    @Test
+    @DisplayName("Should stay up but refresh a quotation older than the refresh age")
+    void health_WithAgingQuotation_ShouldRefreshInBackground() {
+        // Given
+        givenQuotationRetrievedAgo(Duration.ofMinutes(2));
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        verify(cotizacionService).refreshInBackground();
+    }
+
+    @Test
+    @DisplayName("Should report down and keep refreshing a quotation older than the maximum age")
+    void health_WithStaleQuotation_ShouldBeDown() {
+        // Given
+        givenQuotationRetrievedAgo(Duration.ofMinutes(6));
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(300L, health.getDetails().get("maxAgeSeconds"));
+        verify(cotizacionService).refreshInBackground();
+    }
+
+    @Test
+    @DisplayName("Should report unknown before the first quotation and try to retrieve it")
+    void health_WithoutQuotation_ShouldBeUnknown() {
+        // Given
+        when(cotizacionService.getLatestSnapshot()).thenReturn(Optional.empty());
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.UNKNOWN, health.getStatus());
+        verify(cotizacionService).refreshInBackground();
+    }
+
+    private void givenQuotationRetrievedAgo(Duration age) {
+        QuotationSnapshot snapshot = new QuotationSnapshot(new CotizacionResponse(), Instant.now().minus(age));
+        when(cotizacionService.getLatestSnapshot()).thenReturn(Optional.of(snapshot));
+    }
+}
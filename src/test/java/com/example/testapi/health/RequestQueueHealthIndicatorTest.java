@@ -0,0 +1,87 @@
+package com.example.testapi.health;
+
+import com.example.testapi.admission.QueueTimingExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestQueueHealthIndicator.
+ * This class queues tasks behind a blocked single-thread executor to control the wait.
+ */
+@DisplayName("RequestQueueHealthIndicator Tests")
+class RequestQueueHealthIndicatorTest {
+
+    private final QueueTimingExecutor executor = new QueueTimingExecutor("test-exec-", 1, 1, Integer.MAX_VALUE);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should report up while queued requests wait less than the maximum")
+    void health_WithShortWait_ShouldBeUp() throws Exception {
+        // Given
+        blockWorkerAndQueue(3);
+        RequestQueueHealthIndicator indicator = new RequestQueueHealthIndicator(() -> executor, Duration.ofSeconds(10));
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(3, health.getDetails().get("queued"));
+        assertEquals(1, health.getDetails().get("activeThreads"));
+    }
+
+    @Test
+    @DisplayName("Should report down once the oldest queued request waited longer than the maximum")
+    void health_WithLongWait_ShouldBeDown() throws Exception {
+        // Given
+        blockWorkerAndQueue(1);
+        RequestQueueHealthIndicator indicator = new RequestQueueHealthIndicator(() -> executor, Duration.ofMillis(20));
+
+        // When
+        Thread.sleep(50);
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.DOWN, health.getStatus());
+        assertTrue((Long) health.getDetails().get("oldestWaitMillis") >= 20L);
+    }
+
+    @Test
+    @DisplayName("Should report unknown when the request queue is not measured")
+    void health_WithoutExecutor_ShouldBeUnknown() {
+        // When & Then
+        assertEquals(Status.UNKNOWN, new RequestQueueHealthIndicator(() -> null, Duration.ofSeconds(1)).health().getStatus());
+    }
+
+    private void blockWorkerAndQueue(int queued) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Worker should pick up the blocking task");
+        for (int i = 0; i < queued; i++) {
+            executor.execute(() -> { });
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.testapi.health;
+
+import com.example.testapi.upstream.ConnectionPoolMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UpstreamPoolHealthIndicator.
+ */
+@DisplayName("UpstreamPoolHealthIndicator Tests")
+class UpstreamPoolHealthIndicatorTest {
+
+    private final ConnectionPoolMonitor monitor = new ConnectionPoolMonitor();
+
+    private final UpstreamPoolHealthIndicator indicator = new UpstreamPoolHealthIndicator(monitor, 0.9);
+
+    @Test
+    @DisplayName("Should report up with the pool details below the saturation threshold")
+    void health_BelowThreshold_ShouldBeUp() {
+        // Given
+        register("api.bluelytics.com.ar", 8, 0, 10);
+
+        // When
+        Health health = indicator.health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        Map<?, ?> pools = (Map<?, ?>) health.getDetails().get("pools");
+        assertEquals(Map.of("acquired", 8, "pending", 0, "maxConnections", 10), pools.get("webclient api.bluelytics.com.ar:443"));
+    }
+
+    @Test
+    @DisplayName("Should report down when any pool is saturated")
+    void health_WithSaturatedPool_ShouldBeDown() {
+        // Given
+        register("api.bluelytics.com.ar", 1, 0, 10);
+        register("hooks.example.com", 10, 4, 10);
+
+        // When & Then
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report up before any upstream connection")
+    void health_WithoutPools_ShouldBeUp() {
+        // When & Then
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    private void register(String host, int acquired, int pending, int max) {
+        ConnectionPoolMetrics metrics = mock(ConnectionPoolMetrics.class);
+        when(metrics.acquiredSize()).thenReturn(acquired);
+        when(metrics.pendingAcquireSize()).thenReturn(pending);
+        when(metrics.maxAllocatedSize()).thenReturn(max);
+        monitor.registerMetrics("webclient", host, InetSocketAddress.createUnresolved(host, 443), metrics);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EstadisticasResponse model.
+ */
+@DisplayName("EstadisticasResponse Tests")
+class EstadisticasResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should serialize windows and statistics with the documented property names")
+    void serialize_ShouldUseDocumentedPropertyNames() throws Exception {
+        // Given
+        EstadisticasResponse.Estadistica estadistica =
+                new EstadisticasResponse.Estadistica(2L, 310.0, 300.0, 320.0, 100.0, 300.0, 320.0, 320.0);
+        EstadisticasResponse response = new EstadisticasResponse(
+                Map.of("1m", Map.of("diferencia_avg", estadistica)), "2024-01-01T12:00:00Z");
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        // Then
+        JsonNode avg = json.path("ventanas").path("1m").path("diferencia_avg");
+        assertEquals(2, avg.path("count").asLong());
+        assertEquals(310.0, avg.path("mean").asDouble());
+        assertEquals(100.0, avg.path("variance").asDouble());
+        assertEquals(320.0, avg.path("p99").asDouble());
+        assertEquals("2024-01-01T12:00:00Z", json.path("timestamp").asText());
+    }
+
+    @Test
+    @DisplayName("Should round-trip through JSON")
+    void deserialize_ShouldRestoreResponse() throws Exception {
+        // Given
+        EstadisticasResponse response = new EstadisticasResponse(
+                Map.of("1h", Map.of("diferencia_buy", new EstadisticasResponse.Estadistica(0L, null, null, null, null, null, null, null))),
+                "2024-01-01T12:00:00Z");
+
+        // When
+        EstadisticasResponse result = objectMapper.readValue(objectMapper.writeValueAsString(response), EstadisticasResponse.class);
+
+        // Then
+        assertEquals(response, result);
+    }
+}
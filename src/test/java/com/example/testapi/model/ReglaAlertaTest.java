@@ -0,0 +1,70 @@
+package com.example.testapi.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReglaAlerta model.
+ */
+@DisplayName("ReglaAlerta Tests")
+class ReglaAlertaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should deserialize a rule definition with the documented property names")
+    void deserialize_ShouldReadDocumentedPropertyNames() throws Exception {
+        // Given
+        String json = """
+                {"nombre":"salto","metrica":"diferencia_avg","tipo":"variacion",
+                 "operador":">","umbral":10,"ventana":"5m","cooldown":"15m"}
+                """;
+
+        // When
+        ReglaAlerta regla = objectMapper.readValue(json, ReglaAlerta.class);
+
+        // Then
+        assertEquals("salto", regla.getNombre());
+        assertEquals("diferencia_avg", regla.getMetrica());
+        assertEquals("variacion", regla.getTipo());
+        assertEquals(">", regla.getOperador());
+        assertEquals(10.0, regla.getUmbral());
+        assertEquals("5m", regla.getVentana());
+        assertEquals("15m", regla.getCooldown());
+    }
+
+    @Test
+    @DisplayName("Should omit unset properties when serialized")
+    void serialize_ShouldOmitNullProperties() throws Exception {
+        // Given
+        ReglaAlerta regla = new ReglaAlerta("id-1", "brecha", "blue.value_avg - oficial.value_avg",
+                "umbral", ">", 150.0, null, null);
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(regla));
+
+        // Then
+        assertEquals("id-1", json.path("id").asText());
+        assertFalse(json.has("ventana"), "Unset window should be omitted");
+        assertFalse(json.has("cooldown"), "Unset cooldown should be omitted");
+    }
+
+    @Test
+    @DisplayName("Should serialize alerts with the documented property names")
+    void serializeAlerta_ShouldUseDocumentedPropertyNames() throws Exception {
+        // Given
+        Alerta alerta = new Alerta("id-1", "brecha", "diferencia_avg", "umbral", 12.0, 10.0, "2024-01-01T12:00:00Z");
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(alerta));
+
+        // Then
+        assertEquals("id-1", json.path("regla_id").asText());
+        assertEquals(12.0, json.path("valor").asDouble());
+        assertEquals(10.0, json.path("umbral").asDouble());
+    }
+}
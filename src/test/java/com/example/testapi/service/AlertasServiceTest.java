@@ -0,0 +1,108 @@
+package com.example.testapi.service;
+
+import com.example.testapi.alert.AlertEngine;
+import com.example.testapi.cache.DiferenciasMemoCache;
+import com.example.testapi.exception.ApiTestException;
+import com.example.testapi.model.Alerta;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.ReglaAlerta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AlertasService.
+ */
+@DisplayName("AlertasService Tests")
+class AlertasServiceTest {
+
+    private final List<Alerta> delivered = new ArrayList<>();
+    private AlertasService alertasService;
+
+    @BeforeEach
+    void setUp() {
+        alertasService = new AlertasService(new AlertEngine(delivered::add, 100));
+    }
+
+    @Test
+    @DisplayName("Should fire spread rules for differences computed by DiferenciasService")
+    void calcularDiferencias_WithSpreadRule_ShouldFireAlert() {
+        // Given
+        alertasService.registrarRegla(new ReglaAlerta(null, "spread", "diferencia_avg", null, ">", 5.0, null, null));
+        DiferenciasService diferenciasService = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of(alertasService))
+                .build());
+
+        // When
+        diferenciasService.calcularDiferencias(request(100.0, 110.0));
+
+        // Then
+        assertEquals(1, delivered.size(), "Spread rule should fire");
+        assertEquals(10.0, delivered.get(0).getValor());
+        assertEquals(delivered, alertasService.obtenerAlertas());
+    }
+
+    @Test
+    @DisplayName("Should fire a rule on MEP dropping below crypto even though the request is rejected")
+    void calcularDiferencias_WithNegativeSpreadRule_ShouldFireAlert() {
+        // Given
+        alertasService.registrarRegla(new ReglaAlerta(null, "inversion", "diferencia_avg", null, "<", 0.0, null, null));
+        DiferenciasService diferenciasService = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of(alertasService))
+                .memoCache(new DiferenciasMemoCache(64))
+                .build());
+
+        // When
+        assertThrows(ApiTestException.class, () -> diferenciasService.calcularDiferencias(request(110.0, 100.0)));
+
+        // Then
+        assertEquals(1, delivered.size(), "A rejected negative spread should still fire the rule");
+        assertEquals("inversion", delivered.get(0).getNombre());
+        assertEquals(-10.0, delivered.get(0).getValor());
+    }
+
+    @Test
+    @DisplayName("Should fire quote rules for retrieved quotations")
+    void onQuote_WithQuoteRule_ShouldFireAlert() {
+        // Given
+        alertasService.registrarRegla(new ReglaAlerta(null, "blue", "blue.value_sell", null, ">", 1000.0, null, null));
+        CotizacionResponse cotizacion = new CotizacionResponse();
+        CotizacionResponse.CotizacionData blue = new CotizacionResponse.CotizacionData();
+        blue.setValueSell(1200.0);
+        cotizacion.setBlue(blue);
+
+        // When
+        alertasService.onQuote(cotizacion);
+
+        // Then
+        assertEquals(1, delivered.size(), "Quote rule should fire");
+    }
+
+    @Test
+    @DisplayName("Should list and delete registered rules")
+    void eliminarRegla_ShouldRemoveRule() {
+        // Given
+        ReglaAlerta regla = alertasService.registrarRegla(
+                new ReglaAlerta(null, "spread", "diferencia_buy", null, "<", 0.0, null, "1m"));
+
+        // When & Then
+        assertNotNull(regla.getId(), "Registered rule should have an id");
+        assertEquals("umbral", regla.getTipo(), "Type should default to umbral");
+        assertEquals(List.of(regla), alertasService.obtenerReglas());
+        assertTrue(alertasService.eliminarRegla(regla.getId()));
+        assertTrue(alertasService.obtenerReglas().isEmpty());
+    }
+
+    private DiferenciasRequest request(double crypto, double mep) {
+        return DiferenciasRequest.builder()
+                .addCrypto(crypto, crypto, crypto)
+                .addMep(mep, mep, mep)
+                .build();
+    }
+}
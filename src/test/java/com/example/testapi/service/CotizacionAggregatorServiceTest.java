@@ -0,0 +1,186 @@
+package com.example.testapi.service;
+
+import com.example.testapi.config.CotizacionAggregatorProperties;
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.model.CotizacionAgregadaResponse;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.support.BluelyticsStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CotizacionAggregatorService.
+ * This class runs the aggregator with a real WebClient against several local Bluelytics stubs,
+ * each one standing in for a different quotation provider.
+ */
+@DisplayName("CotizacionAggregatorService Tests")
+class CotizacionAggregatorServiceTest {
+
+    private final List<BluelyticsStubServer> stubs = new ArrayList<>();
+    private CotizacionAggregatorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CotizacionAggregatorProperties();
+        properties.setDeadline(Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(BluelyticsStubServer::close);
+    }
+
+    @Test
+    @DisplayName("Should return the median of all providers as consensus")
+    void obtenerCotizacionAgregada_WithAllProvidersResponding_ShouldReturnMedianConsensus() throws IOException {
+        // Given
+        addProvider("a", BluelyticsStubServer.payload(100.0, 200.0, "2024-01-01T10:00:00Z"));
+        addProvider("b", BluelyticsStubServer.payload(102.0, 210.0, "2024-01-01T12:00:00Z"));
+        addProvider("c", BluelyticsStubServer.payload(150.0, 205.0, "2024-01-01T11:00:00Z"));
+        properties.setQuorum(3);
+
+        // When
+        CotizacionAgregadaResponse result = service().obtenerCotizacionAgregada();
+
+        // Then
+        assertEquals(3, result.getFuentesConsultadas());
+        assertEquals(3, result.getFuentesRespondidas());
+        assertEquals(3, result.getFuentes().size(), "All providers should be reported");
+        assertEquals(100.0, result.getFuentes().get("a").getOficial().getValueAvg());
+        assertEquals(102.0, result.getConsenso().getOficial().getValueAvg(), "Outlier should not move the median");
+        assertEquals(205.0, result.getConsenso().getBlue().getValueAvg());
+        assertEquals("2024-01-01T12:00:00Z", result.getConsenso().getLastUpdate(), "Most recent update should win");
+    }
+
+    @Test
+    @DisplayName("Should return as soon as the quorum responds without waiting for slow providers")
+    void obtenerCotizacionAgregada_WithSlowProvider_ShouldReturnOnQuorum() throws IOException {
+        // Given
+        addProvider("fast1", BluelyticsStubServer.payload(100.0, 200.0, "2024-01-01T12:00:00Z"));
+        addProvider("fast2", BluelyticsStubServer.payload(104.0, 204.0, "2024-01-01T12:00:00Z"));
+        addProvider("slow", BluelyticsStubServer.payload(999.0, 999.0, "2024-01-01T12:00:00Z"))
+                .setLatency(Duration.ofSeconds(5), Duration.ZERO);
+        properties.setQuorum(2);
+
+        // When
+        long start = System.nanoTime();
+        CotizacionAgregadaResponse result = service().obtenerCotizacionAgregada();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertTrue(elapsedMillis < 2_000, "Should not wait for the slow provider, took " + elapsedMillis + " ms");
+        assertEquals(2, result.getFuentesRespondidas());
+        assertFalse(result.getFuentes().containsKey("slow"), "Slow provider should not be included");
+        assertEquals(102.0, result.getConsenso().getOficial().getValueAvg(), "Even count should average the middle values");
+    }
+
+    @Test
+    @DisplayName("Should ignore failing providers when the quorum is still reached")
+    void obtenerCotizacionAgregada_WithFailingProvider_ShouldUseRemainingProviders() throws IOException {
+        // Given
+        addProvider("ok", BluelyticsStubServer.payload(100.0, 200.0, "2024-01-01T12:00:00Z"));
+        addProvider("broken", BluelyticsStubServer.payload(100.0, 200.0, "2024-01-01T12:00:00Z"))
+                .setErrorRate(1.0, 503);
+        properties.setQuorum(1);
+
+        // When
+        CotizacionAgregadaResponse result = service().obtenerCotizacionAgregada();
+
+        // Then
+        assertEquals(2, result.getFuentesConsultadas());
+        assertEquals(1, result.getFuentesRespondidas());
+        assertTrue(result.getFuentes().containsKey("ok"));
+    }
+
+    @Test
+    @DisplayName("Should throw UpstreamException when the quorum is not reached before the deadline")
+    void obtenerCotizacionAgregada_WithQuorumNotReached_ShouldThrowUpstreamException() throws IOException {
+        // Given
+        addProvider("ok", BluelyticsStubServer.payload(100.0, 200.0, "2024-01-01T12:00:00Z"));
+        addProvider("slow", BluelyticsStubServer.payload(100.0, 200.0, "2024-01-01T12:00:00Z"))
+                .setLatency(Duration.ofSeconds(5), Duration.ZERO);
+        properties.setQuorum(2);
+        properties.setDeadline(Duration.ofMillis(300));
+
+        // When
+        long start = System.nanoTime();
+        UpstreamException exception = assertThrows(UpstreamException.class,
+                () -> service().obtenerCotizacionAgregada());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertEquals("Quorum not reached: 1 of 2 providers responded within 300 ms", exception.getMessage());
+        assertTrue(elapsedMillis < 2_000, "Should give up at the deadline, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should throw UpstreamException when no providers are configured")
+    void obtenerCotizacionAgregada_WithNoProviders_ShouldThrowUpstreamException() {
+        // When & Then
+        UpstreamException exception = assertThrows(UpstreamException.class,
+                () -> service().obtenerCotizacionAgregada());
+        assertEquals("No quotation providers configured", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should compute the median ignoring missing values")
+    void median_WithNullValues_ShouldIgnoreThem() {
+        // Given
+        CotizacionResponse.CotizacionData first = new CotizacionResponse.CotizacionData();
+        first.setValueAvg(3.0);
+        CotizacionResponse.CotizacionData second = new CotizacionResponse.CotizacionData();
+        CotizacionResponse.CotizacionData third = new CotizacionResponse.CotizacionData();
+        third.setValueAvg(1.0);
+
+        // When
+        Double median = CotizacionAggregatorService.median(List.of(first, second, third),
+                CotizacionResponse.CotizacionData::getValueAvg);
+        Double none = CotizacionAggregatorService.median(List.of(second),
+                CotizacionResponse.CotizacionData::getValueAvg);
+
+        // Then
+        assertEquals(2.0, median);
+        assertNull(none, "Median of no values should be null");
+    }
+
+    @Test
+    @DisplayName("Should take the latest last update as an instant, whatever the offset")
+    void consensus_WithDifferentOffsets_ShouldKeepLatestInstant() {
+        // Given
+        CotizacionResponse utc = new CotizacionResponse();
+        utc.setLastUpdate("2024-01-01T14:00:00Z");
+        CotizacionResponse buenosAires = new CotizacionResponse();
+        buenosAires.setLastUpdate("2024-01-01T12:30:00.000000-03:00");
+        CotizacionResponse invalid = new CotizacionResponse();
+        invalid.setLastUpdate("yesterday");
+
+        // When
+        CotizacionResponse consenso = CotizacionAggregatorService.consensus(List.of(utc, buenosAires, invalid));
+
+        // Then
+        assertEquals("2024-01-01T12:30:00.000000-03:00", consenso.getLastUpdate(),
+                "15:30Z is later than 14:00Z even though it sorts first as a string");
+    }
+
+    private BluelyticsStubServer addProvider(String name, String payload) throws IOException {
+        BluelyticsStubServer stub = BluelyticsStubServer.start();
+        stub.setPayload(payload);
+        stubs.add(stub);
+        properties.getProviders().add(new CotizacionAggregatorProperties.Provider(name, stub.latestUrl()));
+        return stub;
+    }
+
+    private CotizacionAggregatorService service() {
+        return new CotizacionAggregatorService(WebClient.builder(), properties);
+    }
+}
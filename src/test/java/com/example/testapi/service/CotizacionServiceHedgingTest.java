@@ -0,0 +1,186 @@
+package com.example.testapi.service;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.upstream.HedgingPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the hedged request path of CotizacionService.
+ * This class verifies that slow upstream calls are hedged within the configured budget
+ * and that the losing request is cancelled and still recorded as a latency sample.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CotizacionService Hedging Tests")
+class CotizacionServiceHedgingTest {
+
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+
+    @Mock
+    private WebClient.Builder webClientBuilder;
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    private HedgingPolicy hedgingPolicy;
+    private CotizacionService cotizacionService;
+
+    @BeforeEach
+    void setUp() {
+        when(webClientBuilder.build()).thenReturn(webClient);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+
+        // Full budget: ratio 1.0 earns one hedge token per request
+        hedgingPolicy = new HedgingPolicy(true, 95, HEDGE_DELAY, HEDGE_DELAY, 1.0);
+        cotizacionService = new CotizacionService(webClientBuilder,
+                CotizacionService.Options.builder().hedgingPolicy(hedgingPolicy).build());
+        cotizacionService.setBluelyticsApiUrl("https://api.bluelytics.com.ar/v2/latest");
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the primary request is fast")
+    void obtenerCotizacion_WithFastPrimary_ShouldNotHedge() {
+        // Given
+        when(responseSpec.bodyToMono(CotizacionResponse.class)).thenReturn(Mono.just(response("primary")));
+
+        // When
+        CotizacionResponse result = cotizacionService.obtenerCotizacion();
+
+        // Then
+        assertEquals("primary", result.getLastUpdate());
+        assertEquals(0, hedgingPolicy.getHedgeCount(), "No hedge should be sent");
+        verify(responseSpec, times(1)).bodyToMono(CotizacionResponse.class);
+    }
+
+    @Test
+    @DisplayName("Should return the hedged response and cancel the slow primary request")
+    void obtenerCotizacion_WithSlowPrimary_ShouldReturnHedgeAndCancelPrimary() {
+        // Given
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        Mono<CotizacionResponse> slowPrimary = Mono.delay(Duration.ofSeconds(5))
+                .map(tick -> response("primary"))
+                .doOnCancel(() -> primaryCancelled.set(true));
+        when(responseSpec.bodyToMono(CotizacionResponse.class))
+                .thenReturn(slowPrimary, Mono.just(response("hedge")));
+
+        // When
+        long start = System.nanoTime();
+        CotizacionResponse result = cotizacionService.obtenerCotizacion();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertEquals("hedge", result.getLastUpdate(), "Hedged response should win");
+        assertTrue(elapsedMillis < 2_000, "Call should not wait for the slow primary, took " + elapsedMillis + " ms");
+        assertTrue(primaryCancelled.get(), "Losing primary request should be cancelled");
+        assertEquals(1, hedgingPolicy.getHedgeCount());
+    }
+
+    @Test
+    @DisplayName("Should record the elapsed time of the cancelled primary as a latency sample")
+    void obtenerCotizacion_WithSlowPrimary_ShouldRecordCancelledLatency() {
+        // Given
+        HedgingPolicy policy = spy(new HedgingPolicy(true, 95, HEDGE_DELAY, HEDGE_DELAY, 1.0));
+        CotizacionService service = new CotizacionService(webClientBuilder,
+                CotizacionService.Options.builder().hedgingPolicy(policy).build());
+        service.setBluelyticsApiUrl("https://api.bluelytics.com.ar/v2/latest");
+        when(responseSpec.bodyToMono(CotizacionResponse.class))
+                .thenReturn(Mono.delay(Duration.ofSeconds(5)).map(tick -> response("primary")), Mono.just(response("hedge")));
+
+        // When
+        service.obtenerCotizacion();
+
+        // Then
+        ArgumentCaptor<Long> samples = ArgumentCaptor.forClass(Long.class);
+        verify(policy, times(2)).recordLatency(samples.capture());
+        assertEquals(1, samples.getAllValues().stream().filter(nanos -> nanos >= HEDGE_DELAY.toNanos()).count(),
+                "The cancelled primary should be recorded with at least the hedge delay");
+    }
+
+    @Test
+    @DisplayName("Should not record the elapsed time of a cancelled hedge")
+    void obtenerCotizacion_WithPrimaryWinningAfterHedge_ShouldNotRecordCancelledHedge() {
+        // Given
+        HedgingPolicy policy = spy(new HedgingPolicy(true, 95, HEDGE_DELAY, HEDGE_DELAY, 1.0));
+        CotizacionService service = new CotizacionService(webClientBuilder,
+                CotizacionService.Options.builder().hedgingPolicy(policy).build());
+        service.setBluelyticsApiUrl("https://api.bluelytics.com.ar/v2/latest");
+        AtomicBoolean hedgeCancelled = new AtomicBoolean();
+        when(responseSpec.bodyToMono(CotizacionResponse.class)).thenReturn(
+                Mono.delay(Duration.ofMillis(150)).map(tick -> response("primary")),
+                Mono.delay(Duration.ofSeconds(5)).map(tick -> response("hedge")).doOnCancel(() -> hedgeCancelled.set(true)));
+
+        // When
+        CotizacionResponse result = service.obtenerCotizacion();
+
+        // Then
+        assertEquals("primary", result.getLastUpdate());
+        assertTrue(hedgeCancelled.get(), "The losing hedge should be cancelled");
+        ArgumentCaptor<Long> samples = ArgumentCaptor.forClass(Long.class);
+        verify(policy, times(1)).recordLatency(samples.capture());
+        assertTrue(samples.getValue() >= Duration.ofMillis(150).toNanos(), "Only the primary latency should be recorded");
+    }
+
+    @Test
+    @DisplayName("Should propagate the primary error when it fails before hedging")
+    void obtenerCotizacion_WithFailingPrimary_ShouldPropagatePrimaryError() {
+        // Given
+        RuntimeException upstreamError = new RuntimeException("Generic error");
+        when(responseSpec.bodyToMono(CotizacionResponse.class)).thenReturn(Mono.error(upstreamError));
+
+        // When & Then
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> cotizacionService.obtenerCotizacion());
+        assertEquals(upstreamError, thrown.getCause(), "Original upstream error should be the cause");
+        assertEquals(0, hedgingPolicy.getHedgeCount(), "No hedge should be sent after the primary failed");
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the hedge budget is exhausted")
+    void obtenerCotizacion_WithoutBudget_ShouldWaitForPrimary() {
+        // Given
+        HedgingPolicy noBudget = new HedgingPolicy(true, 95, HEDGE_DELAY, HEDGE_DELAY, 0.0);
+        CotizacionService service = new CotizacionService(webClientBuilder,
+                CotizacionService.Options.builder().hedgingPolicy(noBudget).build());
+        service.setBluelyticsApiUrl("https://api.bluelytics.com.ar/v2/latest");
+        when(responseSpec.bodyToMono(CotizacionResponse.class))
+                .thenReturn(Mono.delay(Duration.ofMillis(150)).map(tick -> response("primary")));
+
+        // When
+        CotizacionResponse result = service.obtenerCotizacion();
+
+        // Then
+        assertEquals("primary", result.getLastUpdate());
+        assertEquals(0, noBudget.getHedgeCount());
+        verify(responseSpec, times(1)).bodyToMono(CotizacionResponse.class);
+    }
+
+    private CotizacionResponse response(String lastUpdate) {
+        CotizacionResponse response = new CotizacionResponse();
+        response.setLastUpdate(lastUpdate);
+        return response;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.testapi.service;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.support.BluelyticsStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Network-level tests for CotizacionService.
+ * This class runs the service with a real WebClient against a local Bluelytics stub,
+ * covering HTTP decoding, upstream failures and latency that mocks cannot reproduce.
+ */
+@DisplayName("CotizacionService Network Tests")
+class CotizacionServiceNetworkTest {
+
+    private BluelyticsStubServer stub;
+    private CotizacionService cotizacionService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = BluelyticsStubServer.start();
+        cotizacionService = new CotizacionService(WebClient.builder());
+        cotizacionService.setBluelyticsApiUrl(stub.latestUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Should decode the Bluelytics payload served over HTTP")
+    void obtenerCotizacion_ShouldDecodeUpstreamPayload() {
+        // When
+        CotizacionResponse result = cotizacionService.obtenerCotizacion();
+
+        // Then
+        assertNotNull(result, "Response should not be null");
+        assertEquals(100.0, result.getOficial().getValueAvg());
+        assertEquals(200.5, result.getBlue().getValueSell());
+        assertEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, result.getLastUpdate());
+        assertEquals(1, stub.getRequestCount(), "Stub should be called once");
+    }
+
+    @Test
+    @DisplayName("Should wrap upstream error statuses in RuntimeException")
+    void obtenerCotizacion_WithUpstreamError_ShouldThrowRuntimeException() {
+        // Given
+        stub.setErrorRate(1.0, 503);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> cotizacionService.obtenerCotizacion());
+
+        assertTrue(exception.getMessage().contains("Error retrieving exchange rate data from external API"));
+        WebClientResponseException cause = assertInstanceOf(WebClientResponseException.class, exception.getCause());
+        assertEquals(503, cause.getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Should wait for slow upstream responses")
+    void obtenerCotizacion_WithUpstreamLatency_ShouldReturnAfterDelay() {
+        // Given
+        stub.setLatency(Duration.ofMillis(200), Duration.ZERO);
+
+        // When
+        long start = System.nanoTime();
+        CotizacionResponse result = cotizacionService.obtenerCotizacion();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertNotNull(result);
+        assertTrue(elapsedMillis >= 200, "Call should take at least the stubbed latency, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Should return the new quotation after the upstream payload changes")
+    void obtenerCotizacion_AfterPayloadChange_ShouldReturnNewQuotation() {
+        // Given
+        CotizacionResponse before = cotizacionService.obtenerCotizacion();
+
+        // When
+        stub.changePayload();
+        CotizacionResponse after = cotizacionService.obtenerCotizacion();
+
+        // Then
+        assertNotEquals(before.getLastUpdate(), after.getLastUpdate(), "last_update should change");
+        assertEquals(100.25, after.getOficial().getValueAvg());
+    }
+
+    @Test
+    @DisplayName("Should decode the same quotation with the streaming decoder")
+    void obtenerCotizacion_WithStreamingDecode_ShouldMatchDataBinding() {
+        // Given
+        CotizacionService streamingService = new CotizacionService(WebClient.builder(),
+                CotizacionService.Options.builder().streamingDecode(true).build());
+        streamingService.setBluelyticsApiUrl(stub.latestUrl());
+
+        // When
+        CotizacionResponse expected = cotizacionService.obtenerCotizacion();
+        CotizacionResponse result = streamingService.obtenerCotizacion();
+
+        // Then
+        assertEquals(expected, result, "Streaming and data-binding decoding should produce the same quotation");
+    }
+
+    @Test
+    @DisplayName("Should reuse the previous quotation when last_update is unchanged and decode it again after a change")
+    void obtenerCotizacion_WithStreamingDecode_ShouldShortCircuitUnchangedPayload() {
+        // Given
+        CotizacionService streamingService = new CotizacionService(WebClient.builder(),
+                CotizacionService.Options.builder().streamingDecode(true).build());
+        streamingService.setBluelyticsApiUrl(stub.latestUrl());
+        CotizacionResponse first = streamingService.obtenerCotizacion();
+
+        // When
+        CotizacionResponse unchanged = streamingService.obtenerCotizacion();
+        stub.changePayload();
+        CotizacionResponse changed = streamingService.obtenerCotizacion();
+
+        // Then
+        assertSame(first, unchanged, "Unchanged payload should return the previous instance");
+        assertNotSame(first, changed, "Changed payload should be decoded");
+        assertEquals(100.25, changed.getOficial().getValueAvg());
+        assertEquals(3, stub.getRequestCount(), "Every call should still reach the upstream");
+    }
+
+    @Test
+    @DisplayName("Should wrap upstream error statuses in RuntimeException with the streaming decoder")
+    void obtenerCotizacion_WithStreamingDecodeAndUpstreamError_ShouldThrowRuntimeException() {
+        // Given
+        CotizacionService streamingService = new CotizacionService(WebClient.builder(),
+                CotizacionService.Options.builder().streamingDecode(true).build());
+        streamingService.setBluelyticsApiUrl(stub.latestUrl());
+        stub.setErrorRate(1.0, 503);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, streamingService::obtenerCotizacion);
+        assertTrue(exception.getMessage().contains("Error retrieving exchange rate data from external API"));
+        assertInstanceOf(WebClientResponseException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Should notify quote observers of every retrieved quotation")
+    void obtenerCotizacion_WithQuoteObserver_ShouldNotifyObserver() {
+        // Given
+        List<CotizacionResponse> observed = new ArrayList<>();
+        CotizacionService observedService = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                .quoteObservers(List.of(observed::add, cotizacion -> {
+                    throw new IllegalStateException("observer failure");
+                }))
+                .build());
+        observedService.setBluelyticsApiUrl(stub.latestUrl());
+
+        // When
+        CotizacionResponse result = observedService.obtenerCotizacion();
+
+        // Then
+        assertEquals(List.of(result), observed, "Observer should receive the retrieved quotation");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.testapi.service;
+
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.support.BluelyticsStubServer;
+import com.example.testapi.upstream.RetryPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the upstream retries of CotizacionService.
+ * This class runs the service against a local Bluelytics stub that fails a given number
+ * of requests before answering.
+ */
+@DisplayName("CotizacionService Retry Tests")
+class CotizacionServiceRetryTest {
+
+    private BluelyticsStubServer stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = BluelyticsStubServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Should retry transient upstream failures and return the eventual response")
+    void obtenerCotizacion_WithTransientFailures_ShouldRetry() {
+        // Given
+        RetryPolicy retryPolicy = new RetryPolicy(true, 3, Duration.ofMillis(10), Duration.ofSeconds(1), 0.1);
+        CotizacionService service = service(retryPolicy);
+        stub.failNext(2, 503, null);
+
+        // When
+        CotizacionResponse result = service.obtenerCotizacion();
+
+        // Then
+        assertEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, result.getLastUpdate());
+        assertEquals(3, stub.getRequestCount(), "Two failed attempts and a successful one should be sent");
+        assertEquals(2, retryPolicy.getRetryCount());
+    }
+
+    @Test
+    @DisplayName("Should wait for the Retry-After of a 429 before retrying")
+    void obtenerCotizacion_WithRetryAfter_ShouldWaitBeforeRetrying() {
+        // Given
+        CotizacionService service = service(new RetryPolicy(true, 3, Duration.ofMillis(10), Duration.ofSeconds(2), 0.1));
+        stub.failNext(1, 429, "1");
+
+        // When
+        long start = System.nanoTime();
+        service.obtenerCotizacion();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertEquals(2, stub.getRequestCount());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) >= 0, "Retry should wait one second, took " + elapsed.toMillis() + " ms");
+    }
+
+    @Test
+    @DisplayName("Should not retry a client error")
+    void obtenerCotizacion_WithClientError_ShouldFailAtOnce() {
+        // Given
+        CotizacionService service = service(new RetryPolicy(true, 3, Duration.ofMillis(10), Duration.ofSeconds(1), 0.1));
+        stub.failNext(1, 404, null);
+
+        // When & Then
+        assertThrows(UpstreamException.class, service::obtenerCotizacion);
+        assertEquals(1, stub.getRequestCount(), "Client errors should not be retried");
+    }
+
+    @Test
+    @DisplayName("Should stop retrying a failing upstream once the retry budget is spent")
+    void obtenerCotizacion_WithFailingUpstream_ShouldBoundRetriesByBudget() {
+        // Given
+        RetryPolicy retryPolicy = new RetryPolicy(true, 3, Duration.ZERO, Duration.ZERO, 0.1);
+        CotizacionService service = service(retryPolicy);
+        stub.setErrorRate(1.0, 503);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            assertThrows(UpstreamException.class, service::obtenerCotizacion);
+        }
+
+        // Then: at most the 10-retry burst plus 10% of the 20 requests
+        long retries = retryPolicy.getRetryCount();
+        assertTrue(retries >= 10 && retries <= 12, "Retries should be bounded by the budget, were " + retries);
+        assertEquals(20 + retries, stub.getRequestCount(), "Upstream should only see the requests and budgeted retries");
+        assertTrue(retryPolicy.getBudgetExhaustedCount() > 0, "Budget exhaustion should be counted");
+    }
+
+    private CotizacionService service(RetryPolicy retryPolicy) {
+        CotizacionService service = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                .retryPolicy(retryPolicy)
+                .streamingDecode(true)
+                .build());
+        service.setBluelyticsApiUrl(stub.latestUrl());
+        return service;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.testapi.service;
+
+import com.example.testapi.cache.LocalSharedQuotationCache;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.example.testapi.support.BluelyticsStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the two-level cache of CotizacionService.
+ * This class runs several service instances, standing for the instances of a fleet, on one
+ * in-process shared cache against a local Bluelytics stub.
+ */
+@DisplayName("CotizacionService Shared Cache Tests")
+class CotizacionServiceSharedCacheTest {
+
+    private static final Duration LOCAL_TTL = Duration.ofHours(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private BluelyticsStubServer stub;
+    private LocalSharedQuotationCache sharedCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = BluelyticsStubServer.start();
+        sharedCache = new LocalSharedQuotationCache(Duration.ofSeconds(30), Duration.ofSeconds(5), clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Should call the upstream once when a cold fleet misses at the same time")
+    void obtenerSnapshot_WithColdFleet_ShouldFetchOnce() throws Exception {
+        // Given
+        stub.setLatency(Duration.ofMillis(200), Duration.ZERO);
+        List<CotizacionService> fleet = fleet(4, Duration.ofSeconds(5));
+        ExecutorService executor = Executors.newFixedThreadPool(fleet.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            // When
+            List<Future<QuotationSnapshot>> results = new ArrayList<>();
+            for (CotizacionService service : fleet) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.obtenerSnapshot();
+                }));
+            }
+            start.countDown();
+
+            // Then
+            for (Future<QuotationSnapshot> result : results) {
+                QuotationSnapshot snapshot = result.get(5, TimeUnit.SECONDS);
+                assertFalse(snapshot.isStale());
+                assertEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, snapshot.getCotizacion().getLastUpdate());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, stub.getRequestCount());
+        assertEquals(3, fleet.stream().mapToLong(CotizacionService::getSharedCacheServedCount).sum());
+        assertEquals(0, fleet.stream().mapToLong(CotizacionService::getRefreshWaitTimeoutCount).sum());
+    }
+
+    @Test
+    @DisplayName("Should drop local entries everywhere when an instance publishes a new last_update")
+    void obtenerSnapshot_AfterChange_ShouldInvalidateOtherInstances() {
+        // Given: the fleet shares the first quotation, then it changes upstream and the shared entry expires
+        List<CotizacionService> fleet = fleet(3, Duration.ofSeconds(5));
+        fleet.forEach(CotizacionService::obtenerSnapshot);
+        stub.changePayload();
+        clock.addAndGet(30_000);
+
+        // When: one instance misses locally and refreshes the shared cache
+        CotizacionService fresh = fleet(1, Duration.ofSeconds(5)).get(0);
+        String changed = fresh.obtenerSnapshot().getCotizacion().getLastUpdate();
+
+        // Then: the others drop their local entry and adopt the change without calling the upstream
+        assertNotEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, changed);
+        for (CotizacionService service : fleet) {
+            assertEquals(1, service.getSharedCacheInvalidationCount());
+            assertEquals(changed, service.obtenerSnapshot().getCotizacion().getLastUpdate());
+        }
+        assertEquals(2, stub.getRequestCount(), "The fleet should call the upstream once per change");
+    }
+
+    @Test
+    @DisplayName("Should call the upstream itself when the refreshing instance does not publish in time")
+    void obtenerSnapshot_WhenRefreshWaitElapses_ShouldFetchItself() throws Exception {
+        // Given: another instance holds the refresh lock and never publishes
+        assertTrue(CompletableFuture.supplyAsync(sharedCache::tryLockRefresh).get());
+        CotizacionService service = fleet(1, Duration.ofMillis(100)).get(0);
+
+        // When
+        long started = System.nanoTime();
+        QuotationSnapshot snapshot = service.obtenerSnapshot();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Then
+        assertFalse(snapshot.isStale());
+        assertTrue(elapsedMillis >= 100, "The instance should wait for the refresh first, waited " + elapsedMillis + " ms");
+        assertEquals(1, service.getRefreshWaitTimeoutCount());
+        assertEquals(1, stub.getRequestCount());
+    }
+
+    private List<CotizacionService> fleet(int size, Duration refreshWait) {
+        List<CotizacionService> fleet = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            CotizacionService service = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                    .localCacheTtl(LOCAL_TTL)
+                    .sharedCache(sharedCache, refreshWait)
+                    .build());
+            service.setBluelyticsApiUrl(stub.latestUrl());
+            fleet.add(service);
+        }
+        return fleet;
+    }
+}
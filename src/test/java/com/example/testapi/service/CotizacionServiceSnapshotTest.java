@@ -0,0 +1,234 @@
+package com.example.testapi.service;
+
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.snapshot.MappedFileSnapshotStore;
+import com.example.testapi.snapshot.QuotationSnapshot;
+import com.example.testapi.snapshot.QuotationSnapshotStore;
+import com.example.testapi.support.BluelyticsStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the quotation snapshot of CotizacionService.
+ * This class runs the service against a local Bluelytics stub with a snapshot file in a
+ * temporary directory, restarting the service by creating a new instance on the same file.
+ */
+@DisplayName("CotizacionService Snapshot Tests")
+class CotizacionServiceSnapshotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    private BluelyticsStubServer stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = BluelyticsStubServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Should serve the restored snapshot right after a restart and refresh it in the background")
+    void obtenerSnapshot_AfterRestart_ShouldServeRestoredSnapshotWhileRefreshing() throws Exception {
+        // Given: a previous instance stored a quotation, then the upstream became slow
+        service(Duration.ofHours(1)).obtenerCotizacion();
+        stub.changePayload();
+        stub.setLatency(Duration.ofMillis(300), Duration.ZERO);
+        CotizacionService restarted = service(Duration.ofHours(1));
+
+        // When
+        long start = System.nanoTime();
+        QuotationSnapshot first = restarted.obtenerSnapshot();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertTrue(first.isStale(), "The restored snapshot should be marked stale");
+        assertEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, first.getCotizacion().getLastUpdate());
+        assertTrue(elapsedMillis < 300, "The restored snapshot should not wait for the upstream, took " + elapsedMillis + " ms");
+        assertEquals(1, restarted.getWarmStartServedCount());
+
+        waitForRequests(2);
+        QuotationSnapshot refreshed = waitForLiveSnapshot(restarted);
+        assertNotEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, refreshed.getCotizacion().getLastUpdate(),
+                "The background refresh should replace the restored snapshot");
+        QuotationSnapshot live = restarted.obtenerSnapshot();
+        assertFalse(live.isStale(), "Once refreshed, requests should go to the upstream again");
+        assertEquals(3, stub.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should serve the latest snapshot when the upstream fails")
+    void obtenerSnapshot_WhenUpstreamFails_ShouldServeLatestSnapshot() {
+        // Given
+        CotizacionService service = service(Duration.ofHours(1));
+        CotizacionResponse live = service.obtenerCotizacion();
+        stub.setErrorRate(1.0, 503);
+
+        // When
+        QuotationSnapshot snapshot = service.obtenerSnapshot();
+
+        // Then
+        assertTrue(snapshot.isStale());
+        assertEquals(live, snapshot.getCotizacion());
+        assertEquals(1, service.getUpstreamErrorServedCount());
+    }
+
+    @Test
+    @DisplayName("Should not serve snapshots older than the maximum staleness")
+    void obtenerSnapshot_WithTooOldSnapshot_ShouldCallUpstream() {
+        // Given
+        Path file = directory.resolve("cotizacion.snapshot");
+        CotizacionResponse old = new CotizacionResponse();
+        old.setLastUpdate("2020-01-01T00:00:00Z");
+        new MappedFileSnapshotStore(file, 4096, objectMapper)
+                .save(new QuotationSnapshot(old, Instant.now().minus(Duration.ofHours(2))));
+        CotizacionService service = service(Duration.ofHours(1));
+
+        // When
+        QuotationSnapshot snapshot = service.obtenerSnapshot();
+
+        // Then
+        assertFalse(snapshot.isStale(), "A too old snapshot should not be served at startup");
+        assertEquals(BluelyticsStubServer.DEFAULT_LAST_UPDATE, snapshot.getCotizacion().getLastUpdate());
+
+        // With no staleness allowed, even the snapshot just stored cannot be served
+        stub.setErrorRate(1.0, 503);
+        CotizacionService restarted = service(Duration.ZERO);
+        assertThrows(UpstreamException.class, restarted::obtenerSnapshot,
+                "Without a servable snapshot upstream failures should propagate");
+    }
+
+    @Test
+    @DisplayName("Should persist the snapshot only when the quotation changes")
+    void obtenerCotizacion_ShouldPersistOnlyChanges() {
+        // Given
+        CountingStore store = new CountingStore();
+        CotizacionService service = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                .snapshotStore(store, Duration.ofHours(1))
+                .build());
+        service.setBluelyticsApiUrl(stub.latestUrl());
+
+        // When
+        service.obtenerCotizacion();
+        service.obtenerCotizacion();
+        stub.changePayload();
+        service.obtenerCotizacion();
+
+        // Then
+        assertEquals(2, store.saves, "Unchanged quotations should not be written again");
+        assertTrue(service.getLatestSnapshot().isPresent());
+    }
+
+    @Test
+    @DisplayName("Should serve live quotations younger than the local cache TTL without calling the upstream")
+    void obtenerSnapshot_WithinLocalCacheTtl_ShouldNotCallUpstream() throws InterruptedException {
+        // Given
+        CotizacionService service = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                .localCacheTtl(Duration.ofMillis(200))
+                .build());
+        service.setBluelyticsApiUrl(stub.latestUrl());
+
+        // When
+        QuotationSnapshot live = service.obtenerSnapshot();
+        QuotationSnapshot cached = service.obtenerSnapshot();
+        Thread.sleep(250);
+        service.obtenerSnapshot();
+
+        // Then
+        assertSame(live, cached);
+        assertFalse(cached.isStale(), "A quotation within its TTL is not stale");
+        assertEquals(1, service.getLocalCacheServedCount());
+        assertEquals(2, stub.getRequestCount(), "The upstream should be called again once the TTL has passed");
+    }
+
+    @Test
+    @DisplayName("Should adopt newer quotations retrieved elsewhere and ignore older ones")
+    void adoptSnapshot_ShouldKeepNewestQuotation() {
+        // Given
+        CountingStore store = new CountingStore();
+        CotizacionService service = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                .snapshotStore(store, Duration.ofHours(1))
+                .build());
+        CotizacionResponse newer = new CotizacionResponse();
+        newer.setLastUpdate("newer");
+        CotizacionResponse older = new CotizacionResponse();
+        older.setLastUpdate("older");
+        Instant now = Instant.now();
+
+        // When
+        boolean adoptedNewer = service.adoptSnapshot(new QuotationSnapshot(newer, now));
+        boolean adoptedOlder = service.adoptSnapshot(new QuotationSnapshot(older, now.minusSeconds(5)));
+
+        // Then
+        assertTrue(adoptedNewer);
+        assertFalse(adoptedOlder);
+        assertEquals("newer", service.getLatestSnapshot().orElseThrow().getCotizacion().getLastUpdate());
+        assertEquals(1, store.saves, "An adopted quotation should be persisted like a live one");
+        assertEquals(0, stub.getRequestCount());
+    }
+
+    private CotizacionService service(Duration maxStale) {
+        QuotationSnapshotStore store = new MappedFileSnapshotStore(directory.resolve("cotizacion.snapshot"), 4096, objectMapper);
+        CotizacionService service = new CotizacionService(WebClient.builder(), CotizacionService.Options.builder()
+                .streamingDecode(true)
+                .snapshotStore(store, maxStale)
+                .build());
+        service.setBluelyticsApiUrl(stub.latestUrl());
+        return service;
+    }
+
+    private void waitForRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (stub.getRequestCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private QuotationSnapshot waitForLiveSnapshot(CotizacionService service) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            QuotationSnapshot latest = service.getLatestSnapshot().orElseThrow();
+            if (!BluelyticsStubServer.DEFAULT_LAST_UPDATE.equals(latest.getCotizacion().getLastUpdate())) {
+                return latest;
+            }
+            Thread.sleep(10);
+        }
+        fail("The snapshot was not refreshed in time");
+        return null;
+    }
+
+    private static final class CountingStore implements QuotationSnapshotStore {
+
+        private int saves;
+
+        @Override
+        public Optional<QuotationSnapshot> load() {
+            return Optional.empty();
+        }
+
+        @Override
+        public void save(QuotationSnapshot snapshot) {
+            saves++;
+        }
+    }
+}
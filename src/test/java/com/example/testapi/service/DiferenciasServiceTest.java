@@ -1,12 +1,17 @@
 package com.example.testapi.service;
 
+import com.example.testapi.cache.DiferenciasMemoCache;
 import com.example.testapi.exception.ApiTestException;
 import com.example.testapi.model.DiferenciasRequest;
 import com.example.testapi.model.DiferenciasResponse;
+import com.example.testapi.model.FormulaDiferencia;
+import com.example.testapi.stats.SpreadObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -377,4 +382,227 @@ class DiferenciasServiceTest {
         assertEquals(0.009, response.getDiferenciaSell(), 0.0001, "Sell difference should be 0.009");
         assertEquals(0.0085, response.getDiferenciaBuy(), 0.0001, "Buy difference should be 0.0085");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should notify spread observers of every successful calculation")
+    void calcularDiferencias_WithObservers_ShouldNotifyComputedDifferences() {
+        // Given
+        List<double[]> observed = new ArrayList<>();
+        DiferenciasService service = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of((avg, sell, buy) -> observed.add(new double[]{avg, sell, buy})))
+                .build());
+
+        // When
+        service.calcularDiferencias(validRequest);
+
+        // Then
+        assertEquals(1, observed.size(), "Observer should be notified once");
+        assertArrayEquals(new double[]{310.0, 315.0, 305.0}, observed.get(0), "Observer should receive the differences");
+    }
+
+    @Test
+    @DisplayName("Should notify spread observers of negative differences before rejecting them")
+    void calcularDiferencias_WithNegativeDifferences_ShouldNotifyObserversAndThrow() {
+        // Given
+        List<double[]> observed = new ArrayList<>();
+        DiferenciasService service = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of((avg, sell, buy) -> observed.add(new double[]{avg, sell, buy})))
+                .build());
+        DiferenciasRequest request = createRequest(1250.0, 1260.0, 1240.0, 940.0, 945.0, 935.0);
+
+        // When & Then
+        assertThrows(ApiTestException.class, () -> service.calcularDiferencias(request));
+        assertEquals(1, observed.size(), "Rejected calculations should still be observed");
+        assertArrayEquals(new double[]{-310.0, -315.0, -305.0}, observed.get(0));
+    }
+
+    @Test
+    @DisplayName("Should return the differences even if an observer fails")
+    void calcularDiferencias_WithFailingObserver_ShouldStillReturnResponse() {
+        // Given
+        SpreadObserver failing = (avg, sell, buy) -> {
+            throw new IllegalStateException("observer failure");
+        };
+        DiferenciasService service = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of(failing))
+                .build());
+
+        // When
+        DiferenciasResponse response = service.calcularDiferencias(validRequest);
+
+        // Then
+        assertEquals(310.0, response.getDiferenciaAvg(), "Observer failures should not affect the result");
+    }
+
+    @Test
+    @DisplayName("Should calculate percentage spreads when the porcentaje formula is selected")
+    void calcularDiferencias_WithPercentageFormula_ShouldReturnPercentages() {
+        // When
+        DiferenciasResponse response = diferenciasService.calcularDiferencias(validRequest, "porcentaje");
+
+        // Then
+        assertEquals(310.0 / 940.0 * 100, response.getDiferenciaAvg(), 1e-9);
+        assertEquals(315.0 / 945.0 * 100, response.getDiferenciaSell(), 1e-9);
+        assertEquals(305.0 / 935.0 * 100, response.getDiferenciaBuy(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should return negative spreads of non-default formulas without notifying observers")
+    void calcularDiferencias_WithCrossFormula_ShouldAllowNegativeSpreads() {
+        // Given
+        List<Double> observed = new ArrayList<>();
+        DiferenciasService service = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of((avg, sell, buy) -> observed.add(avg)))
+                .build());
+        DiferenciasRequest request = createRequest(1000.0, 1300.0, 990.0, 1250.0, 1260.0, 1240.0);
+
+        // When
+        DiferenciasResponse response = service.calcularDiferencias(request, "cruzado");
+
+        // Then
+        assertEquals(-60.0, response.getDiferenciaAvg(), "Cross spread should be MEP buy minus crypto sell");
+        assertEquals(-60.0, response.getDiferenciaBuy());
+        assertTrue(observed.isEmpty(), "Only default differences should be observed");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formulas")
+    void calcularDiferencias_WithUnknownFormula_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> diferenciasService.calcularDiferencias(validRequest, "inexistente"));
+        assertEquals("Unknown formula: inexistente", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject formulas producing non-finite values")
+    void calcularDiferencias_WithDivisionByZero_ShouldThrowIllegalArgumentException() {
+        // Given
+        diferenciasService.registrarFormula(new FormulaDiferencia("inestable", "mep / (crypto - crypto)"));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> diferenciasService.calcularDiferencias(validRequest, "inestable"));
+        assertEquals("Formula inestable produced a non-finite value", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should register custom formulas and list them sorted by name")
+    void registrarFormula_ShouldMakeFormulaSelectable() {
+        // When
+        FormulaDiferencia registrada = diferenciasService.registrarFormula(
+                new FormulaDiferencia("brecha", " mep.sell - crypto.buy "));
+        DiferenciasResponse response = diferenciasService.calcularDiferencias(validRequest, "brecha");
+
+        // Then
+        assertEquals("mep.sell - crypto.buy", registrada.getExpresion());
+        assertEquals(325.0, response.getDiferenciaAvg());
+        assertEquals(List.of("brecha", "cruzado", "diferencia", "porcentaje", "ratio"),
+                diferenciasService.obtenerFormulas().stream().map(FormulaDiferencia::getNombre).toList());
+    }
+
+    @Test
+    @DisplayName("Should return exact decimal differences in exact mode")
+    void calcularDiferencias_InExactMode_ShouldReturnExactDecimals() {
+        // Given
+        DiferenciasService exactService = new DiferenciasService(DiferenciasService.Options.builder()
+                .exactArithmetic(true, 8)
+                .build());
+        DiferenciasRequest request = createRequest(940.12, 0.2, 935.1, 1250.37, 0.3, 1240.3);
+
+        // When
+        DiferenciasResponse floating = diferenciasService.calcularDiferencias(request);
+        DiferenciasResponse exact = exactService.calcularDiferencias(request);
+
+        // Then
+        assertNotEquals(310.25, floating.getDiferenciaAvg(), "Floating-point mode should show the artifact");
+        assertEquals(310.25, exact.getDiferenciaAvg());
+        assertEquals(0.1, exact.getDiferenciaSell());
+        assertEquals(305.2, exact.getDiferenciaBuy());
+    }
+
+    @Test
+    @DisplayName("Should still reject negative differences in exact mode")
+    void calcularDiferencias_InExactModeWithNegativeDifference_ShouldThrowApiTestException() {
+        // Given
+        DiferenciasService exactService = new DiferenciasService(DiferenciasService.Options.builder()
+                .exactArithmetic(true, 8)
+                .build());
+        DiferenciasRequest request = createRequest(1250.0, 945.0, 935.0, 940.0, 1260.0, 1240.0);
+
+        // When & Then
+        ApiTestException exception = assertThrows(ApiTestException.class,
+                () -> exactService.calcularDiferencias(request));
+        assertEquals("Negative differences found for items: avg", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should replay cached differences and still notify observers")
+    void calcularDiferencias_WithMemoCache_ShouldReplayCachedDifferences() {
+        // Given
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(64);
+        List<Double> observed = new ArrayList<>();
+        DiferenciasService service = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of((avg, sell, buy) -> observed.add(avg)))
+                .memoCache(cache)
+                .build());
+
+        // When
+        DiferenciasResponse first = service.calcularDiferencias(validRequest);
+        first.setDiferenciaAvg(0.0);
+        DiferenciasResponse second = service.calcularDiferencias(
+                createRequest(940.0, 945.0, 935.0, 1250.0, 1260.0, 1240.0));
+
+        // Then
+        assertEquals(1, cache.getHits(), "The second request should be answered from the cache");
+        assertEquals(1, cache.getMisses());
+        assertNotSame(first, second, "Each request should get its own response");
+        assertEquals(310.0, second.getDiferenciaAvg(), "Changing a response should not change the cache");
+        assertEquals(315.0, second.getDiferenciaSell());
+        assertEquals(305.0, second.getDiferenciaBuy());
+        assertEquals(List.of(310.0, 310.0), observed, "Cached results should be observed like computed ones");
+    }
+
+    @Test
+    @DisplayName("Should replay cached negative differences errors and still notify observers")
+    void calcularDiferencias_WithMemoCacheAndNegativeDifferences_ShouldReplayError() {
+        // Given
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(64);
+        List<Double> observed = new ArrayList<>();
+        DiferenciasService service = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of((avg, sell, buy) -> observed.add(avg)))
+                .memoCache(cache)
+                .build());
+        DiferenciasRequest request = createRequest(1250.0, 945.0, 1240.0, 940.0, 1260.0, 935.0);
+
+        // When
+        ApiTestException first = assertThrows(ApiTestException.class, () -> service.calcularDiferencias(request));
+        ApiTestException second = assertThrows(ApiTestException.class, () -> service.calcularDiferencias(request));
+
+        // Then
+        assertEquals("Negative differences found for items: avg, buy", first.getMessage());
+        assertEquals(first.getMessage(), second.getMessage(), "The cached error should be replayed");
+        assertEquals(1, cache.getHits());
+        assertEquals(List.of(-310.0, -310.0), observed, "Replayed rejections should be observed like computed ones");
+    }
+
+    @Test
+    @DisplayName("Should not cache invalid requests or non-default formulas")
+    void calcularDiferencias_WithMemoCache_ShouldOnlyCacheDefaultFormula() {
+        // Given
+        DiferenciasMemoCache cache = new DiferenciasMemoCache(64);
+        DiferenciasService service = new DiferenciasService(DiferenciasService.Options.builder()
+                .memoCache(cache)
+                .build());
+        DiferenciasRequest invalid = createRequest(940.0, 945.0, null, 1250.0, 1260.0, 1240.0);
+
+        // When
+        service.calcularDiferencias(validRequest, "porcentaje");
+        service.calcularDiferencias(validRequest, "porcentaje");
+        assertThrows(IllegalArgumentException.class, () -> service.calcularDiferencias(invalid));
+
+        // Then
+        assertEquals(0, cache.getHits() + cache.getMisses(), "Only valid default-formula requests should look up the cache");
+        assertEquals(0, cache.size());
+    }
+}
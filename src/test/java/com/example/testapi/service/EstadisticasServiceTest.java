@@ -0,0 +1,104 @@
+package com.example.testapi.service;
+
+import com.example.testapi.exception.ApiTestException;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.model.EstadisticasResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EstadisticasService.
+ */
+@DisplayName("EstadisticasService Tests")
+class EstadisticasServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(10));
+    private final EstadisticasService estadisticasService = new EstadisticasService(clock::get);
+
+    @Test
+    @DisplayName("Should report every window and difference with empty statistics initially")
+    void obtenerEstadisticas_WithoutData_ShouldReturnEmptyWindows() {
+        // When
+        EstadisticasResponse response = estadisticasService.obtenerEstadisticas();
+
+        // Then
+        assertEquals(3, response.getVentanas().size(), "Should report 1m, 5m and 1h windows");
+        EstadisticasResponse.Estadistica avg = response.getVentanas().get("1m").get("diferencia_avg");
+        assertEquals(0L, avg.getCount());
+        assertNull(avg.getMean(), "Empty windows should not report a mean");
+        assertNotNull(response.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should aggregate recorded differences per field")
+    void obtenerEstadisticas_AfterSpreads_ShouldReturnStatistics() {
+        // Given
+        estadisticasService.onSpread(300, 310, 290);
+        estadisticasService.onSpread(320, 330, 310);
+
+        // When
+        EstadisticasResponse response = estadisticasService.obtenerEstadisticas();
+
+        // Then
+        EstadisticasResponse.Estadistica avg = response.getVentanas().get("5m").get("diferencia_avg");
+        assertEquals(2L, avg.getCount());
+        assertEquals(310.0, avg.getMean(), 1e-9);
+        assertEquals(300.0, avg.getMin());
+        assertEquals(320.0, avg.getMax());
+        assertEquals(100.0, avg.getVariance(), 1e-6);
+        assertEquals(300.0, avg.getP50(), 3.0);
+        assertEquals(330.0, response.getVentanas().get("5m").get("diferencia_sell").getMax());
+        assertEquals(290.0, response.getVentanas().get("5m").get("diferencia_buy").getMin());
+    }
+
+    @Test
+    @DisplayName("Should include negative differences rejected by DiferenciasService")
+    void obtenerEstadisticas_AfterRejectedNegativeSpread_ShouldIncludeIt() {
+        // Given
+        DiferenciasService diferenciasService = new DiferenciasService(DiferenciasService.Options.builder()
+                .spreadObservers(List.of(estadisticasService))
+                .build());
+        diferenciasService.calcularDiferencias(request(940.0, 1250.0));
+        assertThrows(ApiTestException.class, () -> diferenciasService.calcularDiferencias(request(1250.0, 940.0)));
+        assertThrows(ApiTestException.class, () -> diferenciasService.calcularDiferencias(request(1000.0, 900.0)));
+
+        // When
+        EstadisticasResponse response = estadisticasService.obtenerEstadisticas();
+
+        // Then
+        EstadisticasResponse.Estadistica avg = response.getVentanas().get("1m").get("diferencia_avg");
+        assertEquals(3L, avg.getCount(), "Rejected differences should be recorded");
+        assertEquals(-310.0, avg.getMin());
+        assertEquals(-100.0, avg.getP50(), 1.0, "The median should be negative, not clamped to zero");
+        assertEquals(-100.0 / 3, avg.getMean(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should expire short windows before long ones")
+    void obtenerEstadisticas_AfterTenMinutes_ShouldOnlyKeepHourWindow() {
+        // Given
+        estadisticasService.onSpread(300, 310, 290);
+
+        // When
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        EstadisticasResponse response = estadisticasService.obtenerEstadisticas();
+
+        // Then
+        assertEquals(0L, response.getVentanas().get("1m").get("diferencia_avg").getCount());
+        assertEquals(0L, response.getVentanas().get("5m").get("diferencia_avg").getCount());
+        assertEquals(1L, response.getVentanas().get("1h").get("diferencia_avg").getCount());
+    }
+
+    private DiferenciasRequest request(double crypto, double mep) {
+        return DiferenciasRequest.builder()
+                .addCrypto(crypto, crypto, crypto)
+                .addMep(mep, mep, mep)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.testapi.snapshot;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JdbcQuotationSnapshotStore, run against an in-memory H2 database.
+ */
+@DisplayName("JdbcQuotationSnapshotStore Tests")
+class JdbcQuotationSnapshotStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmbeddedDatabase database;
+    private JdbcQuotationSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        store = new JdbcQuotationSnapshotStore(new JdbcTemplate(database), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should load nothing before the first save")
+    void load_WhenEmpty_ShouldReturnEmpty() {
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should load the saved quotation with its retrieval time, from any instance")
+    void save_ThenLoadFromAnotherInstance_ShouldRoundTrip() {
+        // Given
+        Instant fetchedAt = Instant.ofEpochMilli(1_700_000_000_123L);
+        store.save(new QuotationSnapshot(quotation("2024-01-01T12:00:00Z", 1050.0), fetchedAt));
+
+        // When
+        Optional<QuotationSnapshot> loaded = new JdbcQuotationSnapshotStore(new JdbcTemplate(database), objectMapper).load();
+
+        // Then
+        assertTrue(loaded.isPresent());
+        assertEquals("2024-01-01T12:00:00Z", loaded.get().getCotizacion().getLastUpdate());
+        assertEquals(1050.0, loaded.get().getCotizacion().getBlue().getValueAvg());
+        assertEquals(fetchedAt, loaded.get().getFetchedAt());
+        assertFalse(loaded.get().isStale());
+    }
+
+    @Test
+    @DisplayName("Should replace older snapshots but never newer ones")
+    void save_WithOlderSnapshot_ShouldKeepNewerOne() {
+        // Given
+        Instant now = Instant.ofEpochMilli(1_700_000_000_000L);
+        store.save(new QuotationSnapshot(quotation("first", 1.0), now));
+        store.save(new QuotationSnapshot(quotation("second", 2.0), now.plusSeconds(5)));
+
+        // When
+        store.save(new QuotationSnapshot(quotation("late", 3.0), now.plusSeconds(1)));
+
+        // Then
+        assertEquals("second", store.load().orElseThrow().getCotizacion().getLastUpdate());
+    }
+
+    @Test
+    @DisplayName("Should behave as empty when the database is unreachable")
+    void load_WithDatabaseDown_ShouldReturnEmpty() {
+        // Given
+        store.save(new QuotationSnapshot(quotation("first", 1.0), Instant.now()));
+        database.shutdown();
+
+        // When & Then
+        assertTrue(store.load().isEmpty());
+        assertDoesNotThrow(() -> store.save(new QuotationSnapshot(quotation("second", 2.0), Instant.now())));
+    }
+
+    private static CotizacionResponse quotation(String lastUpdate, double blueAvg) {
+        CotizacionResponse response = new CotizacionResponse();
+        CotizacionResponse.CotizacionData blue = new CotizacionResponse.CotizacionData();
+        blue.setValueAvg(blueAvg);
+        response.setBlue(blue);
+        response.setLastUpdate(lastUpdate);
+        return response;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.testapi.snapshot;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedFileSnapshotStore.
+ * This class reopens the snapshot file as a restarted instance would and checks that the
+ * latest complete snapshot survives, including after a corrupted write.
+ */
+@DisplayName("MappedFileSnapshotStore Tests")
+class MappedFileSnapshotStoreTest {
+
+    private static final int SLOT_SIZE = 4096;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should restore the latest saved snapshot after reopening the file")
+    void load_AfterReopen_ShouldReturnLatestSnapshot() {
+        // Given
+        Path file = directory.resolve("cotizacion.snapshot");
+        Instant fetchedAt = Instant.parse("2024-01-01T15:00:00Z");
+        MappedFileSnapshotStore store = new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper);
+        store.save(new QuotationSnapshot(cotizacion("2024-01-01T11:00:00Z", 199.0), fetchedAt.minusSeconds(3600)));
+        store.save(new QuotationSnapshot(cotizacion("2024-01-01T12:00:00Z", 200.0), fetchedAt));
+
+        // When
+        Optional<QuotationSnapshot> restored = new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper).load();
+
+        // Then
+        assertTrue(restored.isPresent(), "The snapshot should survive a restart");
+        assertEquals("2024-01-01T12:00:00Z", restored.get().getCotizacion().getLastUpdate());
+        assertEquals(200.0, restored.get().getCotizacion().getBlue().getValueAvg());
+        assertEquals(fetchedAt, restored.get().getFetchedAt());
+        assertFalse(restored.get().isStale(), "Staleness is decided when the snapshot is served");
+    }
+
+    @Test
+    @DisplayName("Should keep writing after the newest slot when reopened")
+    void save_AfterReopen_ShouldContinueSequence() {
+        // Given
+        Path file = directory.resolve("cotizacion.snapshot");
+        Instant fetchedAt = Instant.parse("2024-01-01T15:00:00Z");
+        new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper)
+                .save(new QuotationSnapshot(cotizacion("2024-01-01T11:00:00Z", 199.0), fetchedAt));
+        new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper)
+                .save(new QuotationSnapshot(cotizacion("2024-01-01T12:00:00Z", 200.0), fetchedAt));
+
+        // When
+        Optional<QuotationSnapshot> restored = new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper).load();
+
+        // Then
+        assertEquals("2024-01-01T12:00:00Z", restored.orElseThrow().getCotizacion().getLastUpdate(),
+                "A restarted writer should not go back to an older sequence");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the previous snapshot when the newest slot is corrupt")
+    void load_WithCorruptNewestSlot_ShouldReturnPreviousSnapshot() throws IOException {
+        // Given
+        Path file = directory.resolve("cotizacion.snapshot");
+        MappedFileSnapshotStore store = new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper);
+        store.save(new QuotationSnapshot(cotizacion("2024-01-01T11:00:00Z", 199.0), Instant.now()));
+        store.save(new QuotationSnapshot(cotizacion("2024-01-01T12:00:00Z", 200.0), Instant.now()));
+        // The second save went to slot 0; flip a payload byte as a torn write would
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'x'}), 40);
+        }
+
+        // When
+        Optional<QuotationSnapshot> restored = new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper).load();
+
+        // Then
+        assertEquals("2024-01-01T11:00:00Z", restored.orElseThrow().getCotizacion().getLastUpdate());
+    }
+
+    @Test
+    @DisplayName("Should be empty for a new file")
+    void load_WithNewFile_ShouldReturnEmpty() {
+        // When
+        Optional<QuotationSnapshot> restored =
+                new MappedFileSnapshotStore(directory.resolve("nested/cotizacion.snapshot"), SLOT_SIZE, objectMapper).load();
+
+        // Then
+        assertTrue(restored.isEmpty());
+        assertTrue(Files.exists(directory.resolve("nested/cotizacion.snapshot")), "Missing directories should be created");
+    }
+
+    @Test
+    @DisplayName("Should behave as empty when the file cannot be mapped")
+    void load_WhenFileCannotBeMapped_ShouldReturnEmpty() throws IOException {
+        // Given: a directory where the file should be
+        Path file = Files.createDirectory(directory.resolve("cotizacion.snapshot"));
+        MappedFileSnapshotStore store = new MappedFileSnapshotStore(file, SLOT_SIZE, objectMapper);
+
+        // When
+        store.save(new QuotationSnapshot(cotizacion("2024-01-01T12:00:00Z", 200.0), Instant.now()));
+
+        // Then
+        assertTrue(store.load().isEmpty(), "An unusable file should disable snapshots, not fail");
+    }
+
+    @Test
+    @DisplayName("Should skip snapshots larger than a slot")
+    void save_WithSnapshotLargerThanSlot_ShouldKeepPreviousSnapshot() {
+        // Given
+        Path file = directory.resolve("cotizacion.snapshot");
+        MappedFileSnapshotStore store = new MappedFileSnapshotStore(file, 160, objectMapper);
+        CotizacionResponse small = new CotizacionResponse();
+        small.setLastUpdate("2024-01-01T12:00:00Z");
+        store.save(new QuotationSnapshot(small, Instant.now()));
+
+        // When
+        store.save(new QuotationSnapshot(cotizacion("2024-01-01T13:00:00Z", 200.0), Instant.now()));
+
+        // Then
+        assertEquals("2024-01-01T12:00:00Z", store.load().orElseThrow().getCotizacion().getLastUpdate());
+    }
+
+    private CotizacionResponse cotizacion(String lastUpdate, double blueAvg) {
+        CotizacionResponse.CotizacionData blue = new CotizacionResponse.CotizacionData();
+        blue.setValueAvg(blueAvg);
+        blue.setValueBuy(blueAvg - 0.5);
+        blue.setValueSell(blueAvg + 0.5);
+        CotizacionResponse response = new CotizacionResponse();
+        response.setBlue(blue);
+        response.setOficial(blue);
+        response.setLastUpdate(lastUpdate);
+        return response;
+    }
+}
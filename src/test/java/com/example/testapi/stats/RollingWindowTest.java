@@ -0,0 +1,182 @@
+package com.example.testapi.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.DoubleStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RollingWindow.
+ * This class drives the window with a manual clock and compares its statistics with exact values.
+ */
+@DisplayName("RollingWindow Tests")
+class RollingWindowTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+    private final RollingWindow window = new RollingWindow(Duration.ofSeconds(60), 12, clock::get);
+
+    @Test
+    @DisplayName("Should report count, mean, min, max and variance of recorded values")
+    void snapshot_WithRecordedValues_ShouldReturnExactMoments() {
+        // Given
+        double[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+
+        // When
+        for (double value : values) {
+            window.record(value);
+            clock.addAndGet(SECOND);
+        }
+        WindowSnapshot snapshot = window.snapshot();
+
+        // Then
+        assertEquals(8, snapshot.count());
+        assertEquals(5.0, snapshot.mean(), 1e-9);
+        assertEquals(2.0, snapshot.min());
+        assertEquals(9.0, snapshot.max());
+        assertEquals(4.0, snapshot.variance(), 1e-9);
+        assertEquals(2.0, snapshot.stdDev(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should approximate quantiles within 1% of the exact value")
+    void quantile_WithManyValues_ShouldBeWithinRelativeError() {
+        // Given
+        double[] values = new Random(42).doubles(50_000, 1, 2_000).toArray();
+        DoubleStream.of(values).forEach(window::record);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        WindowSnapshot snapshot = window.snapshot();
+
+        // When & Then
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            double exact = sorted[(int) Math.ceil(q * sorted.length) - 1];
+            assertEquals(exact, snapshot.quantile(q), exact * 0.01, "Quantile " + q + " should be within 1%");
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop values once they leave the window")
+    void snapshot_AfterWindowElapses_ShouldExpireOldValues() {
+        // Given
+        window.record(100);
+        clock.addAndGet(30 * SECOND);
+        window.record(200);
+
+        // When
+        clock.addAndGet(35 * SECOND);
+        WindowSnapshot partial = window.snapshot();
+        clock.addAndGet(60 * SECOND);
+        WindowSnapshot empty = window.snapshot();
+
+        // Then
+        assertEquals(1, partial.count(), "Only the newer value should remain");
+        assertEquals(200.0, partial.mean());
+        assertEquals(0, empty.count(), "Window should be empty after a full window without values");
+        assertTrue(Double.isNaN(empty.mean()));
+        assertTrue(Double.isNaN(empty.quantile(0.5)));
+    }
+
+    @Test
+    @DisplayName("Should reuse buckets without leaking values from previous laps")
+    void record_AfterFullLap_ShouldResetRecycledBucket() {
+        // Given
+        window.record(1_000);
+
+        // When
+        clock.addAndGet(60 * SECOND);
+        window.record(10);
+        WindowSnapshot snapshot = window.snapshot();
+
+        // Then
+        assertEquals(1, snapshot.count());
+        assertEquals(10.0, snapshot.max(), "Value from the previous lap should be gone");
+    }
+
+    @Test
+    @DisplayName("Should count every value recorded concurrently within one bucket")
+    void record_Concurrently_ShouldNotLoseValues() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    window.record(i);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        WindowSnapshot snapshot = window.snapshot();
+
+        // Then
+        assertEquals(80_000, snapshot.count());
+        assertEquals(1.0, snapshot.min());
+        assertEquals(10_000.0, snapshot.max());
+        assertEquals(5_000.5, snapshot.mean(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should place zero and out-of-range values in the edge buckets")
+    void quantile_WithEdgeValues_ShouldClampToMinAndMax() {
+        // Given
+        window.record(0);
+        window.record(0);
+        window.record(50_000_000);
+
+        // When
+        WindowSnapshot snapshot = window.snapshot();
+
+        // Then
+        assertEquals(0.0, snapshot.quantile(0.5), "Zero should be reported exactly");
+        assertEquals(50_000_000.0, snapshot.quantile(1.0), "Values above range should clamp to the maximum");
+    }
+
+    @Test
+    @DisplayName("Should approximate negative quantiles within 1% of the exact value")
+    void quantile_WithNegativeValues_ShouldBeWithinRelativeError() {
+        // Given
+        double[] values = new Random(7).doubles(50_000, -500, 1_500).toArray();
+        DoubleStream.of(values).forEach(window::record);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        WindowSnapshot snapshot = window.snapshot();
+
+        // When & Then
+        for (double q : new double[]{0.01, 0.1, 0.2, 0.5, 0.9}) {
+            double exact = sorted[(int) Math.ceil(q * sorted.length) - 1];
+            assertEquals(exact, snapshot.quantile(q), Math.abs(exact) * 0.01, "Quantile " + q + " should be within 1%");
+        }
+        assertTrue(snapshot.quantile(0.1) < 0, "Negative values should not collapse into the zero bucket");
+        assertEquals(sorted[0], snapshot.min());
+    }
+
+    @Test
+    @DisplayName("Should clamp values below the negative range to the minimum")
+    void quantile_WithLargeNegativeValue_ShouldClampToMin() {
+        // Given
+        window.record(-50_000_000);
+        window.record(10);
+
+        // When
+        WindowSnapshot snapshot = window.snapshot();
+
+        // Then
+        assertEquals(-50_000_000.0, snapshot.quantile(0.5), "Values below range should clamp to the minimum");
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.testapi.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Bluelytics API used by tests and load tests.
+ * Serves the {@code /v2/latest} endpoint from an embedded JDK HTTP server, so tests exercise
+ * real network I/O without leaving the host. Latency, error rate and payload changes are
+ * configurable at runtime to reproduce upstream behavior.
+ *
+ * Standalone mode (for the load-test module):
+ * {@code mvn exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.testapi.support.BluelyticsStubServer
+ * -Dexec.args="--port=9999 --latency-ms=40 --jitter-ms=200 --error-rate=0.01 --change-every=500"}
+ */
+public class BluelyticsStubServer implements AutoCloseable {
+
+    public static final String LATEST_PATH = "/v2/latest";
+
+    public static final String DEFAULT_LAST_UPDATE = "2024-01-01T12:00:00.000000-03:00";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private final AtomicInteger payloadVersion = new AtomicInteger();
+
+    private volatile String payload = payload(100.0, 200.0, DEFAULT_LAST_UPDATE);
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration jitter = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private volatile int changeEvery;
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private volatile int failureStatus = 503;
+    private volatile String failureRetryAfter;
+
+    private BluelyticsStubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a stub server on a random free loopback port.
+     *
+     * @return the running stub server
+     * @throws IOException if the server socket cannot be bound
+     */
+    public static BluelyticsStubServer start() throws IOException {
+        return start(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    /**
+     * Starts a stub server bound to the given address.
+     *
+     * @param address the address to bind
+     * @return the running stub server
+     * @throws IOException if the server socket cannot be bound
+     */
+    public static BluelyticsStubServer start(InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        BluelyticsStubServer stub = new BluelyticsStubServer(server, executor);
+        server.createContext(LATEST_PATH, stub::handleLatest);
+        server.setExecutor(executor);
+        server.start();
+        return stub;
+    }
+
+    /**
+     * Returns the full URL of the stubbed latest quotation endpoint.
+     *
+     * @return the URL to configure as BLUELYTICS_API_URL
+     */
+    public String latestUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + LATEST_PATH;
+    }
+
+    /**
+     * Replaces the JSON body served by the stub.
+     *
+     * @param payload the raw JSON payload
+     */
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Delays every response by a fixed latency plus a uniformly distributed jitter.
+     *
+     * @param latency the fixed delay
+     * @param jitter the maximum additional random delay
+     */
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Makes a fraction of the requests fail with the given status code.
+     *
+     * @param errorRate the failure probability, between 0.0 and 1.0
+     * @param errorStatus the HTTP status returned for failed requests
+     */
+    public void setErrorRate(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+
+    /**
+     * Makes the next requests fail with the given status, before the error rate applies.
+     *
+     * @param count the number of requests to fail
+     * @param status the HTTP status returned
+     * @param retryAfter the Retry-After header value, or null to omit it
+     */
+    public void failNext(int count, int status, String retryAfter) {
+        this.failureStatus = status;
+        this.failureRetryAfter = retryAfter;
+        this.failuresLeft.set(count);
+    }
+
+    /**
+     * Publishes a new quotation (new values and last_update) every {@code requests} requests.
+     * A value of 0 keeps the payload fixed.
+     *
+     * @param requests the number of requests between payload changes
+     */
+    public void setChangeEvery(int requests) {
+        this.changeEvery = requests;
+    }
+
+    /**
+     * Publishes a new quotation immediately, as the real API does when rates move.
+     */
+    public void changePayload() {
+        int version = payloadVersion.incrementAndGet();
+        payload = payload(100.0 + version * 0.25, 200.0 + version * 0.5,
+                OffsetDateTime.now().withNano(0).toString());
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleLatest(HttpExchange exchange) throws IOException {
+        int count = requestCount.incrementAndGet();
+        if (changeEvery > 0 && count % changeEvery == 0) {
+            changePayload();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMillis = latency.toMillis() + (jitter.isZero() ? 0 : random.nextLong(jitter.toMillis() + 1));
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.close();
+                return;
+            }
+        }
+
+        if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            if (failureRetryAfter != null) {
+                exchange.getResponseHeaders().set("Retry-After", failureRetryAfter);
+            }
+            writeResponse(exchange, failureStatus, "{\"error\":\"stubbed upstream failure\"}");
+        } else if (errorRate > 0 && random.nextDouble() < errorRate) {
+            writeResponse(exchange, errorStatus, "{\"error\":\"stubbed upstream failure\"}");
+        } else {
+            writeResponse(exchange, 200, payload);
+        }
+    }
+
+    private void writeResponse(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Builds a Bluelytics-shaped payload. Euro values are derived from the dollar ones
+     * and sell/buy are spread symmetrically around the average.
+     *
+     * @param oficialAvg the average official dollar value
+     * @param blueAvg the average blue dollar value
+     * @param lastUpdate the last_update timestamp
+     * @return the JSON payload
+     */
+    public static String payload(double oficialAvg, double blueAvg, String lastUpdate) {
+        return String.format(Locale.ROOT,
+                "{\"oficial\":%s,\"blue\":%s,\"oficial_euro\":%s,\"blue_euro\":%s,\"last_update\":\"%s\"}",
+                rate(oficialAvg), rate(blueAvg), rate(oficialAvg * 1.1), rate(blueAvg * 1.1), lastUpdate);
+    }
+
+    /**
+     * Runs the stub as a standalone process. Supported arguments: {@code --port}, {@code --latency-ms},
+     * {@code --jitter-ms}, {@code --error-rate}, {@code --error-status} and {@code --change-every}.
+     *
+     * @param args command line arguments
+     * @throws IOException if the server socket cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = 9999;
+        long latencyMs = 0;
+        long jitterMs = 0;
+        double errorRate = 0.0;
+        int errorStatus = 503;
+        int changeEvery = 0;
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            String value = option.length > 1 ? option[1] : "";
+            switch (option[0]) {
+                case "port" -> port = Integer.parseInt(value);
+                case "latency-ms" -> latencyMs = Long.parseLong(value);
+                case "jitter-ms" -> jitterMs = Long.parseLong(value);
+                case "error-rate" -> errorRate = Double.parseDouble(value);
+                case "error-status" -> errorStatus = Integer.parseInt(value);
+                case "change-every" -> changeEvery = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        BluelyticsStubServer stub = start(new InetSocketAddress("0.0.0.0", port));
+        stub.setLatency(Duration.ofMillis(latencyMs), Duration.ofMillis(jitterMs));
+        stub.setErrorRate(errorRate, errorStatus);
+        stub.setChangeEvery(changeEvery);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.println("Bluelytics stub listening on http://localhost:" + port + LATEST_PATH);
+    }
+
+    private static String rate(double avg) {
+        return String.format(Locale.ROOT, "{\"value_avg\":%.2f,\"value_sell\":%.2f,\"value_buy\":%.2f}",
+                avg, avg + 0.5, avg - 0.5);
+    }
+}
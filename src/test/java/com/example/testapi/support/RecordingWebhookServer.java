@@ -0,0 +1,98 @@
+package com.example.testapi.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for an alert webhook used by tests.
+ * Accepts POST requests on {@code /webhook} from an embedded JDK HTTP server and records
+ * their bodies, so tests can assert on deliveries over real network I/O.
+ */
+public class RecordingWebhookServer implements AutoCloseable {
+
+    public static final String WEBHOOK_PATH = "/webhook";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BlockingQueue<String> bodies = new LinkedBlockingQueue<>();
+
+    private volatile int status = 204;
+
+    private RecordingWebhookServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a webhook server on a random free loopback port.
+     *
+     * @return the running server
+     * @throws IOException if the server socket cannot be bound
+     */
+    public static RecordingWebhookServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        RecordingWebhookServer webhook = new RecordingWebhookServer(server, executor);
+        server.createContext(WEBHOOK_PATH, webhook::handle);
+        server.setExecutor(executor);
+        server.start();
+        return webhook;
+    }
+
+    /**
+     * Returns the URL of the webhook endpoint.
+     *
+     * @return the webhook URL
+     */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + WEBHOOK_PATH;
+    }
+
+    /**
+     * Sets the status code answered to every delivery.
+     *
+     * @param status the HTTP status code
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Waits for the next recorded delivery.
+     *
+     * @param timeout how long to wait
+     * @return the request body, or null if nothing arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public String awaitBody(Duration timeout) throws InterruptedException {
+        return bodies.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            bodies.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status, -1);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
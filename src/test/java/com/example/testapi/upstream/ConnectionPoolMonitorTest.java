@@ -0,0 +1,94 @@
+package com.example.testapi.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConnectionPoolMonitor.
+ */
+@DisplayName("ConnectionPoolMonitor Tests")
+class ConnectionPoolMonitorTest {
+
+    private final ConnectionPoolMonitor monitor = new ConnectionPoolMonitor();
+
+    @Test
+    @DisplayName("Should report the state of each registered pool and the highest saturation")
+    void getPools_WithRegisteredPools_ShouldReportEachPool() {
+        // Given
+        monitor.registerMetrics("webclient", "1", InetSocketAddress.createUnresolved("a", 443), metrics(5, 0, 10));
+        monitor.registerMetrics("webclient", "2", InetSocketAddress.createUnresolved("b", 443), metrics(2, 0, 10));
+
+        // When
+        Map<String, ConnectionPoolMonitor.PoolState> pools = monitor.getPools();
+
+        // Then
+        assertEquals(2, pools.size());
+        assertEquals(5, pools.get("webclient a:443").getAcquired());
+        assertEquals(0.5, monitor.getMaxSaturation(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should report full saturation when requests wait for a connection")
+    void getMaxSaturation_WithPendingAcquires_ShouldBeOne() {
+        // Given
+        monitor.registerMetrics("webclient", "1", InetSocketAddress.createUnresolved("a", 443), metrics(3, 2, 10));
+
+        // When & Then
+        assertEquals(1.0, monitor.getMaxSaturation(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should forget deregistered pools")
+    void deRegisterMetrics_ShouldRemovePool() {
+        // Given
+        InetSocketAddress address = InetSocketAddress.createUnresolved("a", 443);
+        monitor.registerMetrics("webclient", "1", address, metrics(10, 0, 10));
+
+        // When
+        monitor.deRegisterMetrics("webclient", "1", address);
+
+        // Then
+        assertTrue(monitor.getPools().isEmpty());
+        assertEquals(0.0, monitor.getMaxSaturation(), 1e-9, "No pool should mean no saturation");
+    }
+
+    static ConnectionPoolMetrics metrics(int acquired, int pending, int max) {
+        return new ConnectionPoolMetrics() {
+            @Override
+            public int acquiredSize() {
+                return acquired;
+            }
+
+            @Override
+            public int allocatedSize() {
+                return acquired;
+            }
+
+            @Override
+            public int idleSize() {
+                return 0;
+            }
+
+            @Override
+            public int pendingAcquireSize() {
+                return pending;
+            }
+
+            @Override
+            public int maxAllocatedSize() {
+                return max;
+            }
+
+            @Override
+            public int maxPendingAcquireSize() {
+                return 1000;
+            }
+        };
+    }
+}
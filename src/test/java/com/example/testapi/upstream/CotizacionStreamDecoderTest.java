@@ -0,0 +1,173 @@
+package com.example.testapi.upstream;
+
+import com.example.testapi.model.CotizacionResponse;
+import com.example.testapi.support.BluelyticsStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CotizacionStreamDecoder.
+ * This class feeds payloads split at arbitrary byte boundaries and compares the result
+ * with regular Jackson data binding.
+ */
+@DisplayName("CotizacionStreamDecoder Tests")
+class CotizacionStreamDecoderTest {
+
+    private static final String PAYLOAD = BluelyticsStubServer.payload(100.0, 200.0, "2024-01-01T12:00:00Z");
+
+    private final CotizacionStreamDecoder decoder = new CotizacionStreamDecoder();
+
+    @Test
+    @DisplayName("Should decode the payload like data binding regardless of chunk boundaries")
+    void decode_WithChunkedPayload_ShouldMatchDataBinding() throws Exception {
+        // Given
+        CotizacionResponse expected = new ObjectMapper().readValue(PAYLOAD, CotizacionResponse.class);
+
+        for (int chunkSize : new int[]{1, 3, 7, 64, PAYLOAD.length()}) {
+            // When
+            CotizacionResponse result = decoder.decode(chunks(PAYLOAD, chunkSize), null).block();
+
+            // Then
+            assertEquals(expected, result, "Chunk size " + chunkSize + " should decode identically");
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip unknown fields, including nested ones, without affecting exposed values")
+    void decode_WithUnknownFields_ShouldSkipThem() {
+        // Given
+        String payload = "{\"extra\":{\"oficial\":{\"value_avg\":1}},\"oficial\":{\"value_avg\":100.0,"
+                + "\"history\":[{\"value_avg\":5}],\"value_sell\":101,\"value_buy\":99.5,\"note\":\"x\"},"
+                + "\"list\":[1,2,{\"blue\":3}],\"flag\":true,\"last_update\":\"2024-01-01T12:00:00Z\"}";
+
+        // When
+        CotizacionResponse result = decoder.decode(chunks(payload, 5), null).block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(100.0, result.getOficial().getValueAvg());
+        assertEquals(101.0, result.getOficial().getValueSell(), "Integer values should be decoded as doubles");
+        assertEquals(99.5, result.getOficial().getValueBuy());
+        assertNull(result.getBlue(), "Missing types should be null");
+        assertEquals("2024-01-01T12:00:00Z", result.getLastUpdate());
+    }
+
+    @Test
+    @DisplayName("Should keep null and missing values as null")
+    void decode_WithNullValues_ShouldReturnNullFields() {
+        // Given
+        String payload = "{\"oficial\":{\"value_avg\":null,\"value_sell\":100.5},\"blue\":null,\"last_update\":null}";
+
+        // When
+        CotizacionResponse result = decoder.decode(chunks(payload, 4), null).block();
+
+        // Then
+        assertNotNull(result);
+        assertNull(result.getOficial().getValueAvg());
+        assertEquals(100.5, result.getOficial().getValueSell());
+        assertNull(result.getOficial().getValueBuy());
+        assertNull(result.getBlue());
+        assertNull(result.getLastUpdate());
+    }
+
+    @Test
+    @DisplayName("Should return the previous response when last_update is unchanged")
+    void decode_WithUnchangedLastUpdate_ShouldReturnPrevious() {
+        // Given
+        CotizacionResponse previous = decoder.decode(chunks(PAYLOAD, 16), null).block();
+
+        // When
+        CotizacionResponse result = decoder.decode(chunks(PAYLOAD, 16), previous).block();
+
+        // Then
+        assertSame(previous, result, "Unchanged last_update should return the previous instance");
+    }
+
+    @Test
+    @DisplayName("Should stop reading the body as soon as an unchanged last_update is found")
+    void decode_WithLeadingUnchangedLastUpdate_ShouldNotReadRemainingBody() {
+        // Given
+        CotizacionResponse previous = new CotizacionResponse();
+        previous.setLastUpdate("2024-01-01T12:00:00Z");
+        Flux<DataBuffer> body = Flux.concat(
+                chunks("{\"last_update\":\"2024-01-01T12:00:00Z\",", 8),
+                Flux.error(new IllegalStateException("Remaining body should not be requested")));
+
+        // When
+        CotizacionResponse result = decoder.decode(body, previous).block();
+
+        // Then
+        assertSame(previous, result);
+    }
+
+    @Test
+    @DisplayName("Should decode a new response when last_update changes")
+    void decode_WithChangedLastUpdate_ShouldDecodeNewResponse() {
+        // Given
+        CotizacionResponse previous = decoder.decode(chunks(PAYLOAD, 16), null).block();
+        String changed = BluelyticsStubServer.payload(101.0, 202.0, "2024-01-01T13:00:00Z");
+
+        // When
+        CotizacionResponse result = decoder.decode(chunks(changed, 16), previous).block();
+
+        // Then
+        assertNotNull(result);
+        assertNotSame(previous, result);
+        assertEquals(101.0, result.getOficial().getValueAvg());
+        assertEquals("2024-01-01T13:00:00Z", result.getLastUpdate());
+    }
+
+    @Test
+    @DisplayName("Should complete empty for an empty body")
+    void decode_WithEmptyBody_ShouldReturnEmpty() {
+        // When
+        CotizacionResponse result = decoder.decode(Flux.empty(), null).block();
+
+        // Then
+        assertNull(result, "Empty body should produce no response");
+    }
+
+    @Test
+    @DisplayName("Should fail with DecodingException for truncated payloads")
+    void decode_WithTruncatedPayload_ShouldThrowDecodingException() {
+        // Given
+        String truncated = PAYLOAD.substring(0, PAYLOAD.length() / 2);
+
+        // When & Then
+        DecodingException exception = assertThrows(DecodingException.class,
+                () -> decoder.decode(chunks(truncated, 10), null).block());
+        assertTrue(exception.getMessage().contains("quotation payload"));
+    }
+
+    @Test
+    @DisplayName("Should fail with DecodingException for malformed payloads")
+    void decode_WithMalformedPayload_ShouldThrowDecodingException() {
+        // When & Then
+        DecodingException exception = assertThrows(DecodingException.class,
+                () -> decoder.decode(chunks("{\"oficial\":{\"value_avg\":1,,}}", 3), null).block());
+        assertTrue(exception.getMessage().startsWith("Malformed quotation payload"));
+    }
+
+    private Flux<DataBuffer> chunks(String payload, int chunkSize) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            byte[] chunk = new byte[length];
+            System.arraycopy(bytes, offset, chunk, 0, length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
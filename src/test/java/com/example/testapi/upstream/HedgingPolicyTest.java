@@ -0,0 +1,85 @@
+package com.example.testapi.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HedgingPolicy.
+ * This class verifies the hedge delay derivation and the hedge rate budget.
+ */
+@DisplayName("HedgingPolicy Tests")
+class HedgingPolicyTest {
+
+    @Test
+    @DisplayName("Should use the initial delay before any latency is observed")
+    void hedgeDelay_WithoutSamples_ShouldReturnInitialDelay() {
+        // Given
+        HedgingPolicy policy = new HedgingPolicy(true, 95, Duration.ofMillis(10), Duration.ofMillis(250), 0.05);
+
+        // When & Then
+        assertEquals(Duration.ofMillis(250), policy.hedgeDelay());
+    }
+
+    @Test
+    @DisplayName("Should follow the latency percentile but never go below the minimum delay")
+    void hedgeDelay_WithSamples_ShouldFollowPercentileClampedToMinimum() {
+        // Given
+        HedgingPolicy policy = new HedgingPolicy(true, 50, Duration.ofMillis(10), Duration.ofMillis(250), 0.05);
+
+        // When
+        policy.recordLatency(Duration.ofMillis(1).toNanos());
+
+        // Then
+        assertEquals(Duration.ofMillis(10), policy.hedgeDelay(), "Delay should be clamped to the minimum");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            policy.recordLatency(Duration.ofMillis(80).toNanos());
+        }
+
+        // Then
+        assertEquals(Duration.ofMillis(80), policy.hedgeDelay(), "Delay should follow the median latency");
+    }
+
+    @Test
+    @DisplayName("Should cap hedges to the configured fraction of requests")
+    void tryAcquireHedge_ShouldRespectMaxRatio() {
+        // Given
+        HedgingPolicy policy = new HedgingPolicy(true, 95, Duration.ZERO, Duration.ZERO, 0.05);
+
+        // When
+        int granted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            policy.onRequest();
+            if (policy.tryAcquireHedge()) {
+                granted++;
+            }
+        }
+
+        // Then
+        assertEquals(50, granted, "5% of 1000 requests may be hedged");
+        assertEquals(50, policy.getHedgeCount());
+        assertEquals(1_000, policy.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should refuse hedges before any budget is accumulated")
+    void tryAcquireHedge_WithEmptyBudget_ShouldReturnFalse() {
+        // Given
+        HedgingPolicy policy = new HedgingPolicy(true, 95, Duration.ZERO, Duration.ZERO, 0.05);
+
+        // When & Then
+        policy.onRequest();
+        assertFalse(policy.tryAcquireHedge(), "A single request does not earn a full hedge token");
+    }
+
+    @Test
+    @DisplayName("Should never hedge when disabled")
+    void disabled_ShouldNotBeEnabled() {
+        assertFalse(HedgingPolicy.disabled().isEnabled());
+    }
+}
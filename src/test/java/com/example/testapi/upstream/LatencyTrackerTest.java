@@ -0,0 +1,63 @@
+package com.example.testapi.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyTracker.
+ * This class verifies percentile estimation over the ring buffer of recent samples.
+ */
+@DisplayName("LatencyTracker Tests")
+class LatencyTrackerTest {
+
+    @Test
+    @DisplayName("Should report no percentile before any sample is recorded")
+    void percentileNanos_WithNoSamples_ShouldReturnMinusOne() {
+        assertEquals(-1, new LatencyTracker(16, 95).percentileNanos());
+    }
+
+    @Test
+    @DisplayName("Should estimate the requested percentile")
+    void percentileNanos_WithSamples_ShouldReturnPercentile() {
+        // Given
+        LatencyTracker tracker = new LatencyTracker(100, 90);
+
+        // When
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        // Then
+        assertEquals(90, tracker.percentileNanos(), "p90 of 1..100 should be 90");
+        assertEquals(100, tracker.getRecordedCount());
+    }
+
+    @Test
+    @DisplayName("Should forget samples older than the buffer capacity")
+    void percentileNanos_AfterBufferWraps_ShouldReflectRecentSamples() {
+        // Given
+        LatencyTracker tracker = new LatencyTracker(8, 50);
+        for (int i = 0; i < 8; i++) {
+            tracker.record(1_000);
+        }
+        assertEquals(1_000, tracker.percentileNanos());
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            tracker.record(10);
+        }
+
+        // Then
+        assertEquals(10, tracker.percentileNanos(), "Old slow samples should have aged out");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void constructor_WithInvalidArguments_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyTracker(0, 95));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyTracker(16, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyTracker(16, 101));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.testapi.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RetryPolicy.
+ * This class verifies which failures are retried, the backoff bounds, Retry-After handling
+ * and the retry budget.
+ */
+@DisplayName("RetryPolicy Tests")
+class RetryPolicyTest {
+
+    private static final Duration BASE = Duration.ofMillis(100);
+    private static final Duration MAX = Duration.ofSeconds(2);
+
+    @Test
+    @DisplayName("Should draw the delay below an exponentially growing ceiling capped at the maximum")
+    void nextDelay_ShouldUseFullJitterWithExponentialCeiling() {
+        // Given: jitter at the upper bound of its range shows the ceiling
+        RetryPolicy top = new RetryPolicy(true, 10, BASE, MAX, 1.0, () -> 1.0);
+        RetryPolicy bottom = new RetryPolicy(true, 10, BASE, MAX, 1.0, () -> 0.0);
+
+        // When & Then
+        assertEquals(100, top.nextDelay(0, status(503)).toMillis(), "First ceiling should be the base delay");
+        assertEquals(400, top.nextDelay(2, status(503)).toMillis(), "Ceiling should double with each retry");
+        assertEquals(2000, top.nextDelay(8, status(503)).toMillis(), "Ceiling should be capped at the maximum");
+        assertEquals(Duration.ZERO, bottom.nextDelay(3, status(503)), "Full jitter should reach zero");
+    }
+
+    @Test
+    @DisplayName("Should retry connection errors and transient statuses only")
+    void nextDelay_ShouldOnlyRetryTransientFailures() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(true, 3, BASE, MAX, 1.0);
+
+        // When & Then
+        for (int status : new int[]{429, 502, 503, 504}) {
+            assertNotNull(policy.nextDelay(0, status(status)), status + " should be retried");
+        }
+        assertNotNull(policy.nextDelay(0, new WebClientRequestException(new IOException("Connection refused"),
+                HttpMethod.GET, URI.create("http://localhost"), new HttpHeaders())), "Connection errors should be retried");
+        assertNull(policy.nextDelay(0, status(404)), "Client errors should not be retried");
+        assertNull(policy.nextDelay(0, status(500)), "Internal errors should not be retried");
+        assertNull(policy.nextDelay(0, new IllegalStateException("decoding")), "Other failures should not be retried");
+    }
+
+    @Test
+    @DisplayName("Should stop after the maximum attempts")
+    void nextDelay_AfterMaxAttempts_ShouldReturnNull() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(true, 3, BASE, MAX, 1.0);
+
+        // When & Then
+        assertNotNull(policy.nextDelay(1, status(503)), "Second retry is the third attempt");
+        assertNull(policy.nextDelay(2, status(503)), "A fourth attempt exceeds the maximum");
+    }
+
+    @Test
+    @DisplayName("Should wait exactly the Retry-After seconds or date of a 429 or 503")
+    void nextDelay_WithRetryAfter_ShouldHonourIt() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(true, 3, BASE, MAX, 1.0, () -> 0.0);
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(2));
+
+        // When & Then
+        assertEquals(Duration.ofSeconds(1), policy.nextDelay(0, status(429, "1")));
+        Duration fromDate = policy.nextDelay(0, status(503, date));
+        assertTrue(fromDate.compareTo(Duration.ofMillis(500)) > 0 && fromDate.compareTo(MAX) <= 0,
+                "HTTP date should be converted to a delay, was " + fromDate);
+        assertEquals(Duration.ZERO, policy.nextDelay(0, status(502, "1")), "Retry-After only applies to 429 and 503");
+        assertNull(policy.nextDelay(0, status(503, "30")), "A Retry-After beyond the maximum delay should not be retried");
+    }
+
+    @Test
+    @DisplayName("Should cap retries to the configured fraction of requests once the burst is spent")
+    void nextDelay_WhenBudgetIsSpent_ShouldCountExhaustion() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(true, 3, BASE, MAX, 0.1);
+
+        // When: the burst allowance of 10 retries is spent, then 100 requests fail
+        int burst = 0;
+        while (policy.nextDelay(0, status(503)) != null) {
+            burst++;
+        }
+        int retried = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest();
+            if (policy.nextDelay(0, status(503)) != null) {
+                retried++;
+            }
+        }
+
+        // Then
+        assertEquals(10, burst, "Burst allowance should allow 10 retries");
+        assertEquals(10, retried, "Retries should be 10% of requests");
+        assertEquals(91, policy.getBudgetExhaustedCount());
+        assertEquals(20, policy.getRetryCount());
+        assertEquals(100, policy.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should never retry when disabled")
+    void disabled_ShouldNeverRetry() {
+        // When & Then
+        assertNull(RetryPolicy.disabled().nextDelay(0, status(503)));
+    }
+
+    @Test
+    @DisplayName("Should expose attempts and budget exhaustion as meters")
+    void bindTo_ShouldRegisterMeters() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(true, 3, BASE, MAX, 0.0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        policy.bindTo(registry);
+
+        // When
+        policy.onRequest();
+        for (int i = 0; i < 11; i++) {
+            policy.nextDelay(0, status(503));
+        }
+
+        // Then
+        assertEquals(1.0, registry.get("cotizacion.upstream.attempts").tag("type", "initial").functionCounter().count());
+        assertEquals(10.0, registry.get("cotizacion.upstream.attempts").tag("type", "retry").functionCounter().count());
+        assertEquals(1.0, registry.get("cotizacion.upstream.retry.budget.exhausted").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void constructor_WithInvalidSettings_ShouldThrow() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(true, 0, BASE, MAX, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(true, 3, BASE, MAX, 1.5));
+    }
+
+    private static WebClientResponseException status(int status) {
+        return status(status, null);
+    }
+
+    private static WebClientResponseException status(int status, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return WebClientResponseException.create(status, "status " + status, headers, new byte[0], null);
+    }
+}
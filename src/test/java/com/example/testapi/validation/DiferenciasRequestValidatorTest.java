@@ -0,0 +1,118 @@
+package com.example.testapi.validation;
+
+import com.example.testapi.model.DiferenciasRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DiferenciasRequestValidator.
+ */
+@DisplayName("DiferenciasRequestValidator Tests")
+class DiferenciasRequestValidatorTest {
+
+    private final DiferenciasRequestValidator validator = DiferenciasRequestValidator.compile();
+
+    @Test
+    @DisplayName("Should report no violations for a valid request")
+    void validate_WithValidRequest_ShouldReturnNoViolations() {
+        // Given
+        DiferenciasRequest request = DiferenciasRequest.builder()
+                .addCrypto(940.0, 945.0, 935.0)
+                .addMep(1250.0, 1260.0, 1240.0)
+                .build();
+
+        // When & Then
+        assertEquals(List.of(), validator.validate(request));
+        assertDoesNotThrow(() -> validator.requireValid(request));
+    }
+
+    @Test
+    @DisplayName("Should collect every value violation in a single pass, in declaration order")
+    void validate_WithSeveralInvalidValues_ShouldReturnAllViolations() {
+        // Given
+        DiferenciasRequest request = DiferenciasRequest.builder()
+                .addCrypto(-1.0, null, 935.0)
+                .addMep(1250.0, 0.0, null)
+                .build();
+
+        // When
+        List<String> violations = validator.validate(request);
+
+        // Then
+        assertEquals(List.of(
+                "crypto value_sell cannot be null",
+                "crypto value_avg must be positive",
+                "MEP value_buy cannot be null",
+                "MEP value_sell must be positive"), violations);
+    }
+
+    @Test
+    @DisplayName("Should report missing rates before value violations")
+    void validate_WithMissingRates_ShouldReportMissingRates() {
+        // Given
+        DiferenciasRequest onlyMep = DiferenciasRequest.builder().addMep(1.0, 1.0, 1.0).build();
+        DiferenciasRequest empty = new DiferenciasRequest(DiferenciasRequest.createRatesMap());
+        DiferenciasRequest nullEntry = DiferenciasRequest.builder()
+                .addRate(DiferenciasRequest.ExchangeRateType.CRYPTO, null)
+                .addMep(1.0, 1.0, 1.0)
+                .build();
+
+        // When & Then
+        assertEquals(List.of("Crypto data is required"), validator.validate(onlyMep));
+        assertEquals(List.of("Crypto data is required", "MEP data is required"), validator.validate(empty));
+        assertEquals(List.of("Crypto data is required"), validator.validate(nullEntry));
+    }
+
+    @Test
+    @DisplayName("Should report null requests and null rate maps")
+    void validate_WithNullRequestOrRates_ShouldReportThem() {
+        assertEquals(List.of("Request cannot be null"), validator.validate(null));
+        assertEquals(List.of("Rates map cannot be null"), validator.validate(new DiferenciasRequest(null)));
+    }
+
+    @Test
+    @DisplayName("Should throw the first violation and expose all of them")
+    void requireValid_WithInvalidRequest_ShouldThrowWithAllViolations() {
+        // Given
+        DiferenciasRequest request = DiferenciasRequest.builder()
+                .addCrypto(null, null, 935.0)
+                .addMep(1250.0, 1260.0, 1240.0)
+                .build();
+
+        // When
+        RequestValidationException exception = assertThrows(RequestValidationException.class,
+                () -> validator.requireValid(request));
+
+        // Then
+        assertEquals("crypto value_avg cannot be null", exception.getMessage());
+        assertEquals(2, exception.getViolations().size());
+        assertInstanceOf(IllegalArgumentException.class, exception, "Callers handling IllegalArgumentException should keep working");
+    }
+
+    @Test
+    @DisplayName("Should declare standard constraints understood by any Bean Validation provider")
+    void constraints_ShouldBeEnforcedByBeanValidation() {
+        // Given
+        DiferenciasRequest.ExchangeRateData data = new DiferenciasRequest.ExchangeRateData(null, -1.0, 1.0);
+
+        // When
+        Set<String> messages;
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            messages = factory.getValidator().validate(data).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.toSet());
+        }
+
+        // Then
+        assertEquals(Set.of("value_avg cannot be null", "value_sell must be positive"), messages);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.testapi.warmup;
+
+import com.example.testapi.exception.UpstreamException;
+import com.example.testapi.model.DiferenciasRequest;
+import com.example.testapi.service.DiferenciasService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StartupWarmup.
+ * This class runs short warm-ups against a real DiferenciasService and checks the report,
+ * the recorded meters, the upstream priming and the temporary logging level.
+ */
+@DisplayName("StartupWarmup Tests")
+class StartupWarmupTest {
+
+    private static final String SERVICE_LOGGER = "com.example.testapi.service";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final LoggingSystem loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+
+    @AfterEach
+    void tearDown() {
+        loggingSystem.setLogLevel(SERVICE_LOGGER, null);
+    }
+
+    @Test
+    @DisplayName("Should run until timings are stable and prime the upstream")
+    void warmUp_WithGenerousBudget_ShouldConvergeAndPrimeUpstream() {
+        // Given
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        StartupWarmup warmup = warmup(new DiferenciasService(), upstreamCalls::incrementAndGet, Duration.ofSeconds(30), 0.5);
+
+        // When
+        StartupWarmup.Report report = warmup.warmUp();
+
+        // Then
+        assertTrue(report.isConverged(), "Timings should stabilize well within 30 seconds");
+        assertTrue(report.isUpstreamPrimed(), "Upstream call should complete");
+        assertEquals(1, upstreamCalls.get(), "Upstream should be called exactly once");
+        assertTrue(report.getIterations() >= 3 * 50, "At least three batches should run");
+        assertEquals(0, report.getIterations() % 50, "Only whole batches should run");
+        assertTrue(report.getFirstBatchNanos() > 0 && report.getLastBatchNanos() > 0, "Batch timings should be recorded");
+        assertTrue(report.getDuration().compareTo(Duration.ofSeconds(30)) < 0);
+    }
+
+    @Test
+    @DisplayName("Should stop at the maximum duration when timings never stabilize")
+    void warmUp_WithZeroTolerance_ShouldStopAtMaxDuration() {
+        // Given
+        StartupWarmup warmup = warmup(new DiferenciasService(), () -> { }, Duration.ofMillis(200), 0.0);
+
+        // When
+        StartupWarmup.Report report = warmup.warmUp();
+
+        // Then
+        assertFalse(report.isConverged(), "Timings cannot match exactly on consecutive batches");
+        assertTrue(report.getDuration().compareTo(Duration.ofMillis(200)) >= 0, "Warm-up should use its whole budget");
+        assertTrue(report.getDuration().compareTo(Duration.ofSeconds(5)) < 0, "Warm-up should stop soon after the budget");
+    }
+
+    @Test
+    @DisplayName("Should complete the warm-up when the upstream fails")
+    void warmUp_WhenUpstreamFails_ShouldReportUpstreamNotPrimed() {
+        // Given
+        StartupWarmup warmup = warmup(new DiferenciasService(), () -> {
+            throw new UpstreamException("Bluelytics is down", null);
+        }, Duration.ofMillis(200), 0.5);
+
+        // When
+        StartupWarmup.Report report = warmup.warmUp();
+
+        // Then
+        assertFalse(report.isUpstreamPrimed(), "A failed upstream call should not count as primed");
+        assertTrue(report.getIterations() > 0, "Synthetic iterations should still run");
+    }
+
+    @Test
+    @DisplayName("Should exercise default and named formulas with WARN service logging, then restore the level")
+    void warmUp_ShouldQuietServiceLoggingOnlyWhileRunning() {
+        // Given
+        loggingSystem.setLogLevel(SERVICE_LOGGER, LogLevel.DEBUG);
+        List<LogLevel> levelsSeen = new ArrayList<>();
+        DiferenciasService service = spy(new DiferenciasService());
+        doAnswer(invocation -> {
+            levelsSeen.add(loggingSystem.getLoggerConfiguration(SERVICE_LOGGER).getConfiguredLevel());
+            return invocation.callRealMethod();
+        }).when(service).calcularDiferencias(any(DiferenciasRequest.class));
+
+        // When
+        warmup(service, () -> { }, Duration.ofMillis(100), 0.5).warmUp();
+
+        // Then
+        verify(service, atLeastOnce()).calcularDiferencias(any(DiferenciasRequest.class));
+        verify(service, atLeastOnce()).calcularDiferencias(any(DiferenciasRequest.class), eq("porcentaje"));
+        assertTrue(levelsSeen.stream().allMatch(LogLevel.WARN::equals), "Service logging should be WARN during the warm-up");
+        assertEquals(LogLevel.DEBUG, loggingSystem.getLoggerConfiguration(SERVICE_LOGGER).getConfiguredLevel(),
+                "Configured level should be restored");
+    }
+
+    @Test
+    @DisplayName("Should record the warm-up duration, iterations and effect as meters when run at startup")
+    void run_ShouldRegisterWarmupMeters() {
+        // Given
+        StartupWarmup warmup = warmup(new DiferenciasService(), () -> { }, Duration.ofSeconds(30), 0.5);
+
+        // When
+        warmup.run(null);
+
+        // Then
+        assertTrue(registry.get("warmup.duration").timeGauge().value(TimeUnit.MILLISECONDS) > 0);
+        assertTrue(registry.get("warmup.iterations").gauge().value() > 0);
+        assertTrue(registry.get("warmup.iteration.time").tag("batch", "first").timeGauge().value(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(registry.get("warmup.iteration.time").tag("batch", "last").timeGauge().value(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(1.0, registry.get("warmup.converged").gauge().value());
+        assertEquals(1.0, registry.get("warmup.upstream.primed").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive batch size")
+    void constructor_WithZeroBatchSize_ShouldThrow() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new StartupWarmup(objectMapper, new DiferenciasService(), () -> { }, registry, loggingSystem,
+                        Duration.ofSeconds(1), 0, 0.1, Duration.ofSeconds(1)));
+        assertEquals("Warm-up batch size must be positive", exception.getMessage());
+    }
+
+    private StartupWarmup warmup(DiferenciasService service, Runnable upstreamPrimer, Duration maxDuration, double tolerance) {
+        return new StartupWarmup(objectMapper, service, upstreamPrimer, registry, loggingSystem,
+                maxDuration, 50, tolerance, Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.testapi.websocket;
+
+import com.example.testapi.model.DiferenciasStreamResponse;
+import com.example.testapi.service.DiferenciasService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DiferenciasWebSocketHandler.
+ * This class drives the handler with a mocked session and a controllable executor to check
+ * the answers, their correlation ids and the per-connection in-flight bound.
+ */
+@DisplayName("DiferenciasWebSocketHandler Tests")
+class DiferenciasWebSocketHandlerTest {
+
+    private static final String VALID_RATES = "\"rates\":{"
+            + "\"crypto\":{\"value_avg\":940.0,\"value_sell\":945.0,\"value_buy\":935.0},"
+            + "\"mep\":{\"value_avg\":1250.0,\"value_sell\":1260.0,\"value_buy\":1240.0}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+
+    private final List<DiferenciasStreamResponse> sent = new ArrayList<>();
+
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("session-1");
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            sent.add(objectMapper.readValue((String) message.getPayload(), DiferenciasStreamResponse.class));
+            return null;
+        }).when(session).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("Should answer each frame with the differences and its id")
+    void handleTextMessage_WithValidFrames_ShouldAnswerWithCorrelatedResults() throws Exception {
+        // Given
+        DiferenciasWebSocketHandler handler = handler(Runnable::run, 16);
+        handler.afterConnectionEstablished(session);
+
+        // When
+        handler.handleMessage(session, frame("{\"id\":\"a\"," + VALID_RATES + "}"));
+        handler.handleMessage(session, frame("{\"id\":\"b\",\"formula\":\"ratio\"," + VALID_RATES + "}"));
+
+        // Then
+        assertEquals(2, sent.size(), "Each frame should be answered");
+        assertEquals("a", sent.get(0).getId());
+        assertEquals(310.0, sent.get(0).getResult().getDiferenciaAvg(), 1e-9);
+        assertNull(sent.get(0).getError(), "A successful answer should carry no error");
+        assertEquals("b", sent.get(1).getId());
+        assertEquals(1250.0 / 940.0, sent.get(1).getResult().getDiferenciaAvg(), 1e-9, "Formula should be applied");
+    }
+
+    @Test
+    @DisplayName("Should answer invalid and negative requests with the REST error bodies")
+    void handleTextMessage_WithInvalidFrames_ShouldAnswerWithErrors() throws Exception {
+        // Given
+        DiferenciasWebSocketHandler handler = handler(Runnable::run, 16);
+        handler.afterConnectionEstablished(session);
+
+        // When
+        handler.handleMessage(session, frame("{\"id\":\"missing\",\"rates\":{\"crypto\":"
+                + "{\"value_avg\":940.0,\"value_sell\":945.0,\"value_buy\":935.0}}}"));
+        handler.handleMessage(session, frame("{\"id\":\"negative\",\"rates\":{"
+                + "\"crypto\":{\"value_avg\":1250.0,\"value_sell\":1260.0,\"value_buy\":1240.0},"
+                + "\"mep\":{\"value_avg\":940.0,\"value_sell\":945.0,\"value_buy\":935.0}}}"));
+        handler.handleMessage(session, frame("{not json"));
+
+        // Then
+        assertEquals(3, sent.size());
+        assertEquals("missing", sent.get(0).getId());
+        assertEquals("Validation error", sent.get(0).getError().getError());
+        assertEquals("MEP data is required", sent.get(0).getError().getMessage());
+        assertEquals("negative", sent.get(1).getId());
+        assertEquals("Negative differences detected", sent.get(1).getError().getError());
+        assertNull(sent.get(2).getId(), "A frame that cannot be read has no id");
+        assertTrue(sent.get(2).getError().getMessage().startsWith("Malformed frame"));
+    }
+
+    @Test
+    @DisplayName("Should reject frames beyond the in-flight bound without queuing them")
+    void handleTextMessage_WhenQueueIsFull_ShouldRejectFrame() throws Exception {
+        // Given
+        DiferenciasWebSocketHandler handler = handler(pendingTasks::add, 2);
+        handler.afterConnectionEstablished(session);
+
+        // When
+        handler.handleMessage(session, frame("{\"id\":\"1\"," + VALID_RATES + "}"));
+        handler.handleMessage(session, frame("{\"id\":\"2\"," + VALID_RATES + "}"));
+        handler.handleMessage(session, frame("{\"id\":\"3\"," + VALID_RATES + "}"));
+
+        // Then
+        assertEquals(1, sent.size(), "Only the rejection should be sent before the queue is drained");
+        assertEquals("3", sent.get(0).getId());
+        assertEquals("Too many requests", sent.get(0).getError().getError());
+        assertEquals(1, pendingTasks.size(), "A single drain should be scheduled per connection");
+
+        pendingTasks.remove(0).run();
+        assertEquals(List.of("3", "1", "2"), sent.stream().map(DiferenciasStreamResponse::getId).toList(),
+                "Queued frames should be answered in order once drained");
+    }
+
+    @Test
+    @DisplayName("Should yield the worker to other connections after a batch of frames")
+    void handleTextMessage_WithPipeliningClient_ShouldNotStarveOtherConnections() throws Exception {
+        // Given
+        DiferenciasWebSocketHandler handler = handler(pendingTasks::add, 64);
+        WebSocketSession other = mock(WebSocketSession.class);
+        when(other.getId()).thenReturn("session-2");
+        when(other.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            sent.add(objectMapper.readValue((String) message.getPayload(), DiferenciasStreamResponse.class));
+            return null;
+        }).when(other).sendMessage(any());
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionEstablished(other);
+        int pipelined = DiferenciasWebSocketHandler.DRAIN_BATCH_SIZE + 4;
+        for (int i = 0; i < pipelined; i++) {
+            handler.handleMessage(session, frame("{\"id\":\"busy-" + i + "\"," + VALID_RATES + "}"));
+        }
+        handler.handleMessage(other, frame("{\"id\":\"other\"," + VALID_RATES + "}"));
+
+        // When
+        pendingTasks.remove(0).run();
+        pendingTasks.remove(0).run();
+
+        // Then
+        assertEquals(DiferenciasWebSocketHandler.DRAIN_BATCH_SIZE + 1, sent.size(),
+                "The busy connection should only be answered up to a batch before the other one");
+        assertEquals("other", sent.get(sent.size() - 1).getId());
+        assertEquals(1, pendingTasks.size(), "The rest of the busy connection should be resubmitted");
+
+        pendingTasks.remove(0).run();
+        assertEquals(pipelined + 1, sent.size());
+        assertEquals("busy-" + (pipelined - 1), sent.get(sent.size() - 1).getId(), "Order should be kept across batches");
+    }
+
+    @Test
+    @DisplayName("Should drop pending frames when the connection closes")
+    void afterConnectionClosed_ShouldDiscardPendingFrames() throws Exception {
+        // Given
+        DiferenciasWebSocketHandler handler = handler(pendingTasks::add, 16);
+        handler.afterConnectionEstablished(session);
+        handler.handleMessage(session, frame("{\"id\":\"1\"," + VALID_RATES + "}"));
+
+        // When
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        pendingTasks.forEach(Runnable::run);
+
+        // Then
+        assertTrue(sent.isEmpty(), "Nothing should be sent after close");
+        assertEquals(0, handler.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive in-flight bound")
+    void constructor_WithZeroMaxInFlight_ShouldThrow() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> handler(Runnable::run, 0));
+        assertEquals("Max in-flight requests must be positive", exception.getMessage());
+    }
+
+    private DiferenciasWebSocketHandler handler(Executor executor, int maxInFlight) {
+        return new DiferenciasWebSocketHandler(new DiferenciasService(), objectMapper, executor, maxInFlight, 1000, 64 * 1024);
+    }
+
+    private TextMessage frame(String payload) {
+        return new TextMessage(payload);
+    }
+}